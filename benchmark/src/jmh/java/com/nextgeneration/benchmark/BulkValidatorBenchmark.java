@@ -0,0 +1,75 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.BulkResult;
+import com.nextgeneration.core.BulkValidator;
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PhoneNumberRule;
+import com.nextgeneration.core.Rule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to validate a column of an import, such as the email addresses of a contact list, with a BulkValidator compared
+ * to a loop on the calling thread. The column mixes valid and invalid rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BulkValidatorBenchmark {
+
+    @Param({"EMAIL", "PHONE_NUMBER"})
+    public String column;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private Rule rule;
+    private CharSequence[] values;
+    private BulkValidator bulkValidator;
+
+    @Setup
+    public void setUp() {
+        String[] valid;
+        String[] invalid;
+        if (column.equals("EMAIL")) {
+            rule = new EmailRule();
+            valid = Corpus.emails(Corpus.Kind.SHORT_VALID);
+            invalid = Corpus.emails(Corpus.Kind.INVALID);
+        } else {
+            rule = new PhoneNumberRule();
+            valid = Corpus.phoneNumbers(Corpus.Kind.SHORT_VALID);
+            invalid = Corpus.phoneNumbers(Corpus.Kind.INVALID);
+        }
+        values = new CharSequence[rows];
+        for (int i = 0; i < rows; i++) {
+            values[i] = i % 16 == 0 ? invalid[i & (Corpus.SIZE - 1)] : valid[i & (Corpus.SIZE - 1)];
+        }
+        bulkValidator = new BulkValidator();
+    }
+
+    @Benchmark
+    public BulkResult bulk() {
+        return bulkValidator.validate(rule, values);
+    }
+
+    @Benchmark
+    public int sequential() {
+        int failures = 0;
+        for (CharSequence value : values) {
+            if (rule.validate(value) != ErrorCode.VALID) {
+                failures++;
+            }
+        }
+        return failures;
+    }
+}
@@ -0,0 +1,183 @@
+package com.nextgeneration.benchmark;
+
+import java.util.Random;
+
+/**
+ * Deterministic inputs for the benchmarks. Every corpus has {@link #SIZE} entries, a power of two so benchmarks can
+ * cycle through it with a mask.
+ */
+final class Corpus {
+
+    static final int SIZE = 256;
+
+    enum Kind {
+        SHORT_VALID,
+        LONG_VALID,
+        INVALID,
+        UNICODE,
+        ADVERSARIAL
+    }
+
+    private static final String ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final String LOWER = "abcdefghijklmnopqrstuvwxyz";
+    private static final String DIGITS = "0123456789";
+    private static final String SEPARATORS = " -.";
+    private static final String UNICODE_LETTERS = "\u00e4\u00f6\u00fc\u00df\u00e9\u00e8\u00e7\u00f1\u00f8\u00e5\u00e6\u0153\u03b1\u03b2\u03b3\u03b4\u0436\u0437\u0438\u0439\u043a\u043b\u043c\u043d\u043e\u043f\u0440\u0441\u0442\u044b\u7528\u6237\u4f8b\u5b50\u5e83\u544a\ud55c\uad6d\uc5b4";
+
+    private Corpus() {
+    }
+
+    static String[] emails(Kind kind) {
+        Random random = new Random(1);
+        String[] emails = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            switch (kind) {
+                case SHORT_VALID:
+                    emails[i] = word(random, ALPHANUMERIC, 1, 8) + "@" + word(random, LOWER, 1, 8) + "."
+                            + word(random, LOWER, 2, 3);
+                    break;
+                case LONG_VALID:
+                    emails[i] = word(random, ALPHANUMERIC, 40, 64) + "." + word(random, ALPHANUMERIC, 20, 40) + "@"
+                            + word(random, LOWER, 20, 40) + "." + word(random, LOWER, 10, 20) + "."
+                            + word(random, LOWER, 10, 20) + "." + word(random, LOWER, 2, 3);
+                    break;
+                case INVALID:
+                    emails[i] = invalidEmail(random, i);
+                    break;
+                case UNICODE:
+                    emails[i] = word(random, UNICODE_LETTERS, 3, 10) + "@" + word(random, UNICODE_LETTERS, 3, 10)
+                            + "." + word(random, LOWER, 2, 3);
+                    break;
+                default:
+                    emails[i] = adversarialEmail(random, i);
+                    break;
+            }
+        }
+        return emails;
+    }
+
+    static String[] phoneNumbers(Kind kind) {
+        Random random = new Random(2);
+        String[] phoneNumbers = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            switch (kind) {
+                case SHORT_VALID:
+                    phoneNumbers[i] = word(random, DIGITS, 8, 10);
+                    break;
+                case LONG_VALID:
+                    phoneNumbers[i] = "+" + word(random, DIGITS, 1, 3) + " (" + word(random, DIGITS, 1, 4) + ") "
+                            + word(random, DIGITS, 3, 4) + "-" + word(random, DIGITS, 3, 4) + " "
+                            + word(random, DIGITS, 3, 4) + "." + word(random, DIGITS, 3, 4);
+                    break;
+                case INVALID:
+                    phoneNumbers[i] = invalidPhoneNumber(random, i);
+                    break;
+                case UNICODE:
+                    phoneNumbers[i] = "+" + word(random, "\uff10\uff11\uff12\uff13\uff14\uff15\uff16\uff17\uff18\uff19\u0660\u0661\u0662\u0663\u0664\u0665\u0666\u0667\u0668\u0669", 8, 12);
+                    break;
+                default:
+                    phoneNumbers[i] = adversarialPhoneNumber(random, i);
+                    break;
+            }
+        }
+        return phoneNumbers;
+    }
+
+    static String[] passwords(Kind kind) {
+        Random random = new Random(3);
+        String[] passwords = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            switch (kind) {
+                case SHORT_VALID:
+                    passwords[i] = "A" + word(random, LOWER, 4, 8) + word(random, DIGITS, 1, 2) + "!";
+                    break;
+                case LONG_VALID:
+                    passwords[i] = word(random, LOWER, 30, 60) + "~" + word(random, DIGITS, 1, 4) + "Z";
+                    break;
+                case INVALID:
+                    passwords[i] = word(random, i % 2 == 0 ? LOWER : ALPHANUMERIC, 2, 16);
+                    break;
+                case UNICODE:
+                    passwords[i] = "\u00c4" + word(random, UNICODE_LETTERS, 6, 12) + word(random, DIGITS, 1, 2) + "!";
+                    break;
+                default:
+                    // Long text missing the last required class forces a full scan.
+                    passwords[i] = word(random, LOWER, 4096, 8192) + "A1";
+                    break;
+            }
+        }
+        return passwords;
+    }
+
+    private static String invalidEmail(Random random, int i) {
+        String local = word(random, ALPHANUMERIC, 1, 12);
+        String domain = word(random, LOWER, 1, 12);
+        switch (i % 6) {
+            case 0:
+                return local + domain + ".com";
+            case 1:
+                return local + "@@" + domain + ".com";
+            case 2:
+                return local + "@" + domain + ".";
+            case 3:
+                return local + "@-" + domain + ".com";
+            case 4:
+                return local + "@" + domain;
+            default:
+                return local + " @" + domain + ".com";
+        }
+    }
+
+    private static String adversarialEmail(Random random, int i) {
+        switch (i % 3) {
+            case 0:
+                // Local part longer than the 256 characters allowed.
+                return word(random, ALPHANUMERIC, 1000, 2000) + "@" + word(random, LOWER, 5, 10) + ".com";
+            case 1:
+                // Thousands of labels rejected by the last character.
+                return "a@" + repeat("a.", 2000) + "-";
+            default:
+                return repeat("a.", 2000) + "@" + repeat("b-", 2000) + "!";
+        }
+    }
+
+    private static String invalidPhoneNumber(Random random, int i) {
+        switch (i % 4) {
+            case 0:
+                return word(random, DIGITS, 3, 5) + word(random, LOWER, 1, 3) + word(random, DIGITS, 3, 5);
+            case 1:
+                return "++" + word(random, DIGITS, 8, 10);
+            case 2:
+                return "(" + word(random, DIGITS, 2, 3) + " " + word(random, DIGITS, 6, 8);
+            default:
+                return word(random, DIGITS, 4, 8) + "-";
+        }
+    }
+
+    private static String adversarialPhoneNumber(Random random, int i) {
+        switch (i % 2) {
+            case 0:
+                // Digits that can be split between the country code and the number in many ways.
+                return "+" + word(random, DIGITS, 2000, 4000) + "x";
+            default:
+                return "1" + word(random, SEPARATORS, 2000, 4000) + "x";
+        }
+    }
+
+    private static String word(Random random, String alphabet, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return word.toString();
+    }
+
+    private static String repeat(String string, int count) {
+        StringBuilder repeated = new StringBuilder(string.length() * count);
+        for (int i = 0; i < count; i++) {
+            repeated.append(string);
+        }
+        return repeated.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.DomainSuggester;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of suggesting a domain for a validated email address with the default DomainSuggester. TYPO domains are one
+ * or two edits from a known domain, KNOWN domains are known, and UNKNOWN domains are far from every known domain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainSuggesterBenchmark {
+
+    private static final String[][] DOMAINS = {
+            {"gmial.com", "hotmial.com", "yaho.com", "outlok.com", "iclod.com", "gmai.com", "yahoo.co.k", "aol.con"},
+            {"gmail.com", "hotmail.com", "yahoo.com", "outlook.com", "icloud.com", "aol.com", "yahoo.co.uk", "me.com"},
+            {"example.org", "company.io", "university.edu", "startup.dev", "agency.net", "family.name", "x.y", "z.z"}
+    };
+
+    @Param({"TYPO", "KNOWN", "UNKNOWN"})
+    public String domain;
+
+    private DomainSuggester suggester;
+    private String[] texts;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        suggester = DomainSuggester.getDefault();
+        texts = DOMAINS["TYPO".equals(domain) ? 0 : ("KNOWN".equals(domain) ? 1 : 2)];
+    }
+
+    @Benchmark
+    public String suggestDomain() {
+        index = (index + 1) & (DOMAINS[0].length - 1);
+        String text = texts[index];
+        return suggester.suggestDomain(text, 0, text.length());
+    }
+}
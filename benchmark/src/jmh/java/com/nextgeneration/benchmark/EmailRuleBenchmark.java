@@ -0,0 +1,17 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.Rule;
+
+public class EmailRuleBenchmark extends RuleBenchmark {
+
+    @Override
+    protected Rule createRule() {
+        return new EmailRule();
+    }
+
+    @Override
+    protected String[] createCorpus(Corpus.Kind kind) {
+        return Corpus.emails(kind);
+    }
+}
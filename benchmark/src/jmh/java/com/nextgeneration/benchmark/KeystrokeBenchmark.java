@@ -0,0 +1,98 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PasswordRule;
+import com.nextgeneration.core.PhoneNumberFormatter;
+import com.nextgeneration.core.PhoneNumberRule;
+import com.nextgeneration.core.PhoneRegion;
+import com.nextgeneration.core.Rule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of validating on every keystroke, as afterTextChanged does without debouncing. Each operation types one
+ * character into a reused buffer standing in for the field's Editable, then validates the whole text. Sample time
+ * mode reports the latency percentiles. PHONE_NUMBER_FORMATTING formats the number as it is typed for the AU region
+ * and validates the formatted text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KeystrokeBenchmark {
+
+    @Param({"EMAIL", "PHONE_NUMBER", "PHONE_NUMBER_FORMATTING", "PASSWORD", "PASSWORD_INCREMENTAL"})
+    public String field;
+
+    @Param({"SHORT_VALID", "LONG_VALID", "UNICODE"})
+    public String input;
+
+    private final StringBuilder editable = new StringBuilder();
+    private final int[] counts = new int[PasswordRule.CHAR_CLASS_COUNT];
+    private Rule rule;
+    private PasswordRule passwordRule;
+    private PhoneNumberFormatter formatter;
+    private boolean incremental;
+    private String[] texts;
+    private int index;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        Corpus.Kind kind = Corpus.Kind.valueOf(input);
+        if ("EMAIL".equals(field)) {
+            rule = new EmailRule();
+            texts = Corpus.emails(kind);
+        } else if ("PHONE_NUMBER".equals(field)) {
+            rule = new PhoneNumberRule();
+            texts = Corpus.phoneNumbers(kind);
+        } else if ("PHONE_NUMBER_FORMATTING".equals(field)) {
+            PhoneRegion region = PhoneRegion.forRegion("AU");
+            rule = new PhoneNumberRule(region);
+            formatter = new PhoneNumberFormatter(region);
+            texts = Corpus.phoneNumbers(kind);
+        } else {
+            passwordRule = PasswordRuleBenchmark.createPasswordRule();
+            rule = passwordRule;
+            incremental = "PASSWORD_INCREMENTAL".equals(field);
+            texts = Corpus.passwords(kind);
+        }
+    }
+
+    @Benchmark
+    public int afterTextChanged() {
+        String typing = texts[index];
+        if (position == typing.length()) {
+            index = (index + 1) & (Corpus.SIZE - 1);
+            typing = texts[index];
+            position = 0;
+            editable.setLength(0);
+            Arrays.fill(counts, 0);
+            if (formatter != null) {
+                formatter.clear();
+            }
+        }
+        char c = typing.charAt(position++);
+        if (formatter != null) {
+            formatter.input(c);
+            return rule.validate(formatter.getFormatted());
+        }
+        editable.append(c);
+        if (incremental) {
+            counts[PasswordRule.charClass(c)]++;
+            int error = passwordRule.validateLength(editable.length());
+            return error != ErrorCode.VALID ? error : passwordRule.validateChars(counts);
+        }
+        return rule.validate(editable);
+    }
+}
@@ -0,0 +1,27 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.PasswordRule;
+import com.nextgeneration.core.Rule;
+
+public class PasswordRuleBenchmark extends RuleBenchmark {
+
+    static PasswordRule createPasswordRule() {
+        return new PasswordRule.Builder()
+                .setMinLength(8)
+                .setHasUpperChar(true)
+                .setHasLowerChar(true)
+                .setHasDigit(true)
+                .setHasSpecialChar(true)
+                .build();
+    }
+
+    @Override
+    protected Rule createRule() {
+        return createPasswordRule();
+    }
+
+    @Override
+    protected String[] createCorpus(Corpus.Kind kind) {
+        return Corpus.passwords(kind);
+    }
+}
@@ -0,0 +1,17 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.PhoneNumberRule;
+import com.nextgeneration.core.Rule;
+
+public class PhoneNumberRuleBenchmark extends RuleBenchmark {
+
+    @Override
+    protected Rule createRule() {
+        return new PhoneNumberRule();
+    }
+
+    @Override
+    protected String[] createCorpus(Corpus.Kind kind) {
+        return Corpus.phoneNumbers(kind);
+    }
+}
@@ -0,0 +1,37 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PatternRule;
+import com.nextgeneration.core.Regex;
+import com.nextgeneration.core.RegexRule;
+import com.nextgeneration.core.Rule;
+
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.regex.Pattern;
+
+/**
+ * The email address pattern matched by the non-backtracking Regex, with an unlimited step budget so every text is
+ * matched to the end, compared to java.util.regex. java.util.regex overflows the stack on the ADVERSARIAL inputs, so
+ * run PATTERN_RULE without them.
+ */
+public class RegexRuleBenchmark extends RuleBenchmark {
+
+    @Param({"REGEX_RULE", "PATTERN_RULE"})
+    public String implementation;
+
+    @Override
+    protected Rule createRule() {
+        if (implementation.equals("REGEX_RULE")) {
+            return new RegexRule(Regex.compile(EmailRule.EMAIL_ADDRESS_PATTERN), ErrorCode.EMAIL_ADDRESS_INVALID,
+                    Integer.MAX_VALUE);
+        }
+        return new PatternRule(Pattern.compile(EmailRule.EMAIL_ADDRESS_PATTERN), ErrorCode.EMAIL_ADDRESS_INVALID);
+    }
+
+    @Override
+    protected String[] createCorpus(Corpus.Kind kind) {
+        return Corpus.emails(kind);
+    }
+}
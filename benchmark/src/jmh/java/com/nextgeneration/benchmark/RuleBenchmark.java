@@ -0,0 +1,47 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.Rule;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of a Rule over one corpus of inputs. One operation validates one input. Run with the gc profiler to
+ * report the allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public abstract class RuleBenchmark {
+
+    @Param({"SHORT_VALID", "LONG_VALID", "INVALID", "UNICODE", "ADVERSARIAL"})
+    public String input;
+
+    private Rule rule;
+    private String[] texts;
+    private int index;
+
+    protected abstract Rule createRule();
+
+    protected abstract String[] createCorpus(Corpus.Kind kind);
+
+    @Setup
+    public void setUp() {
+        rule = createRule();
+        texts = createCorpus(Corpus.Kind.valueOf(input));
+    }
+
+    @Benchmark
+    public int validate() {
+        index = (index + 1) & (Corpus.SIZE - 1);
+        return rule.validate(texts[index]);
+    }
+}
@@ -0,0 +1,111 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.CharClass;
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PatternRule;
+import com.nextgeneration.core.Rule;
+import com.nextgeneration.core.RuleSet;
+
+import org.openjdk.jmh.annotations.Param;
+
+import java.util.regex.Pattern;
+
+/**
+ * The password and email requirements declared as a RuleSet, compared to the same checks as a chain of regular
+ * expressions, one pass per check, and to the hand-written Rules.
+ */
+public class RuleSetBenchmark extends RuleBenchmark {
+
+    @Param({"PASSWORD", "EMAIL"})
+    public String requirements;
+
+    @Param({"RULE_SET", "REGEX_CHAIN", "HAND_WRITTEN"})
+    public String implementation;
+
+    static RuleSet createPasswordRuleSet() {
+        return new RuleSet.Builder()
+                .setMinLength(8, ErrorCode.PASSWORD_MIN_LENGTH)
+                .require(CharClass.PASSWORD_UPPER, ErrorCode.PASSWORD_UPPER_CHAR)
+                .require(CharClass.PASSWORD_LOWER, ErrorCode.PASSWORD_LOWER_CHAR)
+                .require(CharClass.PASSWORD_DIGIT, ErrorCode.PASSWORD_DIGIT)
+                .require(CharClass.PASSWORD_SPECIAL, ErrorCode.PASSWORD_SPECIAL_CHAR)
+                .build();
+    }
+
+    /**
+     * Cheap character checks reject most invalid addresses before the EmailRule reads the structure.
+     */
+    static RuleSet createEmailRuleSet() {
+        return new RuleSet.Builder()
+                .setEmptyValid(true)
+                .setMinLength(5, ErrorCode.EMAIL_ADDRESS_INVALID)
+                .setAllowed(CharClass.ALPHANUMERIC.union(CharClass.of("+._%-@")), ErrorCode.EMAIL_ADDRESS_INVALID)
+                .require(CharClass.of("@"), ErrorCode.EMAIL_ADDRESS_INVALID)
+                .require(CharClass.of("."), ErrorCode.EMAIL_ADDRESS_INVALID)
+                .addRule(new EmailRule(), RuleSet.COST_LINEAR)
+                .build();
+    }
+
+    static Rule createPasswordRegexChain() {
+        return new Chain(false,
+                new PatternRule(Pattern.compile("(?s).{8,}"), ErrorCode.PASSWORD_MIN_LENGTH),
+                new PatternRule(Pattern.compile("(?s).*[\\p{Lu}\\p{Lt}].*"), ErrorCode.PASSWORD_UPPER_CHAR),
+                new PatternRule(Pattern.compile("(?s).*\\p{Ll}.*"), ErrorCode.PASSWORD_LOWER_CHAR),
+                new PatternRule(Pattern.compile("(?s).*\\p{Nd}.*"), ErrorCode.PASSWORD_DIGIT),
+                new PatternRule(Pattern.compile("(?s).*[\\p{P}\\p{S}].*"), ErrorCode.PASSWORD_SPECIAL_CHAR));
+    }
+
+    static Rule createEmailRegexChain() {
+        return new Chain(true,
+                new PatternRule(Pattern.compile("[a-zA-Z0-9+._%\\-@]{5,}"), ErrorCode.EMAIL_ADDRESS_INVALID),
+                new PatternRule(Pattern.compile(".*@.*"), ErrorCode.EMAIL_ADDRESS_INVALID),
+                new PatternRule(Pattern.compile(".*\\..*"), ErrorCode.EMAIL_ADDRESS_INVALID),
+                new PatternRule(Pattern.compile(EmailRule.EMAIL_ADDRESS_PATTERN), ErrorCode.EMAIL_ADDRESS_INVALID));
+    }
+
+    @Override
+    protected Rule createRule() {
+        boolean password = requirements.equals("PASSWORD");
+        switch (implementation) {
+            case "RULE_SET":
+                return password ? createPasswordRuleSet() : createEmailRuleSet();
+            case "REGEX_CHAIN":
+                return password ? createPasswordRegexChain() : createEmailRegexChain();
+            default:
+                return password ? PasswordRuleBenchmark.createPasswordRule() : new EmailRule();
+        }
+    }
+
+    @Override
+    protected String[] createCorpus(Corpus.Kind kind) {
+        return requirements.equals("PASSWORD") ? Corpus.passwords(kind) : Corpus.emails(kind);
+    }
+
+    /**
+     * Rules run one after another, each reading the whole text.
+     */
+    private static final class Chain implements Rule {
+        private final boolean emptyValid;
+        private final Rule[] rules;
+
+        private Chain(boolean emptyValid, Rule... rules) {
+            this.emptyValid = emptyValid;
+            this.rules = rules;
+        }
+
+        @Override
+        public int validate(CharSequence text) {
+            if (emptyValid && text.length() == 0) {
+                return ErrorCode.VALID;
+            }
+            for (Rule rule : rules) {
+                int error = rule.validate(text);
+                if (error != ErrorCode.VALID) {
+                    return error;
+                }
+            }
+            return ErrorCode.VALID;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.EmailRule;
+import com.nextgeneration.core.PhoneNumberRule;
+import com.nextgeneration.core.Rule;
+import com.nextgeneration.core.ValidationSnapshot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold restore of a 40 field form after process death: reading the parcelled ValidationSnapshot back and finding the
+ * ErrorCode of every field, compared to validating every field again. Displaying the errors costs the same either way,
+ * and is left out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StateRestoreBenchmark {
+
+    private static final int FIELDS = 40;
+
+    @Param({"SHORT_VALID", "LONG_VALID", "INVALID"})
+    public String input;
+
+    private final Rule[] rules = new Rule[FIELDS];
+    private final String[] texts = new String[FIELDS];
+    private byte[] parcelled;
+
+    @Setup
+    public void setUp() {
+        Corpus.Kind kind = Corpus.Kind.valueOf(input);
+        String[] emails = Corpus.emails(kind);
+        String[] phoneNumbers = Corpus.phoneNumbers(kind);
+        String[] passwords = Corpus.passwords(kind);
+        ValidationSnapshot.Builder builder = new ValidationSnapshot.Builder();
+        for (int i = 0; i < FIELDS; i++) {
+            switch (i % 3) {
+                case 0:
+                    rules[i] = new EmailRule();
+                    texts[i] = emails[i];
+                    break;
+                case 1:
+                    rules[i] = new PhoneNumberRule();
+                    texts[i] = phoneNumbers[i];
+                    break;
+                default:
+                    rules[i] = PasswordRuleBenchmark.createPasswordRule();
+                    texts[i] = passwords[i];
+                    break;
+            }
+            builder.add(rules[i].validate(texts[i]), ValidationSnapshot.FLAG_SHOW_ERROR, null);
+        }
+        parcelled = builder.build().toByteArray();
+    }
+
+    @Benchmark
+    public int restore() {
+        ValidationSnapshot snapshot = ValidationSnapshot.fromByteArray(parcelled);
+        int codes = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            codes += snapshot.getCode(i);
+        }
+        return codes;
+    }
+
+    @Benchmark
+    public int revalidate() {
+        int codes = 0;
+        for (int i = 0; i < FIELDS; i++) {
+            codes += rules[i].validate(texts[i]);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,59 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.StrengthEstimator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of estimating password strength on every keystroke. Each operation types one character into a reused buffer
+ * standing in for the field's Editable, then estimates the whole text, either continuing from the previous estimate or
+ * from scratch as a stateless estimator would. Sample time mode reports the latency percentiles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StrengthEstimatorBenchmark {
+
+    @Param({"SHORT_VALID", "LONG_VALID", "INVALID"})
+    public String input;
+
+    @Param({"true", "false"})
+    public boolean incremental;
+
+    private final StringBuilder editable = new StringBuilder();
+    private StrengthEstimator estimator;
+    private String[] texts;
+    private int index;
+    private int position;
+
+    @Setup
+    public void setUp() {
+        estimator = new StrengthEstimator();
+        texts = Corpus.passwords(Corpus.Kind.valueOf(input));
+    }
+
+    @Benchmark
+    public double afterTextChanged() {
+        String typing = texts[index];
+        if (position == typing.length()) {
+            index = (index + 1) & (Corpus.SIZE - 1);
+            typing = texts[index];
+            position = 0;
+            editable.setLength(0);
+        }
+        editable.append(typing.charAt(position++));
+        if (!incremental) {
+            estimator.reset();
+        }
+        return estimator.update(editable);
+    }
+}
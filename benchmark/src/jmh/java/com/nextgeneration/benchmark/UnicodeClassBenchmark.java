@@ -0,0 +1,64 @@
+package com.nextgeneration.benchmark;
+
+import com.nextgeneration.core.UnicodeClass;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classifying every code point of a password with the UnicodeClass tables, compared to the general category from
+ * Character.getType, which still needs mapping to a class.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UnicodeClassBenchmark {
+
+    @Param({"LONG_VALID", "UNICODE"})
+    public String input;
+
+    private String[] texts;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        texts = Corpus.passwords(Corpus.Kind.valueOf(input));
+    }
+
+    @Benchmark
+    public int unicodeClass() {
+        String text = next();
+        int classes = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            classes |= 1 << UnicodeClass.ofCodePoint(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return classes;
+    }
+
+    @Benchmark
+    public int characterGetType() {
+        String text = next();
+        int types = 0;
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            types |= 1 << Character.getType(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return types;
+    }
+
+    private String next() {
+        index = (index + 1) % texts.length;
+        return texts[index];
+    }
+}
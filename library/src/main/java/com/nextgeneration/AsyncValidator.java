@@ -0,0 +1,373 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.text.Editable;
+import android.text.TextUtils;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validator for checks too slow for the main thread, such as a username availability lookup. Cheap checks run first in
+ * {@link #onValidateSync(CharSequence)}, then {@link #onValidateAsync(String)} runs on an Executor while the field is
+ * pending: its error is cleared and an {@link AsyncValidateListener} is told through onPending. The result is displayed
+ * and delivered to the ValidateListener on the main thread.
+ * <p>
+ * Only the newest text matters: a request is cancelled, and its thread interrupted, as soon as the text changes or is
+ * validated again. Validating the text of the request in flight reuses it, at most {@link #getMaxConcurrentRequests()}
+ * requests of this Validator run at once with only the newest one waiting for a slot, and requests taking longer than
+ * {@link #getTimeout()} fail with a timeout error.
+ */
+public abstract class AsyncValidator extends Validator {
+
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 2;
+    public static final long DEFAULT_TIMEOUT = 10000;
+
+    private static ExecutorService defaultExecutor;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private Executor executor;
+    private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private long timeout = DEFAULT_TIMEOUT;
+    private ValidationError timeoutError = ValidationError.VALIDATION_TIMEOUT;
+    private ValidationError failedError = ValidationError.VALIDATION_FAILED;
+    private Request request;
+    private Request waitingRequest;
+    private int runningRequests;
+
+    public AsyncValidator(TextView textView) {
+        super(textView);
+        updateTextWatcher();
+    }
+
+    /**
+     * Executor used by AsyncValidators that have not been given one, growing daemon threads as blocking checks need
+     * them.
+     */
+    public static synchronized Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            final AtomicInteger count = new AtomicInteger();
+            defaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable runnable) {
+                    Thread thread = new Thread(runnable, "AsyncValidator-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return defaultExecutor;
+    }
+
+    public Executor getExecutor() {
+        if (executor == null) {
+            executor = getDefaultExecutor();
+        }
+        return executor;
+    }
+
+    /**
+     * Set the Executor asynchronous checks run on, such as a direct Executor against a fake backend in tests.
+     *
+     * @param executor
+     */
+    public void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * Set how many requests of this Validator may run at once, counting cancelled requests whose check has not
+     * returned yet. Throws an IllegalArgumentException if less than 1.
+     *
+     * @param maxConcurrentRequests
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException("Max concurrent requests must be at least 1");
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(long timeout) {
+        setTimeout(timeout, null);
+    }
+
+    /**
+     * Set how many milliseconds a request may run before it fails. Throws an IllegalArgumentException if negative.
+     *
+     * @param timeout      Milliseconds, 0 for no timeout.
+     * @param timeoutError Error message on timeout, null for the default.
+     */
+    public void setTimeout(long timeout, @Nullable String timeoutError) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+        this.timeout = timeout;
+        if (timeoutError != null) {
+            this.timeoutError = new ValidationError(ErrorCode.VALIDATION_TIMEOUT, timeoutError);
+        } else {
+            this.timeoutError = ValidationError.VALIDATION_TIMEOUT;
+        }
+    }
+
+    /**
+     * Set the error message when {@link #onValidateAsync(String)} throws.
+     *
+     * @param failedError Error message, null for the default.
+     */
+    public void setFailedError(@Nullable String failedError) {
+        if (failedError != null) {
+            this.failedError = new ValidationError(ErrorCode.VALIDATION_FAILED, failedError);
+        } else {
+            this.failedError = ValidationError.VALIDATION_FAILED;
+        }
+    }
+
+    /**
+     * @return Whether an asynchronous check of the newest text is running or waiting to run.
+     */
+    public boolean isPending() {
+        return request != null;
+    }
+
+    /**
+     * Validate the field's text.
+     *
+     * @return Future of the result, completing on the main thread's schedule. It is cancelled if the request becomes
+     * stale.
+     */
+    @MainThread
+    public Future<ValidationError> validateAsync() {
+        validate();
+        if (request != null) {
+            return request;
+        }
+        Request completed = new Request(this, getText());
+        completed.complete(getValidationError());
+        return completed;
+    }
+
+    /**
+     * Cancel the requests in flight. Their results are never delivered.
+     */
+    @MainThread
+    public void cancel() {
+        if (request != null) {
+            request.cancel(true);
+            handler.removeCallbacks(request.timeoutCheck);
+            request = null;
+        }
+        waitingRequest = null;
+    }
+
+    @Override
+    protected boolean isTextWatching() {
+        return true;
+    }
+
+    @Override
+    public void unbind() {
+        cancel();
+        super.unbind();
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        if (request != null && !TextUtils.equals(request.text, s)) {
+            cancel();
+        }
+        super.afterTextChanged(s);
+    }
+
+    @Override
+    public final String onValidate(String string, Context context) {
+        ValidationError error = onValidate((CharSequence) string);
+        return error != null ? error.getMessage(context) : null;
+    }
+
+    @Override
+    public final ValidationError onValidate(CharSequence text) {
+        ValidationError error = onValidateSync(text);
+        if (error != null) {
+            return error;
+        }
+        String string = text.toString();
+        if (request == null || !request.text.equals(string)) {
+            cancel();
+            request = new Request(this, string);
+            if (runningRequests < maxConcurrentRequests) {
+                submit(request);
+            } else {
+                waitingRequest = request;
+            }
+        }
+        return ValidationError.VALIDATION_PENDING;
+    }
+
+    /**
+     * Put cheap checks in here, run on the main thread before the asynchronous check. Return null to go on with
+     * {@link #onValidateAsync(String)}.
+     *
+     * @param text Text to validate.
+     * @return ValidationError, null if none.
+     */
+    @Nullable
+    protected ValidationError onValidateSync(CharSequence text) {
+        return null;
+    }
+
+    /**
+     * Put slow validation logic in here, such as a network call. Runs on the Executor, and is interrupted when the
+     * request becomes stale or times out. Thrown exceptions fail validation with the failed error.
+     *
+     * @param text Text to validate.
+     * @return ValidationError, null if none.
+     */
+    @WorkerThread
+    @Nullable
+    protected abstract ValidationError onValidateAsync(String text) throws Exception;
+
+    @Override
+    boolean deliver(CharSequence text, @Nullable ValidationError error) {
+        if (error == null || error.getCode() != ErrorCode.VALIDATION_PENDING) {
+            cancel();
+        }
+        return super.deliver(text, error);
+    }
+
+    private void submit(Request request) {
+        runningRequests++;
+        if (timeout > 0) {
+            handler.postDelayed(request.timeoutCheck, timeout);
+        }
+        getExecutor().execute(request);
+    }
+
+    private void onRequestFinished() {
+        runningRequests--;
+        if (waitingRequest != null && runningRequests < maxConcurrentRequests) {
+            Request request = waitingRequest;
+            waitingRequest = null;
+            submit(request);
+        }
+    }
+
+    private void onRequestDone(Request request) {
+        if (request != this.request || request.isCancelled()) {
+            return;
+        }
+        this.request = null;
+        handler.removeCallbacks(request.timeoutCheck);
+        ValidationError error;
+        try {
+            error = request.get();
+        } catch (ExecutionException e) {
+            error = failedError;
+        } catch (InterruptedException e) {
+            error = failedError;
+        }
+        if (error == null || (error.getCode() != ErrorCode.VALIDATION_TIMEOUT
+                && error.getCode() != ErrorCode.VALIDATION_FAILED)) {
+            cacheResult(request.text, error);
+        }
+        deliver(request.text, error);
+    }
+
+    /**
+     * Asynchronous check of one text. Completion is posted to the main thread, which ignores it unless the request is
+     * still the newest one.
+     */
+    private static final class Request extends FutureTask<ValidationError> {
+        private final AsyncValidator validator;
+        private final String text;
+        private Thread worker;
+
+        private final Runnable timeoutCheck = new Runnable() {
+            @Override
+            public void run() {
+                if (!isDone()) {
+                    complete(validator.timeoutError);
+                    synchronized (Request.this) {
+                        if (worker != null) {
+                            worker.interrupt();
+                        }
+                    }
+                }
+            }
+        };
+
+        private final Runnable finished = new Runnable() {
+            @Override
+            public void run() {
+                validator.onRequestFinished();
+            }
+        };
+
+        private final Runnable done = new Runnable() {
+            @Override
+            public void run() {
+                validator.onRequestDone(Request.this);
+            }
+        };
+
+        private Request(final AsyncValidator validator, final String text) {
+            super(new Callable<ValidationError>() {
+                @Override
+                public ValidationError call() throws Exception {
+                    return validator.onValidateAsync(text);
+                }
+            });
+            this.validator = validator;
+            this.text = text;
+        }
+
+        private void complete(ValidationError error) {
+            set(error);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                worker = Thread.currentThread();
+            }
+            try {
+                super.run();
+            } finally {
+                synchronized (this) {
+                    worker = null;
+                    // Clear an interrupt from a timeout, so it does not leak into the next task of the thread.
+                    Thread.interrupted();
+                }
+                validator.handler.post(finished);
+            }
+        }
+
+        @Override
+        protected void done() {
+            validator.handler.post(done);
+        }
+    }
+}
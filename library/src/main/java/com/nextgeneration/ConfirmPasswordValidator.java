@@ -4,9 +4,11 @@ import android.support.annotation.Nullable;
 import android.text.TextUtils;
 
 /**
- * Class that contains two PasswordValidators and validates both Texts equals
+ * Class that contains two PasswordValidators and validates both Texts equals. It listens to both through
+ * {@link Validator#addValidationListener(Validator.ValidationListener)}, leaving their ValidateListeners free. Its
+ * deprecated ValidateListener methods are kept for code that still sets it as one.
  */
-public class ConfirmPasswordValidator implements Validator.ValidateListener {
+public class ConfirmPasswordValidator implements Validator.ValidationListener, Validator.ValidateListener {
 
     private final PasswordValidator passwordValidator;
     private final PasswordValidator confirmPasswordValidator;
@@ -15,13 +17,21 @@ public class ConfirmPasswordValidator implements Validator.ValidateListener {
     public ConfirmPasswordValidator(PasswordValidator passwordValidator, PasswordValidator confirmPasswordValidator) {
         this.passwordValidator = passwordValidator;
         this.confirmPasswordValidator = confirmPasswordValidator;
-        this.passwordValidator.setValidateListener(this);
-        this.confirmPasswordValidator.setValidateListener(this);
+        this.passwordValidator.addValidationListener(this);
+        this.confirmPasswordValidator.addValidationListener(this);
+    }
+
+    /**
+     * Stop listening to the PasswordValidators.
+     */
+    public void release() {
+        passwordValidator.removeValidationListener(this);
+        confirmPasswordValidator.removeValidationListener(this);
     }
 
     public boolean validate() {
         if (passwordValidator.validate() && confirmPasswordValidator.validate()) {
-            if (!passwordValidator.getText().equals(confirmPasswordValidator.getText())) {
+            if (!TextUtils.equals(passwordValidator.getRawText(), confirmPasswordValidator.getRawText())) {
                 setErrorMismatch();
                 return false;
             }
@@ -38,7 +48,7 @@ public class ConfirmPasswordValidator implements Validator.ValidateListener {
         if (!TextUtils.isEmpty(mismatchPasswordError)) {
             setError(mismatchPasswordError);
         } else {
-            setError(passwordValidator.getContext().getString(R.string.av_passwords_do_not_match));
+            setError(ValidationError.PASSWORDS_DO_NOT_MATCH.getMessage(passwordValidator.getContext()));
         }
     }
 
@@ -47,21 +57,41 @@ public class ConfirmPasswordValidator implements Validator.ValidateListener {
         confirmPasswordValidator.setError(error);
     }
 
+    @Override
+    public void onValidated(Validator validator, @Nullable ValidationError error) {
+        if (error == null) {
+            checkMatch();
+        }
+    }
+
+    /**
+     * @deprecated ConfirmPasswordValidator listens through {@link #onValidated(Validator, ValidationError)}. Kept for
+     * code that still sets it as a ValidateListener, it checks the passwords match.
+     */
+    @Deprecated
     @Override
     public void onSuccess() {
-        String password = passwordValidator.getText();
-        String confirmPassword = confirmPasswordValidator.getText();
+        checkMatch();
+    }
+
+    /**
+     * @deprecated ConfirmPasswordValidator listens through {@link #onValidated(Validator, ValidationError)}. Errors
+     * of the PasswordValidators are left displayed.
+     */
+    @Deprecated
+    @Override
+    public void onError(String errorString) {
+    }
+
+    private void checkMatch() {
+        CharSequence password = passwordValidator.getRawText();
+        CharSequence confirmPassword = confirmPasswordValidator.getRawText();
         if (!TextUtils.isEmpty(password) && !TextUtils.isEmpty(confirmPassword)) {
-            if (!password.equals(confirmPassword)) {
+            if (!TextUtils.equals(password, confirmPassword)) {
                 setErrorMismatch();
             } else {
                 setError(null);
             }
         }
     }
-
-    @Override
-    public void onError(String errorString) {
-
-    }
 }
@@ -2,21 +2,26 @@ package com.nextgeneration;
 
 import android.content.Context;
 import android.support.annotation.Nullable;
-import android.text.TextUtils;
-import android.util.Patterns;
 import android.widget.TextView;
 
-import com.nextgeneration.R;
+import com.nextgeneration.core.DomainSuggester;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.EmailRule;
 
 /**
  * Email Validator for EditText
  */
 public class EmailValidator extends Validator {
 
+    private final EmailRule rule = new EmailRule();
     private String errorMessage;
+    private ValidationError error = ValidationError.EMAIL_ADDRESS_INVALID;
+    private DomainSuggester domainSuggester;
+    private String suggestion;
 
     public EmailValidator(TextView textView) {
         super(textView);
+        setResultCacheSize(DEFAULT_RESULT_CACHE_SIZE);
     }
 
     public String getErrorMessage() {
@@ -25,16 +30,90 @@ public class EmailValidator extends Validator {
 
     public void setErrorMessage(@Nullable String errorMessage) {
         this.errorMessage = errorMessage;
+        if (errorMessage != null) {
+            this.error = new ValidationError(ErrorCode.EMAIL_ADDRESS_INVALID, errorMessage);
+        } else {
+            this.error = ValidationError.EMAIL_ADDRESS_INVALID;
+        }
+        invalidateCache();
+    }
+
+    public DomainSuggester getDomainSuggester() {
+        return domainSuggester;
+    }
+
+    /**
+     * Set the suggester of the domain a valid address probably meant, such as "gmail.com" for "john@gmial.com", given
+     * to a {@link SuggestionValidateListener} with each valid result and read with {@link #getSuggestion()}. Use
+     * {@link DomainSuggester#getDefault()} for the most common email domains.
+     *
+     * @param domainSuggester Suggester, null for no suggestions.
+     */
+    public void setDomainSuggester(@Nullable DomainSuggester domainSuggester) {
+        this.domainSuggester = domainSuggester;
+        this.suggestion = null;
+    }
+
+    /**
+     * @return Last validated address with its domain corrected, such as "john@gmail.com" for "john@gmial.com", when
+     * the last validation succeeded and a DomainSuggester is set. Null if there is no suggestion.
+     */
+    @Nullable
+    public String getSuggestion() {
+        return suggestion;
+    }
+
+    /**
+     * @return Rule this Validator checks with, which can validate the same way off the main thread.
+     */
+    @Override
+    public EmailRule getRule() {
+        return rule;
     }
 
     @Override
     public String onValidate(String string, Context context) {
-        if (string.length() > 0 && !Patterns.EMAIL_ADDRESS.matcher(string).matches()) {
-            if (errorMessage != null) {
-                return errorMessage;
-            }
-            return context.getString(R.string.av_email_address_is_invalid);
+        ValidationError error = onValidate((CharSequence) string);
+        return error != null ? error.getMessage(context) : null;
+    }
+
+    @Override
+    public ValidationError onValidate(CharSequence text) {
+        return getValidationError(rule.validate(text));
+    }
+
+    @Override
+    public void unbind() {
+        super.unbind();
+        suggestion = null;
+    }
+
+    @Override
+    boolean deliver(CharSequence text, @Nullable ValidationError error) {
+        // Before listeners are notified, so they can read the suggestion.
+        suggestion = error == null && domainSuggester != null ? domainSuggester.suggest(text) : null;
+        ValidateListener validateListener = getValidateListener();
+        if (error == null && validateListener instanceof SuggestionValidateListener) {
+            ((SuggestionValidateListener) validateListener).onSuggestion(suggestion);
         }
-        return null;
+        return super.deliver(text, error);
+    }
+
+    @Override
+    public ValidationError getValidationError(int code) {
+        return code == ErrorCode.EMAIL_ADDRESS_INVALID ? error : super.getValidationError(code);
+    }
+
+    /**
+     * ValidateListener that is also given the suggested address of each valid result, such as to offer "Did you mean
+     * john@gmail.com?".
+     */
+    public interface SuggestionValidateListener extends ValidateListener {
+        /**
+         * Called before onSuccess.
+         *
+         * @param suggestion Address with its domain corrected, null if there is no suggestion.
+         */
+        void onSuggestion(@Nullable String suggestion);
     }
 }
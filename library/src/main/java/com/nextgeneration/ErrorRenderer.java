@@ -0,0 +1,104 @@
+package com.nextgeneration;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+
+/**
+ * Batches error messages of Validators into a single frame. Validators sharing an ErrorRenderer queue their error
+ * changes, and all of them are applied together on the next Choreographer frame (a Handler post before Jelly Bean).
+ * Each Validator skips setError when the error did not change since it was last rendered, so only fields whose error
+ * changed trigger a layout.
+ * <p>
+ * Share one ErrorRenderer between the Validators of a screen, and call {@link #cancelAll()} when the screen goes away.
+ * Must only be used from the main thread.
+ */
+public class ErrorRenderer implements Runnable {
+
+    private final ArrayList<Validator> pending = new ArrayList<>();
+    private final ArrayList<Validator> rendering = new ArrayList<>();
+    private Handler handler;
+    private Object frameCallback;
+    private boolean posted;
+
+    /**
+     * Render the Validator's error on the next frame.
+     *
+     * @param validator
+     */
+    public void render(Validator validator) {
+        if (!pending.contains(validator)) {
+            pending.add(validator);
+        }
+        if (!posted) {
+            posted = true;
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+                if (frameCallback == null) {
+                    frameCallback = new FrameCallback(this);
+                }
+                ((FrameCallback) frameCallback).post();
+            } else {
+                if (handler == null) {
+                    handler = new Handler(Looper.getMainLooper());
+                }
+                handler.post(this);
+            }
+        }
+    }
+
+    /**
+     * Drop the pending error of the Validator, if any.
+     *
+     * @param validator
+     */
+    public void cancel(Validator validator) {
+        pending.remove(validator);
+    }
+
+    /**
+     * Drop every pending error.
+     */
+    public void cancelAll() {
+        pending.clear();
+    }
+
+    /**
+     * Render every pending error now instead of on the next frame.
+     */
+    public void flush() {
+        run();
+    }
+
+    @Override
+    public void run() {
+        posted = false;
+        rendering.addAll(pending);
+        pending.clear();
+        for (int i = 0, size = rendering.size(); i < size; i++) {
+            rendering.get(i).renderError();
+        }
+        rendering.clear();
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class FrameCallback implements Choreographer.FrameCallback {
+        private final ErrorRenderer errorRenderer;
+
+        private FrameCallback(ErrorRenderer errorRenderer) {
+            this.errorRenderer = errorRenderer;
+        }
+
+        private void post() {
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            errorRenderer.run();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.nextgeneration;
+
+/**
+ * Histogram of durations in nanoseconds with fixed buckets: four per power of two, so each bucket is within 25% of
+ * the durations it holds. Recording is one striped increment and never allocates.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Buckets up to 2^40 ns, about 18 minutes. Longer durations fall into the last bucket.
+     */
+    static final int BUCKETS = 160;
+
+    private final StripedCounter counts = new StripedCounter(BUCKETS);
+
+    LatencyHistogram() {
+    }
+
+    void record(long nanos) {
+        counts.increment(bucket(nanos));
+    }
+
+    Snapshot snapshot(boolean reset) {
+        long[] buckets = new long[BUCKETS];
+        counts.sum(buckets, reset);
+        return new Snapshot(buckets);
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < 4) {
+            return nanos < 0 ? 0 : (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int bucket = (exponent - 1) * 4 + (int) ((nanos >>> (exponent - 2)) & 3);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * @return Shortest duration of a bucket, in nanoseconds.
+     */
+    static long lowerBound(int bucket) {
+        if (bucket < 4) {
+            return bucket;
+        }
+        int exponent = bucket / 4 + 1;
+        return (4L + (bucket & 3)) << (exponent - 2);
+    }
+
+    /**
+     * Counts of a LatencyHistogram at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+
+        Snapshot(long[] buckets) {
+            this.buckets = buckets;
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            this.count = count;
+        }
+
+        /**
+         * @return Number of durations recorded.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        public int getBucketCount() {
+            return BUCKETS;
+        }
+
+        /**
+         * @param bucket Index of the bucket, from 0 to {@link #getBucketCount()} - 1.
+         * @return Shortest duration the bucket holds, in nanoseconds.
+         */
+        public long getBucketLowerBound(int bucket) {
+            return lowerBound(bucket);
+        }
+
+        /**
+         * @param bucket Index of the bucket, from 0 to {@link #getBucketCount()} - 1.
+         * @return Number of durations in the bucket.
+         */
+        public long getBucket(int bucket) {
+            return buckets[bucket];
+        }
+
+        /**
+         * @param quantile Quantile from 0 to 1, such as 0.99.
+         * @return Upper bound in nanoseconds of the bucket holding the quantile, 0 if nothing was recorded.
+         */
+        public long getQuantile(double quantile) {
+            if (quantile < 0 || quantile > 1) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS - 1; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= rank) {
+                    return lowerBound(bucket + 1) - 1;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.nextgeneration;
+
+import android.support.annotation.Nullable;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PasswordRule;
+import com.nextgeneration.core.Rule;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable password requirements: a minimum length, required character classes and an optional blocklist, with their
+ * error messages.
+ * The most recently built PasswordPolicies without a blocklist are interned, so building the same configuration again
+ * usually returns the same instance without creating its Rules and ValidationErrors again. Policies with a blocklist
+ * are never interned, so a blocklist is only kept while a policy using it is. Equal configurations are equal policies
+ * either way. Share one between every PasswordValidator of a screen, such as a list of password inputs.
+ * PasswordPolicies are thread safe.
+ */
+public final class PasswordPolicy {
+
+    private static final int INTERNED_POLICIES = 32;
+    /**
+     * Recently built policies by configuration, least recently used first.
+     */
+    private static final Map<Config, PasswordPolicy> POLICIES = new LinkedHashMap<Config, PasswordPolicy>(16, 0.75f,
+            true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Config, PasswordPolicy> eldest) {
+            return size() > INTERNED_POLICIES;
+        }
+    };
+
+    private static final int[] CHAR_CLASS_ERROR_CODES = {
+            ErrorCode.PASSWORD_UPPER_CHAR,
+            ErrorCode.PASSWORD_LOWER_CHAR,
+            ErrorCode.PASSWORD_DIGIT,
+            ErrorCode.PASSWORD_SPECIAL_CHAR
+    };
+    private static final ValidationError[] CHAR_CLASS_ERRORS = {
+            ValidationError.PASSWORD_UPPER_CHAR,
+            ValidationError.PASSWORD_LOWER_CHAR,
+            ValidationError.PASSWORD_DIGIT,
+            ValidationError.PASSWORD_SPECIAL_CHAR
+    };
+
+    /**
+     * Policy without requirements.
+     */
+    public static final PasswordPolicy DEFAULT = new Builder().build();
+
+    private final Config config;
+    private final PasswordRule rule;
+    private final PasswordRule requiredRule;
+    private final ValidationError minLengthError;
+    private final ValidationError blocklistError;
+    private final ValidationError[] charClassErrors = new ValidationError[CHAR_CLASS_ERROR_CODES.length];
+
+    private PasswordPolicy(Config config) {
+        this.config = config;
+        this.rule = new PasswordRule.Builder()
+                .setMinLength(config.minLength)
+                .setHasUpperChar(config.isRequired(PasswordRule.UPPER_CHAR))
+                .setHasLowerChar(config.isRequired(PasswordRule.LOWER_CHAR))
+                .setHasDigit(config.isRequired(PasswordRule.DIGIT))
+                .setHasSpecialChar(config.isRequired(PasswordRule.SPECIAL_CHAR))
+                .setBlocklist(config.blocklist)
+                .build();
+        this.requiredRule = config.minLength == 0 ? rule : new PasswordRule.Builder()
+                .setHasUpperChar(config.isRequired(PasswordRule.UPPER_CHAR))
+                .setHasLowerChar(config.isRequired(PasswordRule.LOWER_CHAR))
+                .setHasDigit(config.isRequired(PasswordRule.DIGIT))
+                .setHasSpecialChar(config.isRequired(PasswordRule.SPECIAL_CHAR))
+                .setBlocklist(config.blocklist)
+                .build();
+        if (config.minLengthError != null) {
+            this.minLengthError = new ValidationError(ErrorCode.PASSWORD_MIN_LENGTH, config.minLengthError);
+        } else {
+            this.minLengthError = new ValidationError(ErrorCode.PASSWORD_MIN_LENGTH,
+                    R.string.av_password_must_contain_at_least_d_characters, config.minLength);
+        }
+        if (config.blocklistError != null) {
+            this.blocklistError = new ValidationError(ErrorCode.PASSWORD_BREACHED, config.blocklistError);
+        } else {
+            this.blocklistError = ValidationError.PASSWORD_BREACHED;
+        }
+        for (int charClass = 0; charClass < charClassErrors.length; charClass++) {
+            if (!config.isRequired(charClass)) {
+                continue;
+            }
+            String message = config.charClassErrors[charClass];
+            charClassErrors[charClass] = message != null
+                    ? new ValidationError(CHAR_CLASS_ERROR_CODES[charClass], message) : CHAR_CLASS_ERRORS[charClass];
+        }
+    }
+
+    public int getMinLength() {
+        return config.minLength;
+    }
+
+    /**
+     * @param charClass Character class such as {@link PasswordRule#UPPER_CHAR}.
+     * @return Whether the password must contain a character of the class.
+     */
+    public boolean isRequired(int charClass) {
+        return config.isRequired(charClass);
+    }
+
+    /**
+     * @return Blocklist passwords must not be in, null if none.
+     */
+    @Nullable
+    public Rule getBlocklist() {
+        return config.blocklist;
+    }
+
+    /**
+     * @return Rule checking every requirement of this policy.
+     */
+    public PasswordRule getRule() {
+        return rule;
+    }
+
+    /**
+     * Rule of a PasswordValidator, which does not check the minimum length while its field is required.
+     */
+    PasswordRule getRule(boolean required) {
+        return required ? requiredRule : rule;
+    }
+
+    /**
+     * @param code ErrorCode returned by the policy's Rule.
+     * @return ValidationError of the policy for the code, null if the code is not one of its errors.
+     */
+    @Nullable
+    public ValidationError getValidationError(int code) {
+        if (code == ErrorCode.PASSWORD_MIN_LENGTH) {
+            return minLengthError;
+        }
+        if (code == ErrorCode.PASSWORD_BREACHED && config.blocklist != null) {
+            return blocklistError;
+        }
+        for (int charClass = 0; charClass < charClassErrors.length; charClass++) {
+            if (CHAR_CLASS_ERROR_CODES[charClass] == code) {
+                return charClassErrors[charClass];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Builder starting from this policy's configuration.
+     */
+    public Builder buildUpon() {
+        return new Builder(config);
+    }
+
+    /**
+     * Policies are equal when their requirements, error messages and blocklist instance are.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PasswordPolicy && config.equals(((PasswordPolicy) o).config));
+    }
+
+    @Override
+    public int hashCode() {
+        return config.hashCode();
+    }
+
+    public static class Builder {
+        private int minLength;
+        private String minLengthError;
+        private int requiredCharClasses;
+        private final String[] charClassErrors = new String[CHAR_CLASS_ERROR_CODES.length];
+        private Rule blocklist;
+        private String blocklistError;
+
+        public Builder() {
+        }
+
+        private Builder(Config config) {
+            this.minLength = config.minLength;
+            this.minLengthError = config.minLengthError;
+            this.requiredCharClasses = config.requiredCharClasses;
+            this.blocklist = config.blocklist;
+            this.blocklistError = config.blocklistError;
+            System.arraycopy(config.charClassErrors, 0, charClassErrors, 0, charClassErrors.length);
+        }
+
+        /**
+         * Set the minimum length, keeping its error message.
+         *
+         * @param minLength
+         */
+        public Builder setMinLength(int minLength) {
+            this.minLength = minLength;
+            return this;
+        }
+
+        /**
+         * @param minLength
+         * @param minLengthError Error message, null for the default.
+         */
+        public Builder setMinLength(int minLength, @Nullable String minLengthError) {
+            this.minLength = minLength;
+            this.minLengthError = minLengthError;
+            return this;
+        }
+
+        public Builder setHasUpperChar(boolean hasUpperChar) {
+            return setRequired(PasswordRule.UPPER_CHAR, hasUpperChar, null);
+        }
+
+        /**
+         * @param hasUpperChar
+         * @param upperCharError Error message, null for the default.
+         */
+        public Builder setHasUpperChar(boolean hasUpperChar, @Nullable String upperCharError) {
+            return setRequired(PasswordRule.UPPER_CHAR, hasUpperChar, upperCharError);
+        }
+
+        public Builder setHasLowerChar(boolean hasLowerChar) {
+            return setRequired(PasswordRule.LOWER_CHAR, hasLowerChar, null);
+        }
+
+        /**
+         * @param hasLowerChar
+         * @param lowerCharError Error message, null for the default.
+         */
+        public Builder setHasLowerChar(boolean hasLowerChar, @Nullable String lowerCharError) {
+            return setRequired(PasswordRule.LOWER_CHAR, hasLowerChar, lowerCharError);
+        }
+
+        public Builder setHasDigit(boolean hasDigit) {
+            return setRequired(PasswordRule.DIGIT, hasDigit, null);
+        }
+
+        /**
+         * @param hasDigit
+         * @param digitError Error message, null for the default.
+         */
+        public Builder setHasDigit(boolean hasDigit, @Nullable String digitError) {
+            return setRequired(PasswordRule.DIGIT, hasDigit, digitError);
+        }
+
+        public Builder setHasSpecialChar(boolean hasSpecialChar) {
+            return setRequired(PasswordRule.SPECIAL_CHAR, hasSpecialChar, null);
+        }
+
+        /**
+         * @param hasSpecialChar
+         * @param specialCharError Error message, null for the default.
+         */
+        public Builder setHasSpecialChar(boolean hasSpecialChar, @Nullable String specialCharError) {
+            return setRequired(PasswordRule.SPECIAL_CHAR, hasSpecialChar, specialCharError);
+        }
+
+        public Builder setBlocklist(@Nullable Rule blocklist) {
+            return setBlocklist(blocklist, null);
+        }
+
+        /**
+         * @param blocklist      Rule rejecting passwords such as common or breached ones, like a
+         *                       {@link com.nextgeneration.core.BlocklistRule}. Null for none.
+         * @param blocklistError Error message, null for the default.
+         */
+        public Builder setBlocklist(@Nullable Rule blocklist, @Nullable String blocklistError) {
+            this.blocklist = blocklist;
+            this.blocklistError = blocklist != null ? blocklistError : null;
+            return this;
+        }
+
+        private Builder setRequired(int charClass, boolean required, String error) {
+            if (required) {
+                requiredCharClasses |= 1 << charClass;
+                charClassErrors[charClass] = error;
+            } else {
+                requiredCharClasses &= ~(1 << charClass);
+                charClassErrors[charClass] = null;
+            }
+            return this;
+        }
+
+        /**
+         * @return PasswordPolicy of this configuration, the interned one if it was built recently and has no
+         * blocklist.
+         */
+        public PasswordPolicy build() {
+            Config config = new Config(minLength, minLengthError, requiredCharClasses, charClassErrors.clone(),
+                    blocklist, blocklistError);
+            if (blocklist != null) {
+                return new PasswordPolicy(config);
+            }
+            synchronized (POLICIES) {
+                PasswordPolicy policy = POLICIES.get(config);
+                if (policy != null) {
+                    return policy;
+                }
+            }
+            PasswordPolicy policy = new PasswordPolicy(config);
+            synchronized (POLICIES) {
+                PasswordPolicy interned = POLICIES.get(config);
+                if (interned != null) {
+                    return interned;
+                }
+                POLICIES.put(config, policy);
+            }
+            return policy;
+        }
+    }
+
+    /**
+     * Configuration a PasswordPolicy is interned and compared by.
+     */
+    private static final class Config {
+        private final int minLength;
+        private final String minLengthError;
+        private final int requiredCharClasses;
+        private final String[] charClassErrors;
+        private final Rule blocklist;
+        private final String blocklistError;
+
+        private Config(int minLength, String minLengthError, int requiredCharClasses, String[] charClassErrors,
+                Rule blocklist, String blocklistError) {
+            this.minLength = minLength;
+            this.minLengthError = minLengthError;
+            this.requiredCharClasses = requiredCharClasses;
+            this.charClassErrors = charClassErrors;
+            this.blocklist = blocklist;
+            this.blocklistError = blocklistError;
+        }
+
+        private boolean isRequired(int charClass) {
+            return (requiredCharClasses & (1 << charClass)) != 0;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Config)) {
+                return false;
+            }
+            Config config = (Config) o;
+            return minLength == config.minLength
+                    && requiredCharClasses == config.requiredCharClasses
+                    && (minLengthError == null ? config.minLengthError == null : minLengthError.equals(config.minLengthError))
+                    && Arrays.equals(charClassErrors, config.charClassErrors)
+                    && blocklist == config.blocklist
+                    && (blocklistError == null ? config.blocklistError == null : blocklistError.equals(config.blocklistError));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = minLength;
+            result = 31 * result + (minLengthError != null ? minLengthError.hashCode() : 0);
+            result = 31 * result + requiredCharClasses;
+            result = 31 * result + Arrays.hashCode(charClassErrors);
+            result = 31 * result + System.identityHashCode(blocklist);
+            result = 31 * result + (blocklistError != null ? blocklistError.hashCode() : 0);
+            return result;
+        }
+    }
+}
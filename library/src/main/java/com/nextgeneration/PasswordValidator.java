@@ -2,132 +2,272 @@ package com.nextgeneration;
 
 import android.content.Context;
 import android.support.annotation.Nullable;
+import android.text.Editable;
 import android.widget.TextView;
 
-import java.util.regex.Pattern;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PackedTrie;
+import com.nextgeneration.core.PasswordRule;
+import com.nextgeneration.core.Rule;
+import com.nextgeneration.core.StrengthEstimator;
+
+import java.util.Arrays;
 
 /**
  * Password Validator for EditText
  */
 public class PasswordValidator extends Validator {
 
-    private int minLength;
-    private String minLengthError;
-    private Pattern hasUpperChar;
-    private String upperCharError;
-    private Pattern hasLowerChar;
-    private String lowerCharError;
-    private Pattern hasDigit;
-    private String digitError;
-    private Pattern hasSpecialChar;
-    private String specialCharError;
+    private PasswordPolicy policy = PasswordPolicy.DEFAULT;
+    private boolean incrementalValidate;
+    private boolean countsValid;
+    private final int[] counts = new int[PasswordRule.CHAR_CLASS_COUNT];
+    private StrengthListener strengthListener;
+    private StrengthEstimator strengthEstimator;
+    private double strength = -1;
 
     public PasswordValidator(TextView textView) {
         super(textView);
+        setResultCacheSize(DEFAULT_RESULT_CACHE_SIZE);
+    }
+
+    public PasswordPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Set the password requirements and their error messages. Share one PasswordPolicy between the PasswordValidators
+     * of a screen.
+     *
+     * @param policy
+     */
+    public void setPolicy(PasswordPolicy policy) {
+        if (!policy.equals(this.policy)) {
+            this.policy = policy;
+            invalidateCache();
+        }
     }
 
     public void setMinLength(int minLength) {
-        this.minLength = minLength;
+        setPolicy(policy.buildUpon().setMinLength(minLength).build());
     }
 
     public void setMinLength(int minLength, @Nullable String minLengthError) {
-        this.minLength = minLength;
-        this.minLengthError = minLengthError;
+        setPolicy(policy.buildUpon().setMinLength(minLength, minLengthError).build());
     }
 
     public void setHasUpperChar(@Nullable String upperCharError) {
-        if (upperCharError != null) {
-            this.hasUpperChar = Pattern.compile(".*[A-Z].*");
-            this.upperCharError = upperCharError;
-        } else {
-            this.hasUpperChar = null;
-            this.upperCharError = null;
-        }
+        setPolicy(policy.buildUpon().setHasUpperChar(upperCharError != null, upperCharError).build());
     }
 
     public void setHasLowerChar(@Nullable String lowerCharError) {
-        if (lowerCharError != null) {
-            this.hasLowerChar = Pattern.compile(".*[a-z].*");
-            this.lowerCharError = lowerCharError;
-        } else {
-            this.hasLowerChar = null;
-            this.lowerCharError = null;
-        }
+        setPolicy(policy.buildUpon().setHasLowerChar(lowerCharError != null, lowerCharError).build());
     }
 
     public void setHasDigit(@Nullable String digitError) {
-        if (digitError != null) {
-            this.hasDigit = Pattern.compile(".*\\d.*");
-            this.digitError = digitError;
-        } else {
-            this.hasDigit = null;
-            this.digitError = null;
-        }
+        setPolicy(policy.buildUpon().setHasDigit(digitError != null, digitError).build());
     }
 
     public void setHasSpecialChar(@Nullable String specialCharError) {
-        if (specialCharError != null) {
-            this.hasSpecialChar = Pattern.compile(".*[~!].*");
-            this.specialCharError = specialCharError;
+        setPolicy(policy.buildUpon().setHasSpecialChar(specialCharError != null, specialCharError).build());
+    }
+
+    /**
+     * Reject passwords in a blocklist, such as the most common breached passwords, checked after every other
+     * requirement.
+     *
+     * @param blocklist      Rule such as a {@link com.nextgeneration.core.BlocklistRule}, null for none.
+     * @param blocklistError Error message, null for the default.
+     */
+    public void setBlocklist(@Nullable Rule blocklist, @Nullable String blocklistError) {
+        setPolicy(policy.buildUpon().setBlocklist(blocklist, blocklistError).build());
+    }
+
+    /**
+     * @return Rule this Validator checks with, which can validate the same way off the main thread. The minimum length
+     * is not checked while the field is required.
+     */
+    @Override
+    public PasswordRule getRule() {
+        return policy.getRule(isRequired());
+    }
+
+    public boolean isIncrementalValidate() {
+        return incrementalValidate;
+    }
+
+    /**
+     * Set whether to keep running character class counts as the text changes, so each keystroke is checked without
+     * rescanning the password. Multi character edits such as pastes and setText fall back to a single rescan.
+     *
+     * @param incrementalValidate
+     */
+    public void setIncrementalValidate(boolean incrementalValidate) {
+        this.incrementalValidate = incrementalValidate;
+        this.countsValid = false;
+        updateTextWatcher();
+    }
+
+    public StrengthListener getStrengthListener() {
+        return strengthListener;
+    }
+
+    /**
+     * Estimate the strength of the password on every keystroke, with the default dictionary of common passwords and
+     * English words. The dictionary is loaded on first use.
+     *
+     * @param strengthListener Listener told whenever the estimate changes, null to stop estimating.
+     */
+    public void setStrengthListener(@Nullable StrengthListener strengthListener) {
+        setStrengthEstimator(strengthListener, strengthListener != null ? new StrengthEstimator() : null);
+    }
+
+    /**
+     * Estimate the strength of the password on every keystroke against a dictionary, such as a list of common
+     * passwords in the app's market.
+     *
+     * @param strengthListener Listener told whenever the estimate changes, null to stop estimating.
+     * @param dictionary       Lower case words ranked by how common they are.
+     */
+    public void setStrengthListener(@Nullable StrengthListener strengthListener, PackedTrie dictionary) {
+        setStrengthEstimator(strengthListener, strengthListener != null ? new StrengthEstimator(dictionary) : null);
+    }
+
+    private void setStrengthEstimator(StrengthListener strengthListener, StrengthEstimator strengthEstimator) {
+        this.strengthListener = strengthListener;
+        this.strengthEstimator = strengthEstimator;
+        this.strength = -1;
+        updateTextWatcher();
+        if (strengthListener != null && getTextView() != null) {
+            updateStrength(getRawText());
+        }
+    }
+
+    /**
+     * @return Score of the last strength estimate from 0 to {@link StrengthEstimator#MAX_SCORE}, -1 without a
+     * StrengthListener.
+     */
+    public int getStrengthScore() {
+        return strengthEstimator != null ? strengthEstimator.getScore() : -1;
+    }
+
+    @Override
+    protected boolean isTextWatching() {
+        return super.isTextWatching() || incrementalValidate || strengthListener != null;
+    }
+
+    @Override
+    public void bind(TextView textView) {
+        super.bind(textView);
+        countsValid = false;
+        if (strengthListener != null) {
+            updateStrength(getRawText());
+        }
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        super.afterTextChanged(s);
+        if (strengthListener != null) {
+            updateStrength(s);
+        }
+    }
+
+    private void updateStrength(CharSequence text) {
+        double strength = strengthEstimator.update(text);
+        if (strength != this.strength) {
+            this.strength = strength;
+            strengthListener.onStrengthChanged(this, StrengthEstimator.score(strength), strength);
+        }
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+        if (incrementalValidate && countsValid && count <= 1 && after <= 1) {
+            PasswordRule.countChars(s, start, start + count, counts, -1);
+        }
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        if (!incrementalValidate) {
+            return;
+        }
+        if (countsValid && before <= 1 && count <= 1) {
+            PasswordRule.countChars(s, start, start + count, counts, 1);
         } else {
-            this.hasSpecialChar = null;
-            this.specialCharError = null;
+            Arrays.fill(counts, 0);
+            PasswordRule.countChars(s, 0, s.length(), counts, 1);
+            countsValid = true;
         }
     }
 
     public PasswordValidator clone(TextView textView) {
         PasswordValidator passwordValidator = new Validator.Builder<>(new PasswordValidator(textView))
                 .setLoseFocusValidate(this.isLoseFocusValidate())
+                .setValidationScheduler(this.getValidationScheduler())
+                .setErrorRenderer(this.getErrorRenderer())
+                .setResultCacheSize(this.getResultCacheSize())
                 .setStopTypingValidate(this.isStopTypingValidate())
                 .setShowError(this.isShowError())
                 .setRequired(this.isRequired())
                 .setTextInputLayoutValidate(this.isTextInputLayoutValidate())
                 .setValidateListener(this.getValidateListener())
                 .build();
-        passwordValidator.minLength = this.minLength;
-        passwordValidator.minLengthError = this.minLengthError;
-        passwordValidator.hasUpperChar = this.hasUpperChar;
-        passwordValidator.upperCharError = this.upperCharError;
-        passwordValidator.hasLowerChar = this.hasLowerChar;
-        passwordValidator.lowerCharError = this.lowerCharError;
-        passwordValidator.hasDigit = this.hasDigit;
-        passwordValidator.digitError = this.digitError;
-        passwordValidator.hasSpecialChar = this.hasSpecialChar;
-        passwordValidator.specialCharError = this.specialCharError;
+        passwordValidator.policy = this.policy;
+        passwordValidator.setIncrementalValidate(this.incrementalValidate);
+        if (this.strengthEstimator != null) {
+            passwordValidator.setStrengthListener(this.strengthListener, this.strengthEstimator.getDictionary());
+        }
         return passwordValidator;
     }
+
     @Override
     public String onValidate(String string, Context context) {
-        if (!isRequired() && string.length() < minLength) {
-            if (minLengthError != null) {
-                return minLengthError;
-            }
-            return context.getString(R.string.av_password_must_contain_at_least_d_characters, minLength);
-        }
-        if (hasUpperChar != null && !hasUpperChar.matcher(string).matches()) {
-            if (upperCharError != null) {
-                return upperCharError;
-            }
-            return context.getString(R.string.av_password_must_contain_at_least_one_upper_case_letter);
-        }
-        if (hasLowerChar != null && !hasLowerChar.matcher(string).matches()) {
-            if (lowerCharError != null) {
-                return lowerCharError;
+        ValidationError error = onValidate((CharSequence) string);
+        return error != null ? error.getMessage(context) : null;
+    }
+
+    @Override
+    public ValidationError onValidate(CharSequence text) {
+        PasswordRule rule = getRule();
+        int code = rule.validateLength(text.length());
+        if (code == ErrorCode.VALID) {
+            if (incrementalValidate && isValidatingFieldText()) {
+                if (!countsValid) {
+                    Arrays.fill(counts, 0);
+                    PasswordRule.countChars(text, 0, text.length(), counts, 1);
+                    countsValid = true;
+                }
+                code = rule.validateChars(counts);
+            } else {
+                code = rule.validateChars(text);
             }
-            return context.getString(R.string.av_password_must_contain_at_least_one_lower_case_letter);
         }
-        if (hasDigit != null && !hasDigit.matcher(string).matches()) {
-            if (digitError != null) {
-                return digitError;
-            }
-            return context.getString(R.string.av_password_must_contain_at_least_one_digit);
+        if (code == ErrorCode.VALID) {
+            code = rule.validateBlocklist(text);
         }
-        if (hasSpecialChar != null && !hasSpecialChar.matcher(string).matches()) {
-            if (specialCharError != null) {
-                return specialCharError;
-            }
-            return context.getString(R.string.av_password_must_contain_at_least_one_special_character);
+        return getValidationError(code);
+    }
+
+    @Override
+    public ValidationError getValidationError(int code) {
+        if (code == ErrorCode.VALID) {
+            return null;
         }
-        return null;
+        ValidationError error = policy.getValidationError(code);
+        return error != null ? error : super.getValidationError(code);
+    }
+
+    /**
+     * Listener of password strength estimates, such as to drive a strength meter.
+     */
+    public interface StrengthListener {
+        /**
+         * @param passwordValidator PasswordValidator of the field.
+         * @param score             Score from 0, too guessable, to {@link StrengthEstimator#MAX_SCORE}.
+         * @param guessesLog10      log10 of the estimated guesses to find the password.
+         */
+        void onStrengthChanged(PasswordValidator passwordValidator, int score, double guessesLog10);
     }
 }
@@ -2,20 +2,29 @@ package com.nextgeneration;
 
 import android.content.Context;
 import android.support.annotation.Nullable;
-import android.util.Patterns;
+import android.text.Editable;
+import android.text.Selection;
 import android.widget.TextView;
 
-import com.nextgeneration.R;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.PhoneNumberFormatter;
+import com.nextgeneration.core.PhoneNumberRule;
 
 /**
  * Phone Number Validator for EditText
  */
 public class PhoneNumberValidator extends Validator {
 
+    private PhoneNumberRule rule = new PhoneNumberRule();
     private String errorMessage;
+    private ValidationError error = ValidationError.PHONE_NUMBER_INVALID;
+    private PhoneNumberFormatter formatter;
+    private boolean formatterSynced;
+    private boolean formatting;
 
     public PhoneNumberValidator(TextView textView) {
         super(textView);
+        setResultCacheSize(DEFAULT_RESULT_CACHE_SIZE);
     }
 
     public String getErrorMessage() {
@@ -24,16 +33,167 @@ public class PhoneNumberValidator extends Validator {
 
     public void setErrorMessage(@Nullable String errorMessage) {
         this.errorMessage = errorMessage;
+        if (errorMessage != null) {
+            this.error = new ValidationError(ErrorCode.PHONE_NUMBER_INVALID, errorMessage);
+        } else {
+            this.error = ValidationError.PHONE_NUMBER_INVALID;
+        }
+        invalidateCache();
+    }
+
+    /**
+     * Set the region whose numbering plan numbers must follow, written nationally or with its country calling code.
+     * Throws an IllegalArgumentException if the region is not supported.
+     *
+     * @param regionCode ISO 3166 region code such as "AU", null to accept any number android.util.Patterns.PHONE does.
+     */
+    public void setRegion(@Nullable String regionCode) {
+        rule = regionCode != null ? new PhoneNumberRule(regionCode) : new PhoneNumberRule();
+        invalidateCache();
+        if (formatter != null) {
+            formatter = new PhoneNumberFormatter(rule.getRegion());
+            formatterSynced = false;
+        }
+    }
+
+    /**
+     * @return The field's number in E.164 format such as "+61412345678", null if it is not valid. Requires a region.
+     */
+    @Nullable
+    public String getE164() {
+        return rule.toE164(getRawText());
+    }
+
+    public boolean isFormatAsYouType() {
+        return formatter != null;
+    }
+
+    /**
+     * Set whether to group the digits of the number as the user types, the way the region writes them. Typing or
+     * deleting at the end only rewrites the end of the field, and edits before the end keep the cursor after the same
+     * digit.
+     *
+     * @param formatAsYouType
+     */
+    public void setFormatAsYouType(boolean formatAsYouType) {
+        formatter = formatAsYouType ? new PhoneNumberFormatter(rule.getRegion()) : null;
+        formatterSynced = false;
+        updateTextWatcher();
     }
 
     @Override
-    public String onValidate(String string, Context context) {
-        if (string.length() > 1 && !Patterns.PHONE.matcher(string).matches()) {
-            if (errorMessage != null) {
-                return errorMessage;
+    protected boolean isTextWatching() {
+        return super.isTextWatching() || formatter != null;
+    }
+
+    @Override
+    public void bind(TextView textView) {
+        super.bind(textView);
+        formatterSynced = false;
+    }
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        if (formatter == null || formatting) {
+            return;
+        }
+        if (formatterSynced && before == 0 && count == 1 && start + 1 == s.length()) {
+            formatter.input(s.charAt(start));
+        } else if (formatterSynced && before == 1 && count == 0 && start == s.length()) {
+            formatter.deleteLast();
+        } else {
+            formatter.setText(s);
+        }
+    }
+
+    @Override
+    public void afterTextChanged(Editable s) {
+        if (formatter != null && !formatting) {
+            CharSequence formatted = formatter.getFormatted();
+            int changedFrom = formatterSynced ? Math.min(formatter.getChangedFrom(), s.length()) : 0;
+            if (!regionEquals(s, formatted, changedFrom)) {
+                // Keep the cursor after the same digit when editing before the end, rather than at the end.
+                int selection = Selection.getSelectionEnd(s);
+                int cursorDigits = selection >= 0 && selection < s.length() ? countDigits(s, selection) : -1;
+                formatting = true;
+                try {
+                    s.replace(changedFrom, s.length(), formatted, changedFrom, formatted.length());
+                } finally {
+                    formatting = false;
+                }
+                if (cursorDigits != -1) {
+                    Selection.setSelection(s, indexAfterDigits(s, cursorDigits));
+                }
+            }
+            formatterSynced = true;
+        }
+        super.afterTextChanged(s);
+    }
+
+    /**
+     * @return Number of digits and '+' signs before the end index.
+     */
+    private static int countDigits(CharSequence text, int end) {
+        int count = 0;
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9' || c == '+') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Index just after the given number of digits and '+' signs, the length of the text if it has fewer.
+     */
+    private static int indexAfterDigits(CharSequence text, int count) {
+        int length = text.length();
+        for (int i = 0; i < length && count > 0; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9' || c == '+') {
+                if (--count == 0) {
+                    return i + 1;
+                }
             }
-            return context.getString(R.string.av_phone_number_is_invalid);
         }
-        return null;
+        return count == 0 ? 0 : length;
+    }
+
+    private static boolean regionEquals(CharSequence a, CharSequence b, int from) {
+        int length = a.length();
+        if (length != b.length()) {
+            return false;
+        }
+        for (int i = from; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Rule this Validator checks with, which can validate the same way off the main thread.
+     */
+    @Override
+    public PhoneNumberRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public String onValidate(String string, Context context) {
+        ValidationError error = onValidate((CharSequence) string);
+        return error != null ? error.getMessage(context) : null;
+    }
+
+    @Override
+    public ValidationError onValidate(CharSequence text) {
+        return getValidationError(rule.validate(text));
+    }
+
+    @Override
+    public ValidationError getValidationError(int code) {
+        return code == ErrorCode.PHONE_NUMBER_INVALID ? error : super.getValidationError(code);
     }
 }
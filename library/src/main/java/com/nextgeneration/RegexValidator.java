@@ -0,0 +1,122 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.Regex;
+import com.nextgeneration.core.RegexRule;
+
+/**
+ * Validator for text that must entirely match a regular expression. Patterns are compiled by {@link Regex} into an
+ * automaton that never backtracks, so no pattern or pasted text can stall the main thread, and compiled patterns are
+ * shared between Validators with the same pattern. Text needing more than the step budget fails with a separate
+ * error instead of being accepted.
+ */
+public class RegexValidator extends Validator {
+
+    private RegexRule rule;
+    private String errorMessage;
+    private ValidationError error = ValidationError.PATTERN_MISMATCH;
+    private ValidationError failedError = ValidationError.VALIDATION_FAILED;
+
+    /**
+     * @param textView
+     * @param pattern  Pattern the whole text must match. Throws a PatternSyntaxException if it is invalid or uses a
+     *                 feature Regex does not support, such as backreferences.
+     */
+    public RegexValidator(TextView textView, String pattern) {
+        super(textView);
+        rule = new RegexRule(pattern, ErrorCode.PATTERN_MISMATCH);
+        setResultCacheSize(DEFAULT_RESULT_CACHE_SIZE);
+    }
+
+    public String getPattern() {
+        return rule.getRegex().getPattern();
+    }
+
+    /**
+     * Throws a PatternSyntaxException if the pattern is invalid or uses a feature Regex does not support.
+     *
+     * @param pattern Pattern the whole text must match.
+     */
+    public void setPattern(String pattern) {
+        rule = new RegexRule(Regex.compile(pattern), ErrorCode.PATTERN_MISMATCH, rule.getStepBudget());
+        invalidateCache();
+    }
+
+    public int getStepBudget() {
+        return rule.getStepBudget();
+    }
+
+    /**
+     * Set how many steps matching may take, about twice the pattern's instructions per character. Throws an
+     * IllegalArgumentException if not positive.
+     *
+     * @param stepBudget Steps, {@link RegexRule#DEFAULT_STEP_BUDGET} by default.
+     */
+    public void setStepBudget(int stepBudget) {
+        rule = new RegexRule(rule.getRegex(), ErrorCode.PATTERN_MISMATCH, stepBudget);
+        invalidateCache();
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(@Nullable String errorMessage) {
+        this.errorMessage = errorMessage;
+        if (errorMessage != null) {
+            this.error = new ValidationError(ErrorCode.PATTERN_MISMATCH, errorMessage);
+        } else {
+            this.error = ValidationError.PATTERN_MISMATCH;
+        }
+        invalidateCache();
+    }
+
+    /**
+     * Set the error message when the text runs out of step budget.
+     *
+     * @param failedError Error message, null for the default.
+     */
+    public void setFailedError(@Nullable String failedError) {
+        if (failedError != null) {
+            this.failedError = new ValidationError(ErrorCode.VALIDATION_FAILED, failedError);
+        } else {
+            this.failedError = ValidationError.VALIDATION_FAILED;
+        }
+        invalidateCache();
+    }
+
+    /**
+     * @return Rule this Validator checks with, which can validate the same way off the main thread.
+     */
+    @Override
+    public RegexRule getRule() {
+        return rule;
+    }
+
+    @Override
+    public String onValidate(String string, Context context) {
+        ValidationError error = onValidate((CharSequence) string);
+        return error != null ? error.getMessage(context) : null;
+    }
+
+    @Override
+    public ValidationError onValidate(CharSequence text) {
+        return getValidationError(rule.validate(text));
+    }
+
+    @Override
+    public ValidationError getValidationError(int code) {
+        switch (code) {
+            case ErrorCode.PATTERN_MISMATCH:
+                return error;
+            case ErrorCode.VALIDATION_FAILED:
+                return failedError;
+            default:
+                return super.getValidationError(code);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.nextgeneration;
+
+import java.util.Arrays;
+
+/**
+ * Least recently used cache of validation results, keyed by the text's identity, hash and length. Texts are copied
+ * into char buffers that are reused between entries, so a mutable Editable can be cached without copying it into a
+ * String, and neither hits nor misses allocate once the buffers are large enough.
+ * <p>
+ * Texts such as passwords must not outlive the entries holding them, so buffers are zeroed when an entry is replaced
+ * or the cache is cleared.
+ */
+final class ResultCache {
+
+    private final CharSequence[] identities;
+    private final char[][] texts;
+    private final int[] lengths;
+    private final int[] hashes;
+    private final ValidationError[] errors;
+    private int size;
+
+    ResultCache(int capacity) {
+        identities = new CharSequence[capacity];
+        texts = new char[capacity][];
+        lengths = new int[capacity];
+        hashes = new int[capacity];
+        errors = new ValidationError[capacity];
+    }
+
+    int capacity() {
+        return errors.length;
+    }
+
+    static int hash(CharSequence text) {
+        int hash = 0;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Find the text, and make it the most recently used entry.
+     *
+     * @param text
+     * @param hash {@link #hash(CharSequence)} of the text.
+     * @return Whether the text is cached, its result then being {@link #getResult()}.
+     */
+    boolean find(CharSequence text, int hash) {
+        int length = text.length();
+        for (int i = 0; i < size; i++) {
+            // Only Strings are immutable, so only they can hit by identity.
+            if ((identities[i] == text && text instanceof String)
+                    || (lengths[i] == length && hashes[i] == hash && contentEquals(texts[i], text, length))) {
+                moveToFront(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Result of the most recently used entry.
+     */
+    ValidationError getResult() {
+        return errors[0];
+    }
+
+    /**
+     * Cache the result of the text, evicting the least recently used entry when full.
+     *
+     * @param text
+     * @param hash  {@link #hash(CharSequence)} of the text.
+     * @param error Result of the text.
+     */
+    void put(CharSequence text, int hash, ValidationError error) {
+        int slot = size < errors.length ? size++ : errors.length - 1;
+        int length = text.length();
+        char[] chars = texts[slot];
+        if (chars == null || chars.length < length) {
+            if (chars != null) {
+                Arrays.fill(chars, '\0');
+            }
+            chars = new char[Math.max(length, 16)];
+            texts[slot] = chars;
+        } else if (lengths[slot] > length) {
+            // Wipe what the evicted text left past the end of this one.
+            Arrays.fill(chars, length, lengths[slot], '\0');
+        }
+        for (int i = 0; i < length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        identities[slot] = text instanceof String ? text : null;
+        lengths[slot] = length;
+        hashes[slot] = hash;
+        errors[slot] = error;
+        moveToFront(slot);
+    }
+
+    /**
+     * Remove every entry, zeroing the text buffers.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            identities[i] = null;
+            Arrays.fill(texts[i], 0, lengths[i], '\0');
+            lengths[i] = 0;
+            errors[i] = null;
+        }
+        size = 0;
+    }
+
+    private void moveToFront(int index) {
+        if (index == 0) {
+            return;
+        }
+        CharSequence identity = identities[index];
+        char[] text = texts[index];
+        int length = lengths[index];
+        int hash = hashes[index];
+        ValidationError error = errors[index];
+        System.arraycopy(identities, 0, identities, 1, index);
+        System.arraycopy(texts, 0, texts, 1, index);
+        System.arraycopy(lengths, 0, lengths, 1, index);
+        System.arraycopy(hashes, 0, hashes, 1, index);
+        System.arraycopy(errors, 0, errors, 1, index);
+        identities[0] = identity;
+        texts[0] = text;
+        lengths[0] = length;
+        hashes[0] = hash;
+        errors[0] = error;
+    }
+
+    private static boolean contentEquals(char[] chars, CharSequence text, int length) {
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.nextgeneration;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed number of counters that many threads can increment without contending. Each thread adds to its own stripe,
+ * padded onto separate cache lines, and reading sums the stripes.
+ */
+final class StripedCounter {
+
+    /**
+     * Longs between stripes, so no two stripes share a 64 byte cache line.
+     */
+    private static final int PADDING = 8;
+    static final int STRIPES = stripes();
+
+    private final int size;
+    private final int stride;
+    private final AtomicLongArray counts;
+
+    StripedCounter(int size) {
+        this.size = size;
+        this.stride = size + PADDING;
+        this.counts = new AtomicLongArray(STRIPES * stride);
+    }
+
+    private static int stripes() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        return Integer.highestOneBit(Math.max(processors, 1));
+    }
+
+    /**
+     * @return Stripe of the calling thread.
+     */
+    static int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9e3779b97f4a7c15L) >>> 32) & (STRIPES - 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void increment(int index) {
+        add(index, 1);
+    }
+
+    void add(int index, long delta) {
+        counts.getAndAdd(stripe() * stride + index, delta);
+    }
+
+    /**
+     * Sum of every stripe into sums, optionally resetting the counters.
+     */
+    void sum(long[] sums, boolean reset) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int offset = stripe * stride;
+            for (int i = 0; i < size; i++) {
+                sums[i] += reset ? counts.getAndSet(offset + i, 0) : counts.get(offset + i);
+            }
+        }
+    }
+}
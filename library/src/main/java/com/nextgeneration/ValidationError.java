@@ -0,0 +1,126 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.support.annotation.StringRes;
+
+import com.nextgeneration.core.ErrorCode;
+
+import java.util.Locale;
+
+/**
+ * Immutable validation failure, identified by an {@link ErrorCode}. Validators create their ValidationErrors once
+ * when they are configured and return the same instance on every failed validation, so validating allocates nothing.
+ * <p>
+ * Messages backed by a string resource are resolved on first use and cached until the locale changes.
+ */
+public final class ValidationError {
+
+    public static final ValidationError REQUIRED =
+            new ValidationError(ErrorCode.REQUIRED, R.string.av_required_field);
+    public static final ValidationError EMAIL_ADDRESS_INVALID =
+            new ValidationError(ErrorCode.EMAIL_ADDRESS_INVALID, R.string.av_email_address_is_invalid);
+    public static final ValidationError PHONE_NUMBER_INVALID =
+            new ValidationError(ErrorCode.PHONE_NUMBER_INVALID, R.string.av_phone_number_is_invalid);
+    public static final ValidationError PASSWORD_UPPER_CHAR =
+            new ValidationError(ErrorCode.PASSWORD_UPPER_CHAR, R.string.av_password_must_contain_at_least_one_upper_case_letter);
+    public static final ValidationError PASSWORD_LOWER_CHAR =
+            new ValidationError(ErrorCode.PASSWORD_LOWER_CHAR, R.string.av_password_must_contain_at_least_one_lower_case_letter);
+    public static final ValidationError PASSWORD_DIGIT =
+            new ValidationError(ErrorCode.PASSWORD_DIGIT, R.string.av_password_must_contain_at_least_one_digit);
+    public static final ValidationError PASSWORD_SPECIAL_CHAR =
+            new ValidationError(ErrorCode.PASSWORD_SPECIAL_CHAR, R.string.av_password_must_contain_at_least_one_special_character);
+    public static final ValidationError PASSWORD_BREACHED =
+            new ValidationError(ErrorCode.PASSWORD_BREACHED, R.string.av_password_is_too_common);
+    public static final ValidationError PATTERN_MISMATCH =
+            new ValidationError(ErrorCode.PATTERN_MISMATCH, R.string.av_invalid_format);
+    public static final ValidationError PASSWORDS_DO_NOT_MATCH =
+            new ValidationError(ErrorCode.PASSWORDS_DO_NOT_MATCH, R.string.av_passwords_do_not_match);
+    public static final ValidationError VALIDATION_PENDING =
+            new ValidationError(ErrorCode.VALIDATION_PENDING, (String) null);
+    public static final ValidationError VALIDATION_TIMEOUT =
+            new ValidationError(ErrorCode.VALIDATION_TIMEOUT, R.string.av_validation_timed_out);
+    public static final ValidationError VALIDATION_FAILED =
+            new ValidationError(ErrorCode.VALIDATION_FAILED, R.string.av_validation_failed);
+
+    private final int code;
+    private final int resId;
+    private final int formatArg;
+    private final boolean formatted;
+    private final String message;
+    private CachedMessage cachedMessage;
+
+    private ValidationError(int code, @StringRes int resId, int formatArg, boolean formatted, @Nullable String message) {
+        this.code = code;
+        this.resId = resId;
+        this.formatArg = formatArg;
+        this.formatted = formatted;
+        this.message = message;
+    }
+
+    /**
+     * @param code  Error code.
+     * @param resId String resource of the message.
+     */
+    public ValidationError(int code, @StringRes int resId) {
+        this(code, resId, 0, false, null);
+    }
+
+    /**
+     * @param code      Error code.
+     * @param resId     String resource of the message, formatted with formatArg.
+     * @param formatArg Integer argument of the message.
+     */
+    public ValidationError(int code, @StringRes int resId, int formatArg) {
+        this(code, resId, formatArg, true, null);
+    }
+
+    /**
+     * @param code    Error code.
+     * @param message Message used as is, which may be null to fail without a message.
+     */
+    public ValidationError(int code, @Nullable String message) {
+        this(code, 0, 0, false, message);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Message of the error in the locale of the Context. Does not allocate unless the locale changed.
+     *
+     * @param context
+     * @return Error message, which may be null if the error was created with a null message.
+     */
+    public String getMessage(Context context) {
+        if (resId == 0) {
+            return message;
+        }
+        Locale locale = context.getResources().getConfiguration().locale;
+        CachedMessage cachedMessage = this.cachedMessage;
+        if (cachedMessage == null || (cachedMessage.locale != locale && !cachedMessage.locale.equals(locale))) {
+            String text = formatted ? context.getString(resId, formatArg) : context.getString(resId);
+            cachedMessage = new CachedMessage(locale, text);
+            this.cachedMessage = cachedMessage;
+        }
+        return cachedMessage.text;
+    }
+
+    /**
+     * @return Whether the message is a string resource, which needs a Context.
+     */
+    boolean hasResource() {
+        return resId != 0;
+    }
+
+    private static final class CachedMessage {
+        private final Locale locale;
+        private final String text;
+
+        private CachedMessage(Locale locale, String text) {
+            this.locale = locale;
+            this.text = text;
+        }
+    }
+}
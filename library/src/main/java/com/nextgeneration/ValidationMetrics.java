@@ -0,0 +1,196 @@
+package com.nextgeneration;
+
+import android.support.annotation.Nullable;
+
+import com.nextgeneration.core.ErrorCode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how Validators behave in the field: how long each validation takes, how often each ErrorCode is returned,
+ * and how long after a keystroke an error is displayed. Track a Validator under a name, and Validators tracked under
+ * the same name, such as the email fields of several screens, are recorded together.
+ * <p>
+ * Untracked Validators pay a single null check per validation. Tracked ones pay two System.nanoTime() calls and a few
+ * striped increments, without allocating. Call {@link #report()} periodically, such as when the app goes to the
+ * background, to pass the counts gathered since the last report to the Reporter.
+ */
+public final class ValidationMetrics {
+
+    /**
+     * Counted ErrorCodes, from {@link ErrorCode#VALID} to twice {@link ErrorCode#CUSTOM}. Other codes are counted
+     * together.
+     */
+    public static final int CODES = ErrorCode.CUSTOM * 2;
+
+    private static final Comparator<Snapshot> SNAPSHOT_ORDER = new Comparator<Snapshot>() {
+        @Override
+        public int compare(Snapshot a, Snapshot b) {
+            return a.name.compareTo(b.name);
+        }
+    };
+
+    private final ConcurrentHashMap<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private volatile Reporter reporter;
+
+    public ValidationMetrics() {
+    }
+
+    public ValidationMetrics(@Nullable Reporter reporter) {
+        this.reporter = reporter;
+    }
+
+    public Reporter getReporter() {
+        return reporter;
+    }
+
+    /**
+     * Set where snapshots are sent by {@link #report()}, such as an adapter forwarding them to telemetry.
+     *
+     * @param reporter
+     */
+    public void setReporter(@Nullable Reporter reporter) {
+        this.reporter = reporter;
+    }
+
+    /**
+     * Start recording a Validator. A Validator records to one name at a time.
+     *
+     * @param validator
+     * @param name      Name to report the Validator under, such as "signup.email".
+     */
+    public void track(Validator validator, String name) {
+        Recorder recorder = recorders.get(name);
+        if (recorder == null) {
+            recorder = new Recorder(name);
+            Recorder existing = recorders.putIfAbsent(name, recorder);
+            if (existing != null) {
+                recorder = existing;
+            }
+        }
+        validator.setMetrics(recorder);
+    }
+
+    public void untrack(Validator validator) {
+        validator.setMetrics(null);
+    }
+
+    /**
+     * @param reset Whether to start counting from zero again.
+     * @return Snapshot of every name, sorted by name.
+     */
+    public List<Snapshot> snapshot(boolean reset) {
+        List<Snapshot> snapshots = new ArrayList<>(recorders.size());
+        for (Recorder recorder : recorders.values()) {
+            snapshots.add(recorder.snapshot(reset));
+        }
+        Collections.sort(snapshots, SNAPSHOT_ORDER);
+        return snapshots;
+    }
+
+    /**
+     * Pass the counts gathered since the last report to the Reporter, and start counting from zero again. Does
+     * nothing without a Reporter.
+     */
+    public void report() {
+        Reporter reporter = this.reporter;
+        if (reporter != null) {
+            reporter.report(snapshot(true));
+        }
+    }
+
+    /**
+     * Receives snapshots from {@link #report()}, on the thread calling it.
+     */
+    public interface Reporter {
+        /**
+         * @param snapshots Snapshot of every tracked name, sorted by name.
+         */
+        void report(List<Snapshot> snapshots);
+    }
+
+    /**
+     * Counts recorded under one name, written to by the Validators tracked under it.
+     */
+    static final class Recorder {
+        private final String name;
+        private final LatencyHistogram validateLatency = new LatencyHistogram();
+        private final LatencyHistogram keystrokeToErrorLatency = new LatencyHistogram();
+        private final StripedCounter codes = new StripedCounter(CODES + 1);
+
+        private Recorder(String name) {
+            this.name = name;
+        }
+
+        void recordValidate(long nanos) {
+            validateLatency.record(nanos);
+        }
+
+        void recordResult(@Nullable ValidationError error) {
+            int code = error != null ? error.getCode() : ErrorCode.VALID;
+            codes.increment(code >= 0 && code < CODES ? code : CODES);
+        }
+
+        void recordKeystrokeToError(long nanos) {
+            keystrokeToErrorLatency.record(nanos);
+        }
+
+        Snapshot snapshot(boolean reset) {
+            long[] counts = new long[CODES + 1];
+            codes.sum(counts, reset);
+            return new Snapshot(name, validateLatency.snapshot(reset), keystrokeToErrorLatency.snapshot(reset),
+                    counts);
+        }
+    }
+
+    /**
+     * Counts recorded under one name at one point in time.
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final LatencyHistogram.Snapshot validateLatency;
+        private final LatencyHistogram.Snapshot keystrokeToErrorLatency;
+        private final long[] codes;
+
+        private Snapshot(String name, LatencyHistogram.Snapshot validateLatency,
+                LatencyHistogram.Snapshot keystrokeToErrorLatency, long[] codes) {
+            this.name = name;
+            this.validateLatency = validateLatency;
+            this.keystrokeToErrorLatency = keystrokeToErrorLatency;
+            this.codes = codes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Time spent in {@link Validator#validate(CharSequence)} working out the result, including result
+         * cache lookups but not displaying it or notifying listeners.
+         */
+        public LatencyHistogram.Snapshot getValidateLatency() {
+            return validateLatency;
+        }
+
+        /**
+         * @return Time from the last keystroke to its error being displayed, for Validators watching the text, such as
+         * with stop typing validation. Includes the debounce delay and waiting for a frame with an ErrorRenderer.
+         */
+        public LatencyHistogram.Snapshot getKeystrokeToErrorLatency() {
+            return keystrokeToErrorLatency;
+        }
+
+        /**
+         * @param code ErrorCode, {@link ErrorCode#VALID} for successful validations.
+         * @return Number of results with the code, including asynchronous results and validations of a
+         * ValidatorGroup. Codes of {@link #CODES} and above are counted together.
+         */
+        public long getResultCount(int code) {
+            return codes[code >= 0 && code < CODES ? code : CODES];
+        }
+    }
+}
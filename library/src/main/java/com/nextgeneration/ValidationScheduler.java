@@ -0,0 +1,139 @@
+package com.nextgeneration;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+
+/**
+ * Debounces stop typing validation. Every Validator sharing a ValidationScheduler is driven by a single main thread
+ * callback, and each Validator is validated once after no text has changed for the quiet period.
+ * <p>
+ * Share one ValidationScheduler between the Validators of a screen, and call {@link #cancelAll()} when the screen goes
+ * away. Must only be used from the main thread.
+ */
+public class ValidationScheduler implements Runnable {
+
+    public static final long DEFAULT_QUIET_PERIOD = 500;
+
+    private static ValidationScheduler defaultScheduler;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ArrayList<Validator> pending = new ArrayList<>();
+    private final ArrayList<Validator> due = new ArrayList<>();
+    private long quietPeriod;
+    private long postedTime;
+
+    public ValidationScheduler() {
+        this(DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * @param quietPeriod Milliseconds without typing before a field is validated.
+     */
+    public ValidationScheduler(long quietPeriod) {
+        setQuietPeriod(quietPeriod);
+    }
+
+    /**
+     * Scheduler used by Validators that have not been given one.
+     */
+    public static ValidationScheduler getDefault() {
+        if (defaultScheduler == null) {
+            defaultScheduler = new ValidationScheduler();
+        }
+        return defaultScheduler;
+    }
+
+    public long getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    /**
+     * Set how many milliseconds without typing are required before a field is validated. Takes effect from the next
+     * keystroke.
+     *
+     * @param quietPeriod
+     */
+    public void setQuietPeriod(long quietPeriod) {
+        if (quietPeriod < 0) {
+            throw new IllegalArgumentException("Quiet period must not be negative");
+        }
+        this.quietPeriod = quietPeriod;
+    }
+
+    /**
+     * Validate the Validator once the quiet period has passed, replacing any validation it already has pending.
+     *
+     * @param validator
+     */
+    public void schedule(Validator validator) {
+        long deadline = SystemClock.uptimeMillis() + quietPeriod;
+        validator.scheduledTime = deadline;
+        if (!pending.contains(validator)) {
+            pending.add(validator);
+        }
+        if (postedTime == 0 || deadline < postedTime) {
+            post(deadline);
+        }
+    }
+
+    /**
+     * Drop the pending validation of the Validator, if any.
+     *
+     * @param validator
+     */
+    public void cancel(Validator validator) {
+        if (pending.remove(validator) && pending.isEmpty()) {
+            handler.removeCallbacks(this);
+            postedTime = 0;
+        }
+    }
+
+    /**
+     * Drop every pending validation.
+     */
+    public void cancelAll() {
+        pending.clear();
+        handler.removeCallbacks(this);
+        postedTime = 0;
+    }
+
+    public boolean isPending(Validator validator) {
+        return pending.contains(validator);
+    }
+
+    @Override
+    public void run() {
+        postedTime = 0;
+        long now = SystemClock.uptimeMillis();
+        long next = Long.MAX_VALUE;
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            Validator validator = pending.get(i);
+            if (validator.scheduledTime <= now) {
+                pending.remove(i);
+                due.add(validator);
+            } else if (validator.scheduledTime < next) {
+                next = validator.scheduledTime;
+            }
+        }
+        if (next != Long.MAX_VALUE) {
+            post(next);
+        }
+        // Validators may schedule or cancel each other from their listeners, so validate after pending is settled.
+        for (int i = due.size() - 1; i >= 0; i--) {
+            Validator validator = due.get(i);
+            if (validator.isAttachedToWindow()) {
+                validator.validate();
+            }
+        }
+        due.clear();
+    }
+
+    private void post(long uptimeMillis) {
+        handler.removeCallbacks(this);
+        handler.postAtTime(this, uptimeMillis);
+        postedTime = uptimeMillis;
+    }
+}
@@ -0,0 +1,110 @@
+package com.nextgeneration;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.MainThread;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.ValidationSnapshot;
+
+/**
+ * Parcelable results and required and show error flags of a screen's Validators, to restore them after a
+ * configuration change or process death without validating again. Save it in onSaveInstanceState and restore it once
+ * the fields have their text back, such as in onRestoreInstanceState, to the same Validators in the same order.
+ * <p>
+ * Each field is packed into one int of a {@link ValidationSnapshot}. Errors are found again from their ErrorCode with
+ * {@link Validator#getValidationError(int)}, so only messages a Validator cannot map back, such as those of custom
+ * Validators returning Strings, are parcelled as text.
+ */
+public final class ValidationState implements Parcelable {
+
+    public static final Creator<ValidationState> CREATOR = new Creator<ValidationState>() {
+        @Override
+        public ValidationState createFromParcel(Parcel source) {
+            return new ValidationState(ValidationSnapshot.fromByteArray(source.createByteArray()));
+        }
+
+        @Override
+        public ValidationState[] newArray(int size) {
+            return new ValidationState[size];
+        }
+    };
+
+    private final ValidationSnapshot snapshot;
+
+    public ValidationState(ValidationSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Record the last result and flags of each Validator. A check still pending is not recorded. Unbound Validators
+     * have no Context to resolve messages from string resources, so those errors are found again from their code.
+     */
+    @MainThread
+    public static ValidationState save(Validator... validators) {
+        ValidationSnapshot.Builder builder = new ValidationSnapshot.Builder();
+        for (Validator validator : validators) {
+            int flags = (validator.isRequired() ? ValidationSnapshot.FLAG_REQUIRED : 0)
+                    | (validator.isShowError() ? ValidationSnapshot.FLAG_SHOW_ERROR : 0);
+            ValidationError error = validator.getValidationError();
+            int code = error != null && error.getCode() != ErrorCode.VALIDATION_PENDING ? error.getCode()
+                    : ErrorCode.VALID;
+            String message = null;
+            // Configured ValidationErrors are returned again for their code, anything else keeps its message.
+            if (code != ErrorCode.VALID && validator.getValidationError(code) != error) {
+                TextView textView = validator.getTextView();
+                if (textView != null) {
+                    message = error.getMessage(textView.getContext());
+                } else if (!error.hasResource()) {
+                    message = error.getMessage(null);
+                }
+            }
+            builder.add(code, flags, message);
+        }
+        return new ValidationState(builder.build());
+    }
+
+    /**
+     * Set the flags and display the errors of the Validators without validating or notifying their listeners. Unbound
+     * Validators display their error once bound. Throws an IllegalArgumentException if there are not as many
+     * Validators as were saved.
+     */
+    @MainThread
+    public void restore(Validator... validators) {
+        if (validators.length != snapshot.size()) {
+            throw new IllegalArgumentException("Saved " + snapshot.size() + " Validators, not " + validators.length);
+        }
+        for (int i = 0; i < validators.length; i++) {
+            Validator validator = validators[i];
+            int flags = snapshot.getFlags(i);
+            validator.restoreFlags((flags & ValidationSnapshot.FLAG_REQUIRED) != 0,
+                    (flags & ValidationSnapshot.FLAG_SHOW_ERROR) != 0);
+            int code = snapshot.getCode(i);
+            String message = snapshot.getMessage(i);
+            ValidationError error;
+            if (code == ErrorCode.VALID) {
+                error = null;
+            } else if (message != null) {
+                error = new ValidationError(code, message);
+            } else {
+                error = validator.getValidationError(code);
+            }
+            validator.restoreValidationError(error);
+        }
+    }
+
+    public ValidationSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeByteArray(snapshot.toByteArray());
+    }
+}
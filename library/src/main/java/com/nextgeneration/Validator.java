@@ -10,33 +10,142 @@ import android.view.View;
 import android.view.ViewParent;
 import android.widget.TextView;
 
-import com.nextgeneration.R;
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.Rule;
 
 /**
  * Abstract class that represents what functionality a Validator should have.
  */
 public abstract class Validator implements View.OnFocusChangeListener, TextWatcher {
 
-    private final TextView textView;
+    public static final int DEFAULT_RESULT_CACHE_SIZE = 4;
+
+    private static final ValidationListener[] NO_VALIDATION_LISTENERS = new ValidationListener[0];
+
+    private TextView textView;
     private ValidateListener validateListener;
+    private ValidationListener[] validationListeners = NO_VALIDATION_LISTENERS;
     private boolean stopTypingValidate;
     private boolean loseFocusValidate = true;
     private boolean showError = true;
     private boolean required;
-    private String requiredErrorText;
+    private ValidationError requiredError = ValidationError.REQUIRED;
     private boolean textInputLayoutValidate;
     private TextInputLayout textInputLayout;
+    private ValidationScheduler validationScheduler;
+    private ErrorRenderer errorRenderer;
+    private String error;
+    private String renderedError;
+    private boolean textWatcherAdded;
+    private boolean validatingFieldText;
+    private ValidationError validationError;
+    private ValidationError customError;
+    private ResultCache resultCache;
+    private ValidationMetrics.Recorder metrics;
+    private long keystrokeTime;
+    long scheduledTime;
 
+    /**
+     * @param textView Field to validate, null to {@link #bind(TextView)} one later.
+     */
     public Validator(TextView textView) {
         this.textView = textView;
     }
 
+    @Nullable
+    public TextView getTextView() {
+        return textView;
+    }
+
+    /**
+     * Attach this Validator to a field, detaching it from the field it is bound to, such as to reuse it for a recycled
+     * row of a RecyclerView. Bind after the field shows the text of its row, so setting the text is not taken for
+     * typing. See {@link ValidatorBinder} to pool Validators and keep their results by item.
+     *
+     * @param textView
+     */
+    public void bind(TextView textView) {
+        if (this.textView != null) {
+            unbind();
+        }
+        this.textView = textView;
+        if (loseFocusValidate) {
+            textView.setOnFocusChangeListener(this);
+        }
+        if (textInputLayoutValidate) {
+            textInputLayout = findTextInputLayout(textView);
+        }
+        updateTextWatcher();
+        if (validationError != null && showError) {
+            // Restored while unbound.
+            setError(validationError.getMessage(textView.getContext()));
+        }
+    }
+
+    /**
+     * Detach this Validator from its field, removing its listeners and displayed error, and forget the result of the
+     * last validation and the cached results. The Validator keeps no reference to the field, and cannot validate until bound again.
+     */
+    public void unbind() {
+        if (textView == null) {
+            return;
+        }
+        if (validationScheduler != null) {
+            validationScheduler.cancel(this);
+        }
+        if (errorRenderer != null) {
+            errorRenderer.cancel(this);
+        }
+        if (textWatcherAdded) {
+            textView.removeTextChangedListener(this);
+            textWatcherAdded = false;
+        }
+        if (textView.getOnFocusChangeListener() == this) {
+            textView.setOnFocusChangeListener(null);
+        }
+        if (renderedError != null) {
+            displayError(null);
+        }
+        invalidateCache();
+        textView = null;
+        textInputLayout = null;
+        validationError = null;
+        error = null;
+        renderedError = null;
+        keystrokeTime = 0;
+    }
+
+    /**
+     * Set the required and show error flags saved in a {@link ValidationState}, keeping the required error message.
+     */
+    void restoreFlags(boolean required, boolean showError) {
+        if (required != this.required) {
+            this.required = required;
+            invalidateCache();
+        }
+        if (showError != this.showError) {
+            setShowError(showError);
+        }
+    }
+
+    /**
+     * Display a remembered result without validating or notifying listeners, such as when a row is bound again. While
+     * unbound the result is kept and displayed once bound.
+     */
+    void restoreValidationError(@Nullable ValidationError validationError) {
+        this.validationError = validationError;
+        if (showError && textView != null) {
+            setError(validationError != null ? validationError.getMessage(textView.getContext()) : null);
+        }
+    }
+
     public ValidateListener getValidateListener() {
         return validateListener;
     }
 
     /**
-     * Set interface callback for validation success and errors.
+     * Set interface callback for validation success and errors. Use {@link #addValidationListener(ValidationListener)}
+     * to have more than one.
      *
      * @param validateListener
      */
@@ -44,22 +153,116 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
         this.validateListener = validateListener;
     }
 
+    /**
+     * Add a listener told of every validation result, alongside the ValidateListener and other ValidationListeners.
+     * Adding and removing copy the listeners, so notifying them does not allocate.
+     *
+     * @param validationListener
+     */
+    public void addValidationListener(ValidationListener validationListener) {
+        ValidationListener[] listeners = validationListeners;
+        for (ValidationListener listener : listeners) {
+            if (listener == validationListener) {
+                return;
+            }
+        }
+        ValidationListener[] added = new ValidationListener[listeners.length + 1];
+        System.arraycopy(listeners, 0, added, 0, listeners.length);
+        added[listeners.length] = validationListener;
+        validationListeners = added;
+    }
+
+    public void removeValidationListener(ValidationListener validationListener) {
+        ValidationListener[] listeners = validationListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == validationListener) {
+                if (listeners.length == 1) {
+                    validationListeners = NO_VALIDATION_LISTENERS;
+                } else {
+                    ValidationListener[] removed = new ValidationListener[listeners.length - 1];
+                    System.arraycopy(listeners, 0, removed, 0, i);
+                    System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+                    validationListeners = removed;
+                }
+                return;
+            }
+        }
+    }
+
     public boolean isStopTypingValidate() {
         return stopTypingValidate;
     }
 
     /**
-     * Set whether to validate when the user stops typing.
+     * Set whether to validate when the user stops typing. Validation runs once the ValidationScheduler's quiet period
+     * has passed without the text changing.
      *
      * @param stopTypingValidate
      */
     public void setStopTypingValidate(boolean stopTypingValidate) {
         this.stopTypingValidate = stopTypingValidate;
-        if (stopTypingValidate) {
+        updateTextWatcher();
+        if (!stopTypingValidate) {
+            getValidationScheduler().cancel(this);
+        }
+    }
+
+    /**
+     * Whether this Validator needs to receive TextWatcher events. Subclasses tracking the text as it changes should
+     * include their own state and call {@link #updateTextWatcher()} when it changes.
+     */
+    protected boolean isTextWatching() {
+        return stopTypingValidate;
+    }
+
+    /**
+     * Add or remove this Validator as a TextWatcher of the field to match {@link #isTextWatching()}.
+     */
+    protected final void updateTextWatcher() {
+        boolean textWatching = textView != null && isTextWatching();
+        if (textWatching && !textWatcherAdded) {
             this.textView.addTextChangedListener(this);
-        } else {
+        } else if (!textWatching && textWatcherAdded) {
             this.textView.removeTextChangedListener(this);
         }
+        textWatcherAdded = textWatching;
+    }
+
+    public ValidationScheduler getValidationScheduler() {
+        if (validationScheduler == null) {
+            validationScheduler = ValidationScheduler.getDefault();
+        }
+        return validationScheduler;
+    }
+
+    /**
+     * Set the scheduler that debounces stop typing validation. Share one between the Validators of a screen.
+     *
+     * @param validationScheduler
+     */
+    public void setValidationScheduler(@Nullable ValidationScheduler validationScheduler) {
+        if (this.validationScheduler != null) {
+            this.validationScheduler.cancel(this);
+        }
+        this.validationScheduler = validationScheduler;
+    }
+
+    public ErrorRenderer getErrorRenderer() {
+        return errorRenderer;
+    }
+
+    /**
+     * Set the renderer that batches error messages into a single frame. Share one between the Validators of a screen.
+     * Without one, errors are displayed as soon as they change.
+     *
+     * @param errorRenderer
+     */
+    public void setErrorRenderer(@Nullable ErrorRenderer errorRenderer) {
+        if (this.errorRenderer != null) {
+            this.errorRenderer.cancel(this);
+            renderError();
+        }
+        this.errorRenderer = errorRenderer;
     }
 
     public boolean isLoseFocusValidate() {
@@ -73,6 +276,9 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
      */
     public void setLoseFocusValidate(boolean loseFocusValidate) {
         this.loseFocusValidate = loseFocusValidate;
+        if (textView == null) {
+            return;
+        }
         if (loseFocusValidate) {
             this.textView.setOnFocusChangeListener(this);
         } else {
@@ -92,11 +298,14 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
     public void setShowError(boolean showError) {
         this.showError = showError;
         if (!showError) {
-            if (textInputLayoutValidate) {
-                textInputLayout.setError(null);
-            } else {
-                textView.setError(null);
+            if (errorRenderer != null) {
+                errorRenderer.cancel(this);
+            }
+            if (textView != null) {
+                displayError(null);
             }
+            error = null;
+            renderedError = null;
         }
     }
 
@@ -110,7 +319,9 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
      * @param required
      */
     public void setRequired(boolean required) {
-        setRequired(required, textView.getContext().getString(R.string.av_required_field));
+        this.required = required;
+        this.requiredError = ValidationError.REQUIRED;
+        invalidateCache();
     }
 
     /**
@@ -121,7 +332,49 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
      */
     public void setRequired(boolean required, @Nullable String requiredErrorText) {
         this.required = required;
-        this.requiredErrorText = requiredErrorText;
+        this.requiredError = new ValidationError(ErrorCode.REQUIRED, requiredErrorText);
+        invalidateCache();
+    }
+
+    public int getResultCacheSize() {
+        return resultCache != null ? resultCache.capacity() : 0;
+    }
+
+    /**
+     * Set how many recently validated texts to remember the result of, so validating unchanged text again, such as
+     * on focus loss right after typing stopped, skips {@link #onValidate(CharSequence)}. Listeners are still notified
+     * and the error still displayed from the remembered result. 0 disables the cache, which is the default except for
+     * the Validators of this library.
+     * <p>
+     * Subclasses whose result depends on more than the text must call {@link #invalidateCache()} when that changes.
+     *
+     * @param resultCacheSize
+     */
+    public void setResultCacheSize(int resultCacheSize) {
+        if (resultCacheSize < 0) {
+            throw new IllegalArgumentException("Result cache size must not be negative");
+        }
+        if (resultCacheSize != getResultCacheSize()) {
+            invalidateCache();
+            resultCache = resultCacheSize > 0 ? new ResultCache(resultCacheSize) : null;
+        }
+    }
+
+    /**
+     * Forget remembered validation results. Call this whenever the configuration deciding the result changes.
+     */
+    protected final void invalidateCache() {
+        if (resultCache != null) {
+            resultCache.clear();
+        }
+    }
+
+    /**
+     * Record to metrics, or stop recording if null. Set through {@link ValidationMetrics#track(Validator, String)}.
+     */
+    void setMetrics(@Nullable ValidationMetrics.Recorder metrics) {
+        this.metrics = metrics;
+        keystrokeTime = 0;
     }
 
     public boolean isTextInputLayoutValidate() {
@@ -135,15 +388,11 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
      */
     public void setTextInputLayoutValidate(boolean textInputLayoutValidate) {
         this.textInputLayoutValidate = textInputLayoutValidate;
+        if (textView == null) {
+            return;
+        }
         if (textInputLayoutValidate) {
-            ViewParent view = textView.getParent();
-            while (view != null && !(view instanceof TextInputLayout)) {
-                view = view.getParent();
-            }
-            if (view == null || !(view instanceof TextInputLayout)) {
-                throw new IllegalArgumentException("Error finding TextInputLayout");
-            }
-            textInputLayout = (TextInputLayout) view;
+            textInputLayout = findTextInputLayout(textView);
             if (!TextUtils.isEmpty(textView.getError())) {
                 textInputLayout.setError(textView.getError());
                 textView.setError(null);
@@ -157,6 +406,17 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
         }
     }
 
+    private static TextInputLayout findTextInputLayout(TextView textView) {
+        ViewParent view = textView.getParent();
+        while (view != null && !(view instanceof TextInputLayout)) {
+            view = view.getParent();
+        }
+        if (view == null || !(view instanceof TextInputLayout)) {
+            throw new IllegalArgumentException("Error finding TextInputLayout");
+        }
+        return (TextInputLayout) view;
+    }
+
     @Override
     public void onFocusChange(View v, boolean hasFocus) {
         if (!hasFocus) {
@@ -166,11 +426,16 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
 
     @Override
     public void afterTextChanged(Editable s) {
-        if (s.length() > 0) {
-            validate();
-        } else if (required) {
-            validate();
+        if (metrics != null) {
+            keystrokeTime = System.nanoTime();
+        }
+        if (!stopTypingValidate) {
+            return;
+        }
+        if (s.length() > 0 || required) {
+            getValidationScheduler().schedule(this);
         } else {
+            getValidationScheduler().cancel(this);
             setError(null);
         }
     }
@@ -186,46 +451,204 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
     }
 
     public final boolean validate() {
-        return validate(getText());
+        if (validationScheduler != null) {
+            validationScheduler.cancel(this);
+        }
+        validatingFieldText = true;
+        try {
+            return validate(getRawText());
+        } finally {
+            validatingFieldText = false;
+        }
     }
 
     public final boolean validate(String text) {
+        return validate((CharSequence) text);
+    }
+
+    /**
+     * Validate the text in place. Does not allocate when {@link #onValidate(CharSequence)} returns preallocated
+     * ValidationErrors.
+     *
+     * @param text Text to validate.
+     * @return Whether the text is valid.
+     */
+    public final boolean validate(CharSequence text) {
+        ValidationMetrics.Recorder metrics = this.metrics;
+        long start = metrics != null ? System.nanoTime() : 0;
+        ValidationError error;
         if (required && TextUtils.isEmpty(text)) {
-            if (showError) {
-                setError(requiredErrorText);
+            error = requiredError;
+        } else if (resultCache != null) {
+            int hash = ResultCache.hash(text);
+            if (resultCache.find(text, hash)) {
+                error = resultCache.getResult();
+            } else {
+                error = onValidate(text);
+                if (error == null || error.getCode() != ErrorCode.VALIDATION_PENDING) {
+                    resultCache.put(text, hash, error);
+                }
             }
-            if (validateListener != null) {
-                validateListener.onError(requiredErrorText);
+        } else {
+            error = onValidate(text);
+        }
+        if (metrics != null) {
+            metrics.recordValidate(System.nanoTime() - start);
+        }
+        return deliver(text, error);
+    }
+
+    /**
+     * Display the result of a validation and notify the ValidateListener.
+     *
+     * @param text  Text that was validated.
+     * @param error ValidationError, null if the text is valid.
+     * @return Whether the text is valid.
+     */
+    boolean deliver(CharSequence text, @Nullable ValidationError error) {
+        validationError = error;
+        if (metrics != null) {
+            metrics.recordResult(error);
+            if (error == null) {
+                keystrokeTime = 0;
             }
-            return false;
         }
 
-        String error = onValidate(text, textView.getContext());
+        String errorString = error != null ? error.getMessage(textView.getContext()) : null;
         if (showError) {
-            setError(error);
+            setError(errorString);
         }
-        if (error != null) {
-            if (validateListener != null) {
-                validateListener.onError(error);
-            }
-            return false;
-        } else {
+        // Listeners added or removed while notifying take effect from the next validation.
+        ValidationListener[] listeners = validationListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onValidated(this, error);
+        }
+        if (error == null) {
             if (validateListener != null) {
                 validateListener.onSuccess();
             }
             return true;
         }
+        if (error.getCode() == ErrorCode.VALIDATION_PENDING) {
+            if (validateListener instanceof AsyncValidateListener) {
+                ((AsyncValidateListener) validateListener).onPending();
+            }
+        } else if (validateListener != null) {
+            validateListener.onError(errorString);
+        }
+        return false;
+    }
+
+    /**
+     * Remember the result of text validated asynchronously, if this Validator caches results.
+     */
+    void cacheResult(CharSequence text, @Nullable ValidationError error) {
+        if (resultCache != null) {
+            resultCache.put(text, ResultCache.hash(text), error);
+        }
+    }
+
+    /**
+     * @return Rule checking text the same way {@link #onValidate(CharSequence)} does, which can run off the main
+     * thread, null if this Validator can only validate on the main thread. Its ErrorCodes are mapped back with
+     * {@link #getValidationError(int)}.
+     */
+    @Nullable
+    public Rule getRule() {
+        return null;
+    }
+
+    /**
+     * Map an ErrorCode returned by {@link #getRule()} to the ValidationError this Validator reports for it. Subclasses
+     * returning a Rule should override this to return their configured ValidationErrors.
+     *
+     * @param code ErrorCode.
+     * @return ValidationError, null if the code is {@link ErrorCode#VALID}.
+     */
+    @Nullable
+    public ValidationError getValidationError(int code) {
+        if (code == ErrorCode.VALID) {
+            return null;
+        }
+        if (code == ErrorCode.REQUIRED) {
+            return requiredError;
+        }
+        return new ValidationError(code, (String) null);
+    }
+
+    /**
+     * @return ValidationError of the last validation, null if it succeeded or nothing was validated yet.
+     */
+    @Nullable
+    public ValidationError getValidationError() {
+        return validationError;
+    }
+
+    /**
+     * Whether the text being validated is the current text of the field, rather than text passed to
+     * {@link #validate(String)}.
+     */
+    protected final boolean isValidatingFieldText() {
+        return validatingFieldText;
     }
 
     public String getText() {
         return textView.getText().toString();
     }
 
+    /**
+     * @return Text of the field, without copying it.
+     */
+    public CharSequence getRawText() {
+        return textView.getText();
+    }
+
     public Context getContext() {
         return textView.getContext();
     }
 
+    boolean isAttachedToWindow() {
+        return textView != null && textView.getWindowToken() != null;
+    }
+
+    /**
+     * @return Error message last set on the field, which may not be displayed yet when an ErrorRenderer is set.
+     */
+    @Nullable
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Display an error message on the field, or clear it if null. Does nothing if the message is already displayed,
+     * and waits for the next frame when an ErrorRenderer is set.
+     *
+     * @param error
+     */
     public void setError(@Nullable String error) {
+        this.error = error;
+        if (errorRenderer != null) {
+            errorRenderer.render(this);
+        } else {
+            renderError();
+        }
+    }
+
+    void renderError() {
+        String error = this.error;
+        if (error == renderedError || (error != null && error.equals(renderedError))) {
+            keystrokeTime = 0;
+            return;
+        }
+        if (keystrokeTime != 0 && error != null && metrics != null) {
+            metrics.recordKeystrokeToError(System.nanoTime() - keystrokeTime);
+        }
+        keystrokeTime = 0;
+        displayError(error);
+        renderedError = error;
+    }
+
+    private void displayError(@Nullable String error) {
         if (textInputLayoutValidate) {
             textInputLayout.setError(error);
         } else {
@@ -239,6 +662,25 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
         void onError(String errorString);
     }
 
+    /**
+     * Listener of validation results, any number of which can be added to a Validator.
+     */
+    public interface ValidationListener {
+        /**
+         * @param validator Validator that validated.
+         * @param error     ValidationError, null if the text is valid, or {@link ValidationError#VALIDATION_PENDING}
+         *                  while an asynchronous check runs.
+         */
+        void onValidated(Validator validator, @Nullable ValidationError error);
+    }
+
+    /**
+     * ValidateListener that is also told when validation waits on an asynchronous check, such as to show progress.
+     */
+    public interface AsyncValidateListener extends ValidateListener {
+        void onPending();
+    }
+
     /**
      * Put validation logic in here. Return null if there is no Errors.
      *
@@ -247,6 +689,24 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
      */
     public abstract String onValidate(String string, Context context);
 
+    /**
+     * Put allocation free validation logic in here, reading the text in place. Return a ValidationError created when
+     * the Validator was configured, null if there is no Errors. Defaults to {@link #onValidate(String, Context)}.
+     *
+     * @param text Text to validate, which may be the field's Editable.
+     * @return ValidationError, null if none.
+     */
+    public ValidationError onValidate(CharSequence text) {
+        String error = onValidate(text.toString(), textView.getContext());
+        if (error == null) {
+            return null;
+        }
+        if (customError == null || !error.equals(customError.getMessage(textView.getContext()))) {
+            customError = new ValidationError(ErrorCode.CUSTOM, error);
+        }
+        return customError;
+    }
+
     public static class Builder<T extends Validator> {
         private T validator;
 
@@ -264,6 +724,16 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
             return this;
         }
 
+        /**
+         * Add a listener told of every validation result.
+         *
+         * @param validationListener
+         */
+        public Builder<T> addValidationListener(ValidationListener validationListener) {
+            this.validator.addValidationListener(validationListener);
+            return this;
+        }
+
         /**
          * Set whether to validate when the user stops typing.
          *
@@ -274,6 +744,37 @@ public abstract class Validator implements View.OnFocusChangeListener, TextWatch
             return this;
         }
 
+        /**
+         * Set the scheduler that debounces stop typing validation. Share one between the Validators of a screen.
+         *
+         * @param validationScheduler
+         */
+        public Builder<T> setValidationScheduler(@Nullable ValidationScheduler validationScheduler) {
+            this.validator.setValidationScheduler(validationScheduler);
+            return this;
+        }
+
+        /**
+         * Set the renderer that batches error messages into a single frame. Share one between the Validators of a
+         * screen.
+         *
+         * @param errorRenderer
+         */
+        public Builder<T> setErrorRenderer(@Nullable ErrorRenderer errorRenderer) {
+            this.validator.setErrorRenderer(errorRenderer);
+            return this;
+        }
+
+        /**
+         * Set how many recently validated texts to remember the result of. 0 disables the cache.
+         *
+         * @param resultCacheSize
+         */
+        public Builder<T> setResultCacheSize(int resultCacheSize) {
+            this.validator.setResultCacheSize(resultCacheSize);
+            return this;
+        }
+
         /**
          * Set whether to validate when the user loses focus from the field.
          *
@@ -0,0 +1,195 @@
+package com.nextgeneration;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.support.v4.util.LongSparseArray;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+
+import java.util.ArrayList;
+
+/**
+ * Binds pooled Validators to the recycled fields of a RecyclerView or ListView. Bind in onBindViewHolder and unbind in
+ * onViewRecycled: a Validator is only created when no unbound one is left, so as many exist as rows are shown at once,
+ * and an unbound Validator holds no reference to its old field. The result of each row is kept by item id, and
+ * displayed again without validating when the item is bound to any field.
+ * <p>
+ * Configure Validators in the {@link Factory}, with listeners that find the row through {@link #getItemId(Validator)}.
+ * Call {@link #unbindAll()} when the list goes away.
+ *
+ * @param <T> Type of Validator.
+ */
+@MainThread
+public class ValidatorBinder<T extends Validator> {
+
+    public static final long NO_ID = -1;
+
+    private final Factory<T> factory;
+    private final ArrayList<T> pool = new ArrayList<>();
+    private final ArrayList<T> bound = new ArrayList<>();
+    private long[] boundIds = new long[16];
+    private final LongSparseArray<ValidationError> errors = new LongSparseArray<>();
+
+    private final Validator.ValidationListener listener = new Validator.ValidationListener() {
+        @Override
+        public void onValidated(Validator validator, @Nullable ValidationError error) {
+            long itemId = getItemId(validator);
+            if (itemId == NO_ID) {
+                return;
+            }
+            // A pending check is cancelled when its row is unbound, so it is not worth keeping.
+            if (error == null || error.getCode() == ErrorCode.VALIDATION_PENDING) {
+                errors.remove(itemId);
+            } else {
+                errors.put(itemId, error);
+            }
+        }
+    };
+
+    public ValidatorBinder(Factory<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Bind a Validator to the field of an item, after the field shows the item's text. Rebinding a field to the item
+     * it is bound to does nothing.
+     *
+     * @param textView Field of the row.
+     * @param itemId   Stable id of the item, such as RecyclerView.Adapter.getItemId, not {@link #NO_ID}.
+     * @return Validator bound to the field.
+     */
+    public T bind(TextView textView, long itemId) {
+        if (itemId == NO_ID) {
+            throw new IllegalArgumentException("Item id must not be NO_ID");
+        }
+        int index = indexOf(textView);
+        T validator;
+        if (index != -1) {
+            validator = bound.get(index);
+            if (boundIds[index] == itemId) {
+                return validator;
+            }
+            validator.unbind();
+        } else {
+            if (pool.isEmpty()) {
+                validator = factory.create();
+                validator.addValidationListener(listener);
+            } else {
+                validator = pool.remove(pool.size() - 1);
+            }
+            index = bound.size();
+            bound.add(validator);
+            if (index == boundIds.length) {
+                long[] grown = new long[index * 2];
+                System.arraycopy(boundIds, 0, grown, 0, index);
+                boundIds = grown;
+            }
+        }
+        boundIds[index] = itemId;
+        validator.bind(textView);
+        ValidationError error = errors.get(itemId);
+        if (error != null) {
+            validator.restoreValidationError(error);
+        }
+        return validator;
+    }
+
+    /**
+     * Unbind the Validator of a field, keeping the result of its item, and return the Validator to the pool. Does
+     * nothing if the field is not bound.
+     *
+     * @param textView Field of the recycled row.
+     */
+    public void unbind(TextView textView) {
+        int index = indexOf(textView);
+        if (index != -1) {
+            unbind(index);
+        }
+    }
+
+    /**
+     * Unbind every field, such as when the list goes away.
+     */
+    public void unbindAll() {
+        for (int i = bound.size() - 1; i >= 0; i--) {
+            unbind(i);
+        }
+    }
+
+    private void unbind(int index) {
+        T validator = bound.get(index);
+        validator.unbind();
+        int last = bound.size() - 1;
+        bound.set(index, bound.get(last));
+        boundIds[index] = boundIds[last];
+        bound.remove(last);
+        pool.add(validator);
+    }
+
+    private int indexOf(TextView textView) {
+        for (int i = 0; i < bound.size(); i++) {
+            if (bound.get(i).getTextView() == textView) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Validator bound to the field, null if none.
+     */
+    @Nullable
+    public T getValidator(TextView textView) {
+        int index = indexOf(textView);
+        return index != -1 ? bound.get(index) : null;
+    }
+
+    /**
+     * @return Id of the item the Validator is bound to, {@link #NO_ID} if it is not bound by this ValidatorBinder.
+     */
+    public long getItemId(Validator validator) {
+        for (int i = 0; i < bound.size(); i++) {
+            if (bound.get(i) == validator) {
+                return boundIds[i];
+            }
+        }
+        return NO_ID;
+    }
+
+    /**
+     * @return ValidationError of the item's last validation, null if it succeeded or the item was not validated.
+     */
+    @Nullable
+    public ValidationError getValidationError(long itemId) {
+        return errors.get(itemId);
+    }
+
+    /**
+     * Forget the result of an item, such as when it is removed from the list. A bound field keeps its displayed error.
+     *
+     * @param itemId
+     */
+    public void remove(long itemId) {
+        errors.remove(itemId);
+    }
+
+    /**
+     * Forget the result of every item.
+     */
+    public void clear() {
+        errors.clear();
+    }
+
+    /**
+     * Creates the Validators of a ValidatorBinder.
+     *
+     * @param <T> Type of Validator.
+     */
+    public interface Factory<T extends Validator> {
+        /**
+         * @return New Validator without a field, such as built from {@code new EmailValidator(null)}.
+         */
+        T create();
+    }
+}
@@ -0,0 +1,341 @@
+package com.nextgeneration;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.Rule;
+
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Validates the Validators of a form together, such as when it is submitted. The text of every field is copied on the
+ * main thread, then each Validator's {@link Validator#getRule() Rule} checks its copy in parallel on an Executor.
+ * Validators without a Rule are validated on the main thread once the others are done.
+ * <p>
+ * Results are delivered back on the main thread in a single message: every Validator displays its error and notifies
+ * its ValidateListener, then the {@link Callback} receives the aggregated {@link Result}. Validators without an
+ * ErrorRenderer are given the group's, so all errors are displayed in a single frame.
+ */
+public class ValidatorGroup {
+
+    private static ExecutorService defaultExecutor;
+
+    private final ArrayList<Validator> validators = new ArrayList<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ErrorRenderer errorRenderer = new ErrorRenderer();
+    private Executor executor;
+    private boolean shortCircuit;
+    private Batch batch;
+
+    public ValidatorGroup(Validator... validators) {
+        for (Validator validator : validators) {
+            add(validator);
+        }
+    }
+
+    /**
+     * Executor used by ValidatorGroups that have not been given one, with a daemon thread per processor.
+     */
+    public static synchronized Executor getDefaultExecutor() {
+        if (defaultExecutor == null) {
+            final AtomicInteger count = new AtomicInteger();
+            defaultExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactory() {
+                        @Override
+                        public Thread newThread(Runnable runnable) {
+                            Thread thread = new Thread(runnable, "ValidatorGroup-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+        }
+        return defaultExecutor;
+    }
+
+    public void add(Validator validator) {
+        validators.add(validator);
+        if (validator.getErrorRenderer() == null) {
+            validator.setErrorRenderer(errorRenderer);
+        }
+    }
+
+    public void remove(Validator validator) {
+        if (validators.remove(validator) && validator.getErrorRenderer() == errorRenderer) {
+            validator.setErrorRenderer(null);
+        }
+    }
+
+    public int size() {
+        return validators.size();
+    }
+
+    public Validator get(int index) {
+        return validators.get(index);
+    }
+
+    /**
+     * @return Results and flags of every field, to restore with {@link #restoreState(ValidationState)}.
+     */
+    @MainThread
+    public ValidationState saveState() {
+        return ValidationState.save(validators.toArray(new Validator[validators.size()]));
+    }
+
+    /**
+     * Display the saved errors of every field without validating. The group must hold the same Validators in the same
+     * order as when the state was saved.
+     *
+     * @param state
+     */
+    @MainThread
+    public void restoreState(ValidationState state) {
+        state.restore(validators.toArray(new Validator[validators.size()]));
+    }
+
+    public Executor getExecutor() {
+        if (executor == null) {
+            executor = getDefaultExecutor();
+        }
+        return executor;
+    }
+
+    /**
+     * Set the Executor Rules are checked on.
+     *
+     * @param executor
+     */
+    public void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    public boolean isShortCircuit() {
+        return shortCircuit;
+    }
+
+    /**
+     * Set whether to stop at the first invalid field in the order they were added, instead of collecting the errors of
+     * every field. Fields after it are skipped and keep their current error, whichever order the Rules finish in.
+     *
+     * @param shortCircuit
+     */
+    public void setShortCircuit(boolean shortCircuit) {
+        this.shortCircuit = shortCircuit;
+    }
+
+    /**
+     * Validate every field. A validation still running is cancelled.
+     *
+     * @param callback Receives the Result on the main thread, may be null.
+     */
+    @MainThread
+    public void validate(@Nullable Callback callback) {
+        cancel();
+        int size = validators.size();
+        Batch batch = new Batch(this, callback, validators.toArray(new Validator[size]), shortCircuit);
+        this.batch = batch;
+        for (int i = 0; i < size; i++) {
+            Validator validator = batch.validators[i];
+            String text = validator.getRawText().toString();
+            batch.texts[i] = text;
+            // Empty required fields fail without their Rule, so they are left to the main thread.
+            if (!validator.isRequired() || !TextUtils.isEmpty(text)) {
+                batch.rules[i] = validator.getRule();
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (batch.rules[i] != null) {
+                batch.remaining.incrementAndGet();
+            }
+        }
+        if (batch.remaining.get() == 0) {
+            handler.post(batch);
+            return;
+        }
+        Executor executor = getExecutor();
+        for (int i = 0; i < size; i++) {
+            if (batch.rules[i] != null) {
+                executor.execute(new Check(batch, i));
+            }
+        }
+    }
+
+    /**
+     * Drop the result of the validation running, if any.
+     */
+    @MainThread
+    public void cancel() {
+        if (batch != null) {
+            batch.cancelled = true;
+            handler.removeCallbacks(batch);
+            batch = null;
+        }
+    }
+
+    private void deliver(Batch batch) {
+        if (batch != this.batch) {
+            return;
+        }
+        this.batch = null;
+        int size = batch.validators.length;
+        ValidationError[] errors = new ValidationError[size];
+        boolean[] validated = new boolean[size];
+        boolean valid = true;
+        // In order, so a short circuit stops at the same field however the Checks were scheduled. Every field before
+        // the first failing Rule was checked, and results checked after it are dropped.
+        for (int i = 0; i < size && (valid || !batch.shortCircuit); i++) {
+            Validator validator = batch.validators[i];
+            if (batch.checked[i]) {
+                errors[i] = validator.getValidationError(batch.codes[i]);
+                validator.deliver(batch.texts[i], errors[i]);
+                validated[i] = true;
+                valid &= errors[i] == null;
+            } else if (batch.rules[i] == null) {
+                // Validators without a Rule, checked against the same copy of the text.
+                valid &= validator.validate(batch.texts[i]);
+                errors[i] = validator.getValidationError();
+                validated[i] = true;
+            }
+        }
+        if (batch.callback != null) {
+            batch.callback.onValidated(new Result(batch.validators, errors, validated, valid));
+        }
+    }
+
+    public interface Callback {
+        void onValidated(Result result);
+    }
+
+    /**
+     * Aggregated result of validating a ValidatorGroup, indexed in the order Validators were added.
+     */
+    public static final class Result {
+        private final Validator[] validators;
+        private final ValidationError[] errors;
+        private final boolean[] validated;
+        private final boolean valid;
+
+        private Result(Validator[] validators, ValidationError[] errors, boolean[] validated, boolean valid) {
+            this.validators = validators;
+            this.errors = errors;
+            this.validated = validated;
+            this.valid = valid;
+        }
+
+        /**
+         * @return Whether every field is valid.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+
+        public int size() {
+            return validators.length;
+        }
+
+        public Validator getValidator(int index) {
+            return validators[index];
+        }
+
+        /**
+         * @return Whether the field was validated, false if it was skipped after a short circuit.
+         */
+        public boolean isValidated(int index) {
+            return validated[index];
+        }
+
+        /**
+         * @return ValidationError of the field, null if it is valid or was skipped.
+         */
+        @Nullable
+        public ValidationError getValidationError(int index) {
+            return errors[index];
+        }
+
+        /**
+         * @return First invalid Validator in the order they were added, such as to request focus, null if none.
+         */
+        @Nullable
+        public Validator getFirstInvalid() {
+            for (int i = 0; i < errors.length; i++) {
+                if (errors[i] != null) {
+                    return validators[i];
+                }
+            }
+            return null;
+        }
+
+    }
+
+    /**
+     * State of one validation, shared by the Checks running it. Each Check writes its own index before counting down,
+     * and the last one posts the Batch to the main thread, so the main thread sees every write.
+     */
+    private static final class Batch implements Runnable {
+        private final ValidatorGroup group;
+        private final Callback callback;
+        private final Validator[] validators;
+        private final String[] texts;
+        private final Rule[] rules;
+        private final int[] codes;
+        private final boolean[] checked;
+        private final boolean shortCircuit;
+        private final AtomicInteger remaining = new AtomicInteger();
+        // Lowest index whose Rule failed, Checks after it can be skipped.
+        private final AtomicInteger firstFailed = new AtomicInteger(Integer.MAX_VALUE);
+        private volatile boolean cancelled;
+
+        private Batch(ValidatorGroup group, Callback callback, Validator[] validators, boolean shortCircuit) {
+            this.group = group;
+            this.callback = callback;
+            this.validators = validators;
+            this.texts = new String[validators.length];
+            this.rules = new Rule[validators.length];
+            this.codes = new int[validators.length];
+            this.checked = new boolean[validators.length];
+            this.shortCircuit = shortCircuit;
+        }
+
+        @Override
+        public void run() {
+            group.deliver(this);
+        }
+    }
+
+    private static final class Check implements Runnable {
+        private final Batch batch;
+        private final int index;
+
+        private Check(Batch batch, int index) {
+            this.batch = batch;
+            this.index = index;
+        }
+
+        @Override
+        public void run() {
+            Batch batch = this.batch;
+            if (!batch.cancelled && !(batch.shortCircuit && index > batch.firstFailed.get())) {
+                int code = batch.rules[index].validate(batch.texts[index]);
+                batch.codes[index] = code;
+                batch.checked[index] = true;
+                if (code != ErrorCode.VALID) {
+                    int firstFailed = batch.firstFailed.get();
+                    while (index < firstFailed && !batch.firstFailed.compareAndSet(firstFailed, index)) {
+                        firstFailed = batch.firstFailed.get();
+                    }
+                }
+            }
+            if (batch.remaining.decrementAndGet() == 0 && !batch.cancelled) {
+                batch.group.handler.post(batch);
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package android.annotation;
+
+/**
+ * Stand-in for the Android annotation, compiling the library off device.
+ */
+public @interface TargetApi {
+    int value();
+}
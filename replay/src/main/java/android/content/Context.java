@@ -0,0 +1,23 @@
+package android.content;
+
+import android.content.res.Resources;
+
+/**
+ * Stand-in giving Views the library's string resources.
+ */
+public class Context {
+
+    private final Resources resources = new Resources();
+
+    public Resources getResources() {
+        return resources;
+    }
+
+    public final String getString(int resId) {
+        return resources.getString(resId);
+    }
+
+    public final String getString(int resId, Object... formatArgs) {
+        return resources.getString(resId, formatArgs);
+    }
+}
@@ -0,0 +1,11 @@
+package android.content.res;
+
+import java.util.Locale;
+
+/**
+ * Stand-in for the configuration of Resources.
+ */
+public class Configuration {
+
+    public Locale locale = Locale.getDefault();
+}
@@ -0,0 +1,100 @@
+package android.content.res;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+/**
+ * Stand-in reading the library's string resources from values/strings.xml on the classpath. The string at index i of
+ * the file has the id {@link #STRING_ID_BASE} plus i, as written to R by the replay build.
+ */
+public class Resources {
+
+    public static final int STRING_ID_BASE = 0x7f0a0000;
+
+    private static String[] strings;
+
+    private final Configuration configuration = new Configuration();
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    public String getString(int id) {
+        String[] strings = getStrings();
+        int index = id - STRING_ID_BASE;
+        if (index < 0 || index >= strings.length) {
+            throw new NotFoundException("String resource ID #0x" + Integer.toHexString(id));
+        }
+        return strings[index];
+    }
+
+    public String getString(int id, Object... formatArgs) {
+        return String.format(configuration.locale, getString(id), formatArgs);
+    }
+
+    private static synchronized String[] getStrings() {
+        if (strings == null) {
+            strings = loadStrings();
+        }
+        return strings;
+    }
+
+    private static String[] loadStrings() {
+        InputStream in = Resources.class.getClassLoader().getResourceAsStream("values/strings.xml");
+        if (in == null) {
+            throw new NotFoundException("values/strings.xml is not on the classpath");
+        }
+        try {
+            try {
+                NodeList nodes = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(in)
+                        .getElementsByTagName("string");
+                ArrayList<String> strings = new ArrayList<>(nodes.getLength());
+                for (int i = 0; i < nodes.getLength(); i++) {
+                    strings.add(unescape(((Element) nodes.item(i)).getTextContent()));
+                }
+                return strings.toArray(new String[strings.size()]);
+            } finally {
+                in.close();
+            }
+        } catch (IOException | ParserConfigurationException | SAXException e) {
+            throw new NotFoundException("Error reading values/strings.xml: " + e);
+        }
+    }
+
+    private static String unescape(String text) {
+        text = text.trim();
+        if (text.length() >= 2 && text.charAt(0) == '"' && text.charAt(text.length() - 1) == '"') {
+            text = text.substring(1, text.length() - 1);
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                c = text.charAt(++i);
+                if (c == 'n') {
+                    c = '\n';
+                } else if (c == 't') {
+                    c = '\t';
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    public static class NotFoundException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public NotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package android.os;
+
+/**
+ * Stand-in for the Android build information. The SDK level defaults to 28, and can be set with the replay.sdk system
+ * property to replay the code paths of older devices.
+ */
+public final class Build {
+
+    private Build() {
+    }
+
+    public static final class VERSION {
+        public static final int SDK_INT = Integer.getInteger("replay.sdk", 28);
+
+        private VERSION() {
+        }
+    }
+
+    public static final class VERSION_CODES {
+        public static final int HONEYCOMB_MR1 = 12;
+        public static final int JELLY_BEAN = 16;
+
+        private VERSION_CODES() {
+        }
+    }
+}
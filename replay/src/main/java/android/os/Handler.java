@@ -0,0 +1,40 @@
+package android.os;
+
+/**
+ * Stand-in posting to the virtual clock of a {@link Looper}.
+ */
+public class Handler {
+
+    private final Looper looper;
+
+    public Handler() {
+        this(Looper.myLooper());
+    }
+
+    public Handler(Looper looper) {
+        this.looper = looper;
+    }
+
+    public final Looper getLooper() {
+        return looper;
+    }
+
+    public final boolean post(Runnable r) {
+        looper.enqueue(this, r, looper.uptimeMillis());
+        return true;
+    }
+
+    public final boolean postDelayed(Runnable r, long delayMillis) {
+        looper.enqueue(this, r, looper.uptimeMillis() + Math.max(0, delayMillis));
+        return true;
+    }
+
+    public final boolean postAtTime(Runnable r, long uptimeMillis) {
+        looper.enqueue(this, r, uptimeMillis);
+        return true;
+    }
+
+    public final void removeCallbacks(Runnable r) {
+        looper.remove(this, r);
+    }
+}
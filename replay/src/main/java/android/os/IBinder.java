@@ -0,0 +1,7 @@
+package android.os;
+
+/**
+ * Stand-in for the window token of attached Views.
+ */
+public interface IBinder {
+}
@@ -0,0 +1,147 @@
+package android.os;
+
+/**
+ * Stand-in for the main thread Looper. Messages are queued by time on a virtual clock, which only moves when the
+ * replay advances it, so a trace replays the same way however fast the machine is. Messages may be posted from any
+ * thread, but only run on the thread calling {@link #runNext(long)}. Queue entries are pooled like Android Messages,
+ * so posting does not allocate once the pool is warm.
+ */
+public final class Looper {
+
+    /**
+     * Uptime after a reset. Like a device's, it is never zero, which the library takes for an unset time.
+     */
+    public static final long START_UPTIME = 1000;
+
+    private static final Looper MAIN = new Looper();
+
+    private Message queue;
+    private Message pool;
+    private long now = START_UPTIME;
+
+    private Looper() {
+    }
+
+    public static Looper getMainLooper() {
+        return MAIN;
+    }
+
+    public static Looper myLooper() {
+        return MAIN;
+    }
+
+    /**
+     * @return Virtual milliseconds, {@link #START_UPTIME} after the last {@link #reset()}.
+     */
+    public synchronized long uptimeMillis() {
+        return now;
+    }
+
+    /**
+     * Drop every queued message and move the clock back to {@link #START_UPTIME}, such as before replaying a trace
+     * again.
+     */
+    public synchronized void reset() {
+        while (queue != null) {
+            Message message = queue;
+            queue = message.next;
+            recycle(message);
+        }
+        now = START_UPTIME;
+    }
+
+    /**
+     * Run the first message due at or before a time, moving the clock to its time.
+     *
+     * @param until Virtual time in milliseconds.
+     * @return Whether a message ran.
+     */
+    public boolean runNext(long until) {
+        Runnable callback;
+        synchronized (this) {
+            Message message = queue;
+            if (message == null || message.when > until) {
+                return false;
+            }
+            queue = message.next;
+            now = Math.max(now, message.when);
+            callback = message.callback;
+            recycle(message);
+        }
+        callback.run();
+        return true;
+    }
+
+    /**
+     * Move the clock forward without running messages. Run the due messages with {@link #runNext(long)} first.
+     *
+     * @param time Virtual time in milliseconds, ignored if earlier than now.
+     */
+    public synchronized void advanceTo(long time) {
+        now = Math.max(now, time);
+    }
+
+    /**
+     * @return Virtual time of the first queued message, -1 if none.
+     */
+    public synchronized long nextMessageTime() {
+        return queue != null ? queue.when : -1;
+    }
+
+    synchronized void enqueue(Handler handler, Runnable callback, long when) {
+        Message message = pool;
+        if (message != null) {
+            pool = message.next;
+        } else {
+            message = new Message();
+        }
+        message.handler = handler;
+        message.callback = callback;
+        message.when = when;
+        Message previous = null;
+        Message next = queue;
+        while (next != null && next.when <= when) {
+            previous = next;
+            next = next.next;
+        }
+        message.next = next;
+        if (previous == null) {
+            queue = message;
+        } else {
+            previous.next = message;
+        }
+    }
+
+    synchronized void remove(Handler handler, Runnable callback) {
+        Message previous = null;
+        Message message = queue;
+        while (message != null) {
+            Message next = message.next;
+            if (message.handler == handler && message.callback == callback) {
+                if (previous == null) {
+                    queue = next;
+                } else {
+                    previous.next = next;
+                }
+                recycle(message);
+            } else {
+                previous = message;
+            }
+            message = next;
+        }
+    }
+
+    private void recycle(Message message) {
+        message.handler = null;
+        message.callback = null;
+        message.next = pool;
+        pool = message;
+    }
+
+    private static final class Message {
+        private Handler handler;
+        private Runnable callback;
+        private long when;
+        private Message next;
+    }
+}
@@ -0,0 +1,36 @@
+package android.os;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in holding written values in order, enough to round trip the library's Parcelables.
+ */
+public final class Parcel {
+
+    private final ArrayList<Object> values = new ArrayList<>();
+    private int position;
+
+    private Parcel() {
+    }
+
+    public static Parcel obtain() {
+        return new Parcel();
+    }
+
+    public void recycle() {
+        values.clear();
+        position = 0;
+    }
+
+    public void setDataPosition(int position) {
+        this.position = position;
+    }
+
+    public void writeByteArray(byte[] b) {
+        values.add(b != null ? b.clone() : null);
+    }
+
+    public byte[] createByteArray() {
+        return (byte[]) values.get(position++);
+    }
+}
@@ -0,0 +1,17 @@
+package android.os;
+
+/**
+ * Stand-in for the Android interface, compiling the library off device.
+ */
+public interface Parcelable {
+
+    int describeContents();
+
+    void writeToParcel(Parcel dest, int flags);
+
+    interface Creator<T> {
+        T createFromParcel(Parcel source);
+
+        T[] newArray(int size);
+    }
+}
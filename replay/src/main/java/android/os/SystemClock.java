@@ -0,0 +1,14 @@
+package android.os;
+
+/**
+ * Stand-in returning the virtual time of the main {@link Looper}, so replayed delays do not take real time.
+ */
+public final class SystemClock {
+
+    private SystemClock() {
+    }
+
+    public static long uptimeMillis() {
+        return Looper.getMainLooper().uptimeMillis();
+    }
+}
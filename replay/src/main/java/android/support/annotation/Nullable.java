@@ -0,0 +1,7 @@
+package android.support.annotation;
+
+/**
+ * Stand-in for the support annotation, compiling the library off device.
+ */
+public @interface Nullable {
+}
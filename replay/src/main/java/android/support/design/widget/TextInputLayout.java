@@ -0,0 +1,33 @@
+package android.support.design.widget;
+
+import android.content.Context;
+import android.view.ViewGroup;
+
+/**
+ * Stand-in for the design library layout, counting errors instead of drawing them.
+ */
+public class TextInputLayout extends ViewGroup {
+
+    private CharSequence error;
+    private int setErrorCount;
+
+    public TextInputLayout(Context context) {
+        super(context);
+    }
+
+    public void setError(CharSequence error) {
+        this.error = error;
+        setErrorCount++;
+    }
+
+    public CharSequence getError() {
+        return error;
+    }
+
+    /**
+     * @return Number of {@link #setError(CharSequence)} calls, each of which animates the error on a device.
+     */
+    public int getSetErrorCount() {
+        return setErrorCount;
+    }
+}
@@ -0,0 +1,26 @@
+package android.text;
+
+/**
+ * Stand-in for the Android interface of editable text, without spans or a cursor.
+ */
+public interface Editable extends Spannable, Appendable {
+
+    Editable replace(int st, int en, CharSequence source, int start, int end);
+
+    Editable replace(int st, int en, CharSequence text);
+
+    Editable insert(int where, CharSequence text);
+
+    Editable delete(int st, int en);
+
+    @Override
+    Editable append(CharSequence text);
+
+    @Override
+    Editable append(CharSequence text, int start, int end);
+
+    @Override
+    Editable append(char text);
+
+    void clear();
+}
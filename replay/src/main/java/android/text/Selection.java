@@ -0,0 +1,20 @@
+package android.text;
+
+/**
+ * Stand-in for the Android cursor of editable text. Traces only edit at the end of a field, where the cursor stays.
+ */
+public final class Selection {
+
+    private Selection() {
+    }
+
+    public static int getSelectionEnd(CharSequence text) {
+        return text.length();
+    }
+
+    public static void setSelection(Spannable text, int index) {
+        if (index < 0 || index > text.length()) {
+            throw new IndexOutOfBoundsException("setSelection " + index + " in length " + text.length());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package android.text;
+
+/**
+ * Stand-in for the Android interface of text with spans, of which only the selection is used.
+ */
+public interface Spannable extends CharSequence {
+}
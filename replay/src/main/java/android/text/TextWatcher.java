@@ -0,0 +1,13 @@
+package android.text;
+
+/**
+ * Stand-in for the Android interface, notified of changes to an {@link Editable}.
+ */
+public interface TextWatcher {
+
+    void beforeTextChanged(CharSequence s, int start, int count, int after);
+
+    void onTextChanged(CharSequence s, int start, int before, int count);
+
+    void afterTextChanged(Editable s);
+}
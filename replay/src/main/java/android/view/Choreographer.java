@@ -0,0 +1,73 @@
+package android.view;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in running frame callbacks on the main {@link Looper} at the next 16 millisecond vsync of its virtual clock.
+ */
+public final class Choreographer {
+
+    public static final long FRAME_INTERVAL = 16;
+
+    private static final Choreographer INSTANCE = new Choreographer();
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ArrayList<FrameCallback> callbacks = new ArrayList<>();
+    private final ArrayList<FrameCallback> running = new ArrayList<>();
+    private final Runnable frame = new Runnable() {
+        @Override
+        public void run() {
+            doFrame();
+        }
+    };
+    private boolean scheduled;
+
+    private Choreographer() {
+    }
+
+    public static Choreographer getInstance() {
+        return INSTANCE;
+    }
+
+    public void postFrameCallback(FrameCallback callback) {
+        callbacks.add(callback);
+        if (!scheduled) {
+            scheduled = true;
+            handler.postAtTime(frame, (SystemClock.uptimeMillis() / FRAME_INTERVAL + 1) * FRAME_INTERVAL);
+        }
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+        while (callbacks.remove(callback)) {
+            // Remove every posting of the callback.
+        }
+    }
+
+    /**
+     * Forget posted callbacks, such as after {@link Looper#reset()} dropped the pending frame.
+     */
+    public void reset() {
+        handler.removeCallbacks(frame);
+        callbacks.clear();
+        scheduled = false;
+    }
+
+    private void doFrame() {
+        scheduled = false;
+        long frameTimeNanos = SystemClock.uptimeMillis() * 1000000L;
+        running.addAll(callbacks);
+        callbacks.clear();
+        for (int i = 0, size = running.size(); i < size; i++) {
+            running.get(i).doFrame(frameTimeNanos);
+        }
+        running.clear();
+    }
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+}
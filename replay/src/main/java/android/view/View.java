@@ -0,0 +1,79 @@
+package android.view;
+
+import android.content.Context;
+import android.os.IBinder;
+
+/**
+ * Stand-in for the parts of View the library uses. Views are always attached to a window, and focus only moves when
+ * the replay requests it.
+ */
+public class View {
+
+    private static final IBinder WINDOW_TOKEN = new IBinder() {
+    };
+
+    private final Context context;
+    private ViewParent parent;
+    private OnFocusChangeListener onFocusChangeListener;
+    private boolean focused;
+
+    public View(Context context) {
+        this.context = context;
+    }
+
+    public final Context getContext() {
+        return context;
+    }
+
+    public final ViewParent getParent() {
+        return parent;
+    }
+
+    void setParent(ViewParent parent) {
+        this.parent = parent;
+    }
+
+    public IBinder getWindowToken() {
+        return WINDOW_TOKEN;
+    }
+
+    public void setOnFocusChangeListener(OnFocusChangeListener l) {
+        onFocusChangeListener = l;
+    }
+
+    public OnFocusChangeListener getOnFocusChangeListener() {
+        return onFocusChangeListener;
+    }
+
+    public boolean hasFocus() {
+        return focused;
+    }
+
+    /**
+     * Take focus, notifying the OnFocusChangeListener. The replay clears the focus of the previous View first.
+     */
+    public final boolean requestFocus() {
+        if (!focused) {
+            focused = true;
+            onFocusChanged(true);
+        }
+        return true;
+    }
+
+    public void clearFocus() {
+        if (focused) {
+            focused = false;
+            onFocusChanged(false);
+        }
+    }
+
+    protected void onFocusChanged(boolean gainFocus) {
+        if (onFocusChangeListener != null) {
+            onFocusChangeListener.onFocusChange(this, gainFocus);
+        }
+    }
+
+    public interface OnFocusChangeListener {
+        void onFocusChange(View v, boolean hasFocus);
+    }
+}
@@ -0,0 +1,39 @@
+package android.view;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+
+/**
+ * Stand-in View holding children, enough to find the parents of fields.
+ */
+public class ViewGroup extends View implements ViewParent {
+
+    private final ArrayList<View> children = new ArrayList<>();
+
+    public ViewGroup(Context context) {
+        super(context);
+    }
+
+    public void addView(View child) {
+        if (child.getParent() != null) {
+            throw new IllegalStateException("The specified child already has a parent.");
+        }
+        children.add(child);
+        child.setParent(this);
+    }
+
+    public void removeView(View view) {
+        if (children.remove(view)) {
+            view.setParent(null);
+        }
+    }
+
+    public int getChildCount() {
+        return children.size();
+    }
+
+    public View getChildAt(int index) {
+        return children.get(index);
+    }
+}
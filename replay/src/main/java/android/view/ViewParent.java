@@ -0,0 +1,9 @@
+package android.view;
+
+/**
+ * Stand-in for the parent of a View.
+ */
+public interface ViewParent {
+
+    ViewParent getParent();
+}
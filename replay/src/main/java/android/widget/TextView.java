@@ -0,0 +1,176 @@
+package android.widget;
+
+import android.content.Context;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Stand-in for an EditText. Text is held in an Editable that notifies TextWatchers of every change the way Android
+ * does, including changes made by a TextWatcher while it is notified, and errors are counted instead of drawn.
+ */
+public class TextView extends View {
+
+    private final Buffer text = new Buffer();
+    private final ArrayList<TextWatcher> listeners = new ArrayList<>();
+    private CharSequence error;
+    private int setErrorCount;
+
+    public TextView(Context context) {
+        super(context);
+    }
+
+    public Editable getText() {
+        return text;
+    }
+
+    /**
+     * Replace the whole text in one change, like setting it from code or autofill.
+     *
+     * @param text
+     */
+    public void setText(CharSequence text) {
+        this.text.replace(0, this.text.length(), text, 0, text.length());
+    }
+
+    public int length() {
+        return text.length();
+    }
+
+    public void addTextChangedListener(TextWatcher watcher) {
+        listeners.add(watcher);
+    }
+
+    public void removeTextChangedListener(TextWatcher watcher) {
+        listeners.remove(watcher);
+    }
+
+    public void setError(CharSequence error) {
+        this.error = error;
+        setErrorCount++;
+    }
+
+    public CharSequence getError() {
+        return error;
+    }
+
+    /**
+     * @return Number of {@link #setError(CharSequence)} calls, each of which lays out the field again on a device.
+     */
+    public int getSetErrorCount() {
+        return setErrorCount;
+    }
+
+    private void sendBeforeTextChanged(CharSequence s, int start, int before, int after) {
+        ArrayList<TextWatcher> list = listeners;
+        for (int i = 0, count = list.size(); i < count; i++) {
+            list.get(i).beforeTextChanged(s, start, before, after);
+        }
+    }
+
+    private void sendOnTextChanged(CharSequence s, int start, int before, int after) {
+        ArrayList<TextWatcher> list = listeners;
+        for (int i = 0, count = list.size(); i < count; i++) {
+            list.get(i).onTextChanged(s, start, before, after);
+        }
+    }
+
+    private void sendAfterTextChanged(Editable s) {
+        ArrayList<TextWatcher> list = listeners;
+        for (int i = 0, count = list.size(); i < count; i++) {
+            list.get(i).afterTextChanged(s);
+        }
+    }
+
+    private final class Buffer implements Editable {
+        private char[] chars = new char[16];
+        private int length;
+
+        @Override
+        public Editable replace(int st, int en, CharSequence source, int start, int end) {
+            if (st < 0 || en < st || en > length || start < 0 || end < start || end > source.length()) {
+                throw new IndexOutOfBoundsException("replace (" + st + " ... " + en + ") with (" + start + " ... "
+                        + end + ") of length " + source.length() + " in length " + length);
+            }
+            if (source == this) {
+                source = toString();
+            }
+            int before = en - st;
+            int after = end - start;
+            sendBeforeTextChanged(this, st, before, after);
+            int newLength = length - before + after;
+            if (newLength > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(newLength, chars.length * 2));
+            }
+            System.arraycopy(chars, en, chars, st + after, length - en);
+            for (int i = 0; i < after; i++) {
+                chars[st + i] = source.charAt(start + i);
+            }
+            length = newLength;
+            sendOnTextChanged(this, st, before, after);
+            sendAfterTextChanged(this);
+            return this;
+        }
+
+        @Override
+        public Editable replace(int st, int en, CharSequence text) {
+            return replace(st, en, text, 0, text.length());
+        }
+
+        @Override
+        public Editable insert(int where, CharSequence text) {
+            return replace(where, where, text, 0, text.length());
+        }
+
+        @Override
+        public Editable delete(int st, int en) {
+            return replace(st, en, "", 0, 0);
+        }
+
+        @Override
+        public Editable append(CharSequence text) {
+            return replace(length, length, text, 0, text.length());
+        }
+
+        @Override
+        public Editable append(CharSequence text, int start, int end) {
+            return replace(length, length, text, start, end);
+        }
+
+        @Override
+        public Editable append(char text) {
+            return append(String.valueOf(text));
+        }
+
+        @Override
+        public void clear() {
+            replace(0, length, "", 0, 0);
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("charAt " + index + " of length " + length);
+            }
+            return chars[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(chars, start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.nextgeneration.replay;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Latencies, allocations and counts of the measured replays of a trace. Latencies are the wall clock time of handling
+ * each event on the main thread, and percentiles are exact. Counts are per replay, which are the same every replay as
+ * traces run on a virtual clock.
+ */
+public final class ReplayReport {
+
+    /**
+     * A typed character or backspace.
+     */
+    public static final int KEY = 0;
+    /**
+     * A paste, or text set in one change.
+     */
+    public static final int PASTE = 1;
+    /**
+     * Focus moving to or away from a field.
+     */
+    public static final int FOCUS = 2;
+    /**
+     * Validating every field at once.
+     */
+    public static final int SUBMIT = 3;
+    /**
+     * A main thread message, such as a debounced validation or a frame rendering errors.
+     */
+    public static final int MESSAGE = 4;
+    /**
+     * Every event.
+     */
+    public static final int ALL = 5;
+
+    private static final String[] KIND_NAMES = {"key", "paste", "focus", "submit", "message", "all"};
+
+    private final String traceName;
+    private final List<Trace.Field> fields;
+    private final int iterations;
+    private final boolean allocationsMeasured;
+    private final long[][] latencies = new long[ALL + 1][];
+    private final int[] counts = new int[ALL + 1];
+    private final long[] bytes = new long[ALL + 1];
+    private final boolean[] sorted = new boolean[ALL + 1];
+    private final long[] validations;
+    private final long[] setErrors;
+
+    ReplayReport(Trace trace, int iterations, boolean allocationsMeasured) {
+        this.traceName = trace.getName();
+        this.fields = trace.getFields();
+        this.iterations = iterations;
+        this.allocationsMeasured = allocationsMeasured;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new long[64];
+        }
+        validations = new long[fields.size()];
+        setErrors = new long[fields.size()];
+    }
+
+    void record(int kind, long nanos, long allocatedBytes) {
+        add(kind, nanos, allocatedBytes);
+        add(ALL, nanos, allocatedBytes);
+    }
+
+    private void add(int kind, long nanos, long allocatedBytes) {
+        if (counts[kind] == latencies[kind].length) {
+            latencies[kind] = Arrays.copyOf(latencies[kind], counts[kind] * 2);
+        }
+        latencies[kind][counts[kind]++] = nanos;
+        bytes[kind] += allocatedBytes;
+        sorted[kind] = false;
+    }
+
+    void recordField(int field, long validations, long setErrors) {
+        this.validations[field] += validations;
+        this.setErrors[field] += setErrors;
+    }
+
+    public String getTraceName() {
+        return traceName;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @param kind Kind of event, such as {@link #KEY}, or {@link #ALL}.
+     * @return Number of events of the kind in one replay.
+     */
+    public int getEventCount(int kind) {
+        return counts[kind] / iterations;
+    }
+
+    /**
+     * @param kind     Kind of event, such as {@link #KEY}, or {@link #ALL}.
+     * @param quantile Quantile from 0 to 1, such as 0.99.
+     * @return Shortest latency in nanoseconds that at least the quantile of events of the kind took no longer than, 0
+     * if there were none.
+     */
+    public long getLatency(int kind, double quantile) {
+        int count = counts[kind];
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted[kind]) {
+            Arrays.sort(latencies[kind], 0, count);
+            sorted[kind] = true;
+        }
+        int rank = (int) Math.ceil(quantile * count);
+        return latencies[kind][Math.min(Math.max(rank, 1), count) - 1];
+    }
+
+    /**
+     * @param kind Kind of event, such as {@link #KEY}, or {@link #ALL}.
+     * @return Mean bytes allocated on the main thread per event of the kind, -1 if the JVM cannot measure them.
+     */
+    public long getBytesPerEvent(int kind) {
+        if (!allocationsMeasured) {
+            return -1;
+        }
+        return counts[kind] != 0 ? bytes[kind] / counts[kind] : 0;
+    }
+
+    /**
+     * @return Validations of every field in one replay, including cached results.
+     */
+    public long getValidations() {
+        return sum(validations) / iterations;
+    }
+
+    /**
+     * @return setError calls on every field and TextInputLayout in one replay.
+     */
+    public long getSetErrors() {
+        return sum(setErrors) / iterations;
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.US, "%s: %d replays, %d events each%n", traceName, iterations, getEventCount(ALL));
+        out.printf(Locale.US, "%-8s %7s %9s %9s %9s %9s %12s%n", "event", "count", "p50 us", "p90 us", "p99 us",
+                "max us", "bytes/event");
+        for (int kind = 0; kind <= ALL; kind++) {
+            if (counts[kind] == 0) {
+                continue;
+            }
+            long bytesPerEvent = getBytesPerEvent(kind);
+            out.printf(Locale.US, "%-8s %7d %9.1f %9.1f %9.1f %9.1f %12s%n", KIND_NAMES[kind], getEventCount(kind),
+                    micros(getLatency(kind, 0.5)), micros(getLatency(kind, 0.9)), micros(getLatency(kind, 0.99)),
+                    micros(getLatency(kind, 1)), bytesPerEvent >= 0 ? Long.toString(bytesPerEvent) : "n/a");
+        }
+        out.printf(Locale.US, "%-16s %-9s %11s %9s%n", "field", "type", "validations", "setError");
+        for (int i = 0; i < fields.size(); i++) {
+            Trace.Field field = fields.get(i);
+            out.printf(Locale.US, "%-16s %-9s %11d %9d%n", field.getName(), field.getType(),
+                    validations[i] / iterations, setErrors[i] / iterations);
+        }
+        out.printf(Locale.US, "%-16s %-9s %11d %9d%n", "total", "", getValidations(), getSetErrors());
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,411 @@
+package com.nextgeneration.replay;
+
+import com.nextgeneration.ValidationScheduler;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Recorded session of a screen: its fields, and the keystrokes, pastes and focus changes made to them with the time
+ * between them. Traces are text, one command per line, and blank lines and lines starting with '#' are ignored.
+ * <pre>
+ * scheduler &lt;quietPeriodMs&gt;          Quiet period of the ValidationScheduler, 500 by default.
+ * renderer                           Render errors once a frame with an ErrorRenderer.
+ * field &lt;name&gt; &lt;type&gt; [options]      Add a field, of type email, phone, password or regex.
+ * focus &lt;name&gt;                       Move focus to the field.
+ * blur                               Clear focus.
+ * type &lt;name&gt; &lt;intervalMs&gt; &lt;text&gt;    Type the rest of the line at the end, a key an interval.
+ * delete &lt;name&gt; &lt;count&gt; &lt;intervalMs&gt;  Press backspace at the end of the field count times.
+ * paste &lt;name&gt; &lt;text&gt;                Insert the rest of the line at the end of the field in one change.
+ * set &lt;name&gt; &lt;text&gt;                  Replace the text of the field in one change, such as autofill.
+ * submit                             Validate every field, as a submit button does.
+ * wait &lt;ms&gt;                          Let time pass, running debounced validations and frames.
+ * </pre>
+ * Typing does not move focus. Field options are required, stopTyping, noFocusValidate, layout to display errors in a
+ * TextInputLayout, and cache=&lt;size&gt; for the result cache. Phone fields take region=&lt;code&gt; and format,
+ * password fields minLength=&lt;n&gt;, upper, lower, digit, special and incremental, and regex fields
+ * pattern=&lt;regex&gt;, which cannot contain spaces.
+ */
+public final class Trace {
+
+    private final String name;
+    private final long quietPeriod;
+    private final boolean errorRenderer;
+    private final List<Field> fields;
+    private final List<Event> events;
+
+    private Trace(String name, long quietPeriod, boolean errorRenderer, List<Field> fields, List<Event> events) {
+        this.name = name;
+        this.quietPeriod = quietPeriod;
+        this.errorRenderer = errorRenderer;
+        this.fields = Collections.unmodifiableList(fields);
+        this.events = Collections.unmodifiableList(events);
+    }
+
+    /**
+     * Read a UTF-8 trace file. Throws an IllegalArgumentException naming the line of a malformed command.
+     *
+     * @param file
+     */
+    public static Trace read(File file) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(file), "UTF-8");
+        try {
+            return parse(file.getName(), reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Throws an IllegalArgumentException naming the line of a malformed command.
+     *
+     * @param name   Name to report the trace under.
+     * @param reader Trace text.
+     */
+    public static Trace parse(String name, Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        long quietPeriod = ValidationScheduler.DEFAULT_QUIET_PERIOD;
+        boolean errorRenderer = false;
+        List<Field> fields = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == '#') {
+                continue;
+            }
+            try {
+                Command command = new Command(trimmed);
+                String verb = command.next();
+                switch (verb) {
+                    case "scheduler":
+                        quietPeriod = command.nextMillis();
+                        break;
+                    case "renderer":
+                        errorRenderer = true;
+                        break;
+                    case "field":
+                        String fieldName = command.next();
+                        if (indexOf(fields, fieldName) != -1) {
+                            throw new IllegalArgumentException("Duplicate field " + fieldName);
+                        }
+                        fields.add(new Field(fieldName, command.next(), command.rest().split(" +")));
+                        break;
+                    case "focus":
+                        events.add(new Event(Event.FOCUS, field(fields, command.next()), 0, null, 0));
+                        break;
+                    case "blur":
+                        events.add(new Event(Event.BLUR, -1, 0, null, 0));
+                        break;
+                    case "type": {
+                        int field = field(fields, command.next());
+                        long interval = command.nextMillis();
+                        String text = command.rest();
+                        for (int i = 0; i < text.length(); i++) {
+                            events.add(new Event(Event.TYPE, field, interval, text, i));
+                        }
+                        break;
+                    }
+                    case "delete": {
+                        int field = field(fields, command.next());
+                        int count = command.nextInt();
+                        long interval = command.nextMillis();
+                        for (int i = 0; i < count; i++) {
+                            events.add(new Event(Event.DELETE, field, interval, null, 0));
+                        }
+                        break;
+                    }
+                    case "paste":
+                        events.add(new Event(Event.PASTE, field(fields, command.next()), 0, command.rest(), 0));
+                        break;
+                    case "set":
+                        events.add(new Event(Event.SET, field(fields, command.next()), 0, command.rest(), 0));
+                        break;
+                    case "submit":
+                        events.add(new Event(Event.SUBMIT, -1, 0, null, 0));
+                        break;
+                    case "wait":
+                        events.add(new Event(Event.WAIT, -1, command.nextMillis(), null, 0));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown command " + verb);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(name + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(name + ": No fields");
+        }
+        return new Trace(name, quietPeriod, errorRenderer, fields, events);
+    }
+
+    private static int field(List<Field> fields, String name) {
+        int index = indexOf(fields, name);
+        if (index == -1) {
+            throw new IllegalArgumentException("Unknown field " + name);
+        }
+        return index;
+    }
+
+    private static int indexOf(List<Field> fields, String name) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getQuietPeriod() {
+        return quietPeriod;
+    }
+
+    public boolean isErrorRenderer() {
+        return errorRenderer;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * Field of the screen, with the options of its Validator.
+     */
+    public static final class Field {
+        public static final String EMAIL = "email";
+        public static final String PHONE = "phone";
+        public static final String PASSWORD = "password";
+        public static final String REGEX = "regex";
+
+        final String name;
+        final String type;
+        boolean required;
+        boolean stopTyping;
+        boolean loseFocusValidate = true;
+        boolean layout;
+        int resultCacheSize = -1;
+        String region;
+        boolean format;
+        int minLength;
+        boolean upper;
+        boolean lower;
+        boolean digit;
+        boolean special;
+        boolean incremental;
+        String pattern;
+
+        private Field(String name, String type, String[] options) {
+            this.name = name;
+            this.type = type;
+            if (!type.equals(EMAIL) && !type.equals(PHONE) && !type.equals(PASSWORD) && !type.equals(REGEX)) {
+                throw new IllegalArgumentException("Unknown field type " + type);
+            }
+            for (String option : options) {
+                if (!option.isEmpty()) {
+                    setOption(option);
+                }
+            }
+            if (type.equals(REGEX) && pattern == null) {
+                throw new IllegalArgumentException("Regex field " + name + " needs a pattern");
+            }
+        }
+
+        private void setOption(String option) {
+            int equals = option.indexOf('=');
+            String key = equals != -1 ? option.substring(0, equals) : option;
+            String value = equals != -1 ? option.substring(equals + 1) : null;
+            boolean valid = value == null;
+            switch (key) {
+                case "required":
+                    required = true;
+                    break;
+                case "stopTyping":
+                    stopTyping = true;
+                    break;
+                case "noFocusValidate":
+                    loseFocusValidate = false;
+                    break;
+                case "layout":
+                    layout = true;
+                    break;
+                case "cache":
+                    resultCacheSize = parseInt(option, value);
+                    valid = true;
+                    break;
+                case "region":
+                    region = value;
+                    valid = type.equals(PHONE) && value != null;
+                    break;
+                case "format":
+                    format = true;
+                    valid &= type.equals(PHONE);
+                    break;
+                case "minLength":
+                    minLength = parseInt(option, value);
+                    valid = type.equals(PASSWORD);
+                    break;
+                case "upper":
+                    upper = true;
+                    valid &= type.equals(PASSWORD);
+                    break;
+                case "lower":
+                    lower = true;
+                    valid &= type.equals(PASSWORD);
+                    break;
+                case "digit":
+                    digit = true;
+                    valid &= type.equals(PASSWORD);
+                    break;
+                case "special":
+                    special = true;
+                    valid &= type.equals(PASSWORD);
+                    break;
+                case "incremental":
+                    incremental = true;
+                    valid &= type.equals(PASSWORD);
+                    break;
+                case "pattern":
+                    pattern = value;
+                    valid = type.equals(REGEX) && value != null;
+                    break;
+                default:
+                    valid = false;
+                    break;
+            }
+            if (!valid) {
+                throw new IllegalArgumentException("Invalid option " + option + " for " + type + " field " + name);
+            }
+        }
+
+        private static int parseInt(String option, String value) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid option " + option);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+    }
+
+    /**
+     * Input event, replayed after waiting its delay.
+     */
+    public static final class Event {
+        public static final int FOCUS = 0;
+        public static final int BLUR = 1;
+        public static final int TYPE = 2;
+        public static final int DELETE = 3;
+        public static final int PASTE = 4;
+        public static final int SET = 5;
+        public static final int SUBMIT = 6;
+        public static final int WAIT = 7;
+
+        final int type;
+        final int field;
+        final long delay;
+        final String text;
+        final int index;
+
+        private Event(int type, int field, long delay, String text, int index) {
+            this.type = type;
+            this.field = field;
+            this.delay = delay;
+            this.text = text;
+            this.index = index;
+        }
+
+        public int getType() {
+            return type;
+        }
+
+        /**
+         * @return Index of the field in {@link Trace#getFields()}, -1 for events of the screen.
+         */
+        public int getField() {
+            return field;
+        }
+
+        /**
+         * @return Milliseconds to wait before the event.
+         */
+        public long getDelay() {
+            return delay;
+        }
+    }
+
+    /**
+     * Words of a command line, the last of which may contain spaces.
+     */
+    private static final class Command {
+        private final String line;
+        private int position;
+
+        private Command(String line) {
+            this.line = line;
+        }
+
+        private String next() {
+            if (position >= line.length()) {
+                throw new IllegalArgumentException("Missing argument");
+            }
+            int end = line.indexOf(' ', position);
+            if (end == -1) {
+                end = line.length();
+            }
+            String word = line.substring(position, end);
+            position = end;
+            while (position < line.length() && line.charAt(position) == ' ') {
+                position++;
+            }
+            return word;
+        }
+
+        private int nextInt() {
+            String word = next();
+            try {
+                int value = Integer.parseInt(word);
+                if (value < 0) {
+                    throw new IllegalArgumentException("Negative number " + word);
+                }
+                return value;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number " + word);
+            }
+        }
+
+        private long nextMillis() {
+            return nextInt();
+        }
+
+        private String rest() {
+            String rest = line.substring(position);
+            position = line.length();
+            return rest;
+        }
+    }
+}
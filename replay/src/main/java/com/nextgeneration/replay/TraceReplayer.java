@@ -0,0 +1,395 @@
+package com.nextgeneration.replay;
+
+import android.content.Context;
+import android.os.Looper;
+import android.support.design.widget.TextInputLayout;
+import android.text.Editable;
+import android.view.Choreographer;
+import android.widget.TextView;
+
+import com.nextgeneration.EmailValidator;
+import com.nextgeneration.ErrorRenderer;
+import com.nextgeneration.PasswordPolicy;
+import com.nextgeneration.PasswordValidator;
+import com.nextgeneration.PhoneNumberValidator;
+import com.nextgeneration.RegexValidator;
+import com.nextgeneration.ValidationMetrics;
+import com.nextgeneration.ValidationScheduler;
+import com.nextgeneration.Validator;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a {@link Trace} through real Validators bound to stand-in fields, the way the main thread of a device would
+ * deliver its keystrokes, focus changes and messages, and reports how long each event took, the bytes it allocated,
+ * and how many validations and setError calls the trace caused.
+ * <p>
+ * Time between events passes on the virtual clock of the main {@link Looper}, so debouncing and frames behave as on a
+ * device without the replay waiting for them. Each replay builds the screen again, and the first replays only warm up
+ * the JIT. Run from the command line to gate latency, allocation and validation counts in CI:
+ * <pre>
+ * TraceReplayer [--warmup=N] [--iterations=N] [--max-p99-micros=N] [--max-bytes-per-event=N]
+ *               [--max-validations=N] [--max-set-errors=N] trace...
+ * </pre>
+ * Exits with 1 if a trace exceeds a limit, 2 if the arguments or a trace are invalid.
+ */
+public final class TraceReplayer {
+
+    public static final int DEFAULT_WARMUP = 50;
+    public static final int DEFAULT_ITERATIONS = 20;
+
+    /**
+     * Bytes allocated by the main thread, null if the JVM cannot count them.
+     */
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+    private final Trace trace;
+    private final long thread = Thread.currentThread().getId();
+    private long allocationOverhead;
+
+    public TraceReplayer(Trace trace) {
+        this.trace = trace;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        if (!allocations.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        return allocations;
+    }
+
+    /**
+     * Replay the trace, on the thread that created this TraceReplayer, which acts as the main thread.
+     *
+     * @param warmup     Replays to run before measuring.
+     * @param iterations Replays to measure, at least one.
+     */
+    public ReplayReport replay(int warmup, int iterations) {
+        if (Thread.currentThread().getId() != thread) {
+            throw new IllegalStateException("Replay must run on the thread that created the TraceReplayer");
+        }
+        if (warmup < 0 || iterations < 1) {
+            throw new IllegalArgumentException("Invalid warmup " + warmup + " or iterations " + iterations);
+        }
+        for (int i = 0; i < warmup; i++) {
+            run(null);
+        }
+        allocationOverhead = measureAllocationOverhead();
+        ReplayReport report = new ReplayReport(trace, iterations, THREADS != null);
+        for (int i = 0; i < iterations; i++) {
+            run(report);
+        }
+        return report;
+    }
+
+    private void run(ReplayReport report) {
+        Looper looper = Looper.getMainLooper();
+        looper.reset();
+        Choreographer.getInstance().reset();
+        Screen screen = new Screen(trace);
+        List<Trace.Event> events = trace.getEvents();
+        long time = looper.uptimeMillis();
+        for (int i = 0, size = events.size(); i < size; i++) {
+            Trace.Event event = events.get(i);
+            time += event.delay;
+            runMessages(looper, time, report);
+            looper.advanceTo(time);
+            if (event.type == Trace.Event.WAIT) {
+                continue;
+            }
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            int kind = screen.dispatch(event);
+            long nanos = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            if (report != null) {
+                report.record(kind, nanos, Math.max(0, bytes - allocationOverhead));
+            }
+        }
+        // Let pending validations and frames finish.
+        long next;
+        while ((next = looper.nextMessageTime()) != -1) {
+            runMessages(looper, next, report);
+        }
+        screen.finish(report);
+    }
+
+    private void runMessages(Looper looper, long until, ReplayReport report) {
+        while (true) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            if (!looper.runNext(until)) {
+                return;
+            }
+            long nanos = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            if (report != null) {
+                report.record(ReplayReport.MESSAGE, nanos, Math.max(0, bytes - allocationOverhead));
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(thread) : 0;
+    }
+
+    /**
+     * @return Bytes allocated by measuring an event that does nothing, subtracted from every event.
+     */
+    private long measureAllocationOverhead() {
+        long overhead = Long.MAX_VALUE;
+        for (int i = 0; i < 100; i++) {
+            long bytes = allocatedBytes();
+            System.nanoTime();
+            System.nanoTime();
+            overhead = Math.min(overhead, allocatedBytes() - bytes);
+        }
+        return overhead;
+    }
+
+    public static void main(String[] args) {
+        int warmup = DEFAULT_WARMUP;
+        int iterations = DEFAULT_ITERATIONS;
+        long maxP99Micros = -1;
+        long maxBytesPerEvent = -1;
+        long maxValidations = -1;
+        long maxSetErrors = -1;
+        int first = 0;
+        try {
+            for (; first < args.length && args[first].startsWith("--"); first++) {
+                String arg = args[first];
+                int equals = arg.indexOf('=');
+                if (equals == -1) {
+                    throw new IllegalArgumentException("Invalid option " + arg);
+                }
+                String option = arg.substring(2, equals);
+                long value = Long.parseLong(arg.substring(equals + 1));
+                if (option.equals("warmup")) {
+                    warmup = (int) value;
+                } else if (option.equals("iterations")) {
+                    iterations = (int) value;
+                } else if (option.equals("max-p99-micros")) {
+                    maxP99Micros = value;
+                } else if (option.equals("max-bytes-per-event")) {
+                    maxBytesPerEvent = value;
+                } else if (option.equals("max-validations")) {
+                    maxValidations = value;
+                } else if (option.equals("max-set-errors")) {
+                    maxSetErrors = value;
+                } else {
+                    throw new IllegalArgumentException("Invalid option " + arg);
+                }
+            }
+            if (first == args.length) {
+                throw new IllegalArgumentException("No traces");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: TraceReplayer [--warmup=N] [--iterations=N] [--max-p99-micros=N] "
+                    + "[--max-bytes-per-event=N] [--max-validations=N] [--max-set-errors=N] trace...");
+            System.exit(2);
+            return;
+        }
+
+        boolean failed = false;
+        for (int i = first; i < args.length; i++) {
+            ReplayReport report;
+            try {
+                report = new TraceReplayer(Trace.read(new File(args[i]))).replay(warmup, iterations);
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println(e.getMessage());
+                System.exit(2);
+                return;
+            }
+            report.print(System.out);
+            long p99 = report.getLatency(ReplayReport.ALL, 0.99) / 1000;
+            failed |= exceeds(report, "p99 latency in microseconds", p99, maxP99Micros);
+            long bytesPerEvent = report.getBytesPerEvent(ReplayReport.ALL);
+            failed |= exceeds(report, "bytes allocated per event", bytesPerEvent, maxBytesPerEvent);
+            failed |= exceeds(report, "validations", report.getValidations(), maxValidations);
+            failed |= exceeds(report, "setError calls", report.getSetErrors(), maxSetErrors);
+            System.out.println();
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean exceeds(ReplayReport report, String measure, long value, long limit) {
+        if (limit < 0 || value <= limit) {
+            return false;
+        }
+        System.out.printf(Locale.US, "FAILED %s: %s %d exceeds limit %d%n", report.getTraceName(), measure, value,
+                limit);
+        return true;
+    }
+
+    /**
+     * Fields of a trace with their Validators, built again for each replay.
+     */
+    private static final class Screen {
+        private final List<Trace.Field> fields;
+        private final TextView[] textViews;
+        private final TextInputLayout[] layouts;
+        private final Validator[] validators;
+        private final ValidationScheduler validationScheduler;
+        private final ErrorRenderer errorRenderer;
+        private final ValidationMetrics metrics = new ValidationMetrics();
+        private TextView focused;
+
+        private Screen(Trace trace) {
+            fields = trace.getFields();
+            Context context = new Context();
+            validationScheduler = new ValidationScheduler(trace.getQuietPeriod());
+            errorRenderer = trace.isErrorRenderer() ? new ErrorRenderer() : null;
+            textViews = new TextView[fields.size()];
+            layouts = new TextInputLayout[fields.size()];
+            validators = new Validator[fields.size()];
+            for (int i = 0; i < fields.size(); i++) {
+                Trace.Field field = fields.get(i);
+                textViews[i] = new TextView(context);
+                if (field.layout) {
+                    layouts[i] = new TextInputLayout(context);
+                    layouts[i].addView(textViews[i]);
+                }
+                Validator validator = new Validator.Builder<>(createValidator(field))
+                        .setValidationScheduler(validationScheduler)
+                        .setErrorRenderer(errorRenderer)
+                        .setStopTypingValidate(field.stopTyping)
+                        .setLoseFocusValidate(field.loseFocusValidate)
+                        .setRequired(field.required)
+                        .setTextInputLayoutValidate(field.layout)
+                        .build();
+                if (field.resultCacheSize >= 0) {
+                    validator.setResultCacheSize(field.resultCacheSize);
+                }
+                validator.bind(textViews[i]);
+                metrics.track(validator, field.name);
+                validators[i] = validator;
+            }
+        }
+
+        private static Validator createValidator(Trace.Field field) {
+            switch (field.type) {
+                case Trace.Field.EMAIL:
+                    return new EmailValidator(null);
+                case Trace.Field.PHONE: {
+                    PhoneNumberValidator validator = new PhoneNumberValidator(null);
+                    validator.setRegion(field.region);
+                    validator.setFormatAsYouType(field.format);
+                    return validator;
+                }
+                case Trace.Field.PASSWORD: {
+                    PasswordValidator validator = new PasswordValidator(null);
+                    validator.setPolicy(new PasswordPolicy.Builder()
+                            .setMinLength(field.minLength)
+                            .setHasUpperChar(field.upper)
+                            .setHasLowerChar(field.lower)
+                            .setHasDigit(field.digit)
+                            .setHasSpecialChar(field.special)
+                            .build());
+                    validator.setIncrementalValidate(field.incremental);
+                    return validator;
+                }
+                default:
+                    return new RegexValidator(null, field.pattern);
+            }
+        }
+
+        /**
+         * @return Kind of the event, such as {@link ReplayReport#KEY}.
+         */
+        private int dispatch(Trace.Event event) {
+            TextView textView = event.field != -1 ? textViews[event.field] : null;
+            switch (event.type) {
+                case Trace.Event.FOCUS:
+                    if (focused != textView) {
+                        if (focused != null) {
+                            focused.clearFocus();
+                        }
+                        textView.requestFocus();
+                        focused = textView;
+                    }
+                    return ReplayReport.FOCUS;
+                case Trace.Event.BLUR:
+                    if (focused != null) {
+                        focused.clearFocus();
+                        focused = null;
+                    }
+                    return ReplayReport.FOCUS;
+                case Trace.Event.TYPE: {
+                    Editable text = textView.getText();
+                    text.replace(text.length(), text.length(), event.text, event.index, event.index + 1);
+                    return ReplayReport.KEY;
+                }
+                case Trace.Event.DELETE: {
+                    Editable text = textView.getText();
+                    if (text.length() > 0) {
+                        text.delete(text.length() - 1, text.length());
+                    }
+                    return ReplayReport.KEY;
+                }
+                case Trace.Event.PASTE: {
+                    Editable text = textView.getText();
+                    text.replace(text.length(), text.length(), event.text, 0, event.text.length());
+                    return ReplayReport.PASTE;
+                }
+                case Trace.Event.SET:
+                    textView.setText(event.text);
+                    return ReplayReport.PASTE;
+                case Trace.Event.SUBMIT:
+                    for (Validator validator : validators) {
+                        validator.validate();
+                    }
+                    return ReplayReport.SUBMIT;
+                default:
+                    throw new IllegalArgumentException("Unknown event " + event.type);
+            }
+        }
+
+        /**
+         * Add the counts of this replay to the report, and unbind the Validators.
+         */
+        private void finish(ReplayReport report) {
+            List<ValidationMetrics.Snapshot> snapshots = report != null ? metrics.snapshot(true) : null;
+            for (int i = 0; i < validators.length; i++) {
+                if (report != null) {
+                    ValidationMetrics.Snapshot snapshot = find(snapshots, fields.get(i).name);
+                    long validations = 0;
+                    for (int code = 0; code <= ValidationMetrics.CODES; code++) {
+                        validations += snapshot.getResultCount(code);
+                    }
+                    long setErrors = textViews[i].getSetErrorCount();
+                    if (layouts[i] != null) {
+                        setErrors += layouts[i].getSetErrorCount();
+                    }
+                    report.recordField(i, validations, setErrors);
+                }
+                validators[i].unbind();
+            }
+            validationScheduler.cancelAll();
+            if (errorRenderer != null) {
+                errorRenderer.cancelAll();
+            }
+        }
+
+        private static ValidationMetrics.Snapshot find(List<ValidationMetrics.Snapshot> snapshots, String name) {
+            for (ValidationMetrics.Snapshot snapshot : snapshots) {
+                if (snapshot.getName().equals(name)) {
+                    return snapshot;
+                }
+            }
+            throw new IllegalStateException("No metrics for " + name);
+        }
+    }
+}
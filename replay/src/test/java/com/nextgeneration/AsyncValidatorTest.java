@@ -0,0 +1,288 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Looper;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncValidatorTest {
+
+    private static final ValidationError TAKEN = new ValidationError(ErrorCode.CUSTOM, "Username is taken");
+
+    private final Looper looper = Looper.getMainLooper();
+    private final FakeBackend backend = new FakeBackend();
+    private final List<String> calls = new ArrayList<>();
+    private ExecutorService executor;
+    private TextView field;
+    private AsyncValidator validator;
+
+    @Before
+    public void setUp() {
+        looper.reset();
+        executor = Executors.newCachedThreadPool();
+        field = new TextView(new Context());
+        validator = new AsyncValidator(field) {
+            @Override
+            protected ValidationError onValidateSync(CharSequence text) {
+                return text.length() < 3 ? new ValidationError(ErrorCode.CUSTOM, "Too short") : null;
+            }
+
+            @Override
+            protected ValidationError onValidateAsync(String text) throws Exception {
+                return backend.check(text);
+            }
+        };
+        validator.setExecutor(executor);
+        validator.setValidateListener(new Validator.AsyncValidateListener() {
+            @Override
+            public void onPending() {
+                calls.add("pending");
+            }
+
+            @Override
+            public void onSuccess() {
+                calls.add("success");
+            }
+
+            @Override
+            public void onError(String errorString) {
+                calls.add("error " + errorString);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        backend.releaseAll();
+        executor.shutdownNow();
+        looper.reset();
+    }
+
+    @Test
+    public void tellsListenerWhilePending() {
+        field.setText("ab");
+        assertFalse(validator.validate());
+        assertEquals("Too short", field.getError());
+        field.setText("alice");
+        assertFalse(validator.validate());
+        assertTrue(validator.isPending());
+        assertNull(field.getError());
+        assertEquals(ErrorCode.VALIDATION_PENDING, validator.getValidationError().getCode());
+        assertEquals("[error Too short, pending]", calls.toString());
+
+        backend.release("alice");
+        awaitCalls(3);
+        assertFalse(validator.isPending());
+        assertEquals("[error Too short, pending, success]", calls.toString());
+    }
+
+    @Test
+    public void cancelsStaleRequests() {
+        field.setText("alice");
+        validator.validate();
+        awaitStarted("alice");
+        // Typing cancels the request in flight and interrupts its check.
+        field.setText("alicia");
+        assertFalse(validator.isPending());
+        awaitInterrupted("alice");
+        validator.validate();
+        backend.release("alicia");
+        awaitCalls(3);
+        assertEquals("[pending, pending, success]", calls.toString());
+
+        // Nothing of the stale request is delivered afterwards.
+        backend.release("alice");
+        runPosted();
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    public void reusesPendingRequestForSameText() throws Exception {
+        field.setText("taken");
+        Future<ValidationError> first = validator.validateAsync();
+        Future<ValidationError> second = validator.validateAsync();
+        assertSame(first, second);
+        backend.release("taken");
+        awaitCalls(3);
+        assertSame(TAKEN, first.get());
+        assertEquals(Collections.singletonList("taken"), backend.started);
+        assertEquals("[pending, pending, error Username is taken]", calls.toString());
+        assertEquals("Username is taken", field.getError());
+    }
+
+    @Test
+    public void limitsConcurrentRequests() {
+        validator.setMaxConcurrentRequests(1);
+        backend.ignoreInterrupts = true;
+        field.setText("first");
+        validator.validate();
+        awaitStarted("first");
+        field.setText("second");
+        validator.validate();
+        field.setText("third");
+        validator.validate();
+        // The cancelled check of "first" still holds the only slot, and "third" replaced "second" while waiting.
+        awaitInterrupted("first");
+        runPosted();
+        assertEquals(Collections.singletonList("first"), backend.started);
+
+        backend.release("first");
+        awaitStarted("third");
+        backend.release("third");
+        awaitCalls(4);
+        assertEquals("[first, third]", backend.started.toString());
+        assertEquals("[pending, pending, pending, success]", calls.toString());
+    }
+
+    @Test
+    public void timesOut() {
+        validator.setTimeout(500, "Too slow");
+        field.setText("alice");
+        validator.validate();
+        awaitStarted("alice");
+        looper.runNext(Looper.START_UPTIME + 499);
+        assertTrue(validator.isPending());
+
+        // The timeout fails the request and interrupts its check.
+        assertTrue(looper.runNext(Looper.START_UPTIME + 500));
+        awaitInterrupted("alice");
+        awaitCalls(2);
+        assertEquals("[pending, error Too slow]", calls.toString());
+        assertEquals(ErrorCode.VALIDATION_TIMEOUT, validator.getValidationError().getCode());
+        assertFalse(validator.isPending());
+    }
+
+    @Test
+    public void failsWhenBackendThrows() {
+        validator.setFailedError("Backend down");
+        field.setText("boom");
+        validator.validate();
+        awaitCalls(2);
+        assertEquals("[pending, error Backend down]", calls.toString());
+        assertEquals(ErrorCode.VALIDATION_FAILED, validator.getValidationError().getCode());
+
+        // A failure is not remembered, so validating again asks the backend again.
+        validator.validate();
+        awaitCalls(4);
+        assertEquals("[boom, boom]", backend.started.toString());
+    }
+
+    /**
+     * Run messages posted to the main thread until the listener was called count times.
+     */
+    private void awaitCalls(int count) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (calls.size() < count) {
+            runPostedOrSleep(deadline);
+        }
+    }
+
+    private void awaitStarted(String text) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!backend.started.contains(text)) {
+            runPostedOrSleep(deadline);
+        }
+    }
+
+    private void awaitInterrupted(String text) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!backend.interrupted.contains(text)) {
+            runPostedOrSleep(deadline);
+        }
+    }
+
+    private void runPostedOrSleep(long deadline) {
+        if (System.currentTimeMillis() > deadline) {
+            fail("Timed out with calls " + calls + " and checks " + backend.started);
+        }
+        if (!looper.runNext(looper.uptimeMillis())) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    /**
+     * Run the messages already posted to the main thread, once checks that were released have finished.
+     */
+    private void runPosted() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            throw new AssertionError(e);
+        }
+        while (looper.runNext(looper.uptimeMillis())) {
+            // Run every due message.
+        }
+    }
+
+    /**
+     * Backend whose checks block until the test releases their text. "taken" is taken and "boom" throws.
+     */
+    private static final class FakeBackend {
+        final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        final List<String> interrupted = Collections.synchronizedList(new ArrayList<String>());
+        private final ConcurrentHashMap<String, CountDownLatch> releases = new ConcurrentHashMap<>();
+        volatile boolean ignoreInterrupts;
+
+        ValidationError check(String text) throws Exception {
+            started.add(text);
+            if (text.equals("boom")) {
+                throw new IOException("Backend down");
+            }
+            CountDownLatch release = latch(text);
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted.add(text);
+                    if (!ignoreInterrupts) {
+                        throw e;
+                    }
+                }
+            }
+            return text.equals("taken") ? TAKEN : null;
+        }
+
+        void release(String text) {
+            latch(text).countDown();
+        }
+
+        void releaseAll() {
+            for (CountDownLatch latch : releases.values()) {
+                latch.countDown();
+            }
+        }
+
+        private CountDownLatch latch(String text) {
+            CountDownLatch latch = new CountDownLatch(1);
+            CountDownLatch existing = releases.putIfAbsent(text, latch);
+            return existing != null ? existing : latch;
+        }
+    }
+}
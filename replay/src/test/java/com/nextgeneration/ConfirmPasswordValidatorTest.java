@@ -0,0 +1,119 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.widget.TextView;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class ConfirmPasswordValidatorTest {
+
+    private static final String MISMATCH = "Passwords do not match";
+
+    private final TextView password = new TextView(new Context());
+    private final TextView confirmPassword = new TextView(new Context());
+    private final PasswordValidator passwordValidator = new PasswordValidator(password);
+    private final PasswordValidator confirmPasswordValidator = new PasswordValidator(confirmPassword);
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    public void rechecksWhenEitherPasswordChanges() {
+        new ConfirmPasswordValidator(passwordValidator, confirmPasswordValidator);
+        type(password, "Secret-1");
+        type(confirmPassword, "Secret-1");
+        assertNull(password.getError());
+        assertNull(confirmPassword.getError());
+
+        // Changing the first password after confirming it shows the mismatch on both fields.
+        type(password, "Secret-2");
+        assertEquals(MISMATCH, password.getError());
+        assertEquals(MISMATCH, confirmPassword.getError());
+
+        type(confirmPassword, "Secret-2");
+        assertNull(password.getError());
+        assertNull(confirmPassword.getError());
+    }
+
+    @Test
+    public void leavesValidateListenersFree() {
+        passwordValidator.setValidateListener(validateListener("password"));
+        ConfirmPasswordValidator validator = new ConfirmPasswordValidator(passwordValidator, confirmPasswordValidator);
+        confirmPasswordValidator.setValidateListener(validateListener("confirm"));
+        validator.setMismatchPasswordError("Type the same password twice");
+        type(password, "Secret-1");
+        type(confirmPassword, "Secret-2");
+        assertEquals("Type the same password twice", confirmPassword.getError());
+        assertFalse(validator.validate());
+        assertEquals("[password success, confirm success, password success, confirm success]", calls.toString());
+    }
+
+    @Test
+    public void releaseStopsChecking() {
+        ConfirmPasswordValidator validator = new ConfirmPasswordValidator(passwordValidator, confirmPasswordValidator);
+        type(password, "Secret-1");
+        validator.release();
+        type(confirmPassword, "Secret-2");
+        assertNull(password.getError());
+        assertNull(confirmPassword.getError());
+        // Validating it explicitly still compares them.
+        assertFalse(validator.validate());
+        assertEquals(MISMATCH, confirmPassword.getError());
+    }
+
+    @Test
+    public void notifiesListenersInOrderAdded() {
+        final Validator.ValidationListener second = validationListener("second");
+        Validator.ValidationListener first = new Validator.ValidationListener() {
+            @Override
+            public void onValidated(Validator validator, ValidationError error) {
+                calls.add("first " + (error != null ? error.getCode() : "valid"));
+                // Removing a listener while notifying takes effect from the next validation.
+                validator.removeValidationListener(second);
+            }
+        };
+        passwordValidator.addValidationListener(first);
+        passwordValidator.addValidationListener(second);
+        passwordValidator.addValidationListener(first);
+        type(password, "Secret-1");
+        type(password, "Secret-2");
+        assertEquals("[first valid, second valid, first valid]", calls.toString());
+
+        passwordValidator.removeValidationListener(first);
+        type(password, "Secret-3");
+        assertEquals(3, calls.size());
+    }
+
+    private void type(TextView field, String text) {
+        field.setText(text);
+        (field == password ? passwordValidator : confirmPasswordValidator).validate();
+    }
+
+    private Validator.ValidationListener validationListener(final String name) {
+        return new Validator.ValidationListener() {
+            @Override
+            public void onValidated(Validator validator, ValidationError error) {
+                calls.add(name + " " + (error != null ? error.getCode() : "valid"));
+            }
+        };
+    }
+
+    private Validator.ValidateListener validateListener(final String name) {
+        return new Validator.ValidateListener() {
+            @Override
+            public void onSuccess() {
+                calls.add(name + " success");
+            }
+
+            @Override
+            public void onError(String errorString) {
+                calls.add(name + " error " + errorString);
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.widget.TextView;
+
+import com.nextgeneration.core.DomainSuggester;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EmailValidatorTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private final EmailValidator.SuggestionValidateListener listener =
+            new EmailValidator.SuggestionValidateListener() {
+                @Override
+                public void onSuggestion(String suggestion) {
+                    calls.add("suggestion " + suggestion);
+                }
+
+                @Override
+                public void onSuccess() {
+                    calls.add("success");
+                }
+
+                @Override
+                public void onError(String errorString) {
+                    calls.add("error " + errorString);
+                }
+            };
+
+    @Test
+    public void suggestsFromValidatedText() {
+        TextView field = new TextView(new Context());
+        field.setText("jane@example.com");
+        EmailValidator validator = new EmailValidator(field);
+        validator.setDomainSuggester(DomainSuggester.getDefault());
+        validator.setValidateListener(listener);
+
+        assertTrue(validator.validate("john@gmial.com"));
+        assertEquals("john@gmail.com", validator.getSuggestion());
+        assertTrue(validator.validate());
+        assertNull(validator.getSuggestion());
+        assertFalse(validator.validate("john@"));
+        assertNull(validator.getSuggestion());
+        assertEquals("[suggestion john@gmail.com, success, suggestion null, success, error Email address is invalid]",
+                calls.toString());
+    }
+
+    @Test
+    public void suggestsWhileUnbound() {
+        EmailValidator validator = new EmailValidator(null);
+        validator.setDomainSuggester(DomainSuggester.getDefault());
+        validator.setValidateListener(listener);
+        assertTrue(validator.validate("john@yaho.com"));
+        assertEquals("john@yahoo.com", validator.getSuggestion());
+        assertEquals("[suggestion john@yahoo.com, success]", calls.toString());
+    }
+
+    @Test
+    public void suggestsNothingWithoutSuggester() {
+        EmailValidator validator = new EmailValidator(null);
+        validator.setValidateListener(listener);
+        assertTrue(validator.validate("john@gmial.com"));
+        assertNull(validator.getSuggestion());
+        assertEquals("[suggestion null, success]", calls.toString());
+    }
+}
@@ -0,0 +1,129 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.widget.TextView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ErrorRendererTest {
+
+    private static final String EMAIL_INVALID = "Email address is invalid";
+
+    private final Looper looper = Looper.getMainLooper();
+    private final ErrorRenderer renderer = new ErrorRenderer();
+    private final TextView first = field();
+    private final TextView second = field();
+    private final EmailValidator firstValidator = validator(first);
+    private final EmailValidator secondValidator = validator(second);
+
+    @Before
+    public void setUp() {
+        looper.reset();
+        Choreographer.getInstance().reset();
+    }
+
+    @After
+    public void tearDown() {
+        renderer.cancelAll();
+        Choreographer.getInstance().reset();
+        looper.reset();
+    }
+
+    @Test
+    public void rendersErrorsTogetherOnNextFrame() {
+        first.setText("jane@");
+        second.setText("john@");
+        firstValidator.validate();
+        secondValidator.validate();
+        assertEquals(EMAIL_INVALID, firstValidator.getError());
+        assertNull(first.getError());
+        assertNull(second.getError());
+        // One frame callback for both fields, at the next 16 millisecond vsync.
+        assertEquals(1008, looper.nextMessageTime());
+
+        assertTrue(looper.runNext(1008));
+        assertEquals(-1, looper.nextMessageTime());
+        assertEquals(EMAIL_INVALID, first.getError());
+        assertEquals(EMAIL_INVALID, second.getError());
+        assertEquals(1, first.getSetErrorCount());
+        assertEquals(1, second.getSetErrorCount());
+    }
+
+    @Test
+    public void skipsErrorsThatDidNotChange() {
+        first.setText("jane@");
+        firstValidator.validate();
+        runFrame();
+        firstValidator.validate();
+        runFrame();
+        assertEquals(1, first.getSetErrorCount());
+
+        // Fixed and broken again within a frame, the field is never laid out.
+        first.setText("jane@example.com");
+        firstValidator.validate();
+        first.setText("jane@");
+        firstValidator.validate();
+        runFrame();
+        assertEquals(1, first.getSetErrorCount());
+
+        first.setText("jane@example.com");
+        firstValidator.validate();
+        runFrame();
+        assertNull(first.getError());
+        assertEquals(2, first.getSetErrorCount());
+    }
+
+    @Test
+    public void cancelsAndFlushes() {
+        first.setText("jane@");
+        second.setText("john@");
+        firstValidator.validate();
+        secondValidator.validate();
+        renderer.cancel(firstValidator);
+        renderer.flush();
+        assertNull(first.getError());
+        assertEquals(EMAIL_INVALID, second.getError());
+
+        firstValidator.validate();
+        renderer.cancelAll();
+        runFrame();
+        assertEquals(0, first.getSetErrorCount());
+    }
+
+    @Test
+    public void rendersPendingErrorWhenRendererIsRemoved() {
+        first.setText("jane@");
+        firstValidator.validate();
+        firstValidator.setErrorRenderer(null);
+        assertEquals(EMAIL_INVALID, first.getError());
+        first.setText("jane@example.com");
+        firstValidator.validate();
+        assertNull(first.getError());
+        assertEquals(2, first.getSetErrorCount());
+    }
+
+    private void runFrame() {
+        long frame = looper.nextMessageTime();
+        if (frame != -1) {
+            assertTrue(looper.runNext(frame));
+        }
+    }
+
+    private static TextView field() {
+        return new TextView(new Context());
+    }
+
+    private EmailValidator validator(TextView field) {
+        EmailValidator validator = new EmailValidator(field);
+        validator.setErrorRenderer(renderer);
+        return validator;
+    }
+}
@@ -0,0 +1,128 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.Rule;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class PasswordPolicyTest {
+
+    // More policies than are interned, so ones not built again are evicted.
+    private static final int MANY_POLICIES = 64;
+
+    private static final Rule BLOCKLIST = new Rule() {
+        @Override
+        public int validate(CharSequence text) {
+            return "password".contentEquals(text) ? ErrorCode.PASSWORD_BREACHED : ErrorCode.VALID;
+        }
+    };
+
+    @Test
+    public void internsSameConfiguration() {
+        PasswordPolicy policy = new PasswordPolicy.Builder().setMinLength(1001).setHasDigit(true).build();
+        PasswordPolicy same = new PasswordPolicy.Builder().setHasDigit(true).setMinLength(1001).build();
+        assertSame(policy, same);
+        assertSame(policy, policy.buildUpon().build());
+        assertSame(policy.getRule(), same.getRule());
+        assertSame(policy.getValidationError(ErrorCode.PASSWORD_MIN_LENGTH),
+                same.getValidationError(ErrorCode.PASSWORD_MIN_LENGTH));
+
+        PasswordPolicy message = new PasswordPolicy.Builder()
+                .setMinLength(1001)
+                .setHasDigit(true, "Add a digit")
+                .build();
+        assertNotEquals(policy, message);
+        assertEquals("Add a digit", message.getValidationError(ErrorCode.PASSWORD_DIGIT).getMessage(new Context()));
+    }
+
+    @Test
+    public void sharesPolicyBetweenValidators() {
+        PasswordValidator first = new PasswordValidator(new TextView(new Context()));
+        PasswordValidator second = new PasswordValidator(new TextView(new Context()));
+        first.setMinLength(1002);
+        first.setHasUpperChar("Add a capital");
+        second.setHasUpperChar("Add a capital");
+        second.setMinLength(1002);
+        assertSame(first.getPolicy(), second.getPolicy());
+        assertSame(first.getRule(), second.getRule());
+    }
+
+    @Test
+    public void doesNotInternBlocklists() {
+        PasswordPolicy policy = new PasswordPolicy.Builder().setMinLength(8).setBlocklist(BLOCKLIST).build();
+        PasswordPolicy same = new PasswordPolicy.Builder().setMinLength(8).setBlocklist(BLOCKLIST).build();
+        assertNotSame(policy, same);
+        assertEquals(policy, same);
+        assertEquals(policy.hashCode(), same.hashCode());
+
+        Rule otherBlocklist = new Rule() {
+            @Override
+            public int validate(CharSequence text) {
+                return BLOCKLIST.validate(text);
+            }
+        };
+        assertNotEquals(policy, new PasswordPolicy.Builder().setMinLength(8).setBlocklist(otherBlocklist).build());
+        assertEquals(ErrorCode.PASSWORD_BREACHED, policy.getRule().validate("password"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyBuilt() {
+        PasswordPolicy policy = build(2000);
+        PasswordPolicy recent = build(2001);
+        for (int i = 0; i < MANY_POLICIES; i++) {
+            build(3000 + i);
+            // Building it again keeps it interned while others are evicted.
+            assertSame(recent, build(2001));
+        }
+        PasswordPolicy evicted = build(2000);
+        assertNotSame(policy, evicted);
+        assertEquals(policy, evicted);
+    }
+
+    @Test
+    public void internsOnceAcrossThreads() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            List<Future<PasswordPolicy>> policies = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                policies.add(executor.submit(new Callable<PasswordPolicy>() {
+                    @Override
+                    public PasswordPolicy call() throws Exception {
+                        start.await();
+                        return build(4000);
+                    }
+                }));
+            }
+            start.countDown();
+            PasswordPolicy policy = policies.get(0).get();
+            for (Future<PasswordPolicy> other : policies) {
+                assertSame(policy, other.get());
+            }
+            assertSame(policy, build(4000));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static PasswordPolicy build(int minLength) {
+        return new PasswordPolicy.Builder().setMinLength(minLength).setHasSpecialChar(true).build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    private static final ValidationError TOO_SHORT = new ValidationError(ErrorCode.CUSTOM, "Too short");
+
+    private final TextView field = new TextView(new Context());
+
+    @Test
+    public void hitsSkipValidationButStillDeliver() {
+        CountingValidator validator = new CountingValidator(field);
+        validator.setResultCacheSize(2);
+        final int[] delivered = new int[1];
+        validator.addValidationListener(new Validator.ValidationListener() {
+            @Override
+            public void onValidated(Validator validator, ValidationError error) {
+                delivered[0]++;
+            }
+        });
+        field.setText("ab");
+        assertFalse(validator.validate());
+        assertFalse(validator.validate());
+        assertEquals(1, validator.validations);
+        assertEquals(2, delivered[0]);
+        assertEquals("Too short", field.getError());
+
+        // The Editable is compared by content, as it changes in place.
+        field.getText().append('c');
+        assertTrue(validator.validate());
+        field.getText().delete(2, 3);
+        assertFalse(validator.validate());
+        assertEquals(2, validator.validations);
+        assertEquals("Too short", field.getError());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        CountingValidator validator = new CountingValidator(field);
+        validator.setResultCacheSize(2);
+        validator.validate("a");
+        validator.validate("bcd");
+        validator.validate("a");
+        validator.validate("efg");
+        assertEquals(3, validator.validations);
+        validator.validate("a");
+        assertEquals(3, validator.validations);
+        validator.validate("bcd");
+        assertEquals(4, validator.validations);
+
+        validator.setResultCacheSize(0);
+        validator.validate("bcd");
+        validator.validate("bcd");
+        assertEquals(6, validator.validations);
+    }
+
+    @Test
+    public void unbindForgetsResults() {
+        CountingValidator validator = new CountingValidator(field);
+        validator.setResultCacheSize(2);
+        field.setText("abc");
+        validator.validate();
+        validator.unbind();
+        validator.bind(field);
+        validator.validate();
+        assertEquals(2, validator.validations);
+    }
+
+    @Test
+    public void findsStringsAndCopiesOfThem() {
+        ResultCache cache = new ResultCache(2);
+        String text = "jane@example.com";
+        cache.put(text, ResultCache.hash(text), TOO_SHORT);
+        assertTrue(cache.find(text, ResultCache.hash(text)));
+        StringBuilder copy = new StringBuilder(text);
+        assertTrue(cache.find(copy, ResultCache.hash(copy)));
+        assertSame(TOO_SHORT, cache.getResult());
+        copy.setCharAt(0, 'J');
+        assertFalse(cache.find(copy, ResultCache.hash(copy)));
+        cache.clear();
+        assertFalse(cache.find(text, ResultCache.hash(text)));
+    }
+
+    @Test
+    public void emailSettersInvalidate() {
+        EmailValidator validator = new EmailValidator(field);
+        field.setText("jane@");
+        validator.validate();
+        validator.setErrorMessage("Check the address");
+        validator.validate();
+        assertEquals("Check the address", field.getError());
+    }
+
+    @Test
+    public void passwordSettersInvalidate() {
+        PasswordValidator validator = new PasswordValidator(field);
+        validator.setResultCacheSize(Validator.DEFAULT_RESULT_CACHE_SIZE);
+        field.setText("hunter");
+        assertTrue(validator.validate());
+        validator.setMinLength(8);
+        assertFalse(validator.validate());
+        validator.setHasDigit("Add a digit");
+        field.setText("hunter22");
+        assertTrue(validator.validate());
+        field.setText("huntertwo");
+        assertFalse(validator.validate());
+        assertEquals("Add a digit", field.getError());
+    }
+
+    @Test
+    public void phoneNumberSettersInvalidate() {
+        PhoneNumberValidator validator = new PhoneNumberValidator(field);
+        field.setText("0412 345 678");
+        assertTrue(validator.validate());
+        validator.setRegion("US");
+        assertFalse(validator.validate());
+        validator.setRegion("AU");
+        assertTrue(validator.validate());
+    }
+
+    @Test
+    public void regexSettersInvalidate() {
+        RegexValidator validator = new RegexValidator(field, "[0-9]{4}");
+        field.setText("12345");
+        assertFalse(validator.validate());
+        validator.setPattern("[0-9]{5}");
+        assertTrue(validator.validate());
+        field.setText("1234");
+        validator.validate();
+        validator.setErrorMessage("Enter a postcode");
+        validator.validate();
+        assertEquals("Enter a postcode", field.getError());
+    }
+
+    @Test
+    public void requiredErrorFollowsSetters() {
+        EmailValidator validator = new EmailValidator(field);
+        validator.setRequired(true);
+        field.setText("");
+        validator.validate();
+        assertEquals("Required field", field.getError());
+        validator.setRequired(true, "Enter your email");
+        validator.validate();
+        assertEquals("Enter your email", field.getError());
+        validator.setRequired(false);
+        assertTrue(validator.validate());
+        assertNull(field.getError());
+    }
+
+    /**
+     * Fails texts shorter than 3 characters, counting how often it really validates.
+     */
+    private static final class CountingValidator extends Validator {
+        private int validations;
+
+        CountingValidator(TextView textView) {
+            super(textView);
+        }
+
+        @Override
+        public String onValidate(String string, Context context) {
+            ValidationError error = onValidate((CharSequence) string);
+            return error != null ? error.getMessage(context) : null;
+        }
+
+        @Override
+        public ValidationError onValidate(CharSequence text) {
+            validations++;
+            return text.length() < 3 ? TOO_SHORT : null;
+        }
+    }
+}
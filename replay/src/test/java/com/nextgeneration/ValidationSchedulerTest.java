@@ -0,0 +1,135 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Looper;
+import android.widget.TextView;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationSchedulerTest {
+
+    private final Looper looper = Looper.getMainLooper();
+    private final ValidationScheduler scheduler = new ValidationScheduler(500);
+    private final List<String> validated = new ArrayList<>();
+    private final Validator.ValidationListener listener = new Validator.ValidationListener() {
+        @Override
+        public void onValidated(Validator validator, ValidationError error) {
+            validated.add(validator.getText() + " at " + looper.uptimeMillis());
+        }
+    };
+
+    @Before
+    public void setUp() {
+        looper.reset();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.cancelAll();
+        looper.reset();
+    }
+
+    @Test
+    public void validatesOnceAfterQuietPeriod() {
+        TextView field = field();
+        type(field, "jane@");
+        assertTrue(validated.isEmpty());
+        advance(499);
+        assertTrue(validated.isEmpty());
+        advance(1);
+        assertEquals("[jane@ at 2000]", validated.toString());
+        advance(5000);
+        assertEquals(1, validated.size());
+    }
+
+    @Test
+    public void sharesOneCallbackBetweenValidators() {
+        TextView first = field();
+        TextView second = field();
+        type(first, "ab");
+        type(second, "cd");
+        // One callback is posted for the earliest deadline, and posts the next one when it runs.
+        assertEquals(Looper.START_UPTIME + 600, looper.nextMessageTime());
+        advance(1000);
+        assertEquals("[ab at 1700, cd at 1900]", validated.toString());
+        assertEquals(-1, looper.nextMessageTime());
+    }
+
+    @Test
+    public void typingAgainPostponesValidation() {
+        TextView field = field();
+        type(field, "ab");
+        advance(300);
+        type(field, "c");
+        advance(300);
+        assertTrue(validated.isEmpty());
+        advance(200);
+        assertEquals("[abc at 2100]", validated.toString());
+    }
+
+    @Test
+    public void cancelsPendingValidation() {
+        TextView first = field();
+        TextView second = field();
+        type(first, "ab");
+        type(second, "cd");
+        Validator validator = (Validator) first.getOnFocusChangeListener();
+        scheduler.cancel(validator);
+        assertFalse(scheduler.isPending(validator));
+        advance(1000);
+        assertEquals("[cd at 1900]", validated.toString());
+
+        // Clearing the field, or validating it on focus loss, cancels too.
+        type(first, "e");
+        first.getText().clear();
+        type(second, "f");
+        second.requestFocus();
+        second.clearFocus();
+        assertEquals(-1, looper.nextMessageTime());
+        advance(1000);
+        assertEquals("[cd at 1900, cdf at 2600]", validated.toString());
+        assertNull(first.getError());
+
+        type(first, "g");
+        scheduler.cancelAll();
+        assertEquals(-1, looper.nextMessageTime());
+    }
+
+    private TextView field() {
+        TextView field = new TextView(new Context());
+        EmailValidator validator = new EmailValidator(field);
+        validator.setValidationScheduler(scheduler);
+        validator.setStopTypingValidate(true);
+        validator.addValidationListener(listener);
+        field.setOnFocusChangeListener(validator);
+        return field;
+    }
+
+    /**
+     * Type a character every 100 milliseconds.
+     */
+    private void type(TextView field, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            advance(100);
+            field.getText().append(text.charAt(i));
+        }
+    }
+
+    private void advance(long millis) {
+        long time = looper.uptimeMillis() + millis;
+        while (looper.runNext(time)) {
+            // Run every message due by then.
+        }
+        looper.advanceTo(time);
+    }
+}
@@ -0,0 +1,120 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Parcel;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationStateTest {
+
+    private final Context context = new Context();
+
+    @Test
+    public void roundTripsThroughParcel() {
+        EmailValidator email = new EmailValidator(field("not an address"));
+        EmailValidator valid = new EmailValidator(field("jane@example.com"));
+        Validator custom = new LengthValidator(field("ab"));
+        email.setRequired(true);
+        custom.setShowError(false);
+        email.validate();
+        valid.validate();
+        custom.validate();
+
+        ValidationState restored = parcel(ValidationState.save(email, valid, custom));
+        EmailValidator restoredEmail = new EmailValidator(field("not an address"));
+        EmailValidator restoredValid = new EmailValidator(field("jane@example.com"));
+        Validator restoredCustom = new LengthValidator(field("ab"));
+        restored.restore(restoredEmail, restoredValid, restoredCustom);
+
+        assertTrue(restoredEmail.isRequired());
+        assertSame(ValidationError.EMAIL_ADDRESS_INVALID, restoredEmail.getValidationError());
+        assertEquals("Email address is invalid", restoredEmail.getTextView().getError());
+        assertNull(restoredValid.getValidationError());
+        assertNull(restoredValid.getTextView().getError());
+        assertFalse(restoredCustom.isShowError());
+        assertEquals(ErrorCode.CUSTOM, restoredCustom.getValidationError().getCode());
+        assertEquals(LengthValidator.TOO_SHORT, restoredCustom.getValidationError().getMessage(context));
+        assertNull(restoredCustom.getTextView().getError());
+    }
+
+    @Test
+    public void restoresUnboundValidatorsOnBind() {
+        EmailValidator email = new EmailValidator(field("not an address"));
+        email.validate();
+        Validator custom = new LengthValidator(field("ab"));
+        custom.validate();
+        ValidationState state = parcel(ValidationState.save(email, custom));
+
+        EmailValidator restoredEmail = new EmailValidator(null);
+        Validator restoredCustom = new LengthValidator(null);
+        state.restore(restoredEmail, restoredCustom);
+        assertSame(ValidationError.EMAIL_ADDRESS_INVALID, restoredEmail.getValidationError());
+        TextView emailField = field("not an address");
+        restoredEmail.bind(emailField);
+        assertEquals("Email address is invalid", emailField.getError());
+        TextView customField = field("ab");
+        restoredCustom.bind(customField);
+        assertEquals(LengthValidator.TOO_SHORT, customField.getError());
+    }
+
+    @Test
+    public void savesUnboundValidators() {
+        EmailValidator email = new EmailValidator(null);
+        email.restoreValidationError(ValidationError.EMAIL_ADDRESS_INVALID);
+        Validator custom = new LengthValidator(null);
+        custom.restoreValidationError(new ValidationError(ErrorCode.CUSTOM, LengthValidator.TOO_SHORT));
+
+        ValidationState state = parcel(ValidationState.save(email, custom));
+        EmailValidator restoredEmail = new EmailValidator(field("not an address"));
+        Validator restoredCustom = new LengthValidator(field("ab"));
+        state.restore(restoredEmail, restoredCustom);
+        assertEquals("Email address is invalid", restoredEmail.getTextView().getError());
+        assertEquals(LengthValidator.TOO_SHORT, restoredCustom.getTextView().getError());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOtherValidatorCount() {
+        ValidationState state = ValidationState.save(new EmailValidator(field("")));
+        state.restore(new EmailValidator(field("")), new EmailValidator(field("")));
+    }
+
+    private static ValidationState parcel(ValidationState state) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            state.writeToParcel(parcel, 0);
+            parcel.setDataPosition(0);
+            return ValidationState.CREATOR.createFromParcel(parcel);
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    private TextView field(String text) {
+        TextView field = new TextView(context);
+        field.setText(text);
+        return field;
+    }
+
+    private static class LengthValidator extends Validator {
+
+        static final String TOO_SHORT = "Too short";
+
+        LengthValidator(TextView textView) {
+            super(textView);
+        }
+
+        @Override
+        public String onValidate(String string, Context context) {
+            return string.length() < 3 ? TOO_SHORT : null;
+        }
+    }
+}
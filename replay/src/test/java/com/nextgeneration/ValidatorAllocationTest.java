@@ -0,0 +1,112 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.text.Editable;
+import android.widget.TextView;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * A bound Validator validates the field's Editable on every keystroke, so after warming up a validation must not
+ * allocate: not looking up remembered results, resolving the error message, displaying it or notifying listeners.
+ */
+public class ValidatorAllocationTest {
+
+    private static final int WARMUP = 20000;
+    private static final int ATTEMPTS = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private final TextView field = new TextView(new Context());
+    private int notified;
+
+    @BeforeClass
+    public static void setUpClass() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void cachedResultsDoNotAllocate() {
+        EmailValidator validator = listened(new EmailValidator(field));
+        validator.setRequired(true);
+        assertNoAllocation(validator, "jane.doe@example.com", "jane.doe@example", "", "john@example.org");
+    }
+
+    @Test
+    public void uncachedResultsDoNotAllocate() {
+        EmailValidator validator = listened(new EmailValidator(field));
+        validator.setRequired(true);
+        validator.setResultCacheSize(0);
+        assertNoAllocation(validator, "jane.doe@example.com", "jane.doe@example", "", "john@example.org");
+    }
+
+    @Test
+    public void formattedMessagesDoNotAllocate() {
+        // Short texts give the same formatted min length message, resolved once for the locale.
+        PasswordValidator validator = listened(new PasswordValidator(field));
+        validator.setPolicy(new PasswordPolicy.Builder().setMinLength(8).setHasDigit(true).build());
+        validator.setResultCacheSize(0);
+        assertNoAllocation(validator, "short", "Pa55", "hunter2", "Correct-Horse", "Correct-Horse-9");
+    }
+
+    private <T extends Validator> T listened(T validator) {
+        validator.addValidationListener(new Validator.ValidationListener() {
+            @Override
+            public void onValidated(Validator validator, ValidationError error) {
+                notified++;
+            }
+        });
+        validator.setValidateListener(new Validator.ValidateListener() {
+            @Override
+            public void onSuccess() {
+                notified++;
+            }
+
+            @Override
+            public void onError(String errorString) {
+                notified += errorString.length() > 0 ? 1 : 0;
+            }
+        });
+        return validator;
+    }
+
+    /**
+     * Warm up validating each text typed into the field, then check that no bytes were allocated. A few attempts are
+     * allowed, as the JVM may allocate on the thread for reasons of its own, such as class loading.
+     */
+    private void assertNoAllocation(Validator validator, String... texts) {
+        Editable editable = field.getText();
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            String text = texts[i % texts.length];
+            editable.replace(0, editable.length(), text, 0, text.length());
+            sink += validator.validate() ? 1 : 0;
+        }
+        long overhead = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        long thread = Thread.currentThread().getId();
+        for (int attempt = 0; attempt < ATTEMPTS && allocated > 0; attempt++) {
+            long start = threads.getThreadAllocatedBytes(thread);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(thread) - start);
+            start = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 1000; i++) {
+                String text = texts[i % texts.length];
+                editable.replace(0, editable.length(), text, 0, text.length());
+                sink += validator.validate() ? 1 : 0;
+            }
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(thread) - start - overhead);
+        }
+        assertEquals("Bytes allocated by 1000 validations (" + sink + ", " + notified + ")", 0,
+                Math.max(0, allocated));
+    }
+}
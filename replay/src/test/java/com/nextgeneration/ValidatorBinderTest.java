@@ -0,0 +1,99 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.widget.TextView;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ValidatorBinderTest {
+
+    private static final String EMAIL_INVALID = "Email address is invalid";
+
+    private final Context context = new Context();
+    private int created;
+    private final ValidatorBinder<EmailValidator> binder = new ValidatorBinder<>(
+            new ValidatorBinder.Factory<EmailValidator>() {
+                @Override
+                public EmailValidator create() {
+                    created++;
+                    return new EmailValidator(null);
+                }
+            });
+
+    @Test
+    public void reusesUnboundValidators() {
+        TextView first = field("a@example.com");
+        TextView second = field("b@example.com");
+        EmailValidator firstValidator = binder.bind(first, 1);
+        binder.bind(second, 2);
+        assertSame(firstValidator, binder.bind(first, 1));
+        assertEquals(2, created);
+
+        binder.unbind(first);
+        assertNull(firstValidator.getTextView());
+        assertNull(first.getOnFocusChangeListener());
+        TextView third = field("c@example.com");
+        assertSame(firstValidator, binder.bind(third, 3));
+        assertEquals(2, created);
+        assertEquals(3, binder.getItemId(firstValidator));
+        assertSame(firstValidator, binder.getValidator(third));
+        assertNull(binder.getValidator(first));
+    }
+
+    @Test
+    public void displaysResultOfItemWithoutValidating() {
+        TextView first = field("not an address");
+        EmailValidator validator = binder.bind(first, 1);
+        validator.validate();
+        assertEquals(EMAIL_INVALID, first.getError());
+        binder.unbind(first);
+        assertNull(first.getError());
+
+        // Item 1 scrolls back into view in another row.
+        TextView second = field("not an address");
+        assertSame(validator, binder.bind(second, 1));
+        assertEquals(EMAIL_INVALID, second.getError());
+        assertEquals(ValidationError.EMAIL_ADDRESS_INVALID, binder.getValidationError(1));
+
+        binder.unbind(second);
+        TextView third = field("c@example.com");
+        binder.bind(third, 2);
+        assertNull(third.getError());
+        binder.remove(1);
+        assertNull(binder.getValidationError(1));
+    }
+
+    @Test
+    public void rebindingFieldToAnotherItemKeepsResults() {
+        TextView row = field("not an address");
+        EmailValidator validator = binder.bind(row, 1);
+        validator.validate();
+        row.setText("b@example.com");
+        assertSame(validator, binder.bind(row, 2));
+        assertNull(row.getError());
+        assertEquals(ValidationError.EMAIL_ADDRESS_INVALID, binder.getValidationError(1));
+        binder.unbindAll();
+        assertNull(validator.getTextView());
+    }
+
+    @Test
+    public void restoresErrorWhileUnboundOnBind() {
+        EmailValidator validator = new EmailValidator(null);
+        validator.restoreValidationError(ValidationError.EMAIL_ADDRESS_INVALID);
+        assertSame(ValidationError.EMAIL_ADDRESS_INVALID, validator.getValidationError());
+        TextView field = field("not an address");
+        validator.bind(field);
+        assertEquals(EMAIL_INVALID, field.getError());
+        assertEquals(1, field.getSetErrorCount());
+    }
+
+    private TextView field(String text) {
+        TextView field = new TextView(context);
+        field.setText(text);
+        return field;
+    }
+}
@@ -0,0 +1,254 @@
+package com.nextgeneration;
+
+import android.content.Context;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.widget.TextView;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.Rule;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ValidatorGroupTest {
+
+    private static final ValidationError TOO_SHORT = new ValidationError(ErrorCode.CUSTOM, "Too short");
+
+    private final Looper looper = Looper.getMainLooper();
+    private final QueueExecutor executor = new QueueExecutor();
+    private final List<String> delivered = new ArrayList<>();
+    private final List<ValidatorGroup.Result> results = new ArrayList<>();
+    private final ValidatorGroup.Callback callback = new ValidatorGroup.Callback() {
+        @Override
+        public void onValidated(ValidatorGroup.Result result) {
+            results.add(result);
+        }
+    };
+    private final ValidatorGroup group = new ValidatorGroup();
+
+    @Before
+    public void setUp() {
+        looper.reset();
+        Choreographer.getInstance().reset();
+        group.setExecutor(executor);
+    }
+
+    @After
+    public void tearDown() {
+        group.cancel();
+        Choreographer.getInstance().reset();
+        looper.reset();
+    }
+
+    @Test
+    public void collectsEveryErrorFromSnapshot() {
+        LengthValidator first = add("ab");
+        LengthValidator second = add("abc");
+        LengthValidator third = add("cd");
+        group.validate(callback);
+        // The texts were copied, so typing while the Rules run does not change the result.
+        first.getTextView().setText("abcdef");
+        executor.runReversed();
+        assertTrue(results.isEmpty());
+
+        assertTrue(looper.runNext(looper.uptimeMillis()));
+        assertEquals("[ab, abc, cd]", delivered.toString());
+        assertEquals(1, results.size());
+        ValidatorGroup.Result result = results.get(0);
+        assertFalse(result.isValid());
+        assertSame(first, result.getFirstInvalid());
+        assertSame(TOO_SHORT, result.getValidationError(0));
+        assertNull(result.getValidationError(1));
+        assertSame(TOO_SHORT, result.getValidationError(2));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(result.isValidated(i));
+        }
+
+        // Errors are displayed together on the next frame.
+        assertNull(third.getTextView().getError());
+        assertTrue(looper.runNext(looper.nextMessageTime()));
+        assertEquals("Too short", first.getTextView().getError());
+        assertNull(second.getTextView().getError());
+        assertEquals("Too short", third.getTextView().getError());
+    }
+
+    @Test
+    public void shortCircuitsInOrderAdded() {
+        add("abc");
+        LengthValidator second = add("ab");
+        LengthValidator third = add("cd");
+        third.getTextView().setError("Previous error");
+        group.setShortCircuit(true);
+        group.validate(callback);
+        // The last Rule fails first, but the result stops at the first failing field all the same.
+        executor.runReversed();
+        looper.runNext(looper.uptimeMillis());
+
+        ValidatorGroup.Result result = results.get(0);
+        assertFalse(result.isValid());
+        assertSame(second, result.getFirstInvalid());
+        assertTrue(result.isValidated(1));
+        assertFalse(result.isValidated(2));
+        assertNull(result.getValidationError(2));
+        assertEquals("[abc, ab]", delivered.toString());
+        assertEquals("Previous error", third.getTextView().getError());
+    }
+
+    @Test
+    public void shortCircuitSkipsLaterRules() {
+        add("ab");
+        LengthValidator second = add("abc");
+        group.setShortCircuit(true);
+        group.validate(callback);
+        executor.runInOrder();
+        looper.runNext(looper.uptimeMillis());
+        assertEquals(Collections.emptyList(), second.checked);
+        assertEquals("[ab]", delivered.toString());
+    }
+
+    @Test
+    public void validatesWithoutRuleOnMainThread() {
+        LengthValidator withRule = add("abc");
+        LengthValidator withoutRule = add("ab");
+        withoutRule.hasRule = false;
+        LengthValidator required = add("");
+        required.setRequired(true);
+        group.validate(callback);
+        assertEquals(1, executor.checks.size());
+        executor.runInOrder();
+        looper.runNext(looper.uptimeMillis());
+
+        assertEquals("[abc, ab, ]", delivered.toString());
+        assertEquals(Collections.singletonList("abc"), withRule.checked);
+        assertEquals(Collections.emptyList(), required.checked);
+        ValidatorGroup.Result result = results.get(0);
+        assertSame(TOO_SHORT, result.getValidationError(1));
+        assertEquals(ErrorCode.REQUIRED, result.getValidationError(2).getCode());
+
+        // Without any Rule to check, the result is still delivered in a message.
+        results.clear();
+        withRule.hasRule = false;
+        group.validate(callback);
+        assertTrue(executor.checks.isEmpty());
+        assertTrue(results.isEmpty());
+        looper.runNext(looper.uptimeMillis());
+        assertEquals(1, results.size());
+    }
+
+    @Test
+    public void dropsCancelledValidation() {
+        add("ab");
+        group.validate(callback);
+        List<Runnable> stale = new ArrayList<>(executor.checks);
+        executor.checks.clear();
+        group.validate(callback);
+        for (Runnable check : stale) {
+            check.run();
+        }
+        executor.runInOrder();
+        while (looper.runNext(looper.uptimeMillis())) {
+            // Run every due message.
+        }
+        assertEquals(1, results.size());
+        assertEquals("[ab]", delivered.toString());
+
+        group.validate(callback);
+        executor.runInOrder();
+        group.cancel();
+        assertFalse(looper.runNext(looper.uptimeMillis()));
+        assertEquals(1, results.size());
+    }
+
+    private LengthValidator add(String text) {
+        TextView field = new TextView(new Context());
+        field.setText(text);
+        LengthValidator validator = new LengthValidator(field, text);
+        validator.addValidationListener(new Validator.ValidationListener() {
+            @Override
+            public void onValidated(Validator validator, ValidationError error) {
+                delivered.add(((LengthValidator) validator).name);
+            }
+        });
+        group.add(validator);
+        return validator;
+    }
+
+    /**
+     * Runs the Checks when the test says, in the order it chooses.
+     */
+    private static final class QueueExecutor implements Executor {
+        final List<Runnable> checks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable runnable) {
+            checks.add(runnable);
+        }
+
+        void runInOrder() {
+            for (Runnable check : checks) {
+                check.run();
+            }
+            checks.clear();
+        }
+
+        void runReversed() {
+            Collections.reverse(checks);
+            runInOrder();
+        }
+    }
+
+    /**
+     * Fails texts shorter than 3 characters, with a Rule recording the texts it checked. Named after its first text.
+     */
+    private static final class LengthValidator extends Validator {
+        final List<String> checked = new ArrayList<>();
+        final String name;
+        boolean hasRule = true;
+        private final Rule rule = new Rule() {
+            @Override
+            public int validate(CharSequence text) {
+                checked.add(text.toString());
+                return text.length() < 3 ? ErrorCode.CUSTOM : ErrorCode.VALID;
+            }
+        };
+
+        LengthValidator(TextView textView, String name) {
+            super(textView);
+            this.name = name;
+        }
+
+        @Override
+        public String onValidate(String string, Context context) {
+            ValidationError error = onValidate((CharSequence) string);
+            return error != null ? error.getMessage(context) : null;
+        }
+
+        @Override
+        public ValidationError onValidate(CharSequence text) {
+            return text.length() < 3 ? TOO_SHORT : null;
+        }
+
+        @Override
+        public Rule getRule() {
+            return hasRule ? rule : null;
+        }
+
+        @Override
+        public ValidationError getValidationError(int code) {
+            return code == ErrorCode.CUSTOM ? TOO_SHORT : super.getValidationError(code);
+        }
+    }
+}
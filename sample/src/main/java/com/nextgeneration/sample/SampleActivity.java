@@ -8,8 +8,10 @@ import android.widget.EditText;
 
 import com.nextgeneration.ConfirmPasswordValidator;
 import com.nextgeneration.EmailValidator;
+import com.nextgeneration.ErrorRenderer;
 import com.nextgeneration.PasswordValidator;
 import com.nextgeneration.PhoneNumberValidator;
+import com.nextgeneration.ValidationScheduler;
 import com.nextgeneration.Validator;
 
 public class SampleActivity  extends AppCompatActivity implements CompoundButton.OnCheckedChangeListener {
@@ -17,12 +19,16 @@ public class SampleActivity  extends AppCompatActivity implements CompoundButton
 	private EmailValidator emailValidator;
 	private PhoneNumberValidator phoneNumberValidator;
 	private ConfirmPasswordValidator confirmPasswordValidator;
+	private final ValidationScheduler validationScheduler = new ValidationScheduler();
+	private final ErrorRenderer errorRenderer = new ErrorRenderer();
 	@Override
 	protected void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		setContentView(R.layout.activity_sample);
 		EditText email = (EditText) findViewById(R.id.email);
 		emailValidator = new Validator.Builder<>(new EmailValidator(email))
+				.setValidationScheduler(validationScheduler)
+				.setErrorRenderer(errorRenderer)
 				.setRequired(true)
 				.setStopTypingValidate(true)
 				.setTextInputLayoutValidate(true)
@@ -35,6 +41,8 @@ public class SampleActivity  extends AppCompatActivity implements CompoundButton
 
 		EditText phoneNumber = (EditText) findViewById(R.id.phoneNumber);
 		phoneNumberValidator = new PhoneNumberValidator(phoneNumber);
+		phoneNumberValidator.setValidationScheduler(validationScheduler);
+		phoneNumberValidator.setErrorRenderer(errorRenderer);
 		((CheckBox) findViewById(R.id.phoneNumberLoseFocusValidate)).setOnCheckedChangeListener(this);
 		((CheckBox) findViewById(R.id.phoneNumberStopTypingValidate)).setOnCheckedChangeListener(this);
 		((CheckBox) findViewById(R.id.phoneNumberShowError)).setOnCheckedChangeListener(this);
@@ -44,15 +52,25 @@ public class SampleActivity  extends AppCompatActivity implements CompoundButton
 		EditText password = (EditText) findViewById(R.id.password);
 		EditText confirmPassword = (EditText) findViewById(R.id.confirmPassword);
 		PasswordValidator passwordValidator = new PasswordValidator(password);
+		passwordValidator.setValidationScheduler(validationScheduler);
+		passwordValidator.setErrorRenderer(errorRenderer);
 		passwordValidator.setMinLength(3);
 		passwordValidator.setHasUpperChar("Insert Upper Char Error here");
 		passwordValidator.setHasLowerChar("Insert Lower Char Error here");
 		passwordValidator.setStopTypingValidate(true);
+		passwordValidator.setIncrementalValidate(true);
 		passwordValidator.setTextInputLayoutValidate(true);
 		PasswordValidator confirmPasswordValidator = passwordValidator.clone(confirmPassword);
 		this.confirmPasswordValidator = new ConfirmPasswordValidator(passwordValidator, confirmPasswordValidator);
 	}
 
+	@Override
+	protected void onDestroy() {
+		validationScheduler.cancelAll();
+		errorRenderer.cancelAll();
+		super.onDestroy();
+	}
+
 	@Override
 	public void onCheckedChanged(CompoundButton compoundButton, boolean b) {
 		switch (compoundButton.getId()) {
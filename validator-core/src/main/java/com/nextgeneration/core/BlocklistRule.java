@@ -0,0 +1,154 @@
+package com.nextgeneration.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Rule rejecting passwords found in a blocklist, such as the most common breached passwords. The blocklist is a file
+ * written by {@link BlocklistWriter}: a Bloom filter followed by the sorted 64 bit hashes of the passwords. It is
+ * memory-mapped rather than loaded, so millions of passwords take no heap. Most passwords not in the list are
+ * rejected by the Bloom filter alone, and the others by a binary search of the hashes, without allocating.
+ * <p>
+ * Empty text is valid. BlocklistRules are thread safe.
+ */
+public class BlocklistRule implements Rule {
+
+    static final int MAGIC = 0x50574231;
+    static final int HEADER_SIZE = 16;
+
+    private final ByteBuffer buffer;
+    private final int hashFunctions;
+    private final long bloomMask;
+    private final int hashesOffset;
+    private final int count;
+
+    /**
+     * @param buffer Contents of a blocklist file, read with absolute gets only.
+     * @throws IllegalArgumentException if the buffer does not hold a blocklist.
+     */
+    public BlocklistRule(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a blocklist");
+        }
+        this.buffer = buffer;
+        this.hashFunctions = buffer.getInt(4);
+        int bloomWords = buffer.getInt(8);
+        this.count = buffer.getInt(12);
+        long hashesOffset = HEADER_SIZE + (long) bloomWords * 8;
+        if (Integer.bitCount(bloomWords) != 1 || count < 0 || hashFunctions < 1
+                || hashesOffset + (long) count * 8 > buffer.capacity()) {
+            throw new IllegalArgumentException("Corrupt blocklist");
+        }
+        this.bloomMask = (long) bloomWords * 64 - 1;
+        this.hashesOffset = (int) hashesOffset;
+    }
+
+    /**
+     * Memory-map a blocklist file.
+     *
+     * @param file
+     * @throws IOException if the file cannot be read or does not hold a blocklist.
+     */
+    public static BlocklistRule open(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            return map(channel, 0, channel.size());
+        } finally {
+            // The mapping stays valid after the file is closed.
+            randomAccessFile.close();
+        }
+    }
+
+    /**
+     * Memory-map a blocklist stored inside a larger file, such as an uncompressed APK asset.
+     *
+     * @param channel
+     * @param position Offset of the blocklist in the file.
+     * @param size     Length of the blocklist.
+     * @throws IOException if the file cannot be mapped or does not hold a blocklist.
+     */
+    public static BlocklistRule map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Blocklist larger than 2GB");
+        }
+        try {
+            return new BlocklistRule(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of passwords in the blocklist.
+     */
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        if (text.length() == 0 || !contains(text)) {
+            return ErrorCode.VALID;
+        }
+        return ErrorCode.PASSWORD_BREACHED;
+    }
+
+    /**
+     * @param text
+     * @return Whether the text is in the blocklist. A 64 bit hash collision can report a password that is not.
+     */
+    public boolean contains(CharSequence text) {
+        long hash = hash(text);
+        if (!mightContain(hash)) {
+            return false;
+        }
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long value = buffer.getLong(hashesOffset + middle * 8);
+            if (value < hash) {
+                low = middle + 1;
+            } else if (value > hash) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean mightContain(long hash) {
+        long h1 = hash & 0xffffffffL;
+        long h2 = hash >>> 32;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = (h1 + i * h2) & bloomMask;
+            if ((buffer.getLong(HEADER_SIZE + (int) (bit >>> 6) * 8) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64 bit hash of a password: FNV-1a over its UTF-16 chars, then the MurmurHash3 finalizer to spread the bits the
+     * Bloom filter uses.
+     */
+    static long hash(CharSequence text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
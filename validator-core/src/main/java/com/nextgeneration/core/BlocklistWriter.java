@@ -0,0 +1,131 @@
+package com.nextgeneration.core;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Build-time tool writing the blocklist files read by {@link BlocklistRule} from a plain text list of passwords, one
+ * per line. Run it with:
+ * <pre>
+ * ./gradlew :validator-core:blocklist -Pinput=passwords.txt -Poutput=blocklist.bin
+ * </pre>
+ * The Bloom filter uses {@link #DEFAULT_BITS_PER_PASSWORD} bits per password, rounded up to a power of two, for a
+ * false positive rate under 1%.
+ */
+public class BlocklistWriter {
+
+    public static final int DEFAULT_BITS_PER_PASSWORD = 10;
+
+    private final int bitsPerPassword;
+    private long[] hashes = new long[1024];
+    private int count;
+
+    public BlocklistWriter() {
+        this(DEFAULT_BITS_PER_PASSWORD);
+    }
+
+    /**
+     * @param bitsPerPassword Bloom filter bits per password. More bits mean fewer binary searches, at 8 bytes each
+     *                        per 64 passwords.
+     */
+    public BlocklistWriter(int bitsPerPassword) {
+        if (bitsPerPassword < 1) {
+            throw new IllegalArgumentException("Bits per password must be at least 1");
+        }
+        this.bitsPerPassword = bitsPerPassword;
+    }
+
+    public void add(CharSequence password) {
+        if (password.length() == 0) {
+            return;
+        }
+        if (count == hashes.length) {
+            hashes = Arrays.copyOf(hashes, count * 2);
+        }
+        hashes[count++] = BlocklistRule.hash(password);
+    }
+
+    /**
+     * Add every line of the reader as a password, ignoring empty lines.
+     */
+    public void addLines(Reader reader) throws IOException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while ((line = bufferedReader.readLine()) != null) {
+            add(line);
+        }
+    }
+
+    public void write(File file) throws IOException {
+        Arrays.sort(hashes, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || hashes[i] != hashes[unique - 1]) {
+                hashes[unique++] = hashes[i];
+            }
+        }
+        count = unique;
+
+        long bits = Math.max(64, (long) count * bitsPerPassword);
+        long bloomBits = Long.highestOneBit(bits) == bits ? bits : Long.highestOneBit(bits) << 1;
+        if (BlocklistRule.HEADER_SIZE + bloomBits / 8 + (long) count * 8 > Integer.MAX_VALUE) {
+            throw new IOException("Blocklist larger than 2GB");
+        }
+        int hashFunctions = Math.max(1, (int) Math.round(Math.log(2) * bloomBits / Math.max(1, count)));
+        hashFunctions = Math.min(hashFunctions, 16);
+        long[] bloom = new long[(int) (bloomBits / 64)];
+        long mask = bloomBits - 1;
+        for (int i = 0; i < count; i++) {
+            long h1 = hashes[i] & 0xffffffffL;
+            long h2 = hashes[i] >>> 32;
+            for (int j = 0; j < hashFunctions; j++) {
+                long bit = (h1 + j * h2) & mask;
+                bloom[(int) (bit >>> 6)] |= 1L << bit;
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        try {
+            out.writeInt(BlocklistRule.MAGIC);
+            out.writeInt(hashFunctions);
+            out.writeInt(bloom.length);
+            out.writeInt(count);
+            for (long word : bloom) {
+                out.writeLong(word);
+            }
+            for (int i = 0; i < count; i++) {
+                out.writeLong(hashes[i]);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * @param args Text file of passwords in UTF-8, then the blocklist file to write.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BlocklistWriter <passwords.txt> <blocklist.bin>");
+            System.exit(1);
+        }
+        BlocklistWriter writer = new BlocklistWriter();
+        Reader reader = new InputStreamReader(new FileInputStream(args[0]), StandardCharsets.UTF_8);
+        try {
+            writer.addLines(reader);
+        } finally {
+            reader.close();
+        }
+        writer.write(new File(args[1]));
+        System.out.println("Wrote " + writer.count + " passwords to " + args[1]);
+    }
+}
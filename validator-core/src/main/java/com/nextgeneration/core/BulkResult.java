@@ -0,0 +1,110 @@
+package com.nextgeneration.core;
+
+/**
+ * Result of a {@link BulkValidator}: a bitset of the rows that failed, and the ErrorCode of each failed row in row
+ * order. Iterate the failures with {@link #nextFailure(int)}:
+ * <pre>
+ * for (int row = result.nextFailure(0), i = 0; row != -1; row = result.nextFailure(row + 1), i++) {
+ *     int code = result.getFailureCode(i);
+ * }
+ * </pre>
+ * BulkResults are immutable.
+ */
+public final class BulkResult {
+
+    private final int size;
+    private final long[] failures;
+    private final int[] codes;
+    private final int failureCount;
+
+    BulkResult(int size, long[] failures, int[] codes, int failureCount) {
+        this.size = size;
+        this.failures = failures;
+        this.codes = codes;
+        this.failureCount = failureCount;
+    }
+
+    /**
+     * @return Number of rows validated.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public boolean isValid() {
+        return failureCount == 0;
+    }
+
+    public boolean isValid(int row) {
+        checkRow(row);
+        return (failures[row >>> 6] & (1L << row)) == 0;
+    }
+
+    /**
+     * @param fromRow Row to search from, inclusive.
+     * @return First failed row at or after fromRow, -1 if none.
+     */
+    public int nextFailure(int fromRow) {
+        if (fromRow < 0) {
+            throw new IndexOutOfBoundsException("fromRow " + fromRow);
+        }
+        int word = fromRow >>> 6;
+        if (word >= failures.length) {
+            return -1;
+        }
+        long bits = failures[word] & (-1L << fromRow);
+        while (bits == 0) {
+            if (++word == failures.length) {
+                return -1;
+            }
+            bits = failures[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @param index Index of the failure, in row order.
+     * @return ErrorCode of the failure.
+     */
+    public int getFailureCode(int index) {
+        if (index < 0 || index >= failureCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", failures " + failureCount);
+        }
+        return codes[index];
+    }
+
+    /**
+     * ErrorCode of a row. Counts the failures before it, so prefer {@link #nextFailure(int)} to go through all rows.
+     *
+     * @param row
+     * @return ErrorCode, {@link ErrorCode#VALID} if the row is valid.
+     */
+    public int getCode(int row) {
+        if (isValid(row)) {
+            return ErrorCode.VALID;
+        }
+        int word = row >>> 6;
+        int index = Long.bitCount(failures[word] & ~(-1L << row));
+        for (int i = 0; i < word; i++) {
+            index += Long.bitCount(failures[i]);
+        }
+        return codes[index];
+    }
+
+    /**
+     * @return Copy of the failure bitset, with row n at bit n % 64 of word n / 64, like BitSet.toLongArray().
+     */
+    public long[] toLongArray() {
+        return failures.clone();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("row " + row + ", size " + size);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.nextgeneration.core;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates a column of values with one Rule, such as the email addresses of an imported contact list. Values are split
+ * into batches validated in parallel on a ForkJoinPool, and the result is a {@link BulkResult}: a bitset of failed
+ * rows plus the ErrorCodes of those rows, without an object per row.
+ * <p>
+ * Rules must be thread safe, as every Rule of this module is. Null values are validated as empty text. On Android,
+ * ForkJoinPool requires API 21.
+ */
+public class BulkValidator {
+
+    public static final int DEFAULT_BATCH_SIZE = 2048;
+
+    private static ForkJoinPool defaultPool;
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    public BulkValidator() {
+        this(getDefaultPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param pool      Pool batches run on.
+     * @param batchSize Values validated per task, rounded up to a multiple of 64.
+     */
+    public BulkValidator(ForkJoinPool pool, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.pool = pool;
+        this.batchSize = (batchSize + 63) & ~63;
+    }
+
+    /**
+     * Pool used by BulkValidators that have not been given one, with a thread per processor.
+     */
+    public static synchronized ForkJoinPool getDefaultPool() {
+        if (defaultPool == null) {
+            defaultPool = new ForkJoinPool();
+        }
+        return defaultPool;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public BulkResult validate(Rule rule, CharSequence[] values) {
+        return validate(rule, values, 0, values.length);
+    }
+
+    /**
+     * @param rule
+     * @param values
+     * @param from   First value to validate, row 0 of the result.
+     * @param to     End of the values to validate, exclusive.
+     */
+    public BulkResult validate(Rule rule, CharSequence[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + values.length);
+        }
+        Accumulator accumulator = new Accumulator(to - from);
+        accumulator.append(rule, values, from, to);
+        return accumulator.toResult();
+    }
+
+    /**
+     * Validate values as they are read, such as rows parsed from a file, holding only a window of them at once.
+     */
+    public BulkResult validate(Rule rule, Iterable<? extends CharSequence> values) {
+        return validate(rule, values.iterator());
+    }
+
+    public BulkResult validate(Rule rule, Iterator<? extends CharSequence> values) {
+        int windowSize = batchSize * pool.getParallelism() * 4;
+        CharSequence[] window = new CharSequence[windowSize];
+        Accumulator accumulator = new Accumulator(windowSize);
+        while (values.hasNext()) {
+            int count = 0;
+            while (count < windowSize && values.hasNext()) {
+                window[count++] = values.next();
+            }
+            // Every window but the last is full, so windows start on a word of the bitset.
+            accumulator.append(rule, window, 0, count);
+        }
+        return accumulator.toResult();
+    }
+
+    /**
+     * Result being built, one run of values at a time.
+     */
+    private final class Accumulator {
+        private long[] failures;
+        private int[] codes = new int[16];
+        private int size;
+        private int failureCount;
+
+        private Accumulator(int capacity) {
+            failures = new long[(capacity + 63) >>> 6];
+        }
+
+        private void append(Rule rule, CharSequence[] values, int from, int to) {
+            int words = (size + to - from + 63) >>> 6;
+            if (words > failures.length) {
+                failures = Arrays.copyOf(failures, Math.max(words, failures.length * 2));
+            }
+            Task root = new Task(rule, values, from, to, failures, size - from, batchSize);
+            pool.invoke(root);
+            collectCodes(root);
+            size += to - from;
+        }
+
+        private void collectCodes(Task task) {
+            if (task.left != null) {
+                collectCodes(task.left);
+                collectCodes(task.right);
+                return;
+            }
+            if (failureCount + task.failureCount > codes.length) {
+                codes = Arrays.copyOf(codes, Math.max(failureCount + task.failureCount, codes.length * 2));
+            }
+            System.arraycopy(task.codes, 0, codes, failureCount, task.failureCount);
+            failureCount += task.failureCount;
+        }
+
+        private BulkResult toResult() {
+            return new BulkResult(size, Arrays.copyOf(failures, (size + 63) >>> 6),
+                    Arrays.copyOf(codes, failureCount), failureCount);
+        }
+    }
+
+    /**
+     * Validates a range of values, splitting it in two until it fits a batch. Ranges split on multiples of 64 rows, so
+     * every leaf writes its own words of the bitset.
+     */
+    private static final class Task extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int[] NO_CODES = new int[0];
+
+        private final Rule rule;
+        private final CharSequence[] values;
+        private final int from;
+        private final int to;
+        private final long[] failures;
+        private final int rowOffset;
+        private final int batchSize;
+        private Task left;
+        private Task right;
+        private int[] codes = NO_CODES;
+        private int failureCount;
+
+        private Task(Rule rule, CharSequence[] values, int from, int to, long[] failures, int rowOffset, int batchSize) {
+            this.rule = rule;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+            this.failures = failures;
+            this.rowOffset = rowOffset;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > batchSize) {
+                int middle = from + (((to - from) / 2 + 63) & ~63);
+                left = new Task(rule, values, from, middle, failures, rowOffset, batchSize);
+                right = new Task(rule, values, middle, to, failures, rowOffset, batchSize);
+                invokeAll(left, right);
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                CharSequence value = values[i];
+                int code = rule.validate(value != null ? value : "");
+                if (code != ErrorCode.VALID) {
+                    int row = i + rowOffset;
+                    failures[row >>> 6] |= 1L << row;
+                    if (failureCount == codes.length) {
+                        codes = Arrays.copyOf(codes, Math.max(16, failureCount * 2));
+                    }
+                    codes[failureCount++] = code;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.nextgeneration.core;
+
+/**
+ * Immutable set of characters used by a {@link RuleSet}: a bitmap of the ASCII characters it contains, and the
+ * {@link UnicodeClass}es of the non-ASCII characters it contains.
+ */
+public final class CharClass {
+
+    private static final int ALL_UNICODE_CLASSES = (1 << UnicodeClass.COUNT) - 1;
+
+    public static final CharClass NONE = new CharClass(0, 0, 0);
+    public static final CharClass ANY = new CharClass(-1L, -1L, ALL_UNICODE_CLASSES);
+    public static final CharClass UPPER = range('A', 'Z');
+    public static final CharClass LOWER = range('a', 'z');
+    public static final CharClass DIGIT = range('0', '9');
+    public static final CharClass ALPHANUMERIC = UPPER.union(LOWER).union(DIGIT);
+    /**
+     * Upper case characters of {@link PasswordRule}, in any script.
+     */
+    public static final CharClass PASSWORD_UPPER = unicode(UnicodeClass.UPPER);
+    public static final CharClass PASSWORD_LOWER = unicode(UnicodeClass.LOWER);
+    public static final CharClass PASSWORD_DIGIT = unicode(UnicodeClass.DIGIT);
+    /**
+     * Special characters of {@link PasswordRule}: punctuation and symbols.
+     */
+    public static final CharClass PASSWORD_SPECIAL = unicode(UnicodeClass.PUNCTUATION, UnicodeClass.SYMBOL);
+    public static final CharClass NON_ASCII = new CharClass(0, 0, ALL_UNICODE_CLASSES);
+
+    private final long low;
+    private final long high;
+    /**
+     * Bit of each UnicodeClass of the non-ASCII characters in the class.
+     */
+    private final int unicodeClasses;
+
+    private CharClass(long low, long high, int unicodeClasses) {
+        this.low = low;
+        this.high = high;
+        this.unicodeClasses = unicodeClasses;
+    }
+
+    /**
+     * @param chars ASCII characters of the class.
+     * @throws IllegalArgumentException if a character is not ASCII.
+     */
+    public static CharClass of(String chars) {
+        long low = 0;
+        long high = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            char c = checkAscii(chars.charAt(i));
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << c;
+            }
+        }
+        return new CharClass(low, high, 0);
+    }
+
+    /**
+     * @param first First ASCII character of the class.
+     * @param last  Last ASCII character of the class, inclusive.
+     */
+    public static CharClass range(char first, char last) {
+        checkAscii(first);
+        checkAscii(last);
+        long low = 0;
+        long high = 0;
+        for (char c = first; c <= last; c++) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << c;
+            }
+        }
+        return new CharClass(low, high, 0);
+    }
+
+    /**
+     * @param classes {@link UnicodeClass}es of the characters in the class, ASCII or not.
+     * @throws IllegalArgumentException if a class is not a UnicodeClass.
+     */
+    public static CharClass unicode(int... classes) {
+        int unicodeClasses = 0;
+        for (int unicodeClass : classes) {
+            if (unicodeClass < 0 || unicodeClass >= UnicodeClass.COUNT) {
+                throw new IllegalArgumentException("Not a UnicodeClass: " + unicodeClass);
+            }
+            unicodeClasses |= 1 << unicodeClass;
+        }
+        long low = 0;
+        long high = 0;
+        for (char c = 0; c < 128; c++) {
+            if ((unicodeClasses & (1 << UnicodeClass.of(c))) == 0) {
+                continue;
+            }
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << c;
+            }
+        }
+        return new CharClass(low, high, unicodeClasses);
+    }
+
+    public CharClass union(CharClass other) {
+        return new CharClass(low | other.low, high | other.high, unicodeClasses | other.unicodeClasses);
+    }
+
+    public CharClass negate() {
+        return new CharClass(~low, ~high, ~unicodeClasses & ALL_UNICODE_CLASSES);
+    }
+
+    public boolean contains(char c) {
+        if (c < 64) {
+            return (low & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (high & (1L << c)) != 0;
+        }
+        return containsUnicodeClass(UnicodeClass.of(c));
+    }
+
+    /**
+     * @return Whether the class contains the non-ASCII characters of a {@link UnicodeClass}.
+     */
+    boolean containsUnicodeClass(int unicodeClass) {
+        return (unicodeClasses & (1 << unicodeClass)) != 0;
+    }
+
+    private static char checkAscii(char c) {
+        if (c >= 128) {
+            throw new IllegalArgumentException("Not an ASCII character: " + c);
+        }
+        return c;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CharClass)) {
+            return false;
+        }
+        CharClass charClass = (CharClass) o;
+        return low == charClass.low && high == charClass.high && unicodeClasses == charClass.unicodeClasses;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (low ^ (low >>> 32));
+        result = 31 * result + (int) (high ^ (high >>> 32));
+        result = 31 * result + unicodeClasses;
+        return result;
+    }
+}
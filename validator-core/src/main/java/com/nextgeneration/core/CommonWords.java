@@ -0,0 +1,73 @@
+package com.nextgeneration.core;
+
+/**
+ * Default dictionary of {@link StrengthEstimator}: the most common passwords, then the most common English words, most
+ * common first. Kept as a string rather than a resource, which is slow to open on Android, and packed into a trie on
+ * first use.
+ */
+final class CommonWords {
+
+    private static final String WORDS =
+            "123456 password 12345678 qwerty 123456789 12345 1234 111111 1234567 dragon 123123 baseball abc123 " +
+            "football monkey letmein 696969 shadow master 666666 qwertyuiop 123321 mustang 1234567890 michael " +
+            "654321 superman 1qaz2wsx 7777777 121212 000000 qazwsx 123qwe killer trustno1 jordan jennifer " +
+            "zxcvbnm asdfgh hunter buster soccer harley batman andrew tigger sunshine iloveyou 2000 charlie " +
+            "robert thomas hockey ranger daniel starwars klaster 112233 george computer michelle jessica pepper " +
+            "1111 zxcvbn 555555 11111111 131313 freedom 777777 pass maggie 159753 aaaaaa ginger princess joshua " +
+            "cheese amanda summer love ashley nicole chelsea matthew access yankees 987654321 dallas austin " +
+            "thunder taylor matrix mobilemail minecraft william corvette hello martin heather secret merlin " +
+            "diamond 1234qwer gfhjkm hammer silver 222222 88888888 anthony justin test bailey q1w2e3r4t5 patrick " +
+            "internet scooter orange 11111 golfer cookie richard samantha bigdog guitar jackson whatever mickey " +
+            "chicken sparky snoopy maverick phoenix camaro peanut morgan welcome falcon cowboy ferrari samsung " +
+            "andrea smokey steelers joseph mercedes dakota arsenal eagles melissa boomer booboo spider nascar " +
+            "monster tigers yellow xxxxxx 123123123 gateway marina diablo bulldog qwer1234 compaq purple banana " +
+            "junior hannah 123654 porsche lakers iceman money cowboys 987654 london tennis 999999 ncc1701 coffee " +
+            "scooby 0000 miller boston q1w2e3r4 brandon yamaha chester mother forever johnny edward 333333 " +
+            "oliver redsox player nikita knight fender barney midnight please brandy chicago badboy slayer " +
+            "rangers charles angel flower bigdaddy rabbit wizard jasper enter rachel chris steven winner adidas " +
+            "victoria natasha 1q2w3e4r jasmine winter prince marine ghbdtn fishing cocacola casper james 232323 " +
+            "raiders 888888 marlboro gandalf asdfasdf crystal 87654321 12344321 golden 8675309 disney tiger " +
+            "google green blue red black white love123 password1 password123 qwerty123 iloveyou1 welcome1 admin " +
+            "admin123 login abc letmein1 monkey123 dragon123 football1 baseball1 master123 sunshine1 princess1 " +
+            "shadow123 hello123 qwertyu asdf asdfghjkl zaq12wsx 1qazxsw2 qweasd qweasdzxc 147258369 123abc " +
+            "a123456 654321a the of and to in is you that it he was for on are as with his they at be this have " +
+            "from or one had by word but not what all were we when your can said there use an each which she do " +
+            "how their if will up other about out many then them these so some her would make like him into time " +
+            "has look two more write go see number no way could people my than first water been call who oil its " +
+            "now find long down day did get come made may part after again air also america animal another " +
+            "answer any around ask away back because before begin being below best better between big book both " +
+            "boy bring build car carry change children city close country cut dark different does dog done door " +
+            "draw during early earth eat end enough even every example eye face family far father feel few field " +
+            "fire fish follow food form found four friend full game girl give good great group grow hand hard " +
+            "head hear help here high home horse house idea important keep kind king know land large last later " +
+            "learn leave left let letter life light line list little live man mean men might mile miss month " +
+            "moon morning most mountain move much music must name near need never new next night nothing open " +
+            "order own page paper place plant play point power put question quick read real right river room run " +
+            "same school sea second seem sentence set should show side small song soon sound spell stand star " +
+            "start state still stop story street study such sun sure table take talk tell thing think those " +
+            "thought three through together too took tree try turn under until very walk want watch well went " +
+            "where while why wife wind woman women work world year young";
+
+    private CommonWords() {
+    }
+
+    static PackedTrie get() {
+        return Holder.TRIE;
+    }
+
+    private static final class Holder {
+        private static final PackedTrie TRIE = build();
+
+        private static PackedTrie build() {
+            PackedTrie.Builder builder = new PackedTrie.Builder();
+            int start = 0;
+            for (int i = 0; i <= WORDS.length(); i++) {
+                if (i == WORDS.length() || WORDS.charAt(i) == ' ') {
+                    builder.add(WORDS.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            return builder.build();
+        }
+    }
+}
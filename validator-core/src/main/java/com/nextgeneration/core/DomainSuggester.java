@@ -0,0 +1,320 @@
+package com.nextgeneration.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Suggests the known email domain an address probably meant, such as "gmail.com" for "john@gmial.com". Domains are
+ * indexed in a BK-tree, in which the children of a domain are keyed by their edit distance to it, so by the triangle
+ * inequality a lookup only visits subtrees that can hold a domain within the maximum distance. Each distance is
+ * computed with early exit once it exceeds what the subtree could use.
+ * <p>
+ * The closest domain by edit distance wins, counting a swap of adjacent characters as one edit, then the most common.
+ * Known domains and empty domains get no suggestion. DomainSuggesters are immutable and thread safe.
+ */
+public final class DomainSuggester {
+
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+
+    /**
+     * Most common email domains, most common first.
+     */
+    private static final String DOMAINS =
+            "gmail.com yahoo.com hotmail.com aol.com outlook.com icloud.com msn.com live.com comcast.net " +
+            "me.com mac.com hotmail.co.uk yahoo.co.uk sbcglobal.net verizon.net att.net googlemail.com mail.com " +
+            "ymail.com bellsouth.net cox.net charter.net earthlink.net juno.com rocketmail.com gmx.com gmx.de " +
+            "gmx.net web.de yandex.ru mail.ru rambler.ru list.ru bk.ru inbox.ru qq.com 163.com 126.com sina.com " +
+            "yeah.net hotmail.fr yahoo.fr orange.fr wanadoo.fr free.fr laposte.net sfr.fr hotmail.it libero.it " +
+            "yahoo.it virgilio.it tiscali.it alice.it hotmail.de yahoo.de t-online.de freenet.de arcor.de " +
+            "hotmail.es yahoo.es live.co.uk btinternet.com virginmedia.com blueyonder.co.uk sky.com ntlworld.com " +
+            "talktalk.net live.com.au bigpond.com bigpond.net.au optusnet.com.au yahoo.com.au hotmail.com.au " +
+            "shaw.ca rogers.com sympatico.ca yahoo.ca hotmail.ca live.ca yahoo.com.br hotmail.com.br uol.com.br " +
+            "bol.com.br terra.com.br ig.com.br yahoo.com.mx hotmail.com.mx prodigy.net.mx yahoo.co.in rediffmail.com " +
+            "yahoo.co.jp naver.com daum.net hanmail.net protonmail.com proton.me tutanota.com zoho.com fastmail.com " +
+            "hushmail.com aim.com frontiernet.net windstream.net optonline.net roadrunner.com embarqmail.com " +
+            "centurylink.net q.com netzero.net mindspring.com";
+
+    private static final ThreadLocal<int[][]> SCRATCH = new ThreadLocal<int[][]>() {
+        @Override
+        protected int[][] initialValue() {
+            return new int[][]{new int[64], new int[64], new int[64], new int[64]};
+        }
+    };
+
+    private static DomainSuggester defaultSuggester;
+
+    private final String[] domains;
+    private final int maxDistance;
+    // BK-tree in breadth first order. The edges of node i are firstEdge[i] to firstEdge[i + 1], sorted by distance.
+    private final int[] firstEdge;
+    private final int[] edgeDistances;
+    private final int[] edgeNodes;
+    private final int[] maxEdgeDistance;
+    private final int[] nodeRanks;
+
+    /**
+     * @param domains     Known domains in lower case, most common first.
+     * @param maxDistance Most edits a suggestion can be away from the typed domain.
+     */
+    public DomainSuggester(List<String> domains, int maxDistance) {
+        if (maxDistance < 1) {
+            throw new IllegalArgumentException("Max distance must be at least 1");
+        }
+        this.maxDistance = maxDistance;
+        Node root = null;
+        int count = 0;
+        for (int rank = 0; rank < domains.size(); rank++) {
+            String domain = domains.get(rank);
+            if (root == null) {
+                root = new Node(domain, rank);
+                count++;
+            } else if (root.insert(domain, rank)) {
+                count++;
+            }
+        }
+        this.domains = new String[count];
+        this.nodeRanks = new int[count];
+        this.firstEdge = new int[count + 1];
+        this.edgeDistances = new int[Math.max(0, count - 1)];
+        this.edgeNodes = new int[Math.max(0, count - 1)];
+        this.maxEdgeDistance = new int[count];
+        if (root == null) {
+            return;
+        }
+        List<Node> nodes = new ArrayList<>(count);
+        nodes.add(root);
+        int edge = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            this.domains[i] = node.domain;
+            nodeRanks[i] = node.rank;
+            firstEdge[i] = edge;
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                edgeDistances[edge] = child.getKey();
+                edgeNodes[edge++] = nodes.size();
+                maxEdgeDistance[i] = child.getKey();
+                nodes.add(child.getValue());
+            }
+        }
+        firstEdge[count] = edge;
+    }
+
+    /**
+     * Suggester of the most common email domains, with {@link #DEFAULT_MAX_DISTANCE}. Built on first use.
+     */
+    public static synchronized DomainSuggester getDefault() {
+        if (defaultSuggester == null) {
+            List<String> domains = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i <= DOMAINS.length(); i++) {
+                if (i == DOMAINS.length() || DOMAINS.charAt(i) == ' ') {
+                    domains.add(DOMAINS.substring(start, i));
+                    start = i + 1;
+                }
+            }
+            defaultSuggester = new DomainSuggester(domains, DEFAULT_MAX_DISTANCE);
+        }
+        return defaultSuggester;
+    }
+
+    public int size() {
+        return domains.length;
+    }
+
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * @param email Email address.
+     * @return Address with the suggested domain in place of its own, null if there is no suggestion.
+     */
+    public String suggest(CharSequence email) {
+        int at = -1;
+        for (int i = email.length() - 1; i >= 0; i--) {
+            if (email.charAt(i) == '@') {
+                at = i;
+                break;
+            }
+        }
+        if (at == -1) {
+            return null;
+        }
+        String domain = suggestDomain(email, at + 1, email.length());
+        if (domain == null) {
+            return null;
+        }
+        return new StringBuilder(at + 1 + domain.length()).append(email, 0, at + 1).append(domain).toString();
+    }
+
+    /**
+     * Suggest a domain for text between start and end, compared ignoring case. Does not allocate.
+     *
+     * @return Known domain, null if the text is a known domain or no domain is close enough.
+     */
+    public String suggestDomain(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length == 0 || domains.length == 0) {
+            return null;
+        }
+        // Short domains leave too little to tell a typo from another domain.
+        int radius = length < 6 ? 1 : maxDistance;
+        int[][] scratch = scratch(length + 1);
+        int[] stack = scratch[3];
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        int size = 0;
+        stack[size++] = 0;
+        while (size > 0) {
+            int node = stack[--size];
+            int cap = radius + maxEdgeDistance[node];
+            int distance = levenshtein(text, start, end, domains[node], cap, scratch);
+            if (distance == 0) {
+                return null;
+            }
+            if (distance <= radius) {
+                // A swap of adjacent characters is 2 Levenshtein edits but 1 typo.
+                int typos = optimalStringAlignment(text, start, end, domains[node], scratch);
+                if (typos < bestDistance || (typos == bestDistance && nodeRanks[node] < nodeRanks[best])) {
+                    best = node;
+                    bestDistance = typos;
+                }
+            }
+            if (distance > cap) {
+                continue;
+            }
+            for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+                int edgeDistance = edgeDistances[edge];
+                if (edgeDistance > distance + radius) {
+                    break;
+                }
+                if (edgeDistance >= distance - radius) {
+                    if (size == stack.length) {
+                        stack = Arrays.copyOf(stack, size * 2);
+                        scratch[3] = stack;
+                    }
+                    stack[size++] = edgeNodes[edge];
+                }
+            }
+        }
+        return best != -1 ? domains[best] : null;
+    }
+
+    /**
+     * Rows of the distance matrices and the stack of nodes to visit, reused by each thread.
+     */
+    private static int[][] scratch(int length) {
+        int[][] scratch = SCRATCH.get();
+        if (scratch[0].length < length + 1) {
+            for (int i = 0; i < 3; i++) {
+                scratch[i] = new int[length + 1];
+            }
+        }
+        return scratch;
+    }
+
+    /**
+     * Levenshtein distance between the text and a domain, or cap + 1 as soon as it is known to exceed cap.
+     */
+    private static int levenshtein(CharSequence text, int start, int end, String domain, int cap, int[][] scratch) {
+        int length = end - start;
+        if (Math.abs(length - domain.length()) > cap) {
+            return cap + 1;
+        }
+        int[] previous = scratch[0];
+        int[] current = scratch[1];
+        for (int i = 0; i <= length; i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= domain.length(); j++) {
+            char d = domain.charAt(j - 1);
+            current[0] = j;
+            int rowMinimum = j;
+            for (int i = 1; i <= length; i++) {
+                int cost = toLowerCase(text.charAt(start + i - 1)) == d ? 0 : 1;
+                int value = Math.min(Math.min(current[i - 1], previous[i]) + 1, previous[i - 1] + cost);
+                current[i] = value;
+                rowMinimum = Math.min(rowMinimum, value);
+            }
+            if (rowMinimum > cap) {
+                return cap + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[length];
+    }
+
+    /**
+     * Edit distance counting a swap of adjacent characters as one edit. Only run on domains within the radius.
+     */
+    private static int optimalStringAlignment(CharSequence text, int start, int end, String domain,
+            int[][] scratch) {
+        int length = end - start;
+        int[] twoBefore = scratch[2];
+        int[] previous = scratch[0];
+        int[] current = scratch[1];
+        for (int i = 0; i <= length; i++) {
+            previous[i] = i;
+        }
+        for (int j = 1; j <= domain.length(); j++) {
+            char d = domain.charAt(j - 1);
+            current[0] = j;
+            for (int i = 1; i <= length; i++) {
+                char t = toLowerCase(text.charAt(start + i - 1));
+                int value = Math.min(Math.min(current[i - 1], previous[i]) + 1, previous[i - 1] + (t == d ? 0 : 1));
+                if (i > 1 && j > 1 && t == domain.charAt(j - 2) && toLowerCase(text.charAt(start + i - 2)) == d) {
+                    value = Math.min(value, twoBefore[i - 2] + 1);
+                }
+                current[i] = value;
+            }
+            int[] swap = twoBefore;
+            twoBefore = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[length];
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * Node of the BK-tree while it is built.
+     */
+    private static final class Node {
+        private final String domain;
+        private final int rank;
+        private final Map<Integer, Node> children = new TreeMap<>();
+
+        private Node(String domain, int rank) {
+            this.domain = domain;
+            this.rank = rank;
+        }
+
+        /**
+         * @return Whether the domain was added, false if it is already in the tree.
+         */
+        private boolean insert(String domain, int rank) {
+            Node node = this;
+            while (true) {
+                int distance = levenshtein(domain, 0, domain.length(), node.domain, Integer.MAX_VALUE - 1,
+                        scratch(domain.length() + 1));
+                if (distance == 0) {
+                    return false;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(domain, rank));
+                    return true;
+                }
+                node = child;
+            }
+        }
+    }
+}
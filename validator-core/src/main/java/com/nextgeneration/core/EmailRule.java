@@ -0,0 +1,101 @@
+package com.nextgeneration.core;
+
+/**
+ * Rule for email addresses, accepting exactly what android.util.Patterns.EMAIL_ADDRESS matches. Empty text is valid.
+ * <p>
+ * Instead of a backtracking regex, the text is read once by a finite state recognizer with bounded counters: a local
+ * part, an '@', then dot separated domain labels. Matching is O(n) on any input, needs no compilation on first use and
+ * does not allocate.
+ */
+public class EmailRule implements Rule {
+
+    /**
+     * Regular expression the recognizer is equivalent to, kept for reference and comparison.
+     */
+    public static final String EMAIL_ADDRESS_PATTERN =
+            "[a-zA-Z0-9\\+\\.\\_\\%\\-\\+]{1,256}" +
+            "\\@" +
+            "[a-zA-Z0-9][a-zA-Z0-9\\-]{0,64}" +
+            "(" +
+                "\\." +
+                "[a-zA-Z0-9][a-zA-Z0-9\\-]{0,25}" +
+            ")+";
+
+    private static final int MAX_LOCAL_LENGTH = 256;
+    private static final int MAX_FIRST_LABEL_LENGTH = 65;
+    private static final int MAX_LABEL_LENGTH = 26;
+
+    private static final byte LOCAL = 1;
+    private static final byte ALPHANUMERIC = 2;
+    private static final byte HYPHEN = 4;
+    private static final byte[] ASCII = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            ASCII[c] = LOCAL | ALPHANUMERIC;
+            ASCII[c - 'a' + 'A'] = LOCAL | ALPHANUMERIC;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            ASCII[c] = LOCAL | ALPHANUMERIC;
+        }
+        ASCII['+'] = LOCAL;
+        ASCII['.'] = LOCAL;
+        ASCII['_'] = LOCAL;
+        ASCII['%'] = LOCAL;
+        ASCII['-'] = LOCAL | HYPHEN;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        if (text.length() == 0 || matches(text)) {
+            return ErrorCode.VALID;
+        }
+        return ErrorCode.EMAIL_ADDRESS_INVALID;
+    }
+
+    /**
+     * @param text
+     * @return Whether the whole text is an email address.
+     */
+    public static boolean matches(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        // Local part, up to the only '@'.
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 128 || (ASCII[c] & LOCAL) == 0) {
+                break;
+            }
+        }
+        if (i == 0 || i > MAX_LOCAL_LENGTH || i == length || text.charAt(i) != '@') {
+            return false;
+        }
+        // Domain labels: alphanumeric first, then alphanumerics and hyphens, separated by single dots.
+        int labels = 0;
+        int labelLength = 0;
+        int maxLabelLength = MAX_FIRST_LABEL_LENGTH;
+        for (i++; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+                maxLabelLength = MAX_LABEL_LENGTH;
+                continue;
+            }
+            if (c >= 128) {
+                return false;
+            }
+            byte type = ASCII[c];
+            if ((type & ALPHANUMERIC) == 0 && ((type & HYPHEN) == 0 || labelLength == 0)) {
+                return false;
+            }
+            if (++labelLength > maxLabelLength) {
+                return false;
+            }
+        }
+        return labels > 0 && labelLength > 0;
+    }
+}
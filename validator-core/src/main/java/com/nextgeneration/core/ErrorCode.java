@@ -0,0 +1,30 @@
+package com.nextgeneration.core;
+
+/**
+ * Error codes returned by Rules. Codes from {@link #CUSTOM} upwards are free for application Rules.
+ */
+public final class ErrorCode {
+
+    public static final int VALID = 0;
+    public static final int REQUIRED = 1;
+    public static final int EMAIL_ADDRESS_INVALID = 2;
+    public static final int PHONE_NUMBER_INVALID = 3;
+    public static final int PASSWORD_MIN_LENGTH = 4;
+    public static final int PASSWORD_UPPER_CHAR = 5;
+    public static final int PASSWORD_LOWER_CHAR = 6;
+    public static final int PASSWORD_DIGIT = 7;
+    public static final int PASSWORD_SPECIAL_CHAR = 8;
+    public static final int PASSWORDS_DO_NOT_MATCH = 9;
+    /**
+     * The text is still being checked asynchronously. Never cached as a result.
+     */
+    public static final int VALIDATION_PENDING = 10;
+    public static final int VALIDATION_TIMEOUT = 11;
+    public static final int VALIDATION_FAILED = 12;
+    public static final int PASSWORD_BREACHED = 13;
+    public static final int PATTERN_MISMATCH = 14;
+    public static final int CUSTOM = 64;
+
+    private ErrorCode() {
+    }
+}
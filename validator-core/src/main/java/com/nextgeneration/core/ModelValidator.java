@@ -0,0 +1,34 @@
+package com.nextgeneration.core;
+
+/**
+ * Validator of the annotated fields of a model class, generated at compile time by the validator-processor module
+ * from annotations such as {@link com.nextgeneration.core.annotation.Email} and
+ * {@link com.nextgeneration.core.annotation.Required}. For a model class Signup, the generated Signup_Validator checks
+ * every field in one straight-line method, reading the fields directly or through their getters, without reflection.
+ * ModelValidators are thread safe.
+ *
+ * @param <T> Type of model.
+ */
+public interface ModelValidator<T> {
+
+    /**
+     * @return Number of annotated fields, in declaration order.
+     */
+    int getFieldCount();
+
+    /**
+     * @param field Index of the field.
+     * @return Name of the field in the model class.
+     */
+    String getFieldName(int field);
+
+    /**
+     * Check every annotated field of the model. Does not allocate.
+     *
+     * @param model Model to validate.
+     * @param codes Receives the ErrorCode of each field, {@link ErrorCode#VALID} if it is valid. At least
+     *              {@link #getFieldCount()} long.
+     * @return Number of invalid fields.
+     */
+    int validate(T model, int[] codes);
+}
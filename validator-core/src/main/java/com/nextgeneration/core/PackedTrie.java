@@ -0,0 +1,221 @@
+package com.nextgeneration.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie of ranked words in three flat arrays. Nodes are numbered breadth first, so the edges of a node are
+ * contiguous, sorted by character, and edge e leads to node e + 1. A node takes 10 bytes and there is no object per
+ * node, and walking the trie one character at a time is a binary search of a few chars.
+ * <p>
+ * Build one with {@link Builder}, or read one written by {@link #writeTo(OutputStream)}.
+ */
+public final class PackedTrie {
+
+    /**
+     * Node of the empty prefix.
+     */
+    public static final int ROOT = 0;
+    /**
+     * Returned by {@link #child(int, char)} when no word continues with the character.
+     */
+    public static final int NONE = -1;
+
+    private static final int MAGIC = 0x54524931;
+
+    private final int[] firstEdge;
+    private final char[] labels;
+    private final int[] ranks;
+    private final int size;
+    private final int maxDepth;
+
+    private PackedTrie(int[] firstEdge, char[] labels, int[] ranks, int size, int maxDepth) {
+        this.firstEdge = firstEdge;
+        this.labels = labels;
+        this.ranks = ranks;
+        this.size = size;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return Number of words.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Length of the longest word.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param node Node of a prefix.
+     * @param c    Next character.
+     * @return Node of the prefix followed by c, {@link #NONE} if no word starts with it.
+     */
+    public int child(int node, char c) {
+        int low = firstEdge[node];
+        int high = firstEdge[node + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = labels[middle];
+            if (label < c) {
+                low = middle + 1;
+            } else if (label > c) {
+                high = middle - 1;
+            } else {
+                return middle + 1;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * @param node
+     * @return Rank of the word ending at the node, 1 for the most common, 0 if the prefix is not a word.
+     */
+    public int getRank(int node) {
+        return ranks[node];
+    }
+
+    /**
+     * @param word
+     * @return Rank of the word, 0 if it is not in the trie.
+     */
+    public int getRank(CharSequence word) {
+        int node = ROOT;
+        for (int i = 0; i < word.length() && node != NONE; i++) {
+            node = child(node, word.charAt(i));
+        }
+        return node != NONE ? ranks[node] : 0;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(outputStream);
+        out.writeInt(MAGIC);
+        out.writeInt(ranks.length);
+        out.writeInt(size);
+        out.writeInt(maxDepth);
+        for (int i = 0; i <= ranks.length; i++) {
+            out.writeInt(firstEdge[i]);
+        }
+        for (char label : labels) {
+            out.writeChar(label);
+        }
+        for (int rank : ranks) {
+            out.writeInt(rank);
+        }
+        out.flush();
+    }
+
+    /**
+     * @param inputStream Stream positioned at a trie written by {@link #writeTo(OutputStream)}.
+     * @throws IOException if the stream cannot be read or does not hold a trie.
+     */
+    public static PackedTrie read(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(inputStream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a trie");
+        }
+        int nodes = in.readInt();
+        int size = in.readInt();
+        int maxDepth = in.readInt();
+        if (nodes < 1 || size < 0 || maxDepth < 0) {
+            throw new IOException("Corrupt trie");
+        }
+        int[] firstEdge = new int[nodes + 1];
+        for (int i = 0; i <= nodes; i++) {
+            firstEdge[i] = in.readInt();
+        }
+        char[] labels = new char[nodes - 1];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = in.readChar();
+        }
+        int[] ranks = new int[nodes];
+        for (int i = 0; i < nodes; i++) {
+            ranks[i] = in.readInt();
+        }
+        return new PackedTrie(firstEdge, labels, ranks, size, maxDepth);
+    }
+
+    public static class Builder {
+        private final Node root = new Node();
+        private int size;
+        private int maxDepth;
+
+        /**
+         * Add a word ranked after every word added so far.
+         */
+        public Builder add(String word) {
+            return add(word, size + 1);
+        }
+
+        /**
+         * @param word Word, matched as written.
+         * @param rank Rank of the word from 1, the most common. The lowest rank is kept for duplicate words.
+         */
+        public Builder add(String word, int rank) {
+            if (word.length() == 0) {
+                throw new IllegalArgumentException("Empty word");
+            }
+            if (rank < 1) {
+                throw new IllegalArgumentException("Rank must be at least 1");
+            }
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            if (node.rank == 0) {
+                size++;
+                node.rank = rank;
+            } else {
+                node.rank = Math.min(node.rank, rank);
+            }
+            maxDepth = Math.max(maxDepth, word.length());
+            return this;
+        }
+
+        public PackedTrie build() {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(root);
+            for (int i = 0; i < nodes.size(); i++) {
+                nodes.addAll(nodes.get(i).children.values());
+            }
+            int[] firstEdge = new int[nodes.size() + 1];
+            char[] labels = new char[nodes.size() - 1];
+            int[] ranks = new int[nodes.size()];
+            int edge = 0;
+            for (int i = 0; i < nodes.size(); i++) {
+                Node node = nodes.get(i);
+                firstEdge[i] = edge;
+                ranks[i] = node.rank;
+                for (Character label : node.children.keySet()) {
+                    labels[edge++] = label;
+                }
+            }
+            firstEdge[nodes.size()] = edge;
+            return new PackedTrie(firstEdge, labels, ranks, size, maxDepth);
+        }
+
+        private static final class Node {
+            private final Map<Character, Node> children = new TreeMap<>();
+            private int rank;
+        }
+    }
+}
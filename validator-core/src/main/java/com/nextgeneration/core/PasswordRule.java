@@ -0,0 +1,214 @@
+package com.nextgeneration.core;
+
+import java.util.Arrays;
+
+/**
+ * Rule for passwords: a minimum length, the character classes the password must contain, and optionally a blocklist
+ * such as a {@link BlocklistRule}. Checks run in the order length, upper, lower, digit, special character then
+ * blocklist, and the first failure is returned.
+ * <p>
+ * Characters are classified by {@link UnicodeClass}, so upper and lower case letters and digits of any script count,
+ * and a special character is any punctuation or symbol, including emoji. Letters without case, such as Chinese ones,
+ * satisfy neither case requirement.
+ */
+public class PasswordRule implements Rule {
+
+    public static final int UPPER_CHAR = 0;
+    public static final int LOWER_CHAR = 1;
+    public static final int DIGIT = 2;
+    public static final int SPECIAL_CHAR = 3;
+    public static final int OTHER_CHAR = 4;
+    public static final int CHAR_CLASS_COUNT = 5;
+
+    private static final int[] CHAR_CLASS_ERRORS = {
+            ErrorCode.PASSWORD_UPPER_CHAR,
+            ErrorCode.PASSWORD_LOWER_CHAR,
+            ErrorCode.PASSWORD_DIGIT,
+            ErrorCode.PASSWORD_SPECIAL_CHAR
+    };
+
+    /**
+     * Password character class of each {@link UnicodeClass}.
+     */
+    private static final byte[] UNICODE_CHAR_CLASSES = new byte[UnicodeClass.COUNT];
+    /**
+     * Character class of each ASCII character, the common case, in one read.
+     */
+    private static final byte[] ASCII_CHAR_CLASSES = new byte[128];
+
+    static {
+        Arrays.fill(UNICODE_CHAR_CLASSES, (byte) OTHER_CHAR);
+        UNICODE_CHAR_CLASSES[UnicodeClass.UPPER] = UPPER_CHAR;
+        UNICODE_CHAR_CLASSES[UnicodeClass.LOWER] = LOWER_CHAR;
+        UNICODE_CHAR_CLASSES[UnicodeClass.DIGIT] = DIGIT;
+        UNICODE_CHAR_CLASSES[UnicodeClass.PUNCTUATION] = SPECIAL_CHAR;
+        UNICODE_CHAR_CLASSES[UnicodeClass.SYMBOL] = SPECIAL_CHAR;
+        for (char c = 0; c < 128; c++) {
+            ASCII_CHAR_CLASSES[c] = UNICODE_CHAR_CLASSES[UnicodeClass.of(c)];
+        }
+    }
+
+    private final int minLength;
+    private final int requiredCharClasses;
+    private final Rule blocklist;
+
+    private PasswordRule(int minLength, int requiredCharClasses, Rule blocklist) {
+        this.minLength = minLength;
+        this.requiredCharClasses = requiredCharClasses;
+        this.blocklist = blocklist;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public boolean isRequired(int charClass) {
+        return (requiredCharClasses & (1 << charClass)) != 0;
+    }
+
+    public Rule getBlocklist() {
+        return blocklist;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        int error = validateLength(text.length());
+        if (error != ErrorCode.VALID) {
+            return error;
+        }
+        error = validateChars(text);
+        if (error != ErrorCode.VALID) {
+            return error;
+        }
+        return validateBlocklist(text);
+    }
+
+    /**
+     * @param text
+     * @return ErrorCode of the blocklist, {@link ErrorCode#VALID} if there is none.
+     */
+    public int validateBlocklist(CharSequence text) {
+        return blocklist != null ? blocklist.validate(text) : ErrorCode.VALID;
+    }
+
+    public int validateLength(int length) {
+        return length < minLength ? ErrorCode.PASSWORD_MIN_LENGTH : ErrorCode.VALID;
+    }
+
+    /**
+     * Check the required character classes in a single pass, stopping once all of them are found.
+     *
+     * @param text
+     * @return ErrorCode of the first missing character class.
+     */
+    public int validateChars(CharSequence text) {
+        int missing = requiredCharClasses;
+        for (int i = 0, length = text.length(); i < length && missing != 0; i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                missing &= ~(1 << codePointClass(Character.toCodePoint(c, text.charAt(++i))));
+            } else {
+                missing &= ~(1 << charClass(c));
+            }
+        }
+        return missingCharClassError(missing);
+    }
+
+    /**
+     * Check the required character classes against running counts, such as those kept by
+     * {@link #countChars(CharSequence, int, int, int[], int)}.
+     *
+     * @param counts Number of characters of each class, indexed by character class.
+     * @return ErrorCode of the first missing character class.
+     */
+    public int validateChars(int[] counts) {
+        int missing = requiredCharClasses;
+        for (int charClass = 0; charClass < OTHER_CHAR; charClass++) {
+            if (counts[charClass] > 0) {
+                missing &= ~(1 << charClass);
+            }
+        }
+        return missingCharClassError(missing);
+    }
+
+    private static int missingCharClassError(int missing) {
+        if (missing == 0) {
+            return ErrorCode.VALID;
+        }
+        return CHAR_CLASS_ERRORS[Integer.numberOfTrailingZeros(missing)];
+    }
+
+    /**
+     * Add delta to the count of each character's class in text between start and end. A surrogate pair inside the
+     * range counts once, as its code point.
+     */
+    public static void countChars(CharSequence text, int start, int end, int[] counts, int delta) {
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                counts[codePointClass(Character.toCodePoint(c, text.charAt(++i)))] += delta;
+            } else {
+                counts[charClass(c)] += delta;
+            }
+        }
+    }
+
+    /**
+     * @return Character class of c, {@link #OTHER_CHAR} for a surrogate.
+     */
+    public static int charClass(char c) {
+        return c < 128 ? ASCII_CHAR_CLASSES[c] : UNICODE_CHAR_CLASSES[UnicodeClass.of(c)];
+    }
+
+    public static int codePointClass(int codePoint) {
+        return UNICODE_CHAR_CLASSES[UnicodeClass.ofCodePoint(codePoint)];
+    }
+
+    public static class Builder {
+        private int minLength;
+        private int requiredCharClasses;
+        private Rule blocklist;
+
+        public Builder setMinLength(int minLength) {
+            this.minLength = minLength;
+            return this;
+        }
+
+        public Builder setHasUpperChar(boolean hasUpperChar) {
+            return setRequired(UPPER_CHAR, hasUpperChar);
+        }
+
+        public Builder setHasLowerChar(boolean hasLowerChar) {
+            return setRequired(LOWER_CHAR, hasLowerChar);
+        }
+
+        public Builder setHasDigit(boolean hasDigit) {
+            return setRequired(DIGIT, hasDigit);
+        }
+
+        public Builder setHasSpecialChar(boolean hasSpecialChar) {
+            return setRequired(SPECIAL_CHAR, hasSpecialChar);
+        }
+
+        /**
+         * @param blocklist Rule rejecting passwords such as common or breached ones, checked last. Null for none.
+         */
+        public Builder setBlocklist(Rule blocklist) {
+            this.blocklist = blocklist;
+            return this;
+        }
+
+        private Builder setRequired(int charClass, boolean required) {
+            if (required) {
+                requiredCharClasses |= 1 << charClass;
+            } else {
+                requiredCharClasses &= ~(1 << charClass);
+            }
+            return this;
+        }
+
+        public PasswordRule build() {
+            return new PasswordRule(minLength, requiredCharClasses, blocklist);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.nextgeneration.core;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule that fails when the text does not entirely match a Pattern. Each thread reuses its own Matcher, so validating
+ * does not allocate.
+ */
+public class PatternRule implements Rule {
+
+    private final Pattern pattern;
+    private final int errorCode;
+    private final ThreadLocal<Matcher> matcher = new ThreadLocal<Matcher>() {
+        @Override
+        protected Matcher initialValue() {
+            return pattern.matcher("");
+        }
+    };
+
+    /**
+     * @param pattern   Pattern the whole text must match.
+     * @param errorCode ErrorCode returned when it does not.
+     */
+    public PatternRule(Pattern pattern, int errorCode) {
+        this.pattern = pattern;
+        this.errorCode = errorCode;
+    }
+
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        Matcher matcher = this.matcher.get();
+        boolean matches = matcher.reset(text).matches();
+        matcher.reset("");
+        return matches ? ErrorCode.VALID : errorCode;
+    }
+}
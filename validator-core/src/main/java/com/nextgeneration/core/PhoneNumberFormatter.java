@@ -0,0 +1,232 @@
+package com.nextgeneration.core;
+
+/**
+ * Formats a phone number as it is typed, grouping digits the way its PhoneRegion writes them, such as
+ * "0412 345 678" or "+1 (555) 123-4567". Numbers starting with '+' are formatted for the region of their country
+ * calling code, others for the default region.
+ * <p>
+ * State is kept between keystrokes: appending or deleting the last digit only touches the end of the formatted text.
+ * The number is only laid out again while its first digits decide the country calling code and prefix entry, or when
+ * the whole text is replaced. Separators are written just before the digit that follows them, so the formatted text
+ * never ends with one. Not thread safe, use one PhoneNumberFormatter per field.
+ */
+public class PhoneNumberFormatter {
+
+    private static final int MAX_DIGITS = PhoneRegion.MAX_DIGITS + 2;
+
+    private final PhoneRegion defaultRegion;
+    private final StringBuilder formatted = new StringBuilder();
+    private final char[] digits = new char[MAX_DIGITS];
+    private final int[] digitEnds = new int[MAX_DIGITS];
+    private final int[] groupingPositions = new int[MAX_DIGITS];
+    private int digitCount;
+    private boolean international;
+    private PhoneRegion region;
+    private int nationalStart;
+    private int entry = -1;
+    private int changedFrom;
+
+    /**
+     * @param defaultRegion Region of numbers typed without a '+', null to leave them unformatted.
+     */
+    public PhoneNumberFormatter(PhoneRegion defaultRegion) {
+        this.defaultRegion = defaultRegion;
+        layout();
+    }
+
+    /**
+     * @return Formatted text. The builder is reused, copy it to keep it past the next edit.
+     */
+    public CharSequence getFormatted() {
+        return formatted;
+    }
+
+    /**
+     * @return Index from which the formatted text changed in the last edit.
+     */
+    public int getChangedFrom() {
+        return changedFrom;
+    }
+
+    public void clear() {
+        digitCount = 0;
+        international = false;
+        layout();
+    }
+
+    /**
+     * Type a character at the end of the number. A '+' is only accepted as the first character, and other characters
+     * that are not digits are ignored.
+     *
+     * @param c Typed character.
+     * @return Whether the character was accepted.
+     */
+    public boolean input(char c) {
+        changedFrom = formatted.length();
+        if (c == '+') {
+            if (digitCount > 0 || international) {
+                return false;
+            }
+            international = true;
+            layout();
+            return true;
+        }
+        if (c < '0' || c > '9' || digitCount == MAX_DIGITS) {
+            return false;
+        }
+        digits[digitCount++] = c;
+        if (isLayoutSettled()) {
+            appendDigit(digitCount - 1);
+        } else {
+            layout();
+        }
+        return true;
+    }
+
+    /**
+     * Delete the last digit, or the leading '+' once no digits are left.
+     */
+    public void deleteLast() {
+        if (digitCount == 0) {
+            international = false;
+            layout();
+            return;
+        }
+        digitCount--;
+        if (digitCount > 0 && isLayoutSettled()) {
+            formatted.setLength(digitEnds[digitCount - 1]);
+            changedFrom = formatted.length();
+        } else {
+            layout();
+        }
+    }
+
+    /**
+     * Replace the whole number, such as after a paste, keeping its '+' and digits.
+     *
+     * @param text
+     */
+    public void setText(CharSequence text) {
+        digitCount = 0;
+        international = false;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '+' && digitCount == 0) {
+                international = true;
+            } else if (c >= '0' && c <= '9' && digitCount < MAX_DIGITS) {
+                digits[digitCount++] = c;
+            }
+        }
+        layout();
+    }
+
+    /**
+     * @return The number in E.164 format such as "+61412345678", null if it is not valid in its region.
+     */
+    public String getE164() {
+        int nationalDigits = digitCount - nationalStart;
+        if (region == null || nationalDigits == 0 || nationalDigits > PhoneRegion.MAX_DIGITS) {
+            return null;
+        }
+        long number = 0;
+        for (int i = nationalStart; i < digitCount; i++) {
+            number = number * 10 + (digits[i] - '0');
+        }
+        if (!region.isValidNationalNumber(number, nationalDigits)) {
+            return null;
+        }
+        return new StringBuilder(nationalDigits + 4)
+                .append('+')
+                .append(region.getCountryCode())
+                .append(digits, nationalStart, nationalDigits)
+                .toString();
+    }
+
+    /**
+     * Whether more digits can no longer change the country calling code, national prefix or prefix entry.
+     */
+    private boolean isLayoutSettled() {
+        if (region == null) {
+            return !international || digitCount > 3;
+        }
+        return digitCount - nationalStart > region.getMaxPrefixDigits();
+    }
+
+    private void layout() {
+        region = null;
+        nationalStart = 0;
+        entry = -1;
+        if (international) {
+            int countryCode = 0;
+            for (int i = 0; i < 3 && i < digitCount && region == null; i++) {
+                countryCode = countryCode * 10 + (digits[i] - '0');
+                region = PhoneRegion.forCountryCode(countryCode);
+                nationalStart = i + 1;
+            }
+            if (region == null) {
+                nationalStart = 0;
+            }
+        } else if (defaultRegion != null) {
+            region = defaultRegion;
+            String nationalPrefix = region.getNationalPrefix();
+            int prefixLength = nationalPrefix.length();
+            if (prefixLength > 0 && digitCount >= prefixLength) {
+                nationalStart = prefixLength;
+                for (int i = 0; i < prefixLength; i++) {
+                    if (digits[i] != nationalPrefix.charAt(i)) {
+                        nationalStart = 0;
+                        break;
+                    }
+                }
+            }
+        }
+        if (region != null && digitCount > nationalStart) {
+            int prefixDigits = Math.min(digitCount - nationalStart, region.getMaxPrefixDigits());
+            long prefix = 0;
+            for (int i = 0; i < prefixDigits; i++) {
+                prefix = prefix * 10 + (digits[nationalStart + i] - '0');
+            }
+            entry = region.findEntry(prefix, prefixDigits);
+        }
+
+        formatted.setLength(0);
+        changedFrom = 0;
+        if (international) {
+            formatted.append('+');
+        }
+        for (int i = 0; i < digitCount; i++) {
+            if (i < nationalStart) {
+                formatted.append(digits[i]);
+                digitEnds[i] = formatted.length();
+            } else {
+                appendDigit(i);
+            }
+        }
+    }
+
+    private void appendDigit(int index) {
+        if (entry == -1) {
+            formatted.append(digits[index]);
+            digitEnds[index] = formatted.length();
+            return;
+        }
+        String grouping = region.getGrouping(entry);
+        int position = 0;
+        if (index == nationalStart) {
+            if (nationalStart > 0 && (international || grouping.charAt(0) != '#')) {
+                formatted.append(' ');
+            }
+        } else {
+            position = groupingPositions[index - 1];
+        }
+        while (position < grouping.length() && grouping.charAt(position) != '#') {
+            formatted.append(grouping.charAt(position++));
+        }
+        if (position < grouping.length()) {
+            position++;
+        }
+        formatted.append(digits[index]);
+        digitEnds[index] = formatted.length();
+        groupingPositions[index] = position;
+    }
+}
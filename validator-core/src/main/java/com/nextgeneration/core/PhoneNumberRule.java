@@ -0,0 +1,278 @@
+package com.nextgeneration.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rule for phone numbers. Text of one character or less is valid.
+ * <p>
+ * Without a PhoneRegion it is lenient, accepting exactly what android.util.Patterns.PHONE matches. With a PhoneRegion
+ * the number must be valid in that region's numbering plan, written either nationally or with a leading '+' and the
+ * region's country calling code. Groups of digits may be split by one space, hyphen or dot, and one group may be
+ * wrapped in parentheses, such as "(02) 9876 5432" or "+1 (555) 123-4567".
+ * <p>
+ * Neither mode uses regular expressions: text is read once through a precomputed DFA or digit by digit, in O(n) and
+ * without allocating.
+ */
+public class PhoneNumberRule implements Rule {
+
+    /**
+     * Regular expression the lenient DFA is equivalent to, kept for reference and comparison.
+     */
+    public static final String PHONE_PATTERN =
+            "(\\+[0-9]+[\\- \\.]*)?" +
+            "(\\([0-9]+\\)[\\- \\.]*)?" +
+            "([0-9][0-9\\- \\.]+[0-9])";
+
+    private static final int DIGIT = 0;
+    private static final int SEPARATOR = 1;
+    private static final int PLUS = 2;
+    private static final int OPEN_PARENTHESIS = 3;
+    private static final int CLOSE_PARENTHESIS = 4;
+    private static final int OTHER = 5;
+    private static final int CHAR_CLASS_COUNT = 6;
+
+    private static final int[] DFA;
+    private static final boolean[] ACCEPTING;
+
+    static {
+        // NFA of PHONE_PATTERN. States: 0 start, 1 '+', 2 country digits, 3 separators after them, 4 '(', 5 digits
+        // inside parentheses, 6 ')' and separators after it, 7 first digit of the number, 8 middle of the number,
+        // 9 last digit of the number (accepting).
+        int[][] nfa = new int[10][CHAR_CLASS_COUNT];
+        nfa[0][PLUS] = 1 << 1;
+        nfa[0][OPEN_PARENTHESIS] = 1 << 4;
+        nfa[0][DIGIT] = 1 << 7;
+        nfa[1][DIGIT] = 1 << 2;
+        nfa[2][DIGIT] = 1 << 2 | 1 << 7;
+        nfa[2][SEPARATOR] = 1 << 3;
+        nfa[2][OPEN_PARENTHESIS] = 1 << 4;
+        nfa[3][SEPARATOR] = 1 << 3;
+        nfa[3][OPEN_PARENTHESIS] = 1 << 4;
+        nfa[3][DIGIT] = 1 << 7;
+        nfa[4][DIGIT] = 1 << 5;
+        nfa[5][DIGIT] = 1 << 5;
+        nfa[5][CLOSE_PARENTHESIS] = 1 << 6;
+        nfa[6][SEPARATOR] = 1 << 6;
+        nfa[6][DIGIT] = 1 << 7;
+        nfa[7][DIGIT] = 1 << 8;
+        nfa[7][SEPARATOR] = 1 << 8;
+        nfa[8][DIGIT] = 1 << 8 | 1 << 9;
+        nfa[8][SEPARATOR] = 1 << 8;
+        nfa[9][DIGIT] = 1 << 8 | 1 << 9;
+        nfa[9][SEPARATOR] = 1 << 8;
+
+        // Subset construction, with DFA state 0 as the dead state and 1 as the start state.
+        Map<Integer, Integer> states = new HashMap<>();
+        int[] sets = new int[1 << 10];
+        states.put(0, 0);
+        states.put(1, 1);
+        sets[1] = 1;
+        int count = 2;
+        int[] dfa = new int[sets.length * CHAR_CLASS_COUNT];
+        for (int state = 1; state < count; state++) {
+            for (int charClass = 0; charClass < CHAR_CLASS_COUNT; charClass++) {
+                int next = 0;
+                for (int nfaState = 0; nfaState < nfa.length; nfaState++) {
+                    if ((sets[state] & (1 << nfaState)) != 0) {
+                        next |= nfa[nfaState][charClass];
+                    }
+                }
+                Integer nextState = states.get(next);
+                if (nextState == null) {
+                    nextState = count++;
+                    states.put(next, nextState);
+                    sets[nextState] = next;
+                }
+                dfa[state * CHAR_CLASS_COUNT + charClass] = nextState;
+            }
+        }
+        DFA = new int[count * CHAR_CLASS_COUNT];
+        System.arraycopy(dfa, 0, DFA, 0, DFA.length);
+        ACCEPTING = new boolean[count];
+        for (int state = 0; state < count; state++) {
+            ACCEPTING[state] = (sets[state] & (1 << 9)) != 0;
+        }
+    }
+
+    private final PhoneRegion region;
+
+    /**
+     * Lenient rule, equivalent to android.util.Patterns.PHONE.
+     */
+    public PhoneNumberRule() {
+        this((PhoneRegion) null);
+    }
+
+    /**
+     * @param regionCode ISO 3166 region code whose numbering plan numbers must follow.
+     * @throws IllegalArgumentException if the region is not supported.
+     */
+    public PhoneNumberRule(String regionCode) {
+        this(PhoneRegion.forRegion(regionCode));
+        if (region == null) {
+            throw new IllegalArgumentException("Unsupported region " + regionCode);
+        }
+    }
+
+    /**
+     * @param region Numbering plan numbers must follow, null to be lenient.
+     */
+    public PhoneNumberRule(PhoneRegion region) {
+        this.region = region;
+    }
+
+    public PhoneRegion getRegion() {
+        return region;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        if (text.length() <= 1) {
+            return ErrorCode.VALID;
+        }
+        boolean valid = region != null ? parse(text) != -1 : matches(text);
+        return valid ? ErrorCode.VALID : ErrorCode.PHONE_NUMBER_INVALID;
+    }
+
+    /**
+     * @param text
+     * @return The number in E.164 format such as "+61412345678", null if it is not valid in the region.
+     */
+    public String toE164(CharSequence text) {
+        if (region == null) {
+            throw new IllegalStateException("E.164 requires a PhoneRegion");
+        }
+        long parsed = parse(text);
+        if (parsed == -1) {
+            return null;
+        }
+        int digits = (int) (parsed >>> 56);
+        long number = parsed & ((1L << 56) - 1);
+        StringBuilder e164 = new StringBuilder(digits + 4).append('+').append(region.getCountryCode());
+        for (int i = digits - 1; i >= 0; i--) {
+            e164.append((char) ('0' + number / PhoneRegion.POWERS_OF_TEN[i] % 10));
+        }
+        return e164.toString();
+    }
+
+    /**
+     * @param text
+     * @return Whether the whole text matches android.util.Patterns.PHONE.
+     */
+    public static boolean matches(CharSequence text) {
+        int state = 1;
+        for (int i = 0, length = text.length(); i < length && state != 0; i++) {
+            state = DFA[state * CHAR_CLASS_COUNT + charClass(text.charAt(i))];
+        }
+        return ACCEPTING[state];
+    }
+
+    private static int charClass(char c) {
+        if (c >= '0' && c <= '9') {
+            return DIGIT;
+        }
+        switch (c) {
+            case ' ':
+            case '-':
+            case '.':
+                return SEPARATOR;
+            case '+':
+                return PLUS;
+            case '(':
+                return OPEN_PARENTHESIS;
+            case ')':
+                return CLOSE_PARENTHESIS;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Read the national significant number out of the text.
+     *
+     * @return The number with its digit count in the top byte, -1 if the text is not a valid number in the region.
+     */
+    private long parse(CharSequence text) {
+        int length = text.length();
+        while (length > 0 && text.charAt(length - 1) == ' ') {
+            length--;
+        }
+        int i = 0;
+        while (i < length && text.charAt(i) == ' ') {
+            i++;
+        }
+        boolean international = i < length && text.charAt(i) == '+';
+        if (international) {
+            i++;
+        }
+        long number = 0;
+        int digits = 0;
+        // One separator between groups, and at most one pair of parentheses around a group of digits.
+        int previous = international ? PLUS : SEPARATOR;
+        boolean open = false;
+        boolean closed = false;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            int charClass = charClass(c);
+            switch (charClass) {
+                case DIGIT:
+                    // E.164 allows 15 digits with the country code, so no valid number is longer with its prefix.
+                    if (++digits > PhoneRegion.MAX_DIGITS) {
+                        return -1;
+                    }
+                    number = number * 10 + (c - '0');
+                    break;
+                case SEPARATOR:
+                    if (open || previous != DIGIT && previous != CLOSE_PARENTHESIS) {
+                        return -1;
+                    }
+                    break;
+                case OPEN_PARENTHESIS:
+                    if (open || closed || previous == PLUS) {
+                        return -1;
+                    }
+                    open = true;
+                    break;
+                case CLOSE_PARENTHESIS:
+                    if (!open || previous != DIGIT) {
+                        return -1;
+                    }
+                    open = false;
+                    closed = true;
+                    break;
+                default:
+                    return -1;
+            }
+            previous = charClass;
+        }
+        if (previous != DIGIT || open) {
+            return -1;
+        }
+        int prefixDigits;
+        long prefix;
+        if (international) {
+            prefix = region.getCountryCode();
+            prefixDigits = prefix < 10 ? 1 : prefix < 100 ? 2 : 3;
+        } else {
+            prefixDigits = region.getNationalPrefix().length();
+            prefix = region.getNationalPrefixValue();
+            if (prefixDigits > 0 && (digits <= prefixDigits
+                    || number / PhoneRegion.POWERS_OF_TEN[digits - prefixDigits] != prefix)) {
+                // The national prefix is optional when written without it.
+                prefixDigits = 0;
+            }
+        }
+        if (prefixDigits > 0) {
+            if (digits <= prefixDigits || number / PhoneRegion.POWERS_OF_TEN[digits - prefixDigits] != prefix) {
+                return -1;
+            }
+            digits -= prefixDigits;
+            number %= PhoneRegion.POWERS_OF_TEN[digits];
+        }
+        if (!region.isValidNationalNumber(number, digits)) {
+            return -1;
+        }
+        return number | (long) digits << 56;
+    }
+}
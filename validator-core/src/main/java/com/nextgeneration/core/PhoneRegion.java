@@ -0,0 +1,184 @@
+package com.nextgeneration.core;
+
+/**
+ * Numbering plan of a region: its country calling code, national (trunk) prefix, and a table of leading digit
+ * prefixes of the national significant number, each with the number lengths it allows and how it is grouped.
+ * <p>
+ * The tables are kept as compact strings and only parsed the first time their region is requested. PhoneRegions are
+ * immutable and thread safe.
+ */
+public final class PhoneRegion {
+
+    static final int MAX_DIGITS = 15;
+    static final long[] POWERS_OF_TEN = new long[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private static final String[] REGION_CODES = {
+            "US", "CA", "GB", "AU", "NZ", "DE", "FR", "IN", "JP", "CN", "BR", "SG"
+    };
+    private static final int[] COUNTRY_CODES = {
+            1, 1, 44, 61, 64, 49, 33, 91, 81, 86, 55, 65
+    };
+    // National prefix, then ';' separated entries of comma separated prefixes / allowed lengths / grouping, where
+    // '#' in the grouping stands for a digit of the national significant number.
+    private static final String[] TABLES = {
+            "1;2,3,4,5,6,7,8,9/10/(###) ###-####",
+            "1;2,3,4,5,6,7,8,9/10/(###) ###-####",
+            "0;1/9,10/#### ######;2/10/## #### ####;3/10/### ### ####;7/10/#### ######;8/9,10/### ### ####",
+            "0;4/9/### ### ###;2,3,7,8/9/# #### ####;13/6/## ## ##;1300,1800/10/#### ### ###",
+            "0;2/8,9,10/## ### ####;3,4,6,7,9/8/# ### ####;800/9/### ### ###",
+            "0;15,16,17/10,11/### ########;2,3,4,5,6,7,8,9/6,7,8,9,10,11/#### #######",
+            "0;1,2,3,4,5,6,7,8,9/9/# ## ## ## ##",
+            "0;6,7,8,9/10/##### #####;1,2,3,4,5/10/#### ######",
+            "0;70,80,90/10/## #### ####;3,6/9/# #### ####;1,2,4,5,7,8,9/9/## ### ####",
+            "0;13,14,15,16,17,18,19/11/### #### ####;10,2/10/## #### ####;3,4,5,6,7,8,9/10,11/### #### ####",
+            "0;1,2,3,4,5,6,7,8,9/10,11/## #####-####",
+            ";6,8,9/8/#### ####"
+    };
+    private static final PhoneRegion[] REGIONS = new PhoneRegion[REGION_CODES.length];
+
+    private final String regionCode;
+    private final int countryCode;
+    private final String nationalPrefix;
+    private final long nationalPrefixValue;
+    private final long[] prefixes;
+    private final int[] prefixDigits;
+    private final int[] lengths;
+    private final String[] groupings;
+    private final int maxPrefixDigits;
+
+    private PhoneRegion(String regionCode, int countryCode, String table) {
+        this.regionCode = regionCode;
+        this.countryCode = countryCode;
+        String[] entries = table.split(";");
+        this.nationalPrefix = entries[0];
+        this.nationalPrefixValue = nationalPrefix.length() == 0 ? 0 : Long.parseLong(nationalPrefix);
+        int count = 0;
+        for (int i = 1; i < entries.length; i++) {
+            count += entries[i].substring(0, entries[i].indexOf('/')).split(",").length;
+        }
+        this.prefixes = new long[count];
+        this.prefixDigits = new int[count];
+        this.lengths = new int[count];
+        this.groupings = new String[count];
+        int index = 0;
+        int maxPrefixDigits = 0;
+        for (int i = 1; i < entries.length; i++) {
+            String[] fields = entries[i].split("/");
+            int lengthMask = 0;
+            for (String length : fields[1].split(",")) {
+                lengthMask |= 1 << Integer.parseInt(length);
+            }
+            for (String prefix : fields[0].split(",")) {
+                prefixes[index] = Long.parseLong(prefix);
+                prefixDigits[index] = prefix.length();
+                lengths[index] = lengthMask;
+                groupings[index] = fields[2];
+                maxPrefixDigits = Math.max(maxPrefixDigits, prefix.length());
+                index++;
+            }
+        }
+        this.maxPrefixDigits = maxPrefixDigits;
+    }
+
+    /**
+     * @param regionCode ISO 3166 region code, such as "AU".
+     * @return PhoneRegion, null if the region is not supported.
+     */
+    public static PhoneRegion forRegion(String regionCode) {
+        for (int i = 0; i < REGION_CODES.length; i++) {
+            if (REGION_CODES[i].equalsIgnoreCase(regionCode)) {
+                return get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param countryCode Country calling code, such as 61.
+     * @return First PhoneRegion using the country calling code, null if none is supported.
+     */
+    public static PhoneRegion forCountryCode(int countryCode) {
+        for (int i = 0; i < COUNTRY_CODES.length; i++) {
+            if (COUNTRY_CODES[i] == countryCode) {
+                return get(i);
+            }
+        }
+        return null;
+    }
+
+    private static PhoneRegion get(int index) {
+        PhoneRegion region = REGIONS[index];
+        if (region == null) {
+            // Racing threads may both parse the table, which is harmless as PhoneRegions are immutable.
+            region = new PhoneRegion(REGION_CODES[index], COUNTRY_CODES[index], TABLES[index]);
+            REGIONS[index] = region;
+        }
+        return region;
+    }
+
+    public String getRegionCode() {
+        return regionCode;
+    }
+
+    public int getCountryCode() {
+        return countryCode;
+    }
+
+    public String getNationalPrefix() {
+        return nationalPrefix;
+    }
+
+    long getNationalPrefixValue() {
+        return nationalPrefixValue;
+    }
+
+    int getMaxPrefixDigits() {
+        return maxPrefixDigits;
+    }
+
+    /**
+     * Index of the longest prefix entry matching the leading digits of a national significant number.
+     *
+     * @param number Leading digits of the national significant number.
+     * @param digits Number of digits in number.
+     * @return Entry index, -1 if none matches.
+     */
+    int findEntry(long number, int digits) {
+        int entry = -1;
+        for (int i = 0; i < prefixes.length; i++) {
+            int prefixLength = prefixDigits[i];
+            if (prefixLength <= digits && number / POWERS_OF_TEN[digits - prefixLength] == prefixes[i]
+                    && (entry == -1 || prefixLength > prefixDigits[entry])) {
+                entry = i;
+            }
+        }
+        return entry;
+    }
+
+    String getGrouping(int entry) {
+        return groupings[entry];
+    }
+
+    /**
+     * @param number National significant number.
+     * @param digits Number of digits in number.
+     * @return Whether a prefix entry matching the number allows its length.
+     */
+    public boolean isValidNationalNumber(long number, int digits) {
+        for (int i = 0; i < prefixes.length; i++) {
+            int prefixLength = prefixDigits[i];
+            if (prefixLength <= digits && (lengths[i] & (1 << digits)) != 0
+                    && number / POWERS_OF_TEN[digits - prefixLength] == prefixes[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,1057 @@
+package com.nextgeneration.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Regular expression compiled to a Thompson automaton, matched against the whole text by following every state at
+ * once instead of backtracking. Each character is read once, and takes at most two steps per instruction of the
+ * program, so matching time is linear in the length of the text whatever the pattern: (.*a){12}, which takes
+ * java.util.regex over a minute to reject 41 characters, takes a fraction of a millisecond. A step budget also bounds
+ * the total work, so a long pasted text cannot stall the main thread.
+ * <p>
+ * The syntax is that of java.util.regex, without the features that need backtracking or more than one pass:
+ * backreferences, lookaround, atomic groups, possessive quantifiers, inline flags and \Q...\E quoting. Groups do not
+ * capture and lazy quantifiers match like greedy ones, which changes nothing when matching the whole text. Character
+ * classes support ranges, escapes and \d \w \s, but not nesting or intersection. \p{..} supports the Unicode
+ * categories L, Ll, M, N, Nd, P, S, Z and C, classified by {@link UnicodeClass}, and the ASCII POSIX classes such as
+ * Alpha and Punct. Compiling anything else throws a PatternSyntaxException.
+ * <p>
+ * Regexes are immutable and thread safe. Each thread reuses its own match state, so matching does not allocate.
+ */
+public final class Regex {
+
+    public static final int MATCH = 0;
+    public static final int NO_MATCH = 1;
+    /**
+     * Matching took more steps than its budget, so whether the text matches is unknown.
+     */
+    public static final int BUDGET_EXCEEDED = 2;
+
+    /**
+     * Most instructions a compiled pattern may have, bounding the steps per character.
+     */
+    public static final int MAX_PROGRAM_SIZE = 10000;
+    /**
+     * Largest bound of a counted repetition such as {2,5}.
+     */
+    public static final int MAX_REPEAT = 1000;
+
+    private static final int CACHE_SIZE = 64;
+    /**
+     * Recently compiled Regexes by pattern, least recently used first.
+     */
+    private static final Map<String, Regex> CACHE = new LinkedHashMap<String, Regex>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Regex> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Instructions.
+    private static final int CHAR = 0;
+    private static final int SET = 1;
+    private static final int SPLIT = 2;
+    private static final int JUMP = 3;
+    private static final int ASSERT = 4;
+    private static final int ACCEPT = 5;
+
+    // Assertions.
+    private static final int BEGIN = 0;
+    private static final int END = 1;
+    private static final int WORD_BOUNDARY = 2;
+    private static final int NOT_WORD_BOUNDARY = 3;
+
+    private static final int ALL_UNICODE_CLASSES = (1 << UnicodeClass.COUNT) - 1;
+
+    private final String pattern;
+    private final int[] ops;
+    /**
+     * Code point of CHAR, index in sets of SET, first target of SPLIT and target of JUMP, kind of ASSERT.
+     */
+    private final int[] args;
+    /**
+     * Second target of SPLIT.
+     */
+    private final int[] targets;
+    private final CharSet[] sets;
+    private final ThreadLocal<Threads> threads = new ThreadLocal<Threads>() {
+        @Override
+        protected Threads initialValue() {
+            return new Threads(ops.length);
+        }
+    };
+
+    private Regex(String pattern, int[] ops, int[] args, int[] targets, CharSet[] sets) {
+        this.pattern = pattern;
+        this.ops = ops;
+        this.args = args;
+        this.targets = targets;
+        this.sets = sets;
+    }
+
+    /**
+     * Compile a pattern, or return it from the cache of recently compiled patterns.
+     *
+     * @throws PatternSyntaxException if the pattern is invalid or uses a feature this engine does not support.
+     */
+    public static Regex compile(String pattern) {
+        synchronized (CACHE) {
+            Regex regex = CACHE.get(pattern);
+            if (regex != null) {
+                return regex;
+            }
+        }
+        Regex regex = new Parser(pattern).compile();
+        synchronized (CACHE) {
+            CACHE.put(pattern, regex);
+        }
+        return regex;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return Number of instructions of the compiled program. Matching takes at most twice this many steps per
+     * character, plus once more at the end.
+     */
+    public int getProgramSize() {
+        return ops.length;
+    }
+
+    /**
+     * @return Whether the whole text matches, however many steps it takes.
+     */
+    public boolean matches(CharSequence text) {
+        return match(text, Integer.MAX_VALUE) == MATCH;
+    }
+
+    /**
+     * Match the whole text.
+     *
+     * @param text
+     * @param stepBudget Most steps to take, each following one instruction for one character.
+     * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #BUDGET_EXCEEDED}.
+     */
+    public int match(CharSequence text, int stepBudget) {
+        Threads threads = this.threads.get();
+        threads.steps = 0;
+        threads.budget = stepBudget;
+        int[] current = threads.current;
+        int[] next = threads.next;
+        int length = text.length();
+        int position = 0;
+        int c = codePointAt(text, 0, length);
+        threads.nextGeneration();
+        int size = addThread(threads, current, 0, 0, -1, c);
+        while (size > 0) {
+            int nextPosition = c < 0 ? position : position + Character.charCount(c);
+            int following = c < 0 ? -1 : codePointAt(text, nextPosition, length);
+            threads.nextGeneration();
+            int nextSize = 0;
+            for (int i = 0; i < size; i++) {
+                int pc = current[i];
+                if (++threads.steps > stepBudget) {
+                    return BUDGET_EXCEEDED;
+                }
+                switch (ops[pc]) {
+                    case CHAR:
+                        if (c == args[pc]) {
+                            nextSize = addThread(threads, next, nextSize, pc + 1, c, following);
+                        }
+                        break;
+                    case SET:
+                        if (c >= 0 && sets[args[pc]].contains(c)) {
+                            nextSize = addThread(threads, next, nextSize, pc + 1, c, following);
+                        }
+                        break;
+                    default:
+                        if (c < 0) {
+                            return MATCH;
+                        }
+                        break;
+                }
+                if (nextSize < 0) {
+                    return BUDGET_EXCEEDED;
+                }
+            }
+            if (c < 0) {
+                return NO_MATCH;
+            }
+            int[] swap = current;
+            current = next;
+            next = swap;
+            size = nextSize;
+            position = nextPosition;
+            c = following;
+        }
+        return size < 0 ? BUDGET_EXCEEDED : NO_MATCH;
+    }
+
+    /**
+     * Add the thread at pc to the list, following jumps, splits and assertions between the characters before and after
+     * the position.
+     *
+     * @return New size of the list, -1 if the step budget ran out.
+     */
+    private int addThread(Threads threads, int[] list, int size, int pc, int before, int after) {
+        int[] stack = threads.stack;
+        int[] marks = threads.marks;
+        int generation = threads.generation;
+        int top = 0;
+        stack[top++] = pc;
+        while (top > 0) {
+            pc = stack[--top];
+            if (marks[pc] == generation) {
+                continue;
+            }
+            marks[pc] = generation;
+            if (++threads.steps > threads.budget) {
+                return -1;
+            }
+            switch (ops[pc]) {
+                case JUMP:
+                    stack[top++] = args[pc];
+                    break;
+                case SPLIT:
+                    stack[top++] = targets[pc];
+                    stack[top++] = args[pc];
+                    break;
+                case ASSERT:
+                    if (holds(args[pc], before, after)) {
+                        stack[top++] = pc + 1;
+                    }
+                    break;
+                default:
+                    list[size++] = pc;
+                    break;
+            }
+        }
+        return size;
+    }
+
+    private static boolean holds(int assertion, int before, int after) {
+        switch (assertion) {
+            case BEGIN:
+                return before < 0;
+            case END:
+                return after < 0;
+            case WORD_BOUNDARY:
+                return isWord(before) != isWord(after);
+            default:
+                return isWord(before) == isWord(after);
+        }
+    }
+
+    private static boolean isWord(int c) {
+        if (c < 0) {
+            return false;
+        }
+        switch (UnicodeClass.ofCodePoint(c)) {
+            case UnicodeClass.UPPER:
+            case UnicodeClass.LOWER:
+            case UnicodeClass.LETTER:
+            case UnicodeClass.DIGIT:
+                return true;
+            default:
+                return c == '_';
+        }
+    }
+
+    /**
+     * @return Code point at index, reading a surrogate pair as one, -1 at the end.
+     */
+    private static int codePointAt(CharSequence text, int index, int length) {
+        if (index >= length) {
+            return -1;
+        }
+        char c = text.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(text.charAt(index + 1))) {
+            return Character.toCodePoint(c, text.charAt(index + 1));
+        }
+        return c;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * Lists of the threads at the current and next positions, reused by one thread between matches.
+     */
+    private static final class Threads {
+        final int[] current;
+        final int[] next;
+        /**
+         * Instructions still to follow while adding a thread. Each SPLIT pushes two, so at most twice the program.
+         */
+        final int[] stack;
+        /**
+         * Generation of the list each instruction was last added to.
+         */
+        final int[] marks;
+        int generation;
+        int steps;
+        int budget;
+
+        Threads(int programSize) {
+            current = new int[programSize];
+            next = new int[programSize];
+            stack = new int[2 * programSize + 1];
+            marks = new int[programSize];
+        }
+
+        void nextGeneration() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                generation = 1;
+            }
+        }
+    }
+
+    /**
+     * Set of code points: a bitmap of the ASCII ones, and sorted ranges and {@link UnicodeClass}es of the others.
+     */
+    private static final class CharSet {
+        private final long low;
+        private final long high;
+        /**
+         * First and last code point of each range.
+         */
+        private final int[] ranges;
+        private final int unicodeClasses;
+        private final boolean negated;
+
+        CharSet(long low, long high, int[] ranges, int unicodeClasses, boolean negated) {
+            this.low = low;
+            this.high = high;
+            this.ranges = ranges;
+            this.unicodeClasses = unicodeClasses;
+            this.negated = negated;
+        }
+
+        boolean contains(int c) {
+            if (c < 64) {
+                return (low & (1L << c)) != 0;
+            } else if (c < 128) {
+                return (high & (1L << c)) != 0;
+            }
+            boolean contains = (unicodeClasses & (1 << UnicodeClass.ofCodePoint(c))) != 0 || inRanges(c);
+            return contains != negated;
+        }
+
+        private boolean inRanges(int c) {
+            int from = 0;
+            int to = ranges.length / 2 - 1;
+            while (from <= to) {
+                int middle = (from + to) >>> 1;
+                if (c < ranges[2 * middle]) {
+                    to = middle - 1;
+                } else if (c > ranges[2 * middle + 1]) {
+                    from = middle + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Builds a CharSet. Predefined classes such as \W are added as their ASCII bitmap and UnicodeClasses.
+     */
+    private static final class CharSetBuilder {
+        private long low;
+        private long high;
+        private final List<int[]> ranges = new ArrayList<>();
+        private int unicodeClasses;
+
+        CharSetBuilder add(int first, int last) {
+            for (int c = first; c <= last && c < 128; c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << c;
+                }
+            }
+            if (last >= 128) {
+                ranges.add(new int[]{Math.max(first, 128), last});
+            }
+            return this;
+        }
+
+        CharSetBuilder add(CharSetBuilder other) {
+            low |= other.low;
+            high |= other.high;
+            ranges.addAll(other.ranges);
+            unicodeClasses |= other.unicodeClasses;
+            return this;
+        }
+
+        /**
+         * Add every character of the UnicodeClasses, ASCII or not.
+         */
+        CharSetBuilder addUnicodeClasses(int unicodeClasses) {
+            for (char c = 0; c < 128; c++) {
+                if ((unicodeClasses & (1 << UnicodeClass.of(c))) != 0) {
+                    add(c, c);
+                }
+            }
+            this.unicodeClasses |= unicodeClasses;
+            return this;
+        }
+
+        /**
+         * Complement of a predefined class, which has no ranges.
+         */
+        CharSetBuilder complement() {
+            low = ~low;
+            high = ~high;
+            unicodeClasses = ~unicodeClasses & ALL_UNICODE_CLASSES;
+            return this;
+        }
+
+        CharSet build(boolean negated) {
+            int[][] sorted = ranges.toArray(new int[ranges.size()][]);
+            Arrays.sort(sorted, new Comparator<int[]>() {
+                @Override
+                public int compare(int[] a, int[] b) {
+                    return a[0] < b[0] ? -1 : (a[0] == b[0] ? 0 : 1);
+                }
+            });
+            int[] merged = new int[2 * sorted.length];
+            int size = 0;
+            for (int[] range : sorted) {
+                if (size > 0 && range[0] <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], range[1]);
+                } else {
+                    merged[size++] = range[0];
+                    merged[size++] = range[1];
+                }
+            }
+            return new CharSet(negated ? ~low : low, negated ? ~high : high, Arrays.copyOf(merged, size),
+                    unicodeClasses, negated);
+        }
+    }
+
+    /**
+     * Parsed pattern, before it is compiled to instructions.
+     */
+    private static final class Node {
+        static final int LITERAL = 0;
+        static final int CLASS = 1;
+        static final int ASSERTION = 2;
+        static final int SEQUENCE = 3;
+        static final int ALTERNATION = 4;
+        static final int REPEAT = 5;
+
+        final int type;
+        /**
+         * Code point of a LITERAL, kind of an ASSERTION.
+         */
+        int value;
+        CharSet set;
+        final List<Node> children = new ArrayList<>();
+        int min;
+        /**
+         * Most repetitions, -1 for no limit.
+         */
+        int max;
+
+        Node(int type) {
+            this.type = type;
+        }
+    }
+
+    /**
+     * Recursive descent parser of a pattern, emitting the program of its syntax tree.
+     */
+    private static final class Parser {
+        private final String pattern;
+        private int index;
+        private final List<CharSet> sets = new ArrayList<>();
+        private int[] ops = new int[16];
+        private int[] args = new int[16];
+        private int[] targets = new int[16];
+        private int size;
+
+        Parser(String pattern) {
+            this.pattern = pattern;
+        }
+
+        Regex compile() {
+            Node root = parseAlternation();
+            if (index < pattern.length()) {
+                throw error("Unmatched closing ')'", index);
+            }
+            emit(root);
+            emit(ACCEPT, 0, 0);
+            return new Regex(pattern, Arrays.copyOf(ops, size), Arrays.copyOf(args, size),
+                    Arrays.copyOf(targets, size), sets.toArray(new CharSet[sets.size()]));
+        }
+
+        private Node parseAlternation() {
+            Node first = parseSequence();
+            if (!consume('|')) {
+                return first;
+            }
+            Node alternation = new Node(Node.ALTERNATION);
+            alternation.children.add(first);
+            do {
+                alternation.children.add(parseSequence());
+            } while (consume('|'));
+            return alternation;
+        }
+
+        private Node parseSequence() {
+            Node sequence = new Node(Node.SEQUENCE);
+            while (index < pattern.length() && peek() != '|' && peek() != ')') {
+                sequence.children.add(parseQuantifier(parseAtom()));
+            }
+            return sequence.children.size() == 1 ? sequence.children.get(0) : sequence;
+        }
+
+        private Node parseQuantifier(Node atom) {
+            if (index >= pattern.length()) {
+                return atom;
+            }
+            int start = index;
+            int min;
+            int max;
+            if (consume('*')) {
+                min = 0;
+                max = -1;
+            } else if (consume('+')) {
+                min = 1;
+                max = -1;
+            } else if (consume('?')) {
+                min = 0;
+                max = 1;
+            } else if (consume('{')) {
+                min = parseNumber();
+                max = min;
+                if (consume(',')) {
+                    max = index < pattern.length() && peek() == '}' ? -1 : parseNumber();
+                }
+                if (!consume('}')) {
+                    throw error("Unclosed counted closure", index);
+                }
+                if (max != -1 && max < min) {
+                    throw error("Illegal repetition range", start);
+                }
+            } else {
+                return atom;
+            }
+            if (consume('+')) {
+                throw error("Possessive quantifiers are not supported", index - 1);
+            }
+            // Lazy quantifiers accept the same whole texts.
+            consume('?');
+            if (index < pattern.length() && (peek() == '*' || peek() == '+' || peek() == '?' || peek() == '{')) {
+                throw error("Dangling meta character '" + pattern.charAt(index) + "'", index);
+            }
+            Node repeat = new Node(Node.REPEAT);
+            repeat.children.add(atom);
+            repeat.min = min;
+            repeat.max = max;
+            return repeat;
+        }
+
+        private int parseNumber() {
+            int start = index;
+            int number = 0;
+            while (index < pattern.length() && peek() >= '0' && peek() <= '9') {
+                number = number * 10 + pattern.charAt(index++) - '0';
+                if (number > MAX_REPEAT) {
+                    throw error("Repetitions are limited to " + MAX_REPEAT, start);
+                }
+            }
+            if (index == start) {
+                throw error("Illegal repetition", start);
+            }
+            return number;
+        }
+
+        private Node parseAtom() {
+            int start = index;
+            int c = next();
+            switch (c) {
+                case '(':
+                    if (consume('?')) {
+                        if (consume(':')) {
+                            // Non-capturing group.
+                        } else if (index + 1 < pattern.length() && peek() == '<'
+                                && Character.isLetter(pattern.charAt(index + 1))) {
+                            // Named group, which does not capture either.
+                            int close = pattern.indexOf('>', index);
+                            if (close < 0) {
+                                throw error("Named capturing group is missing trailing '>'", index);
+                            }
+                            index = close + 1;
+                        } else {
+                            throw error("Lookaround, atomic groups and inline flags are not supported", start);
+                        }
+                    }
+                    Node group = parseAlternation();
+                    if (!consume(')')) {
+                        throw error("Unclosed group", pattern.length());
+                    }
+                    return group;
+                case '[':
+                    return set(parseClass());
+                case '.':
+                    return set(new CharSetBuilder().add('\n', '\n').add('\r', '\r').add(0x85, 0x85)
+                            .add(0x2028, 0x2029).build(true));
+                case '^':
+                    return assertion(BEGIN);
+                case '$':
+                    return assertion(END);
+                case '\\':
+                    return parseEscape();
+                case '*':
+                case '+':
+                case '?':
+                    throw error("Dangling meta character '" + (char) c + "'", start);
+                case '{':
+                    throw error("Illegal repetition", start);
+                default:
+                    return literal(c);
+            }
+        }
+
+        private Node parseEscape() {
+            int start = index - 1;
+            if (index >= pattern.length()) {
+                throw error("Unexpected internal error", start);
+            }
+            int c = peek();
+            switch (c) {
+                case 'b':
+                    index++;
+                    return assertion(WORD_BOUNDARY);
+                case 'B':
+                    index++;
+                    return assertion(NOT_WORD_BOUNDARY);
+                case 'A':
+                    index++;
+                    return assertion(BEGIN);
+                case 'z':
+                    index++;
+                    return assertion(END);
+                default:
+                    CharSetBuilder predefined = parsePredefined();
+                    if (predefined != null) {
+                        return set(predefined.build(false));
+                    }
+                    return literal(parseEscapedChar());
+            }
+        }
+
+        /**
+         * @return Class of an escape such as \d or \p{L} after the backslash, null if it is not a class.
+         */
+        private CharSetBuilder parsePredefined() {
+            int start = index - 1;
+            char c = pattern.charAt(index);
+            CharSetBuilder builder = new CharSetBuilder();
+            switch (Character.toLowerCase(c)) {
+                case 'd':
+                    builder.add('0', '9');
+                    break;
+                case 'w':
+                    builder.add('a', 'z').add('A', 'Z').add('_', '_').add('0', '9');
+                    break;
+                case 's':
+                    builder.add(' ', ' ').add('\t', '\r');
+                    break;
+                case 'p':
+                    index++;
+                    String name;
+                    if (consume('{')) {
+                        int close = pattern.indexOf('}', index);
+                        if (close < 0) {
+                            throw error("Unclosed character family", pattern.length());
+                        }
+                        name = pattern.substring(index, close);
+                        index = close;
+                    } else if (index < pattern.length()) {
+                        name = pattern.substring(index, index + 1);
+                    } else {
+                        throw error("Illegal character family", start);
+                    }
+                    if (!addProperty(builder, name)) {
+                        throw error("Unsupported character family " + name, start);
+                    }
+                    break;
+                default:
+                    return null;
+            }
+            index++;
+            return Character.isUpperCase(c) ? builder.complement() : builder;
+        }
+
+        private static boolean addProperty(CharSetBuilder builder, String name) {
+            switch (name) {
+                case "L":
+                    builder.addUnicodeClasses(1 << UnicodeClass.UPPER | 1 << UnicodeClass.LOWER
+                            | 1 << UnicodeClass.LETTER);
+                    return true;
+                case "Ll":
+                    builder.addUnicodeClasses(1 << UnicodeClass.LOWER);
+                    return true;
+                case "M":
+                    builder.addUnicodeClasses(1 << UnicodeClass.MARK);
+                    return true;
+                case "N":
+                    builder.addUnicodeClasses(1 << UnicodeClass.DIGIT | 1 << UnicodeClass.NUMBER);
+                    return true;
+                case "Nd":
+                    builder.addUnicodeClasses(1 << UnicodeClass.DIGIT);
+                    return true;
+                case "P":
+                    builder.addUnicodeClasses(1 << UnicodeClass.PUNCTUATION);
+                    return true;
+                case "S":
+                    builder.addUnicodeClasses(1 << UnicodeClass.SYMBOL);
+                    return true;
+                case "Z":
+                    builder.addUnicodeClasses(1 << UnicodeClass.SPACE);
+                    return true;
+                case "C":
+                    builder.addUnicodeClasses(1 << UnicodeClass.OTHER | 1 << UnicodeClass.CONTROL);
+                    return true;
+                case "Lower":
+                    builder.add('a', 'z');
+                    return true;
+                case "Upper":
+                    builder.add('A', 'Z');
+                    return true;
+                case "ASCII":
+                    builder.add(0, 0x7f);
+                    return true;
+                case "Alpha":
+                    builder.add('a', 'z').add('A', 'Z');
+                    return true;
+                case "Digit":
+                    builder.add('0', '9');
+                    return true;
+                case "Alnum":
+                    builder.add('a', 'z').add('A', 'Z').add('0', '9');
+                    return true;
+                case "Punct":
+                    builder.add('!', '/').add(':', '@').add('[', '`').add('{', '~');
+                    return true;
+                case "Graph":
+                    builder.add('!', '~');
+                    return true;
+                case "Print":
+                    builder.add(' ', '~');
+                    return true;
+                case "Blank":
+                    builder.add(' ', ' ').add('\t', '\t');
+                    return true;
+                case "Cntrl":
+                    builder.add(0, 0x1f).add(0x7f, 0x7f);
+                    return true;
+                case "XDigit":
+                    builder.add('0', '9').add('a', 'f').add('A', 'F');
+                    return true;
+                case "Space":
+                    builder.add(' ', ' ').add('\t', '\r');
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * @return Code point of an escaped character after the backslash.
+         */
+        private int parseEscapedChar() {
+            int start = index - 1;
+            int c = next();
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 'a':
+                    return 0x07;
+                case 'e':
+                    return 0x1b;
+                case 'c':
+                    if (index >= pattern.length()) {
+                        throw error("Illegal control escape sequence", start);
+                    }
+                    return next() ^ 64;
+                case '0':
+                    int octal = 0;
+                    int digits = 0;
+                    while (digits < 3 && index < pattern.length() && peek() >= '0' && peek() <= '7'
+                            && octal * 8 + peek() - '0' <= 0377) {
+                        octal = octal * 8 + next() - '0';
+                        digits++;
+                    }
+                    if (digits == 0) {
+                        throw error("Illegal octal escape sequence", start);
+                    }
+                    return octal;
+                case 'x':
+                    if (consume('{')) {
+                        int close = pattern.indexOf('}', index);
+                        int codePoint = close < 0 ? -1 : parseHex(index, close);
+                        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+                            throw error("Illegal hexadecimal escape sequence", start);
+                        }
+                        index = close + 1;
+                        return codePoint;
+                    }
+                    return parseHexDigits(2, start);
+                case 'u':
+                    return parseHexDigits(4, start);
+                default:
+                    if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                        throw error("Unsupported escape sequence \\" + (char) c, start);
+                    }
+                    if (c >= '1' && c <= '9') {
+                        throw error("Backreferences are not supported", start);
+                    }
+                    return c;
+            }
+        }
+
+        private int parseHexDigits(int digits, int start) {
+            int codePoint = index + digits <= pattern.length() ? parseHex(index, index + digits) : -1;
+            if (codePoint < 0) {
+                throw error("Illegal hexadecimal escape sequence", start);
+            }
+            index += digits;
+            return codePoint;
+        }
+
+        /**
+         * @return Value of the hexadecimal digits between from and to, -1 if there are none or one is not a digit.
+         */
+        private int parseHex(int from, int to) {
+            if (from == to || to - from > 8) {
+                return -1;
+            }
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                int digit = Character.digit(pattern.charAt(i), 16);
+                if (digit < 0) {
+                    return -1;
+                }
+                value = value * 16 + digit;
+            }
+            return value > Integer.MAX_VALUE ? -1 : (int) value;
+        }
+
+        /**
+         * @return Class after its opening bracket.
+         */
+        private CharSet parseClass() {
+            int start = index - 1;
+            boolean negated = consume('^');
+            CharSetBuilder builder = new CharSetBuilder();
+            boolean first = true;
+            while (true) {
+                if (index >= pattern.length()) {
+                    throw error("Unclosed character class", pattern.length() - 1);
+                }
+                int c = next();
+                if (c == ']' && !first) {
+                    return builder.build(negated);
+                }
+                first = false;
+                if (c == '[' || (c == '&' && index < pattern.length() && peek() == '&')) {
+                    throw error("Nested classes and intersections are not supported", index - 1);
+                }
+                if (c == '\\') {
+                    if (index >= pattern.length()) {
+                        throw error("Unclosed character class", start);
+                    }
+                    CharSetBuilder predefined = parsePredefined();
+                    if (predefined != null) {
+                        builder.add(predefined);
+                        continue;
+                    }
+                    c = parseEscapedChar();
+                }
+                if (index + 1 < pattern.length() && peek() == '-' && pattern.charAt(index + 1) != ']') {
+                    int rangeStart = index - 1;
+                    index++;
+                    int last = next();
+                    if (last == '\\') {
+                        if (index < pattern.length() && parsePredefinedAhead()) {
+                            throw error("Illegal character range", rangeStart);
+                        }
+                        last = parseEscapedChar();
+                    } else if (last == '[') {
+                        throw error("Nested classes and intersections are not supported", index - 1);
+                    }
+                    if (last < c) {
+                        throw error("Illegal character range", rangeStart);
+                    }
+                    builder.add(c, last);
+                } else {
+                    builder.add(c, c);
+                }
+            }
+        }
+
+        private boolean parsePredefinedAhead() {
+            switch (peek()) {
+                case 'd':
+                case 'D':
+                case 'w':
+                case 'W':
+                case 's':
+                case 'S':
+                case 'p':
+                case 'P':
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        private void emit(Node node) {
+            switch (node.type) {
+                case Node.LITERAL:
+                    emit(CHAR, node.value, 0);
+                    break;
+                case Node.CLASS:
+                    sets.add(node.set);
+                    emit(SET, sets.size() - 1, 0);
+                    break;
+                case Node.ASSERTION:
+                    emit(ASSERT, node.value, 0);
+                    break;
+                case Node.SEQUENCE:
+                    for (Node child : node.children) {
+                        emit(child);
+                    }
+                    break;
+                case Node.ALTERNATION:
+                    int[] jumps = new int[node.children.size() - 1];
+                    for (int i = 0; i < jumps.length; i++) {
+                        int split = emit(SPLIT, size + 1, 0);
+                        emit(node.children.get(i));
+                        jumps[i] = emit(JUMP, 0, 0);
+                        targets[split] = size;
+                    }
+                    emit(node.children.get(jumps.length));
+                    for (int jump : jumps) {
+                        args[jump] = size;
+                    }
+                    break;
+                default:
+                    emitRepeat(node.children.get(0), node.min, node.max);
+                    break;
+            }
+        }
+
+        private void emitRepeat(Node child, int min, int max) {
+            for (int i = 1; i < min; i++) {
+                emit(child);
+            }
+            if (max < 0) {
+                if (min > 0) {
+                    // The last required copy loops: x+ is x then a split back to x.
+                    int loop = size;
+                    emit(child);
+                    emit(SPLIT, loop, size + 1);
+                } else {
+                    int split = emit(SPLIT, size + 1, 0);
+                    emit(child);
+                    emit(JUMP, split, 0);
+                    targets[split] = size;
+                }
+                return;
+            }
+            if (min > 0) {
+                emit(child);
+            }
+            // Each optional copy may skip to the end, x{1,3} being x(x(x)?)?.
+            int[] splits = new int[max - min];
+            for (int i = 0; i < splits.length; i++) {
+                splits[i] = emit(SPLIT, size + 1, 0);
+                emit(child);
+            }
+            for (int split : splits) {
+                targets[split] = size;
+            }
+        }
+
+        private int emit(int op, int arg, int target) {
+            if (size == MAX_PROGRAM_SIZE) {
+                throw error("Pattern compiles to more than " + MAX_PROGRAM_SIZE + " instructions", -1);
+            }
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, 2 * size);
+                args = Arrays.copyOf(args, 2 * size);
+                targets = Arrays.copyOf(targets, 2 * size);
+            }
+            ops[size] = op;
+            args[size] = arg;
+            targets[size] = target;
+            return size++;
+        }
+
+        private static Node literal(int c) {
+            Node node = new Node(Node.LITERAL);
+            node.value = c;
+            return node;
+        }
+
+        private static Node set(CharSet set) {
+            Node node = new Node(Node.CLASS);
+            node.set = set;
+            return node;
+        }
+
+        private static Node assertion(int kind) {
+            Node node = new Node(Node.ASSERTION);
+            node.value = kind;
+            return node;
+        }
+
+        private int peek() {
+            return pattern.charAt(index);
+        }
+
+        /**
+         * @return Code point at the index, which moves past it.
+         */
+        private int next() {
+            int c = pattern.codePointAt(index);
+            index += Character.charCount(c);
+            return c;
+        }
+
+        private boolean consume(char c) {
+            if (index < pattern.length() && pattern.charAt(index) == c) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private PatternSyntaxException error(String description, int errorIndex) {
+            return new PatternSyntaxException(description, pattern, errorIndex);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nextgeneration.core;
+
+/**
+ * Rule that fails when the text does not entirely match a {@link Regex}. Unlike a {@link PatternRule}, matching takes
+ * time linear in the text whatever the pattern, and stops after a step budget. Text that runs out of budget fails
+ * with {@link ErrorCode#VALIDATION_FAILED}, so a text too costly to check is never accepted.
+ */
+public class RegexRule implements Rule {
+
+    /**
+     * Steps allowed per validation by default: enough for a few thousand characters against a typical pattern, and a
+     * few milliseconds at worst.
+     */
+    public static final int DEFAULT_STEP_BUDGET = 1000000;
+
+    private final Regex regex;
+    private final int errorCode;
+    private final int stepBudget;
+
+    /**
+     * @param pattern   Pattern the whole text must match, compiled with {@link Regex#compile(String)}.
+     * @param errorCode ErrorCode returned when it does not.
+     * @throws java.util.regex.PatternSyntaxException if the pattern is invalid or not supported by Regex.
+     */
+    public RegexRule(String pattern, int errorCode) {
+        this(Regex.compile(pattern), errorCode, DEFAULT_STEP_BUDGET);
+    }
+
+    /**
+     * @param regex      Regex the whole text must match.
+     * @param errorCode  ErrorCode returned when it does not.
+     * @param stepBudget Most steps a validation may take before failing, see {@link Regex#match(CharSequence, int)}.
+     */
+    public RegexRule(Regex regex, int errorCode, int stepBudget) {
+        if (stepBudget <= 0) {
+            throw new IllegalArgumentException("Step budget must be positive: " + stepBudget);
+        }
+        this.regex = regex;
+        this.errorCode = errorCode;
+        this.stepBudget = stepBudget;
+    }
+
+    public Regex getRegex() {
+        return regex;
+    }
+
+    public int getStepBudget() {
+        return stepBudget;
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        switch (regex.match(text, stepBudget)) {
+            case Regex.MATCH:
+                return ErrorCode.VALID;
+            case Regex.NO_MATCH:
+                return errorCode;
+            default:
+                return ErrorCode.VALIDATION_FAILED;
+        }
+    }
+}
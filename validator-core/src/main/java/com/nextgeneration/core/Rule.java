@@ -0,0 +1,16 @@
+package com.nextgeneration.core;
+
+/**
+ * Validation logic independent of Android. Rules are stateless and thread safe, so a single instance can validate on
+ * many threads at once.
+ */
+public interface Rule {
+
+    /**
+     * Validate the text in place.
+     *
+     * @param text Text to validate.
+     * @return {@link ErrorCode#VALID}, or the ErrorCode of the first failed check.
+     */
+    int validate(CharSequence text);
+}
@@ -0,0 +1,305 @@
+package com.nextgeneration.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rule declared as a set of checks: length bounds, allowed and required characters, a prefix and suffix, and custom
+ * Rules. Building compiles the character checks into one table, so text is read once however many classes are
+ * required, instead of once per check as with a chain of regular expressions.
+ * <p>
+ * Checks run cheapest first, and the first failure is returned: length, prefix and suffix, the single scan for allowed
+ * and required characters, then custom Rules by increasing cost. Within the scan a disallowed character wins over a
+ * missing class, and missing classes are reported in the order they were required. Non-ASCII characters are looked up
+ * by their {@link UnicodeClass}, reading a surrogate pair as one code point.
+ * <p>
+ * The password requirements of {@link PasswordRule} are
+ * <pre>
+ * new RuleSet.Builder()
+ *         .setMinLength(8, ErrorCode.PASSWORD_MIN_LENGTH)
+ *         .require(CharClass.PASSWORD_UPPER, ErrorCode.PASSWORD_UPPER_CHAR)
+ *         .require(CharClass.PASSWORD_LOWER, ErrorCode.PASSWORD_LOWER_CHAR)
+ *         .require(CharClass.PASSWORD_DIGIT, ErrorCode.PASSWORD_DIGIT)
+ *         .require(CharClass.PASSWORD_SPECIAL, ErrorCode.PASSWORD_SPECIAL_CHAR)
+ *         .build();
+ * </pre>
+ * RuleSets are immutable and thread safe.
+ */
+public final class RuleSet implements Rule {
+
+    /**
+     * Most character classes one RuleSet can require.
+     */
+    public static final int MAX_REQUIRED_CLASSES = 31;
+
+    /**
+     * Cost of a custom Rule reading the text once, such as {@link EmailRule}.
+     */
+    public static final int COST_LINEAR = 10;
+    /**
+     * Cost of a custom Rule matching a regular expression, such as a {@link PatternRule} or {@link RegexRule}.
+     */
+    public static final int COST_PATTERN = 100;
+
+    private static final int DISALLOWED = 1 << 31;
+
+    private final boolean emptyValid;
+    private final int minLength;
+    private final int minLengthError;
+    private final int maxLength;
+    private final int maxLengthError;
+    private final String prefix;
+    private final int prefixError;
+    private final String suffix;
+    private final int suffixError;
+    private final boolean scan;
+    private final boolean checkAllowed;
+    private final int allowedError;
+    private final int requiredClasses;
+    private final int[] requiredErrors;
+    private final int[] asciiBits;
+    private final int[] unicodeBits;
+    private final Rule[] rules;
+
+    private RuleSet(Builder builder) {
+        this.emptyValid = builder.emptyValid;
+        this.minLength = builder.minLength;
+        this.minLengthError = builder.minLengthError;
+        this.maxLength = builder.maxLength;
+        this.maxLengthError = builder.maxLengthError;
+        this.prefix = builder.prefix;
+        this.prefixError = builder.prefixError;
+        this.suffix = builder.suffix;
+        this.suffixError = builder.suffixError;
+
+        // Each character maps to the bits of the required classes it satisfies, plus DISALLOWED if it is not allowed.
+        int required = builder.required.size();
+        int[] asciiBits = new int[128];
+        int[] unicodeBits = new int[UnicodeClass.COUNT];
+        int[] requiredErrors = new int[required];
+        for (int i = 0; i < required; i++) {
+            CharClass charClass = builder.required.get(i);
+            for (char c = 0; c < 128; c++) {
+                if (charClass.contains(c)) {
+                    asciiBits[c] |= 1 << i;
+                }
+            }
+            for (int unicodeClass = 0; unicodeClass < UnicodeClass.COUNT; unicodeClass++) {
+                if (charClass.containsUnicodeClass(unicodeClass)) {
+                    unicodeBits[unicodeClass] |= 1 << i;
+                }
+            }
+            requiredErrors[i] = builder.requiredErrors.get(i);
+        }
+        CharClass allowed = builder.allowed;
+        if (allowed != null) {
+            for (char c = 0; c < 128; c++) {
+                if (!allowed.contains(c)) {
+                    asciiBits[c] |= DISALLOWED;
+                }
+            }
+            for (int unicodeClass = 0; unicodeClass < UnicodeClass.COUNT; unicodeClass++) {
+                if (!allowed.containsUnicodeClass(unicodeClass)) {
+                    unicodeBits[unicodeClass] |= DISALLOWED;
+                }
+            }
+        }
+        this.checkAllowed = allowed != null && !allowed.equals(CharClass.ANY);
+        this.allowedError = builder.allowedError;
+        this.requiredClasses = required == 0 ? 0 : -1 >>> (32 - required);
+        this.requiredErrors = requiredErrors;
+        this.asciiBits = asciiBits;
+        this.unicodeBits = unicodeBits;
+        this.scan = checkAllowed || required > 0;
+
+        List<Check> checks = new ArrayList<>(builder.rules);
+        Collections.sort(checks, new Comparator<Check>() {
+            @Override
+            public int compare(Check a, Check b) {
+                // Stable, so Rules of equal cost run in the order they were added.
+                return a.cost < b.cost ? -1 : (a.cost == b.cost ? 0 : 1);
+            }
+        });
+        this.rules = new Rule[checks.size()];
+        for (int i = 0; i < rules.length; i++) {
+            rules[i] = checks.get(i).rule;
+        }
+    }
+
+    @Override
+    public int validate(CharSequence text) {
+        int length = text.length();
+        if (length == 0 && emptyValid) {
+            return ErrorCode.VALID;
+        }
+        if (length < minLength) {
+            return minLengthError;
+        }
+        if (length > maxLength) {
+            return maxLengthError;
+        }
+        if (prefix != null && !regionMatches(text, 0, prefix)) {
+            return prefixError;
+        }
+        if (suffix != null && !regionMatches(text, length - suffix.length(), suffix)) {
+            return suffixError;
+        }
+        if (scan) {
+            int error = scan(text, length);
+            if (error != ErrorCode.VALID) {
+                return error;
+            }
+        }
+        for (Rule rule : rules) {
+            int error = rule.validate(text);
+            if (error != ErrorCode.VALID) {
+                return error;
+            }
+        }
+        return ErrorCode.VALID;
+    }
+
+    private int scan(CharSequence text, int length) {
+        int[] asciiBits = this.asciiBits;
+        int missing = requiredClasses;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            int bits;
+            if (c < 128) {
+                bits = asciiBits[c];
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bits = unicodeBits[UnicodeClass.ofCodePoint(Character.toCodePoint(c, text.charAt(++i)))];
+            } else {
+                bits = unicodeBits[UnicodeClass.of(c)];
+            }
+            if (bits < 0) {
+                return allowedError;
+            }
+            missing &= ~bits;
+            if (missing == 0 && !checkAllowed) {
+                break;
+            }
+        }
+        if (missing == 0) {
+            return ErrorCode.VALID;
+        }
+        return requiredErrors[Integer.numberOfTrailingZeros(missing)];
+    }
+
+    private static boolean regionMatches(CharSequence text, int start, String region) {
+        if (start < 0 || start + region.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < region.length(); i++) {
+            if (text.charAt(start + i) != region.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Check {
+        private final Rule rule;
+        private final int cost;
+
+        private Check(Rule rule, int cost) {
+            this.rule = rule;
+            this.cost = cost;
+        }
+    }
+
+    public static class Builder {
+        private boolean emptyValid;
+        private int minLength;
+        private int minLengthError;
+        private int maxLength = Integer.MAX_VALUE;
+        private int maxLengthError;
+        private String prefix;
+        private int prefixError;
+        private String suffix;
+        private int suffixError;
+        private CharClass allowed;
+        private int allowedError;
+        private final List<CharClass> required = new ArrayList<>();
+        private final List<Integer> requiredErrors = new ArrayList<>();
+        private final List<Check> rules = new ArrayList<>();
+
+        /**
+         * @param emptyValid Whether empty text is valid without running any check, like the email and phone number
+         *                   Rules.
+         */
+        public Builder setEmptyValid(boolean emptyValid) {
+            this.emptyValid = emptyValid;
+            return this;
+        }
+
+        public Builder setMinLength(int minLength, int errorCode) {
+            this.minLength = minLength;
+            this.minLengthError = errorCode;
+            return this;
+        }
+
+        public Builder setMaxLength(int maxLength, int errorCode) {
+            this.maxLength = maxLength;
+            this.maxLengthError = errorCode;
+            return this;
+        }
+
+        public Builder setPrefix(String prefix, int errorCode) {
+            this.prefix = prefix;
+            this.prefixError = errorCode;
+            return this;
+        }
+
+        public Builder setSuffix(String suffix, int errorCode) {
+            this.suffix = suffix;
+            this.suffixError = errorCode;
+            return this;
+        }
+
+        /**
+         * @param allowed   Characters the text may contain, any by default.
+         * @param errorCode ErrorCode when it contains another character.
+         */
+        public Builder setAllowed(CharClass allowed, int errorCode) {
+            this.allowed = allowed;
+            this.allowedError = errorCode;
+            return this;
+        }
+
+        /**
+         * Require at least one character of a class.
+         *
+         * @throws IllegalStateException if {@link #MAX_REQUIRED_CLASSES} are already required.
+         */
+        public Builder require(CharClass charClass, int errorCode) {
+            if (required.size() == MAX_REQUIRED_CLASSES) {
+                throw new IllegalStateException("At most " + MAX_REQUIRED_CLASSES + " classes can be required");
+            }
+            required.add(charClass);
+            requiredErrors.add(errorCode);
+            return this;
+        }
+
+        /**
+         * Add a custom check, run after the built-in ones.
+         *
+         * @param rule Thread safe Rule.
+         * @param cost Relative cost, such as {@link #COST_LINEAR} or {@link #COST_PATTERN}. Cheaper Rules run first.
+         */
+        public Builder addRule(Rule rule, int cost) {
+            rules.add(new Check(rule, cost));
+            return this;
+        }
+
+        public RuleSet build() {
+            if (minLength > maxLength) {
+                throw new IllegalStateException("Min length " + minLength + " is above max length " + maxLength);
+            }
+            return new RuleSet(this);
+        }
+    }
+}
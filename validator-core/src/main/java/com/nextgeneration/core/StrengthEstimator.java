@@ -0,0 +1,461 @@
+package com.nextgeneration.core;
+
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * Estimates how many guesses a password would take to crack, after the approach of zxcvbn: the password is split into
+ * the cheapest sequence of dictionary words, keyboard walks, repeated characters, dates and brute forced characters,
+ * and the guesses of each part are multiplied, with a penalty for every extra part.
+ * <p>
+ * Estimates are incremental. The state after each character is kept, so {@link #update(CharSequence)} only works
+ * through the characters after the part shared with the previous text, which is a single character per keystroke.
+ * Dictionary words are found by walking a {@link PackedTrie} from every start position still alive, and each keyboard
+ * walk, run and date is extended from the state of the previous character. Updating does not allocate unless the
+ * text outgrows every text before it.
+ * <p>
+ * StrengthEstimators keep the state of one text and are not thread safe. Use one per field.
+ */
+public final class StrengthEstimator {
+
+    public static final int MAX_SCORE = 4;
+
+    /**
+     * log10 of the guesses added for each part after the first, so a sequence of many small parts is not cheaper than
+     * guessing the whole password at once.
+     */
+    private static final double PART_PENALTY = 4;
+    /**
+     * log10 of the guesses for a brute forced character.
+     */
+    private static final double BRUTEFORCE = 1;
+    private static final double REPEAT_GUESSES = 10;
+    private static final double DAYS = 365;
+    private static final int MIN_YEAR_SPACE = 20;
+    private static final int REFERENCE_YEAR = Calendar.getInstance().get(Calendar.YEAR);
+    /**
+     * Keys of a QWERTY keyboard, each character with and without shift, and the average number of neighbours of a key.
+     */
+    private static final double KEYBOARD_STARTING_POSITIONS = 94;
+    private static final double KEYBOARD_AVERAGE_DEGREE = 4.595;
+    private static final int MIN_WALK_LENGTH = 3;
+    private static final int MIN_REPEAT_LENGTH = 3;
+
+    private static final byte[] KEY_X = new byte[128];
+    private static final byte[] KEY_Y = new byte[128];
+    private static final boolean[] SHIFTED = new boolean[128];
+
+    static {
+        // Rows of a QWERTY keyboard, each offset by half a key from the row above, unshifted then shifted.
+        String[] rows = {
+                "`1234567890-=", "~!@#$%^&*()_+",
+                " qwertyuiop[]\\", " QWERTYUIOP{}|",
+                " asdfghjkl;'", " ASDFGHJKL:\"",
+                " zxcvbnm,./", " ZXCVBNM<>?"
+        };
+        Arrays.fill(KEY_X, (byte) -1);
+        for (int i = 0; i < rows.length; i++) {
+            String row = rows[i];
+            for (int x = 0; x < row.length(); x++) {
+                char c = row.charAt(x);
+                if (c != ' ') {
+                    KEY_X[c] = (byte) x;
+                    KEY_Y[c] = (byte) (i / 2);
+                    SHIFTED[c] = i % 2 == 1;
+                }
+            }
+        }
+    }
+
+    private final PackedTrie dictionary;
+    private char[] text = new char[0];
+    private int length;
+
+    // State after the first k characters, at index k.
+    private double[] bruteforceCost = {Double.POSITIVE_INFINITY};
+    private double[] matchCost = {0};
+    private int[] walkStart = {0};
+    private int[] walkTurns = {0};
+    private int[] walkDirection = {-1};
+    private int[] walkShifted = {0};
+    private int[] runStart = {0};
+
+    // Dictionary words being read, by start position and trie node.
+    private final int[] wordStarts;
+    private final int[] wordNodes;
+    private int wordCount;
+
+    /**
+     * Estimator with the default dictionary of common passwords and English words.
+     */
+    public StrengthEstimator() {
+        this(CommonWords.get());
+    }
+
+    /**
+     * @param dictionary Lower case words ranked by how common they are, such as common passwords and names.
+     */
+    public StrengthEstimator(PackedTrie dictionary) {
+        this.dictionary = dictionary;
+        this.wordStarts = new int[dictionary.getMaxDepth() + 1];
+        this.wordNodes = new int[dictionary.getMaxDepth() + 1];
+    }
+
+    public PackedTrie getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Estimate the strength of text, reusing the state of the part it shares with the previously estimated text.
+     *
+     * @param text Password.
+     * @return log10 of the estimated guesses, as {@link #getGuessesLog10()}.
+     */
+    public double update(CharSequence text) {
+        int newLength = text.length();
+        int common = 0;
+        int limit = Math.min(length, newLength);
+        while (common < limit && this.text[common] == text.charAt(common)) {
+            common++;
+        }
+        if (common < length) {
+            rewind(common);
+        }
+        ensureCapacity(newLength);
+        for (int i = common; i < newLength; i++) {
+            append(text.charAt(i));
+        }
+        return getGuessesLog10();
+    }
+
+    /**
+     * Forget the current text.
+     */
+    public void reset() {
+        rewind(0);
+    }
+
+    /**
+     * @return log10 of the guesses needed to find the current text, 0 for empty text.
+     */
+    public double getGuessesLog10() {
+        if (length == 0) {
+            return 0;
+        }
+        return Math.min(bruteforceCost[length], matchCost[length]) - PART_PENALTY;
+    }
+
+    /**
+     * @return Score of the current text from 0, too guessable, to {@link #MAX_SCORE}, very unguessable.
+     */
+    public int getScore() {
+        return score(getGuessesLog10());
+    }
+
+    /**
+     * Score of zxcvbn for a number of guesses: under 10^3 is 0, under 10^6 is 1, under 10^8 is 2, under 10^10 is 3,
+     * and 4 otherwise.
+     *
+     * @param guessesLog10 log10 of the guesses.
+     */
+    public static int score(double guessesLog10) {
+        if (guessesLog10 < 3) {
+            return 0;
+        } else if (guessesLog10 < 6) {
+            return 1;
+        } else if (guessesLog10 < 8) {
+            return 2;
+        } else if (guessesLog10 < 10) {
+            return 3;
+        }
+        return MAX_SCORE;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= text.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, Math.max(16, text.length * 2));
+        text = Arrays.copyOf(text, newCapacity);
+        bruteforceCost = Arrays.copyOf(bruteforceCost, newCapacity + 1);
+        matchCost = Arrays.copyOf(matchCost, newCapacity + 1);
+        walkStart = Arrays.copyOf(walkStart, newCapacity + 1);
+        walkTurns = Arrays.copyOf(walkTurns, newCapacity + 1);
+        walkDirection = Arrays.copyOf(walkDirection, newCapacity + 1);
+        walkShifted = Arrays.copyOf(walkShifted, newCapacity + 1);
+        runStart = Arrays.copyOf(runStart, newCapacity + 1);
+    }
+
+    /**
+     * Go back to the state after the first length characters. Only the dictionary words being read need to be walked
+     * again, from the start positions within the longest word.
+     */
+    private void rewind(int length) {
+        this.length = length;
+        wordCount = 0;
+        for (int start = Math.max(0, length - dictionary.getMaxDepth()); start < length; start++) {
+            int node = PackedTrie.ROOT;
+            for (int i = start; i < length && node != PackedTrie.NONE; i++) {
+                node = dictionary.child(node, toLowerCase(text[i]));
+            }
+            if (node != PackedTrie.NONE) {
+                wordStarts[wordCount] = start;
+                wordNodes[wordCount++] = node;
+            }
+        }
+    }
+
+    private void append(char c) {
+        int index = length;
+        int end = ++length;
+        text[index] = c;
+        bruteforceCost[end] = Math.min(bruteforceCost[index], matchCost[index] + PART_PENALTY) + BRUTEFORCE;
+        matchCost[end] = Double.POSITIVE_INFINITY;
+
+        // Dictionary words, continuing every word being read and starting a new one here.
+        char lowerCase = toLowerCase(c);
+        wordStarts[wordCount] = index;
+        wordNodes[wordCount++] = PackedTrie.ROOT;
+        int alive = 0;
+        for (int i = 0; i < wordCount; i++) {
+            int node = dictionary.child(wordNodes[i], lowerCase);
+            if (node == PackedTrie.NONE) {
+                continue;
+            }
+            int start = wordStarts[i];
+            wordStarts[alive] = start;
+            wordNodes[alive++] = node;
+            int rank = dictionary.getRank(node);
+            if (rank > 0) {
+                addMatch(start, end, Math.log10(rank * upperCaseVariations(start, end)));
+            }
+        }
+        wordCount = alive;
+
+        // Keyboard walk, continuing the previous one if this key is next to the previous key.
+        int direction = index > 0 ? direction(text[index - 1], c) : -1;
+        int shifted = c < 128 && SHIFTED[c] ? 1 : 0;
+        if (direction >= 0) {
+            walkStart[end] = walkStart[index];
+            if (walkStart[index] == index - 1) {
+                walkTurns[end] = 1;
+            } else {
+                walkTurns[end] = walkTurns[index] + (direction != walkDirection[index] ? 1 : 0);
+            }
+            walkShifted[end] = walkShifted[index] + shifted;
+        } else {
+            walkStart[end] = index;
+            walkTurns[end] = 0;
+            walkShifted[end] = shifted;
+        }
+        walkDirection[end] = direction;
+        int walkLength = end - walkStart[end];
+        if (walkLength >= MIN_WALK_LENGTH) {
+            addMatch(walkStart[end], end, walkGuessesLog10(walkLength, walkTurns[end], walkShifted[end]));
+        }
+
+        // Run of the same character.
+        runStart[end] = index > 0 && text[index - 1] == c ? runStart[index] : index;
+        int runLength = end - runStart[end];
+        if (runLength >= MIN_REPEAT_LENGTH) {
+            addMatch(runStart[end], end, Math.log10(REPEAT_GUESSES * runLength));
+        }
+
+        // Dates end with a digit, and are 4 to 10 characters long.
+        if (c >= '0' && c <= '9') {
+            for (int dateLength = 4; dateLength <= 10 && dateLength <= end; dateLength++) {
+                double guesses = dateGuesses(end - dateLength, end);
+                if (guesses > 0) {
+                    addMatch(end - dateLength, end, Math.log10(guesses));
+                }
+            }
+        }
+    }
+
+    private void addMatch(int start, int end, double guessesLog10) {
+        double cost = Math.min(bruteforceCost[start], matchCost[start]) + guessesLog10 + PART_PENALTY;
+        if (cost < matchCost[end]) {
+            matchCost[end] = cost;
+        }
+    }
+
+    /**
+     * Ways to capitalize a word: 1 in lower case, 2 if only the first or last letter or every letter is upper case,
+     * otherwise the number of ways to choose the upper case letters up to the smaller of either count.
+     */
+    private double upperCaseVariations(int start, int end) {
+        int upper = 0;
+        int lower = 0;
+        for (int i = start; i < end; i++) {
+            char c = text[i];
+            if (c >= 'A' && c <= 'Z') {
+                upper++;
+            } else if (c >= 'a' && c <= 'z') {
+                lower++;
+            }
+        }
+        if (upper == 0) {
+            return 1;
+        }
+        if (lower == 0 || (upper == 1 && (isUpperCase(text[start]) || isUpperCase(text[end - 1])))) {
+            return 2;
+        }
+        return choices(upper + lower, Math.min(upper, lower));
+    }
+
+    /**
+     * Guesses of zxcvbn for a keyboard walk: every walk up to its length and number of turns from any key, times the
+     * ways to choose its shifted keys.
+     */
+    private static double walkGuessesLog10(int length, int turns, int shifted) {
+        double guesses = 0;
+        for (int i = 2; i <= length; i++) {
+            int possibleTurns = Math.min(turns, i - 1);
+            double binomial = 1;
+            double degree = KEYBOARD_AVERAGE_DEGREE;
+            for (int j = 1; j <= possibleTurns; j++) {
+                // binomial is C(i - 1, j - 1).
+                guesses += binomial * KEYBOARD_STARTING_POSITIONS * degree;
+                binomial = binomial * (i - j) / j;
+                degree *= KEYBOARD_AVERAGE_DEGREE;
+            }
+        }
+        if (shifted > 0) {
+            int unshifted = length - shifted;
+            guesses *= unshifted == 0 ? 2 : choices(length, Math.min(shifted, unshifted));
+        }
+        return Math.log10(guesses);
+    }
+
+    /**
+     * @return Sum of C(n, i) for i from 1 to k.
+     */
+    private static double choices(int n, int k) {
+        double sum = 0;
+        double binomial = 1;
+        for (int i = 1; i <= k; i++) {
+            binomial = binomial * (n - i + 1) / i;
+            sum += binomial;
+        }
+        return sum;
+    }
+
+    /**
+     * @return Guesses for a date made of text from start to end: digits only as yyyy, ddmmyy, mmddyy, yymmdd,
+     * ddmmyyyy, mmddyyyy or yyyymmdd, or with two identical separators as d-m-y, m-d-y or y-m-d. 0 if it is not a date.
+     */
+    private double dateGuesses(int start, int end) {
+        int firstSeparator = -1;
+        int secondSeparator = -1;
+        for (int i = start; i < end; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                if (!isDateSeparator(c) || secondSeparator != -1) {
+                    return 0;
+                }
+                if (firstSeparator == -1) {
+                    firstSeparator = i;
+                } else {
+                    secondSeparator = i;
+                }
+            }
+        }
+        int length = end - start;
+        if (firstSeparator == -1) {
+            if (length == 4) {
+                int year = parse(start, end);
+                return year >= 1900 && year <= 2050 ? yearSpace(year) : 0;
+            }
+            int year = 0;
+            if (length == 6) {
+                year = toDate(parse(start, start + 2), parse(start + 2, start + 4), parse(start + 4, end), 2);
+                if (year == 0) {
+                    year = toDate(parse(start + 4, end), parse(start + 2, start + 4), parse(start, start + 2), 2);
+                }
+            } else if (length == 8) {
+                year = toDate(parse(start, start + 2), parse(start + 2, start + 4), parse(start + 4, end), 4);
+                if (year == 0) {
+                    year = toDate(parse(start + 6, end), parse(start + 4, start + 6), parse(start, start + 4), 4);
+                }
+            }
+            return year != 0 ? yearSpace(year) * DAYS : 0;
+        }
+        if (secondSeparator == -1 || text[firstSeparator] != text[secondSeparator]) {
+            return 0;
+        }
+        int first = firstSeparator - start;
+        int second = secondSeparator - firstSeparator - 1;
+        int third = end - secondSeparator - 1;
+        int year = 0;
+        if (first <= 2 && second >= 1 && second <= 2 && (third == 2 || third == 4)) {
+            year = toDate(parse(start, firstSeparator), parse(firstSeparator + 1, secondSeparator),
+                    parse(secondSeparator + 1, end), third);
+        } else if (first == 4 && second >= 1 && second <= 2 && third >= 1 && third <= 2) {
+            year = toDate(parse(secondSeparator + 1, end), parse(firstSeparator + 1, secondSeparator),
+                    parse(start, firstSeparator), first);
+        }
+        return year != 0 ? yearSpace(year) * DAYS * 4 : 0;
+    }
+
+    /**
+     * @param a          Day or month.
+     * @param b          Month or day.
+     * @param year       Year.
+     * @param yearDigits Digits of the year, 2 or 4.
+     * @return Four digit year if a, b and year form a date in either order of day and month, otherwise 0.
+     */
+    private static int toDate(int a, int b, int year, int yearDigits) {
+        boolean dayMonth = a >= 1 && a <= 31 && b >= 1 && b <= 12;
+        boolean monthDay = a >= 1 && a <= 12 && b >= 1 && b <= 31;
+        if (!dayMonth && !monthDay) {
+            return 0;
+        }
+        if (yearDigits == 2) {
+            return year > 50 ? 1900 + year : 2000 + year;
+        }
+        return year >= 1000 && year <= 2050 ? year : 0;
+    }
+
+    private static double yearSpace(int year) {
+        return Math.max(Math.abs(year - REFERENCE_YEAR), MIN_YEAR_SPACE);
+    }
+
+    private int parse(int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            value = value * 10 + text[i] - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDateSeparator(char c) {
+        return c == '/' || c == '-' || c == '.' || c == '_' || c == ' ' || c == '\\';
+    }
+
+    /**
+     * @return Direction from key a to neighbouring key b, clockwise from the left, -1 if they are not neighbours.
+     */
+    private static int direction(char a, char b) {
+        if (a >= 128 || b >= 128 || KEY_X[a] < 0 || KEY_X[b] < 0) {
+            return -1;
+        }
+        int dx = KEY_X[b] - KEY_X[a];
+        int dy = KEY_Y[b] - KEY_Y[a];
+        if (dy == 0) {
+            return dx == -1 ? 0 : (dx == 1 ? 3 : -1);
+        } else if (dy == -1) {
+            return dx == 0 ? 1 : (dx == 1 ? 2 : -1);
+        } else if (dy == 1) {
+            return dx == 0 ? 4 : (dx == -1 ? 5 : -1);
+        }
+        return -1;
+    }
+
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static char toLowerCase(char c) {
+        return isUpperCase(c) ? (char) (c + ('a' - 'A')) : c;
+    }
+}
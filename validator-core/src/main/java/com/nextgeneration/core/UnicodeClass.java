@@ -0,0 +1,278 @@
+package com.nextgeneration.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classifies characters by Unicode general category, grouped into the classes rules check: letter case, digits,
+ * punctuation, symbols and so on. Code points up to {@link #TABLE_END}, the BMP and the supplementary planes holding
+ * assigned letters, symbols and emoji, are looked up in a two level table: the block of 64 code points selects one of
+ * the few hundred distinct blocks, each packing a class into 4 bits, about 20 KB in all. Latin-1 characters, the common
+ * case, are read from their own table. The tables are decoded on first use from a run length encoded string, so they
+ * do not depend on the Unicode version of the device.
+ * <p>
+ * Classifying is at most three array reads without allocation, faster than {@link Character#getType(int)}.
+ */
+public final class UnicodeClass {
+
+    /**
+     * Unassigned and private use code points, and surrogates on their own.
+     */
+    public static final int OTHER = 0;
+    /**
+     * Upper case and title case letters, such as 'A' and '\u0414'.
+     */
+    public static final int UPPER = 1;
+    public static final int LOWER = 2;
+    /**
+     * Letters without case, such as those of Chinese, Arabic and Hebrew, and modifier letters.
+     */
+    public static final int LETTER = 3;
+    /**
+     * Combining marks, such as accents written as separate characters.
+     */
+    public static final int MARK = 4;
+    /**
+     * Decimal digits of any script, such as '7' and '\u0667'.
+     */
+    public static final int DIGIT = 5;
+    /**
+     * Other numbers, such as Roman numerals and fractions.
+     */
+    public static final int NUMBER = 6;
+    public static final int PUNCTUATION = 7;
+    /**
+     * Math, currency, modifier and other symbols, including emoji.
+     */
+    public static final int SYMBOL = 8;
+    public static final int SPACE = 9;
+    /**
+     * Control and format characters.
+     */
+    public static final int CONTROL = 10;
+    public static final int COUNT = 11;
+
+    /**
+     * Code points from here are classified without tables: planes 4 to 16 only hold tags, variation selectors and
+     * private use code points.
+     */
+    public static final int TABLE_END = 0x40000;
+
+    private static final int BLOCK_SHIFT = 6;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    private UnicodeClass() {
+    }
+
+    public static int of(char c) {
+        if (c < 256) {
+            return Tables.LATIN1[c];
+        }
+        int index = Tables.BLOCKS[c >>> BLOCK_SHIFT] + (c & (BLOCK_SIZE - 1));
+        return (Tables.CLASSES[index >>> 1] >>> ((index & 1) << 2)) & 0xf;
+    }
+
+    public static int ofCodePoint(int codePoint) {
+        if (codePoint < TABLE_END) {
+            if (codePoint < 256) {
+                return codePoint < 0 ? OTHER : Tables.LATIN1[codePoint];
+            }
+            int index = Tables.BLOCKS[codePoint >>> BLOCK_SHIFT] + (codePoint & (BLOCK_SIZE - 1));
+            return (Tables.CLASSES[index >>> 1] >>> ((index & 1) << 2)) & 0xf;
+        }
+        if (codePoint == 0xe0001 || (codePoint >= 0xe0020 && codePoint <= 0xe007f)) {
+            return CONTROL;
+        }
+        return codePoint >= 0xe0100 && codePoint <= 0xe01ef ? MARK : OTHER;
+    }
+
+    /**
+     * Class of the code point at index, reading a surrogate pair as one code point if it ends before end.
+     */
+    public static int ofCodePoint(CharSequence text, int index, int end) {
+        char c = text.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(text.charAt(index + 1))) {
+            return ofCodePoint(Character.toCodePoint(c, text.charAt(index + 1)));
+        }
+        return of(c);
+    }
+
+    /**
+     * @param type General category from {@link Character#getType(int)}.
+     * @return Class of the category.
+     */
+    static int fromType(int type) {
+        switch (type) {
+            case Character.UPPERCASE_LETTER:
+            case Character.TITLECASE_LETTER:
+                return UPPER;
+            case Character.LOWERCASE_LETTER:
+                return LOWER;
+            case Character.MODIFIER_LETTER:
+            case Character.OTHER_LETTER:
+                return LETTER;
+            case Character.NON_SPACING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+                return MARK;
+            case Character.DECIMAL_DIGIT_NUMBER:
+                return DIGIT;
+            case Character.LETTER_NUMBER:
+            case Character.OTHER_NUMBER:
+                return NUMBER;
+            case Character.CONNECTOR_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+            case Character.START_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.INITIAL_QUOTE_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.OTHER_PUNCTUATION:
+                return PUNCTUATION;
+            case Character.MATH_SYMBOL:
+            case Character.CURRENCY_SYMBOL:
+            case Character.MODIFIER_SYMBOL:
+            case Character.OTHER_SYMBOL:
+                return SYMBOL;
+            case Character.SPACE_SEPARATOR:
+            case Character.LINE_SEPARATOR:
+            case Character.PARAGRAPH_SEPARATOR:
+                return SPACE;
+            case Character.CONTROL:
+            case Character.FORMAT:
+                return CONTROL;
+            default:
+                return OTHER;
+        }
+    }
+
+    /**
+     * Tables decoded when a character is first classified.
+     */
+    private static final class Tables {
+        /**
+         * Offset in CLASSES of the classes of each block.
+         */
+        static final char[] BLOCKS = new char[TABLE_END >>> BLOCK_SHIFT];
+        /**
+         * Distinct blocks, two classes per byte, the even code point in the low 4 bits.
+         */
+        static final byte[] CLASSES;
+        /**
+         * Class of each Latin-1 character, one per byte.
+         */
+        static final byte[] LATIN1 = new byte[256];
+
+        static {
+            char[] block = new char[BLOCK_SIZE];
+            Map<String, Integer> offsets = new HashMap<>();
+            StringBuilder classes = new StringBuilder();
+            int codePoint = 0;
+            for (int i = 0; i < RUNS.length(); ) {
+                int charClass = RUNS.charAt(i++) - 'A';
+                int length = 0;
+                while (i < RUNS.length() && RUNS.charAt(i) <= '9') {
+                    length = length * 10 + RUNS.charAt(i++) - '0';
+                }
+                for (int end = codePoint + length; codePoint < end; codePoint++) {
+                    block[codePoint & (BLOCK_SIZE - 1)] = (char) charClass;
+                    if ((codePoint & (BLOCK_SIZE - 1)) == BLOCK_SIZE - 1) {
+                        String key = new String(block);
+                        Integer offset = offsets.get(key);
+                        if (offset == null) {
+                            offset = classes.length();
+                            offsets.put(key, offset);
+                            classes.append(key);
+                        }
+                        BLOCKS[codePoint >>> BLOCK_SHIFT] = (char) offset.intValue();
+                    }
+                }
+            }
+            CLASSES = new byte[classes.length() / 2];
+            for (int i = 0; i < CLASSES.length; i++) {
+                CLASSES[i] = (byte) (classes.charAt(2 * i) | classes.charAt(2 * i + 1) << 4);
+            }
+            for (int i = 0; i < LATIN1.length; i++) {
+                LATIN1[i] = (byte) classes.charAt(BLOCKS[i >>> BLOCK_SHIFT] + (i & (BLOCK_SIZE - 1)));
+            }
+        }
+    }
+
+    // Written by UnicodeTableWriter from the Unicode data of Java 17.0.9.
+    private static final String RUNS =
+            "K32J1H3I1H6I1H4F10H2I3H2B26H3I1H1I1C26H1I1H1I1K33J1H1I5H1I2D1H1I1K1I4G2I1C1H2I1G1D1H1G3H1B23I1B7C24" +
+            "I1C8B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C2B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C2B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B2C1B1C1B1C3B2C1B1C1B2C1B3C2B4C1B2C1B3C3B2C1B2C1B1C1B1C1B2C1" +
+            "B1C2B1C1B2C1B3C1B1C1B2C2D1B1C3D4B2C1B2C1B2C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C2B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C2B2C1B1C1B3C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C7B2C1B2C2B1C1B4C1B1C1B1C1B1C1B1C69D1C27D18I4D12I14D5I7D1I1D1" +
+            "I17E112B1C1B1C1D1I1B1C1A2D1C3H1B1A4I2B1H1B3A1B1A1B2C1B17A1B9C35B1C2B3C3B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C5B1C1I1B1C1B2C2B51C48B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1I1E7B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B2C1B1C1B1C1B1C1B1C1B1C1B1C2B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1A1B38A2D1H6C41H2A2I3A1E45H1E1H1E2H1E2H1E1A8D27A4D4H2A11K6I3" +
+            "H2I1H2I2E11H1K1A1H2D43E21F10H4D2E1D99H1D1E7K1I1E6D2E2I1E4D2F10D3I2D1H14A1K1D1E1D30E27A2D89E11D1A14" +
+            "F10D33E9D2I1H3D1A2E1I2D22E4D1E9D1E3D1E5A2H15A1D25E3A2H1A1D11A53D21A1D18A11E15K1E33D54E3D1E18D1E7D10" +
+            "E2H2F10H1D16E3A1D8A2D2A2D22A1D7A1D1A3D4A2E1D1E7A2E2A2E3D1A8E1A4D2A1D3E2A2F10D2I2G6I2D1H1E1A2E3A1D6A4" +
+            "D2A2D22A1D7A1D2A1D2A1D2A2E1A1E5A4E2A2E3A3E1A7D4A1D1A7F10E2D3E1H1A10E3A1D9A1D3A1D22A1D7A1D2A1D5A2E1D1" +
+            "E8A1E3A1E3A2D1A15D2E2A2F10H1I1A7D1E6A1E3A1D8A2D2A2D22A1D7A1D2A1D5A2E1D1E7A2E2A2E3A7E3A4D2A1D3E2A2F10" +
+            "I1D1G6A10E1D1A1D6A3D3A1D4A3D2A1D1A1D2A3D2A3D3A3D12A4E5A3E3A1E4A2D1A6E1A14F10G3I8A5E5D8A1D3A1D23A1D16" +
+            "A3D1E7A1E3A1E4A7E2A1D3A5D2E2A2F10A7H1G7I1D1E3H1D8A1D3A1D23A1D10A1D5A2E1D1E7A1E3A1E4A7E2A7D1A1D2E2A2" +
+            "F10A1D2A13E4D9A1D3A1D41E2D1E7A1E3A1E4D1I1A4D3E1G7D3E2A2F10G9I1D6A1E3A1D18A3D24A1D9A1D1A2D7A3E1A4E6A1" +
+            "E1A1E8A6F10A2E2H1A12D48E1D2E7A4I1D7E8H1F10H2A37D2A1D1A1D5A1D24A1D1A1D10E1D2E9D1A2D5A1D1A1E6A2F10A2D4" +
+            "A32D1I3H15I1H1I3E2I6F10G10I1E1I1E1I1E1H4E2D8A1D36A4E20H1E2D5E11A1E36A1I8E1I6A1I2H5I4H2A37D43E20D1F10" +
+            "H6D6E4D4E3D1E3D2E7D3E4D13E12D1E1F10E4I2B38A1B1A5B1A2C43H1D1C3D329A1D4A2D7A1D1A1D4A2D41A1D4A2D33A1D4" +
+            "A2D7A1D1A1D4A2D15A1D57A1D4A2D67A2E3H9G20A3D16I10A6B86A2C6A2H1D620I1H1D17J1D26H2A3D75H3G3D8A7D13A1D4" +
+            "E3A11D18E3H2A9D18E2A12D13A1D3A1E2A12D52E32H3D1H3I1D1E1A2F10A6G10A6H11E3K1A1F10A6D89A7D5E2D34E1D1A5" +
+            "D70A10D31A1E12A4E12A4I1A3H2F10D30A2D5A11D44A4D26A6F10G1A3I34D23E5A2H2D53E10A1E29A2E1F10A6F10A6H7D1H6" +
+            "A2E17A63E5D47E17D7A4F10H7I10E9I9A3E3D30E13D2F10D44E14A8H4D36E20A3H5F10A3D3F10D36H2C9A7B43A2B3H8A8E3" +
+            "H1E21D4E1D6E1D2E3D1A5C44D63C13D1C34D37E58A1E5B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C9B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C9B8C6A2B6A2C8B8C8B8C6A2B6A2C8A1B1A1B1A1B1A1B1C8B8C14A2C8B8" +
+            "C8B8C8B8C5A1C2B5I1C1I3C3A1C2B5I3C4A2C2B4A1I3C8B5I3A2C3A1C2B5I2A1J11K5H24J2K5J1H20I1H13I1H12J1K5A1K10" +
+            "G1D1A2G6I3H2D1G10I3H2A1D13A3I32A16E33A15I2B1I4B1I2C1B3C2B3C1I1B1I3B5I6B1I1B1I1B1I1B4I1C1B4C1D4C1I2C2" +
+            "B2I5B1C4I4C1I1G51B1C1G5I2A4I376H4I29H2I252A25I11A21G60I78G22I616H14G30I49H2I31H10I403H22I63H4I32H2" +
+            "I374A2I32A1I105B47A1C47A1B1C1B3C2B1C1B1C1B1C1B4C1B1C2B1C6D2B3C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C2I6B1C1B1C1E3B1C1A5H4G1H2C38A1C1A5C1A2D56" +
+            "A7D1H1A14E1D23A9D7A1D7A1D7A1D7A1D7A1D7A1D7A1D7A1E32H47D1H32I2H1A45I26A1I89A12I214A26I12A4J1H3I1D2G1" +
+            "H10I2H12I1G9E6H1D5I2G3D2H1I2A1D86A2E2I2D3H1D90H1D4A5D43A1D94A1I2G4I10D32I36A12D16I31A1G10I30G8I1G15" +
+            "I32G10I39G15I320D6592I64D20989A3D1165A3I55A9D46H2D269H3D16F10D2A20B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1" +
+            "C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1D1E4H1E10H1D1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1D2E2D70G10E2H6A8I23D9I2B1C1B1C1B1C1B1C1B1C1B1C1B1C3B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1" +
+            "B1C1D1C8B1C1B1C1B2C1B1C1B1C1B1C1B1C1D1I2B1C1B1C1D1B1C1B1C3B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B1C1B5" +
+            "C1B5C1B1C1B1C1B1C1B1C1B1C1A2B1C1B4C1B1C1A42B1C1D3C1D7E1D3E1D4E1D23E5I4E1A3G6I4A6D52H4A8E2D50E18A8H2" +
+            "F10A6E18D6H3D1H1D2E1F10D28E8H2D23E13A11H1D29A3E4D47E14H13A1D1F10A4H2D5E1D10F10D5A1D41E14A9D3E1D8E2A2" +
+            "F10A2H4D23I3D1E3D50E1D1E3D2E2D5E2D1E1D1A24D3H2D11E5H2D3E2A10D6A2D6A2D6A9D7A1D7A1C43I1D4C9D1I2A4C80" +
+            "D35E8H1E2A2F10A6D11172A12D23A4D49A8452D366A2D106A38C7A12C5A5D1E1D10I1D13A1D5A1D1A1D2A1D2A1D108I16A17" +
+            "D363H2A16D64A2D54A40D12I2A2E16H10A6E16H35A1H14I1H1I3A1H1I1H2A4D5A1D135A2K1A1H3I1H6I1H4F10H2I3H2B26H3" +
+            "I1H1I1C26H1I1H1I1H7D89A3D6A2D6A2D6A2D3A3I7A1I7A10K3I2A2D12A1D26A1D19A1D2A1D15A2D14A34D123A5H3A4G45A3" +
+            "I9G57I17G2I3A1I13A3I1A47I45E1A130D29A3D49A15E1G27A4D32G4A9D20G1D8G1A5D38E5A5D30A1H1D36A4D8H1G5A42B40" +
+            "C40D78A2F10A6B36A4C36A4D40A8D52A11H1A144D311A9D22A10D8A152D6A2D1A1D44A1D2A3D1A2D23A1H1G8D23I2G7D31A8" +
+            "G9A48D19A1D2A5G5D22G6A3H1D26A5H1A64D56A4G2D2G16A2G46D1E3A1E2A5E4D4A1D3A1D29A2E3A4E1G9A7H9A7D29G2H1" +
+            "D29G3A32D8I1D28E2A4G5H7A9D54A3H7D22A2G8D19A5G8D18A7H4A12G7A80D73A55B51A13C51A7G6D36E4A8F10A294G31A1" +
+            "D42A1E2H1A2D2A78D29G10D1A8D22E11G4H5A86D21G7A20D23A9E3D53E15H7A4G20F10A15E4D45E11H2K1H4A11K1A2D25A7" +
+            "F10A6E3D36E14A1F10H4D1E2D1A8D35E1H2D1A9E3D48E14D4H4E4H1E2F10D1H1D1H3A1G20A11D18A1D25E12H6E1A65D7A1D1" +
+            "A1D4A1D15A1D10H1A6D47E12A5F10A6E4A1D8A2D2A2D22A1D7A1D2A1D5A1E2D1E7A2E2A2E3A2D1A6E1A5D5E2A2E7A3E5A139" +
+            "D53E18D4H5F10H2A1H1E1D3A30D48E20D2H1D1A8F10A166D47E7A2E9H23D4E2A34D48E17H3D1A11F10A6H13A19D43E13D1A7" +
+            "F10A54D27A2E15A4F10G2H3I1A192D44E15H1A100B32C32F10G9A12D8A2D1A2D8A1D2A1D24E6A1E2A2E4D1E1D1E2H3A9F10" +
+            "A70D8A2D39E7A2E7D1H1D1E1A27D1E10D40E7D1E4H8E1A8D1E11D46E16H3D1H5A29D57A263D9A1D37E8A1E8D1H5A10F10G19" +
+            "A3H2D30A2E22A1E14A73D7A1D2A1D38E6A3E1A1E2A1E7D1E1A8F10A6D6A1D2A1D32E5A1E2A1E5D1A7F10A310D19E4H2A183" +
+            "D1A15G21I29A13H1D922A102G111A1H5A11D196A2748D1071A1K9A4039D583A8633D569A7D31A1F10A4H2A96D30A2E5H1A10" +
+            "D48E7H5I4D4H1I1A10F10A1G7A1D21A5D19A688B32C32G23H4A101D75A4E1D1E55A7E4D13A64D2H1D1E1A11E2A14D6136A8" +
+            "D1238A42D9A8951D287A49D3A17D4A8D396A2308D107A5D13A3D9A7D10A2I1E2H1K4A4956I246A10I39A2I60E5I3E6K8E8I2" +
+            "E7I30E4I59A23I66E3I1A154G20A12I87A9G25A135B26C26B26C7A1C18B26C26B1A1B2A2B1A2B2A2B4A1B8C4A1C1A1C7A1" +
+            "C11B26C26B2A1B4A2B8A1B7A1C26B2A1B4A1B5A1B1A3B7A1C26B26C26B26C26B26C26B26C26B26C26B26C28A2B25I1C25I1" +
+            "C6B25I1C25I1C6B25I1C25I1C6B25I1C25I1C6B25I1C25I1C6B1C1A2F50I512E55I4E50I8E1I14E1I2H5A15E5A1E15A1360" +
+            "E7A1E17A2E7A1E2A1E5A213D45A3E7D7A2F10A4D1I1A368D44E4F10A5I1A1280D197A2G9E7A41B34C34E7D1A4F10A4H2A785" +
+            "G59I1G3I1G4A76G45I1G15A194D4A1D27A1D2A1D1A2D1A1D10A1D4A1D1A1D1A6D1A4D1A1D1A1D1A1D3A1D2A1D1A2D1A1D1A1" +
+            "D1A1D1A1D1A1D2A1D1A2D4A1D7A1D4A1D4A1D1A1D10A1D17A5D3A1D5A1D17A52I2A270I44A4I100A12I15A2I15A1I15A1I37" +
+            "A10G13I161A56I29A13I44A4I9A7I2A14I6A154I984A8I13A3I13A3I116A12I89A7I12A20I12A4I56A8I10A6I40A8I30A2I2" +
+            "A78I121A1I82A1I135A12I14A2I5A3I3A5I7A9I25A7I7A9I3A13I7A41I147A1I55A37F10A1030D42718A34D4149A11D222A2" +
+            "D5762A14D7473A3103D542A1506D4939A60597";
+}
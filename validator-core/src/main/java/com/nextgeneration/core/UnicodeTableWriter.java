@@ -0,0 +1,61 @@
+package com.nextgeneration.core;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+
+/**
+ * Writes the run length encoded {@link UnicodeClass} of every code point up to {@link UnicodeClass#TABLE_END}, from
+ * the Unicode data of the running JVM, as the Java string literal pasted into UnicodeClass.RUNS. Each run is the
+ * letter 'A' plus its class followed by its length in decimal.
+ */
+public final class UnicodeTableWriter {
+
+    private static final int LINE_LENGTH = 100;
+
+    private UnicodeTableWriter() {
+    }
+
+    public static void write(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("    // Written by UnicodeTableWriter from the Unicode data of Java "
+                + System.getProperty("java.version") + ".");
+        StringBuilder line = new StringBuilder();
+        int runClass = UnicodeClass.fromType(Character.getType(0));
+        int runStart = 0;
+        for (int codePoint = 1; codePoint <= UnicodeClass.TABLE_END; codePoint++) {
+            int charClass = codePoint < UnicodeClass.TABLE_END
+                    ? UnicodeClass.fromType(Character.getType(codePoint)) : -1;
+            if (charClass != runClass) {
+                String run = (char) ('A' + runClass) + Integer.toString(codePoint - runStart);
+                if (line.length() + run.length() > LINE_LENGTH) {
+                    out.println("            \"" + line + "\" +");
+                    line.setLength(0);
+                }
+                line.append(run);
+                runClass = charClass;
+                runStart = codePoint;
+            }
+        }
+        out.println("            \"" + line + "\";");
+        out.flush();
+    }
+
+    /**
+     * @param args Output file, standard output if none.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            write(new OutputStreamWriter(System.out, "UTF-8"));
+            return;
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(args[0]), "UTF-8");
+        try {
+            write(writer);
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.nextgeneration.core;
+
+/**
+ * Immutable record of the results of a screen's fields, to display them again without validating, such as after a
+ * configuration change. Each field is one int packing its ErrorCode and flags. Only errors whose message cannot be
+ * found again from their code, such as the messages of custom Validators, keep a String.
+ * <p>
+ * Build one with {@link Builder}, or read one back from {@link #toByteArray()} with {@link #fromByteArray(byte[])}.
+ */
+public final class ValidationSnapshot {
+
+    public static final int FLAG_REQUIRED = 1;
+    public static final int FLAG_SHOW_ERROR = 1 << 1;
+
+    private static final int FLAG_MASK = 0xff;
+    private static final int CODE_SHIFT = 8;
+    private static final int MAGIC = 0x56534e31;
+
+    private final int[] fields;
+    // Null unless a field has a message.
+    private final String[] messages;
+
+    private ValidationSnapshot(int[] fields, String[] messages) {
+        this.fields = fields;
+        this.messages = messages;
+    }
+
+    /**
+     * @return Number of fields.
+     */
+    public int size() {
+        return fields.length;
+    }
+
+    /**
+     * @return ErrorCode of the field's last validation, {@link ErrorCode#VALID} if it succeeded or did not run.
+     */
+    public int getCode(int index) {
+        return fields[index] >> CODE_SHIFT;
+    }
+
+    public int getFlags(int index) {
+        return fields[index] & FLAG_MASK;
+    }
+
+    /**
+     * @return Message of the field's error, null if it is found from the ErrorCode.
+     */
+    public String getMessage(int index) {
+        if (index < 0 || index >= fields.length) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + fields.length);
+        }
+        return messages != null ? messages[index] : null;
+    }
+
+    /**
+     * @return Snapshot in a byte array, such as to write to a Parcel, read back with {@link #fromByteArray(byte[])}.
+     */
+    public byte[] toByteArray() {
+        int length = 12 + fields.length * 4;
+        int messageCount = 0;
+        if (messages != null) {
+            for (String message : messages) {
+                if (message != null) {
+                    length += 8 + message.length() * 2;
+                    messageCount++;
+                }
+            }
+        }
+        byte[] bytes = new byte[length];
+        int offset = putInt(bytes, 0, MAGIC);
+        offset = putInt(bytes, offset, fields.length);
+        for (int field : fields) {
+            offset = putInt(bytes, offset, field);
+        }
+        offset = putInt(bytes, offset, messageCount);
+        for (int i = 0; messageCount > 0 && i < messages.length; i++) {
+            String message = messages[i];
+            if (message != null) {
+                offset = putInt(bytes, offset, i);
+                offset = putInt(bytes, offset, message.length());
+                for (int j = 0; j < message.length(); j++) {
+                    char c = message.charAt(j);
+                    bytes[offset++] = (byte) (c >>> 8);
+                    bytes[offset++] = (byte) c;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @param bytes Snapshot written by {@link #toByteArray()}.
+     * @throws IllegalArgumentException if the bytes do not hold a snapshot.
+     */
+    public static ValidationSnapshot fromByteArray(byte[] bytes) {
+        if (bytes.length < 12 || getInt(bytes, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a validation snapshot");
+        }
+        int size = getInt(bytes, 4);
+        if (size < 0 || size > (bytes.length - 12) / 4) {
+            throw new IllegalArgumentException("Corrupt validation snapshot");
+        }
+        int[] fields = new int[size];
+        int offset = 8;
+        for (int i = 0; i < size; i++, offset += 4) {
+            fields[i] = getInt(bytes, offset);
+        }
+        int messageCount = getInt(bytes, offset);
+        offset += 4;
+        if (messageCount < 0 || messageCount > size) {
+            throw new IllegalArgumentException("Corrupt validation snapshot");
+        }
+        String[] messages = messageCount > 0 ? new String[size] : null;
+        for (int i = 0; i < messageCount; i++) {
+            if (offset + 8 > bytes.length) {
+                throw new IllegalArgumentException("Corrupt validation snapshot");
+            }
+            int index = getInt(bytes, offset);
+            int length = getInt(bytes, offset + 4);
+            offset += 8;
+            if (index < 0 || index >= size || length < 0 || length > (bytes.length - offset) / 2) {
+                throw new IllegalArgumentException("Corrupt validation snapshot");
+            }
+            char[] chars = new char[length];
+            for (int j = 0; j < length; j++, offset += 2) {
+                chars[j] = (char) ((bytes[offset] & 0xff) << 8 | (bytes[offset + 1] & 0xff));
+            }
+            messages[index] = new String(chars);
+        }
+        return new ValidationSnapshot(fields, messages);
+    }
+
+    private static int putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+        return offset + 4;
+    }
+
+    private static int getInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xff) << 24 | (bytes[offset + 1] & 0xff) << 16 | (bytes[offset + 2] & 0xff) << 8
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    public static class Builder {
+        private int[] fields = new int[16];
+        private String[] messages;
+        private int size;
+
+        /**
+         * Add the next field.
+         *
+         * @param code    ErrorCode of the field's last validation, {@link ErrorCode#VALID} if it succeeded or did not
+         *                run.
+         * @param flags   {@link #FLAG_REQUIRED} and {@link #FLAG_SHOW_ERROR} of the field.
+         * @param message Message of the error when it cannot be found from the code, null otherwise.
+         */
+        public Builder add(int code, int flags, String message) {
+            if ((flags & ~FLAG_MASK) != 0) {
+                throw new IllegalArgumentException("Unknown flags " + flags);
+            }
+            if (code != (code << CODE_SHIFT) >> CODE_SHIFT) {
+                throw new IllegalArgumentException("Code out of range " + code);
+            }
+            if (size == fields.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(fields, 0, grown, 0, size);
+                fields = grown;
+            }
+            if (message != null) {
+                if (messages == null) {
+                    messages = new String[fields.length];
+                } else if (messages.length < fields.length) {
+                    String[] grown = new String[fields.length];
+                    System.arraycopy(messages, 0, grown, 0, messages.length);
+                    messages = grown;
+                }
+                messages[size] = message;
+            }
+            fields[size++] = code << CODE_SHIFT | flags;
+            return this;
+        }
+
+        public ValidationSnapshot build() {
+            int[] fields = new int[size];
+            System.arraycopy(this.fields, 0, fields, 0, size);
+            String[] messages = null;
+            if (this.messages != null) {
+                messages = new String[size];
+                System.arraycopy(this.messages, 0, messages, 0, Math.min(size, this.messages.length));
+            }
+            return new ValidationSnapshot(fields, messages);
+        }
+    }
+}
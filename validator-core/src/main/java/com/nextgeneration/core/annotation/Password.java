@@ -0,0 +1,23 @@
+package com.nextgeneration.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The field must be a password meeting the requirements, checked with {@link com.nextgeneration.core.PasswordRule}.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Password {
+    int minLength() default 0;
+
+    boolean upper() default false;
+
+    boolean lower() default false;
+
+    boolean digit() default false;
+
+    boolean special() default false;
+}
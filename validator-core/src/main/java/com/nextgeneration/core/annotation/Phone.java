@@ -0,0 +1,18 @@
+package com.nextgeneration.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The field must be a phone number, checked with {@link com.nextgeneration.core.PhoneNumberRule}.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Phone {
+    /**
+     * ISO 3166 region code such as "AU" whose numbering plan the number must follow, empty to accept any number.
+     */
+    String region() default "";
+}
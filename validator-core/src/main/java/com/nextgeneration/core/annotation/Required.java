@@ -0,0 +1,15 @@
+package com.nextgeneration.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The field fails with {@link com.nextgeneration.core.ErrorCode#REQUIRED} when null or empty. Without it, a null or
+ * empty field is valid and its other checks are skipped.
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Required {
+}
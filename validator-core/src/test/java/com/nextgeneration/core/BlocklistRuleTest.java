@@ -0,0 +1,120 @@
+package com.nextgeneration.core;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BlocklistRuleTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void rejectsListedPasswords() throws IOException {
+        BlocklistRule rule = write("123456\npassword\n\nqwerty\npassword\n");
+        assertEquals(3, rule.size());
+        assertEquals(ErrorCode.PASSWORD_BREACHED, rule.validate("password"));
+        assertEquals(ErrorCode.PASSWORD_BREACHED, rule.validate(new StringBuilder("qwerty")));
+        assertEquals(ErrorCode.VALID, rule.validate("Password"));
+        assertEquals(ErrorCode.VALID, rule.validate("passwor"));
+        assertEquals(ErrorCode.VALID, rule.validate(""));
+    }
+
+    @Test
+    public void findsEveryPasswordOfALargeList() throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            lines.append("pw").append(i * 2).append('\n');
+        }
+        BlocklistRule rule = write(lines.toString());
+        assertEquals(50000, rule.size());
+        for (int i = 0; i < 100000; i++) {
+            assertEquals("pw" + i, i % 2 == 0, rule.contains("pw" + i));
+        }
+    }
+
+    @Test
+    public void readsEmptyList() throws IOException {
+        BlocklistRule rule = write("");
+        assertEquals(0, rule.size());
+        assertFalse(rule.contains("password"));
+    }
+
+    @Test
+    public void mapsBlocklistInsideLargerFile() throws IOException {
+        File blocklist = folder.newFile();
+        BlocklistWriter writer = new BlocklistWriter();
+        writer.add("letmein");
+        writer.write(blocklist);
+        byte[] bytes = Files.readAllBytes(blocklist.toPath());
+        File container = folder.newFile();
+        FileOutputStream out = new FileOutputStream(container);
+        try {
+            out.write(new byte[100]);
+            out.write(bytes);
+            out.write(new byte[7]);
+        } finally {
+            out.close();
+        }
+        RandomAccessFile file = new RandomAccessFile(container, "r");
+        try {
+            BlocklistRule rule = BlocklistRule.map(file.getChannel(), 100, bytes.length);
+            assertTrue(rule.contains("letmein"));
+            assertFalse(rule.contains("letmeout"));
+        } finally {
+            file.close();
+        }
+    }
+
+    @Test
+    public void rejectsFilesThatAreNotBlocklists() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "123456\npassword\n".getBytes("UTF-8"));
+        try {
+            BlocklistRule.open(file);
+            fail();
+        } catch (IOException expected) {
+        }
+        try {
+            new BlocklistRule(ByteBuffer.allocate(4));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedBlocklists() throws IOException {
+        File file = folder.newFile();
+        BlocklistWriter writer = new BlocklistWriter();
+        writer.add("123456");
+        writer.add("password");
+        writer.write(file);
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        try {
+            new BlocklistRule(ByteBuffer.wrap(bytes, 0, bytes.length - 1).slice());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private BlocklistRule write(String passwords) throws IOException {
+        File file = folder.newFile();
+        BlocklistWriter writer = new BlocklistWriter();
+        writer.addLines(new StringReader(passwords));
+        writer.write(file);
+        return BlocklistRule.open(file);
+    }
+}
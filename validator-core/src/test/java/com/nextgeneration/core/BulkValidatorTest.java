@@ -0,0 +1,93 @@
+package com.nextgeneration.core;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkValidatorTest {
+
+    private static final Rule RULE = new EmailRule();
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void matchesSerialValidation() {
+        CharSequence[] values = values(10000, 14);
+        // A batch size that is not a multiple of 64 is rounded up.
+        BulkValidator validator = new BulkValidator(pool, 100);
+        assertEquals(128, validator.getBatchSize());
+        assertMatchesSerial(values, 0, values.length, validator.validate(RULE, values));
+        assertMatchesSerial(values, 37, 9001, validator.validate(RULE, values, 37, 9001));
+    }
+
+    @Test
+    public void streamsIterables() {
+        CharSequence[] values = values(20000, 15);
+        List<CharSequence> list = new ArrayList<>(Arrays.asList(values));
+        assertMatchesSerial(values, 0, values.length, new BulkValidator(pool, 64).validate(RULE, list));
+    }
+
+    @Test
+    public void validatesNullAsEmpty() {
+        BulkResult result = new BulkValidator(pool, 64).validate(RULE, new CharSequence[]{null, "a@b.co", "x"});
+        assertEquals(3, result.size());
+        assertEquals(1, result.getFailureCount());
+        assertTrue(result.isValid(0));
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, result.getCode(2));
+    }
+
+    @Test
+    public void validatesEmptyColumn() {
+        BulkResult result = new BulkValidator(pool, 64).validate(RULE, new CharSequence[0]);
+        assertEquals(0, result.size());
+        assertTrue(result.isValid());
+        assertEquals(-1, result.nextFailure(0));
+    }
+
+    private static void assertMatchesSerial(CharSequence[] values, int from, int to, BulkResult result) {
+        assertEquals(to - from, result.size());
+        int failures = 0;
+        int nextFailure = result.nextFailure(0);
+        for (int row = 0; row < result.size(); row++) {
+            int code = RULE.validate(values[from + row]);
+            assertEquals(code, result.getCode(row));
+            assertEquals(code == ErrorCode.VALID, result.isValid(row));
+            if (code != ErrorCode.VALID) {
+                assertEquals(row, nextFailure);
+                assertEquals(code, result.getFailureCode(failures++));
+                nextFailure = result.nextFailure(row + 1);
+            }
+        }
+        assertEquals(-1, nextFailure);
+        assertEquals(failures, result.getFailureCount());
+        assertFalse(result.isValid());
+    }
+
+    private static CharSequence[] values(int count, long seed) {
+        Random random = new Random(seed);
+        CharSequence[] values = new CharSequence[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(3) == 0 ? "user" + i + "@@example.com" : "user" + i + "@example.com";
+        }
+        return values;
+    }
+}
@@ -0,0 +1,156 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class DomainSuggesterTest {
+
+    private static final List<String> DOMAINS = Arrays.asList("gmail.com", "yahoo.com", "hotmail.com", "aol.com",
+            "outlook.com", "icloud.com", "gmx.de", "mail.ru", "live.com", "yahoo.co.uk", "hotmail.co.uk", "msn.com",
+            "comcast.net", "gmail.co");
+
+    private final DomainSuggester suggester = new DomainSuggester(DOMAINS, DomainSuggester.DEFAULT_MAX_DISTANCE);
+
+    @Test
+    public void suggestsClosestDomain() {
+        assertEquals("john@gmail.com", suggester.suggest("john@gmial.com"));
+        assertEquals("john@hotmail.com", suggester.suggest("john@hotmial.com"));
+        assertEquals("John.Smith@yahoo.com", suggester.suggest("John.Smith@yaho.com"));
+        assertEquals("john@gmail.com", suggester.suggest("john@GMIAL.COM"));
+    }
+
+    @Test
+    public void prefersCommonDomainsOnTies() {
+        // One edit from both gmail.com and gmail.co.
+        assertEquals("gmail.com", suggester.suggestDomain("gmail.cm", 0, 8));
+    }
+
+    @Test
+    public void ignoresKnownAndDistantDomains() {
+        assertNull(suggester.suggest("john@gmail.com"));
+        assertNull(suggester.suggest("john@GMAIL.com"));
+        assertNull(suggester.suggest("john@example.org"));
+        assertNull(suggester.suggest("john@"));
+        assertNull(suggester.suggest("john"));
+        // Short domains only allow one edit.
+        assertNull(suggester.suggest("john@gnx.d"));
+    }
+
+    @Test
+    public void suggestsWithinRange() {
+        String text = "contact: john@gmial.com;";
+        assertEquals("gmail.com", suggester.suggestDomain(text, 14, 23));
+    }
+
+    @Test
+    public void handlesEmptyAndDuplicateLists() {
+        DomainSuggester empty = new DomainSuggester(Collections.<String>emptyList(), 2);
+        assertEquals(0, empty.size());
+        assertNull(empty.suggest("john@gmial.com"));
+        assertEquals(2, new DomainSuggester(Arrays.asList("gmail.com", "aol.com", "gmail.com"), 2).size());
+        try {
+            new DomainSuggester(DOMAINS, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void defaultSuggesterKnowsCommonDomains() {
+        DomainSuggester suggester = DomainSuggester.getDefault();
+        assertEquals("john@gmail.com", suggester.suggest("john@gmai.com"));
+        assertNull(suggester.suggest("john@gmail.com"));
+    }
+
+    @Test
+    public void matchesExhaustiveSearch() {
+        Random random = new Random(19);
+        String alphabet = "abcdeghilmnortuy.";
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.setLength(0);
+            text.append(DOMAINS.get(random.nextInt(DOMAINS.size())));
+            for (int edits = random.nextInt(4); edits > 0; edits--) {
+                int position = random.nextInt(text.length() + 1);
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                switch (random.nextInt(4)) {
+                    case 0:
+                        text.insert(position, c);
+                        break;
+                    case 1:
+                        if (position < text.length()) {
+                            text.deleteCharAt(position);
+                        }
+                        break;
+                    case 2:
+                        if (position < text.length()) {
+                            text.setCharAt(position, c);
+                        }
+                        break;
+                    default:
+                        if (position + 1 < text.length()) {
+                            char swapped = text.charAt(position);
+                            text.setCharAt(position, text.charAt(position + 1));
+                            text.setCharAt(position + 1, swapped);
+                        }
+                        break;
+                }
+            }
+            assertEquals(text.toString(), exhaustiveSuggestion(text.toString()),
+                    suggester.suggestDomain(text, 0, text.length()));
+        }
+    }
+
+    private static String exhaustiveSuggestion(String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        String lowerCase = text.toLowerCase();
+        int radius = text.length() < 6 ? 1 : DomainSuggester.DEFAULT_MAX_DISTANCE;
+        String best = null;
+        int bestTypos = Integer.MAX_VALUE;
+        for (String domain : DOMAINS) {
+            if (domain.equals(lowerCase)) {
+                return null;
+            }
+            if (distance(lowerCase, domain, false) <= radius) {
+                int typos = distance(lowerCase, domain, true);
+                if (typos < bestTypos) {
+                    best = domain;
+                    bestTypos = typos;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Levenshtein distance, or optimal string alignment distance counting adjacent swaps as one edit.
+     */
+    private static int distance(String a, String b, boolean swaps) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                    continue;
+                }
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (swaps && i > 1 && j > 1
+                        && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,121 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EmailRuleTest {
+
+    private static final Pattern EMAIL_ADDRESS = Pattern.compile(EmailRule.EMAIL_ADDRESS_PATTERN);
+    private static final String ALPHABET = "aZ09+._%-@.-\u00e9 ";
+
+    @Test
+    public void validatesAddresses() {
+        EmailRule rule = new EmailRule();
+        assertEquals(ErrorCode.VALID, rule.validate(""));
+        assertEquals(ErrorCode.VALID, rule.validate("jane.doe+news@mail.example.com"));
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, rule.validate("jane.doe@example"));
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, rule.validate("jane@@example.com"));
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, rule.validate("jane@example..com"));
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, rule.validate("jane@-example.com"));
+    }
+
+    @Test
+    public void matchesPatternAtLengthLimits() {
+        for (int local = 255; local <= 257; local++) {
+            for (int first = 64; first <= 66; first++) {
+                for (int label = 25; label <= 27; label++) {
+                    assertSameAsPattern(repeat('a', local) + "@" + repeat('b', first) + "." + repeat('c', label));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void matchesPatternOnRandomInput() {
+        Random random = new Random(6);
+        for (int i = 0; i < 200000; i++) {
+            assertSameAsPattern(i % 2 == 0 ? randomText(random) : mutate(randomAddress(random), random));
+        }
+    }
+
+    @Test
+    public void isLinearOnAdversarialInput() {
+        // Tens of thousands of labels overflow the stack of java.util.regex.
+        StringBuilder labels = new StringBuilder("a@b");
+        for (int i = 0; i < 50000; i++) {
+            labels.append(".c");
+        }
+        assertTrue(EmailRule.matches(labels));
+        labels.append('.');
+        assertFalse(EmailRule.matches(labels));
+        assertFalse(EmailRule.matches(repeat('a', 100000) + "@"));
+        assertFalse(EmailRule.matches("a@" + repeat('-', 100000)));
+    }
+
+    private static void assertSameAsPattern(CharSequence text) {
+        assertEquals(text.toString(), EMAIL_ADDRESS.matcher(text).matches(), EmailRule.matches(text));
+    }
+
+    private static String randomText(Random random) {
+        char[] chars = new char[random.nextInt(24)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+
+    private static StringBuilder randomAddress(Random random) {
+        StringBuilder address = new StringBuilder();
+        address.append(randomLabel(random, "a.+_%-", 1 + random.nextInt(random.nextBoolean() ? 8 : 260)));
+        address.append('@');
+        address.append(randomLabel(random, "bB9-", 1 + random.nextInt(random.nextBoolean() ? 8 : 68)));
+        for (int labels = 1 + random.nextInt(4); labels > 0; labels--) {
+            address.append('.');
+            address.append(randomLabel(random, "cC8-", 1 + random.nextInt(random.nextBoolean() ? 6 : 28)));
+        }
+        return address;
+    }
+
+    private static String randomLabel(Random random, String chars, int length) {
+        char[] label = new char[length];
+        for (int i = 0; i < length; i++) {
+            label[i] = chars.charAt(random.nextInt(chars.length()));
+        }
+        return new String(label);
+    }
+
+    /**
+     * Insert, delete or replace a few characters of the address, sometimes none.
+     */
+    private static String mutate(StringBuilder address, Random random) {
+        for (int mutations = random.nextInt(3); mutations > 0 && address.length() > 0; mutations--) {
+            int index = random.nextInt(address.length());
+            char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+            switch (random.nextInt(3)) {
+                case 0:
+                    address.insert(index, c);
+                    break;
+                case 1:
+                    address.deleteCharAt(index);
+                    break;
+                default:
+                    address.setCharAt(index, c);
+                    break;
+            }
+        }
+        return address.toString();
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
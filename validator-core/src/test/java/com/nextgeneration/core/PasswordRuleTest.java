@@ -0,0 +1,73 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class PasswordRuleTest {
+
+    private final PasswordRule rule = new PasswordRule.Builder()
+            .setMinLength(8)
+            .setHasUpperChar(true)
+            .setHasLowerChar(true)
+            .setHasDigit(true)
+            .setHasSpecialChar(true)
+            .build();
+
+    @Test
+    public void checksInOrder() {
+        assertEquals(ErrorCode.PASSWORD_MIN_LENGTH, rule.validate("Ab1!"));
+        assertEquals(ErrorCode.PASSWORD_UPPER_CHAR, rule.validate("abcdefg1!"));
+        assertEquals(ErrorCode.PASSWORD_LOWER_CHAR, rule.validate("ABCDEFG1!"));
+        assertEquals(ErrorCode.PASSWORD_DIGIT, rule.validate("Abcdefgh!"));
+        assertEquals(ErrorCode.PASSWORD_SPECIAL_CHAR, rule.validate("Abcdefgh1"));
+        assertEquals(ErrorCode.VALID, rule.validate("Abcdefg1!"));
+    }
+
+    @Test
+    public void emptyRuleAcceptsAnything() {
+        PasswordRule empty = new PasswordRule.Builder().build();
+        assertEquals(ErrorCode.VALID, empty.validate(""));
+        assertEquals(ErrorCode.VALID, empty.validate("a"));
+    }
+
+    @Test
+    public void classifiesUnicode() {
+        assertEquals(PasswordRule.UPPER_CHAR, PasswordRule.charClass('\u00c9'));
+        assertEquals(PasswordRule.LOWER_CHAR, PasswordRule.charClass('\u03b1'));
+        assertEquals(PasswordRule.DIGIT, PasswordRule.charClass('\u0663'));
+        assertEquals(PasswordRule.SPECIAL_CHAR, PasswordRule.charClass('\u20ac'));
+        assertEquals(PasswordRule.OTHER_CHAR, PasswordRule.charClass('\u4e2d'));
+        assertEquals(PasswordRule.OTHER_CHAR, PasswordRule.charClass(' '));
+        // An emoji outside the Basic Multilingual Plane is a symbol.
+        assertEquals(ErrorCode.VALID, rule.validate("Abcdefg1\ud83d\ude00"));
+    }
+
+    @Test
+    public void countsMatchValidateChars() {
+        String text = "Pa55\ud83d\ude00word";
+        int[] counts = new int[PasswordRule.CHAR_CLASS_COUNT];
+        PasswordRule.countChars(text, 0, text.length(), counts, 1);
+        assertEquals(Arrays.toString(new int[]{1, 5, 2, 1, 0}), Arrays.toString(counts));
+        assertEquals(rule.validateChars(text), rule.validateChars(counts));
+        PasswordRule.countChars(text, 0, text.length(), counts, -1);
+        assertEquals(Arrays.toString(new int[PasswordRule.CHAR_CLASS_COUNT]), Arrays.toString(counts));
+    }
+
+    @Test
+    public void blocklistRunsLast() {
+        Rule blocklist = new Rule() {
+            @Override
+            public int validate(CharSequence text) {
+                return text.toString().equals("Password1!") ? ErrorCode.PASSWORD_BREACHED : ErrorCode.VALID;
+            }
+        };
+        PasswordRule blocked = new PasswordRule.Builder().setMinLength(8).setHasDigit(true).setBlocklist(blocklist)
+                .build();
+        assertEquals(ErrorCode.PASSWORD_BREACHED, blocked.validate("Password1!"));
+        assertEquals(ErrorCode.PASSWORD_DIGIT, blocked.validate("Password!"));
+        assertEquals(ErrorCode.VALID, blocked.validate("Password2!"));
+    }
+}
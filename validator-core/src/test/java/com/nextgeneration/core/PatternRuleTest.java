@@ -0,0 +1,26 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+
+public class PatternRuleTest {
+
+    @Test
+    public void matchesWholeText() {
+        PatternRule rule = new PatternRule(Pattern.compile("[0-9]{4}"), ErrorCode.CUSTOM);
+        assertEquals(ErrorCode.VALID, rule.validate("2000"));
+        assertEquals(ErrorCode.CUSTOM, rule.validate("20000"));
+        assertEquals(ErrorCode.CUSTOM, rule.validate("a2000"));
+        assertEquals(ErrorCode.CUSTOM, rule.validate(""));
+    }
+
+    @Test
+    public void validatesCharSequences() {
+        PatternRule rule = new PatternRule(Pattern.compile("ab+"), ErrorCode.CUSTOM);
+        assertEquals(ErrorCode.VALID, rule.validate(new StringBuilder("abbb")));
+        assertEquals(ErrorCode.CUSTOM, rule.validate(new StringBuilder("ba")));
+    }
+}
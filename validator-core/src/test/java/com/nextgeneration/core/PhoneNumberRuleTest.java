@@ -0,0 +1,103 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PhoneNumberRuleTest {
+
+    private final PhoneNumberRule au = new PhoneNumberRule("AU");
+    private final PhoneNumberRule us = new PhoneNumberRule("US");
+
+    @Test
+    public void lenientMatchesAndroidPattern() {
+        PhoneNumberRule rule = new PhoneNumberRule();
+        assertEquals(ErrorCode.VALID, rule.validate("+61 (02) 9876-5432"));
+        assertEquals(ErrorCode.VALID, rule.validate("1"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, rule.validate("12a4"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, rule.validate("123-"));
+    }
+
+    @Test
+    public void acceptsNationalAndInternationalNumbers() {
+        assertEquals(ErrorCode.VALID, au.validate("0412 345 678"));
+        assertEquals(ErrorCode.VALID, au.validate("0412345678"));
+        assertEquals(ErrorCode.VALID, au.validate("+61 412 345 678"));
+        assertEquals(ErrorCode.VALID, au.validate("(02) 9876 5432"));
+        assertEquals(ErrorCode.VALID, au.validate(" 0412-345-678 "));
+        assertEquals(ErrorCode.VALID, us.validate("+1 (555) 123-4567"));
+        assertEquals(ErrorCode.VALID, us.validate("555.123.4567"));
+    }
+
+    @Test
+    public void rejectsMalformedGrouping() {
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("(02 9876 5432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("02) 9876 5432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("(02) (9876) 5432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("((02)) 9876 5432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("( 02) 9876 5432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("() 0298765432"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("02 98765432()"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("0412--345 678"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("-0412 345 678"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("0412 345 678-"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("+ 61 412 345 678"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("+(61) 412 345 678"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("++61 412 345 678"));
+    }
+
+    @Test
+    public void rejectsNumbersOutsideTheNumberingPlan() {
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("0412 345 67"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("+64 412 345 678"));
+        assertEquals(ErrorCode.PHONE_NUMBER_INVALID, au.validate("0412 345 678 9"));
+    }
+
+    @Test
+    public void rejectsOverLengthNumbersInEveryRegion() {
+        String[] regionCodes = {"US", "CA", "GB", "AU", "NZ", "DE", "FR", "IN", "JP", "CN", "BR", "SG"};
+        String[] numbers = {"0123456789012345", "01234567890123456", "12345678901234567", "1 2345 6789 0123 4567"};
+        for (String regionCode : regionCodes) {
+            PhoneNumberRule rule = new PhoneNumberRule(regionCode);
+            String international = "+" + rule.getRegion().getCountryCode() + " 2345678901234567";
+            assertEquals(regionCode, ErrorCode.PHONE_NUMBER_INVALID, rule.validate(international));
+            assertNull(regionCode, rule.toE164(international));
+            for (String number : numbers) {
+                assertEquals(regionCode + " " + number, ErrorCode.PHONE_NUMBER_INVALID, rule.validate(number));
+                assertNull(regionCode + " " + number, rule.toE164(number));
+            }
+        }
+    }
+
+    @Test
+    public void convertsToE164() {
+        assertEquals("+61412345678", au.toE164("0412 345 678"));
+        assertEquals("+61298765432", au.toE164("(02) 9876 5432"));
+        assertEquals("+15551234567", us.toE164("+1 (555) 123-4567"));
+        assertNull(au.toE164("0412 345 6789"));
+    }
+
+    @Test
+    public void formatsAsYouType() {
+        PhoneNumberFormatter formatter = new PhoneNumberFormatter(PhoneRegion.forRegion("AU"));
+        for (char c : "0412345678".toCharArray()) {
+            formatter.input(c);
+        }
+        assertEquals("0412 345 678", formatter.getFormatted().toString());
+        assertEquals("+61412345678", formatter.getE164());
+        formatter.deleteLast();
+        assertEquals("0412 345 67", formatter.getFormatted().toString());
+        formatter.setText("+1 555 123 4567");
+        assertEquals("+1 (555) 123-4567", formatter.getFormatted().toString());
+    }
+
+    @Test
+    public void formattedNumbersAreValid() {
+        PhoneNumberFormatter formatter = new PhoneNumberFormatter(PhoneRegion.forRegion("US"));
+        formatter.setText("5551234567");
+        assertEquals(ErrorCode.VALID, us.validate(formatter.getFormatted()));
+        formatter.setText("+15551234567");
+        assertEquals(ErrorCode.VALID, us.validate(formatter.getFormatted()));
+    }
+}
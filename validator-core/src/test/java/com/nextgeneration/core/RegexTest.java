@@ -0,0 +1,97 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RegexTest {
+
+    private static final String[] PATTERNS = {
+            "ab*c", "a(b|c)*d?", "[a-c]+", "[^ab]*", "(ab|a)(bc|c)", "a{2,3}b{0,2}", "(a|b){3}", "a*?b+?c??",
+            "\\d{2}-\\d{2}", "\\w+\\s\\w+", "[\\d.]+", "(?:a|bc)*", ".*a.*", "(.*a){3}", "a|", "[-a]b", "\\.\\*",
+            "[0-9]{4}", "\\p{Alpha}+\\p{Digit}", "\\p{L}+", "\\p{Nd}+",
+    };
+
+    @Test
+    public void matchesLikeJavaUtilRegex() {
+        String alphabet = "abcd01 .-*";
+        Random random = new Random(24);
+        StringBuilder text = new StringBuilder();
+        for (String pattern : PATTERNS) {
+            Regex regex = Regex.compile(pattern);
+            Pattern expected = Pattern.compile(pattern);
+            for (int i = 0; i < 3000; i++) {
+                text.setLength(0);
+                for (int length = random.nextInt(8); length > 0; length--) {
+                    text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                assertEquals(pattern + " on \"" + text + "\"", expected.matcher(text).matches(), regex.matches(text));
+            }
+        }
+    }
+
+    @Test
+    public void classifiesUnicode() {
+        assertTrue(Regex.compile("\\p{L}+").matches("\u00e9t\u00e9\u4e2d"));
+        assertTrue(Regex.compile("\\p{Nd}+").matches("\u0663\u0664"));
+        assertFalse(Regex.compile("\\p{Alpha}+").matches("\u00e9t\u00e9"));
+    }
+
+    @Test
+    public void matchesInLinearTime() {
+        Regex regex = Regex.compile("(.*a){12}");
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            text.append('a');
+        }
+        text.append('b');
+        long start = System.nanoTime();
+        assertFalse(regex.matches(text));
+        assertFalse(Regex.compile("(a|aa)+").matches(text));
+        assertTrue((System.nanoTime() - start) / 1000000 < 5000);
+    }
+
+    @Test
+    public void stopsAtStepBudget() {
+        Regex regex = Regex.compile("(.*a){12}");
+        String text = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaab";
+        assertEquals(Regex.BUDGET_EXCEEDED, regex.match(text, 100));
+        assertEquals(Regex.NO_MATCH, regex.match(text, Integer.MAX_VALUE));
+        RegexRule rule = new RegexRule(regex, ErrorCode.PATTERN_MISMATCH, 100);
+        assertEquals(ErrorCode.VALIDATION_FAILED, rule.validate(text));
+        assertEquals(ErrorCode.PATTERN_MISMATCH, new RegexRule("(.*a){12}", ErrorCode.PATTERN_MISMATCH).validate(text));
+        assertEquals(ErrorCode.VALID, new RegexRule("a+b", ErrorCode.PATTERN_MISMATCH).validate(text));
+    }
+
+    @Test
+    public void cachesCompiledPatterns() {
+        assertSame(Regex.compile("[a-z]+@x"), Regex.compile("[a-z]+@x"));
+        assertEquals("[a-z]+@x", Regex.compile("[a-z]+@x").getPattern());
+    }
+
+    @Test
+    public void rejectsUnsupportedPatterns() {
+        String[] patterns = {"(a)\\1", "a(?=b)", "(?<!a)b", "(?>a)", "a*+", "(?i)a", "\\Qa\\E", "[a&&b]", "[[a]]",
+                "(a", "a)", "[a", "*a", "a{2,1}", "a{1001}"};
+        for (String pattern : patterns) {
+            try {
+                Regex.compile(pattern);
+                fail(pattern);
+            } catch (PatternSyntaxException expected) {
+            }
+        }
+        try {
+            new RegexRule(Regex.compile("a"), ErrorCode.PATTERN_MISMATCH, 0);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
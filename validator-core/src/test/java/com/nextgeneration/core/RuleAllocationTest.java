@@ -0,0 +1,106 @@
+package com.nextgeneration.core;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Rules validate field text in place on every keystroke, so after warming up they must not allocate.
+ */
+public class RuleAllocationTest {
+
+    private static final int WARMUP = 20000;
+    private static final int ATTEMPTS = 5;
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    private final CharSequence[] texts = {
+            new StringBuilder("jane.doe@example.com"),
+            new StringBuilder("jane.doe@example"),
+            new StringBuilder("0412 345 678"),
+            new StringBuilder("+61 (2) 9876 5432"),
+            new StringBuilder("Correct-Horse-9"),
+            new StringBuilder("hunter2"),
+            "",
+            "\ud83d\ude00 \u00c9t\u00e9 2000"
+    };
+
+    @BeforeClass
+    public static void setUpClass() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void emailRuleDoesNotAllocate() {
+        assertNoAllocation(new EmailRule());
+    }
+
+    @Test
+    public void phoneNumberRuleDoesNotAllocate() {
+        assertNoAllocation(new PhoneNumberRule());
+        assertNoAllocation(new PhoneNumberRule("AU"));
+    }
+
+    @Test
+    public void passwordRuleDoesNotAllocate() {
+        assertNoAllocation(new PasswordRule.Builder()
+                .setMinLength(8)
+                .setHasUpperChar(true)
+                .setHasLowerChar(true)
+                .setHasDigit(true)
+                .setHasSpecialChar(true)
+                .build());
+    }
+
+    @Test
+    public void patternRuleDoesNotAllocate() {
+        assertNoAllocation(new PatternRule(Pattern.compile("[0-9]{4}"), ErrorCode.CUSTOM));
+    }
+
+    @Test
+    public void ruleSetDoesNotAllocate() {
+        assertNoAllocation(new RuleSet.Builder()
+                .setMinLength(3, ErrorCode.CUSTOM)
+                .setAllowed(CharClass.ALPHANUMERIC.union(CharClass.NON_ASCII), ErrorCode.CUSTOM + 1)
+                .require(CharClass.PASSWORD_DIGIT, ErrorCode.CUSTOM + 2)
+                .build());
+    }
+
+    @Test
+    public void regexRuleDoesNotAllocate() {
+        assertNoAllocation(new RegexRule("[a-z.]+@[a-z]+(\\.[a-z]+)+|[0-9 ]{4,}", ErrorCode.PATTERN_MISMATCH));
+    }
+
+    /**
+     * Warm the rule up, then validate every text and check no bytes were allocated. A few attempts are allowed, as
+     * the JVM may allocate on the thread for reasons of its own, such as class loading.
+     */
+    private void assertNoAllocation(Rule rule) {
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += rule.validate(texts[i % texts.length]);
+        }
+        long overhead = Long.MAX_VALUE;
+        long allocated = Long.MAX_VALUE;
+        long thread = Thread.currentThread().getId();
+        for (int attempt = 0; attempt < ATTEMPTS && allocated > 0; attempt++) {
+            long start = threads.getThreadAllocatedBytes(thread);
+            overhead = Math.min(overhead, threads.getThreadAllocatedBytes(thread) - start);
+            start = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 1000; i++) {
+                sink += rule.validate(texts[i % texts.length]);
+            }
+            allocated = Math.min(allocated, threads.getThreadAllocatedBytes(thread) - start - overhead);
+        }
+        assertEquals("Bytes allocated by 1000 validations (" + sink + ")", 0, Math.max(0, allocated));
+    }
+}
@@ -0,0 +1,148 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RuleSetTest {
+
+    private static final int PREFIX = ErrorCode.CUSTOM + 1;
+    private static final int SUFFIX = ErrorCode.CUSTOM + 2;
+    private static final int ALLOWED = ErrorCode.CUSTOM + 3;
+    private static final int MAX_LENGTH = ErrorCode.CUSTOM + 4;
+
+    @Test
+    public void checksCheapestFirst() {
+        RuleSet rule = new RuleSet.Builder()
+                .setMinLength(6, ErrorCode.PASSWORD_MIN_LENGTH)
+                .setMaxLength(10, MAX_LENGTH)
+                .setPrefix("ID-", PREFIX)
+                .setSuffix("!", SUFFIX)
+                .setAllowed(CharClass.ALPHANUMERIC.union(CharClass.of("-!")), ALLOWED)
+                .require(CharClass.DIGIT, ErrorCode.PASSWORD_DIGIT)
+                .build();
+        assertEquals(ErrorCode.PASSWORD_MIN_LENGTH, rule.validate("ID-1!"));
+        assertEquals(MAX_LENGTH, rule.validate("ID-1234567!"));
+        assertEquals(PREFIX, rule.validate("XX-123!"));
+        assertEquals(SUFFIX, rule.validate("ID-1234"));
+        assertEquals(ALLOWED, rule.validate("ID-1 23!"));
+        assertEquals(ErrorCode.PASSWORD_DIGIT, rule.validate("ID-abc!"));
+        assertEquals(ErrorCode.VALID, rule.validate("ID-a1b!"));
+    }
+
+    @Test
+    public void emptyValidSkipsChecks() {
+        RuleSet.Builder builder = new RuleSet.Builder().setMinLength(3, ErrorCode.PASSWORD_MIN_LENGTH);
+        assertEquals(ErrorCode.PASSWORD_MIN_LENGTH, builder.build().validate(""));
+        assertEquals(ErrorCode.VALID, builder.setEmptyValid(true).build().validate(""));
+        assertEquals(ErrorCode.PASSWORD_MIN_LENGTH, builder.build().validate("ab"));
+    }
+
+    @Test
+    public void disallowedCharacterWinsOverMissingClass() {
+        RuleSet rule = new RuleSet.Builder()
+                .setAllowed(CharClass.LOWER.union(CharClass.DIGIT), ALLOWED)
+                .require(CharClass.DIGIT, ErrorCode.PASSWORD_DIGIT)
+                .build();
+        assertEquals(ALLOWED, rule.validate("abcD"));
+        assertEquals(ErrorCode.PASSWORD_DIGIT, rule.validate("abcd"));
+        assertEquals(ErrorCode.VALID, rule.validate("abc1"));
+    }
+
+    @Test
+    public void reportsMissingClassesInRequiredOrder() {
+        RuleSet rule = new RuleSet.Builder()
+                .require(CharClass.DIGIT, ErrorCode.PASSWORD_DIGIT)
+                .require(CharClass.UPPER, ErrorCode.PASSWORD_UPPER_CHAR)
+                .build();
+        assertEquals(ErrorCode.PASSWORD_DIGIT, rule.validate("abc"));
+        assertEquals(ErrorCode.PASSWORD_UPPER_CHAR, rule.validate("abc1"));
+        assertEquals(ErrorCode.PASSWORD_DIGIT, rule.validate("Abc"));
+        assertEquals(ErrorCode.VALID, rule.validate("Abc1"));
+    }
+
+    @Test
+    public void readsSurrogatePairsAsOneCodePoint() {
+        RuleSet rule = new RuleSet.Builder()
+                .setAllowed(CharClass.LOWER.union(CharClass.PASSWORD_SPECIAL), ALLOWED)
+                .require(CharClass.PASSWORD_SPECIAL, ErrorCode.PASSWORD_SPECIAL_CHAR)
+                .build();
+        assertEquals(ErrorCode.VALID, rule.validate("abc\ud83d\ude00"));
+        assertEquals(ErrorCode.PASSWORD_SPECIAL_CHAR, rule.validate("abc"));
+        // A lone surrogate is not a symbol.
+        assertEquals(ALLOWED, rule.validate("abc\ud83d"));
+    }
+
+    @Test
+    public void runsCustomRulesByIncreasingCost() {
+        final List<String> calls = new ArrayList<>();
+        RuleSet rule = new RuleSet.Builder()
+                .addRule(recording(calls, "pattern", ErrorCode.CUSTOM + 5), RuleSet.COST_PATTERN)
+                .addRule(recording(calls, "linear", ErrorCode.VALID), RuleSet.COST_LINEAR)
+                .addRule(recording(calls, "second linear", ErrorCode.EMAIL_ADDRESS_INVALID), RuleSet.COST_LINEAR)
+                .build();
+        assertEquals(ErrorCode.EMAIL_ADDRESS_INVALID, rule.validate("text"));
+        assertEquals("[linear, second linear]", calls.toString());
+    }
+
+    @Test
+    public void rejectsInvalidBuilders() {
+        try {
+            new RuleSet.Builder().setMinLength(5, ErrorCode.PASSWORD_MIN_LENGTH).setMaxLength(4, MAX_LENGTH).build();
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+        RuleSet.Builder builder = new RuleSet.Builder();
+        for (int i = 0; i < RuleSet.MAX_REQUIRED_CLASSES; i++) {
+            builder.require(CharClass.DIGIT, ErrorCode.PASSWORD_DIGIT);
+        }
+        try {
+            builder.require(CharClass.DIGIT, ErrorCode.PASSWORD_DIGIT);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    @Test
+    public void matchesPasswordRule() {
+        PasswordRule passwordRule = new PasswordRule.Builder()
+                .setMinLength(8)
+                .setHasUpperChar(true)
+                .setHasLowerChar(true)
+                .setHasDigit(true)
+                .setHasSpecialChar(true)
+                .build();
+        RuleSet ruleSet = new RuleSet.Builder()
+                .setMinLength(8, ErrorCode.PASSWORD_MIN_LENGTH)
+                .require(CharClass.PASSWORD_UPPER, ErrorCode.PASSWORD_UPPER_CHAR)
+                .require(CharClass.PASSWORD_LOWER, ErrorCode.PASSWORD_LOWER_CHAR)
+                .require(CharClass.PASSWORD_DIGIT, ErrorCode.PASSWORD_DIGIT)
+                .require(CharClass.PASSWORD_SPECIAL, ErrorCode.PASSWORD_SPECIAL_CHAR)
+                .build();
+        String alphabet = "aZ9!\u00e9\u00c9\u0663\u20ac\u4e2d \ud83d\ude00";
+        Random random = new Random(16);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.setLength(0);
+            for (int length = random.nextInt(14); length > 0; length--) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquals(text.toString(), passwordRule.validate(text), ruleSet.validate(text));
+        }
+    }
+
+    private static Rule recording(final List<String> calls, final String name, final int code) {
+        return new Rule() {
+            @Override
+            public int validate(CharSequence text) {
+                calls.add(name);
+                return code;
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StrengthEstimatorTest {
+
+    @Test
+    public void scoresCommonPasswordsLow() {
+        assertEquals(0, score("password"));
+        assertEquals(0, score("qwertyuiop"));
+        assertEquals(0, score("aaaaaaaa"));
+        assertEquals(0, score("zxcvbnm"));
+        assertEquals(StrengthEstimator.MAX_SCORE, score("xK#9vQ!2mZ&7"));
+        assertEquals(0, new StrengthEstimator().update(""), 0);
+    }
+
+    @Test
+    public void rewardsLongerUncommonText() {
+        StrengthEstimator estimator = new StrengthEstimator();
+        assertTrue(estimator.update("password") < estimator.update("Password1"));
+        assertTrue(estimator.update("qwerty") < estimator.update("qwe9ty"));
+        assertTrue(estimator.update("abcd") < estimator.update("abcd#J"));
+    }
+
+    @Test
+    public void scoresGuessThresholds() {
+        assertEquals(0, StrengthEstimator.score(2.99));
+        assertEquals(1, StrengthEstimator.score(3));
+        assertEquals(2, StrengthEstimator.score(6));
+        assertEquals(3, StrengthEstimator.score(8));
+        assertEquals(StrengthEstimator.MAX_SCORE, StrengthEstimator.score(10));
+    }
+
+    @Test
+    public void incrementalUpdatesMatchFreshEstimates() {
+        String alphabet = "passwordqwerty1234!@#$aA ";
+        Random random = new Random(18);
+        StrengthEstimator incremental = new StrengthEstimator();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            int edit = random.nextInt(10);
+            if (edit < 6 || text.length() == 0) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            } else if (edit < 8) {
+                text.setLength(text.length() - 1);
+            } else if (edit < 9) {
+                text.setCharAt(random.nextInt(text.length()), alphabet.charAt(random.nextInt(alphabet.length())));
+            } else {
+                text.setLength(random.nextInt(text.length()));
+            }
+            if (text.length() > 24) {
+                text.setLength(0);
+                incremental.reset();
+            }
+            double expected = new StrengthEstimator().update(text);
+            assertEquals(text.toString(), expected, incremental.update(text), 0);
+            assertEquals(StrengthEstimator.score(expected), incremental.getScore());
+        }
+    }
+
+    @Test
+    public void findsWordsOfCustomDictionary() {
+        PackedTrie dictionary = new PackedTrie.Builder().add("zebra").add("quokka").build();
+        StrengthEstimator estimator = new StrengthEstimator(dictionary);
+        assertTrue(estimator.update("quokka") < estimator.update("qukoka"));
+    }
+
+    @Test
+    public void packedTrieRanksAndRoundTrips() throws IOException {
+        PackedTrie trie = new PackedTrie.Builder().add("pass").add("password").add("pa", 7).add("pass", 9).build();
+        assertEquals(3, trie.size());
+        assertEquals(8, trie.getMaxDepth());
+        assertEquals(1, trie.getRank("pass"));
+        assertEquals(2, trie.getRank("password"));
+        assertEquals(7, trie.getRank("pa"));
+        assertEquals(0, trie.getRank("passw"));
+        assertEquals(0, trie.getRank("p"));
+        assertEquals(PackedTrie.NONE, trie.child(PackedTrie.ROOT, 'x'));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        trie.writeTo(out);
+        PackedTrie read = PackedTrie.read(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(trie.size(), read.size());
+        assertEquals(trie.getMaxDepth(), read.getMaxDepth());
+        for (String word : new String[]{"pa", "pass", "password", "passw", "p", "x"}) {
+            assertEquals(word, trie.getRank(word), read.getRank(word));
+        }
+    }
+
+    private static int score(String password) {
+        StrengthEstimator estimator = new StrengthEstimator();
+        estimator.update(password);
+        return estimator.getScore();
+    }
+}
@@ -0,0 +1,59 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class UnicodeClassTest {
+
+    @Test
+    public void classifiesExamples() {
+        assertEquals(UnicodeClass.UPPER, UnicodeClass.of('A'));
+        assertEquals(UnicodeClass.UPPER, UnicodeClass.of('\u0414'));
+        assertEquals(UnicodeClass.LOWER, UnicodeClass.of('\u00e9'));
+        assertEquals(UnicodeClass.LETTER, UnicodeClass.of('\u4e2d'));
+        assertEquals(UnicodeClass.MARK, UnicodeClass.of('\u0301'));
+        assertEquals(UnicodeClass.DIGIT, UnicodeClass.of('\u0667'));
+        assertEquals(UnicodeClass.NUMBER, UnicodeClass.of('\u00bd'));
+        assertEquals(UnicodeClass.PUNCTUATION, UnicodeClass.of('!'));
+        assertEquals(UnicodeClass.SYMBOL, UnicodeClass.of('\u20ac'));
+        assertEquals(UnicodeClass.SPACE, UnicodeClass.of('\u00a0'));
+        assertEquals(UnicodeClass.CONTROL, UnicodeClass.of('\n'));
+        assertEquals(UnicodeClass.OTHER, UnicodeClass.of('\ue000'));
+        assertEquals(UnicodeClass.SYMBOL, UnicodeClass.ofCodePoint(0x1f600));
+        assertEquals(UnicodeClass.CONTROL, UnicodeClass.ofCodePoint(0xe0041));
+        assertEquals(UnicodeClass.MARK, UnicodeClass.ofCodePoint(0xe0100));
+        assertEquals(UnicodeClass.OTHER, UnicodeClass.ofCodePoint(0x10ffff));
+        assertEquals(UnicodeClass.OTHER, UnicodeClass.ofCodePoint(-1));
+    }
+
+    @Test
+    public void readsSurrogatePairs() {
+        String text = "a\ud83d\ude00\ud83d";
+        assertEquals(UnicodeClass.LOWER, UnicodeClass.ofCodePoint(text, 0, text.length()));
+        assertEquals(UnicodeClass.SYMBOL, UnicodeClass.ofCodePoint(text, 1, text.length()));
+        // A pair cut by end, and a lone surrogate, are classified on their own.
+        assertEquals(UnicodeClass.OTHER, UnicodeClass.ofCodePoint(text, 1, 2));
+        assertEquals(UnicodeClass.OTHER, UnicodeClass.ofCodePoint(text, 3, text.length()));
+    }
+
+    @Test
+    public void charsMatchCodePoints() {
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            assertEquals(UnicodeClass.ofCodePoint(c), UnicodeClass.of((char) c));
+        }
+    }
+
+    @Test
+    public void matchesCharacterTypeOfAssignedCodePoints() {
+        // Code points assigned after the tables were written are OTHER in the tables, so only those classified are
+        // compared.
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            int unicodeClass = UnicodeClass.ofCodePoint(codePoint);
+            if (unicodeClass != UnicodeClass.OTHER) {
+                assertEquals(Integer.toHexString(codePoint), UnicodeClass.fromType(Character.getType(codePoint)),
+                        unicodeClass);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.nextgeneration.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ValidationSnapshotTest {
+
+    @Test
+    public void packsCodesAndFlags() {
+        ValidationSnapshot snapshot = new ValidationSnapshot.Builder()
+                .add(ErrorCode.VALID, 0, null)
+                .add(ErrorCode.REQUIRED, ValidationSnapshot.FLAG_REQUIRED | ValidationSnapshot.FLAG_SHOW_ERROR, null)
+                .add(ErrorCode.CUSTOM, ValidationSnapshot.FLAG_SHOW_ERROR, "Taken")
+                .build();
+        assertEquals(3, snapshot.size());
+        assertEquals(ErrorCode.VALID, snapshot.getCode(0));
+        assertEquals(0, snapshot.getFlags(0));
+        assertEquals(ErrorCode.REQUIRED, snapshot.getCode(1));
+        assertEquals(ValidationSnapshot.FLAG_REQUIRED | ValidationSnapshot.FLAG_SHOW_ERROR, snapshot.getFlags(1));
+        assertNull(snapshot.getMessage(1));
+        assertEquals(ErrorCode.CUSTOM, snapshot.getCode(2));
+        assertEquals("Taken", snapshot.getMessage(2));
+    }
+
+    @Test
+    public void roundTripsThroughBytes() {
+        ValidationSnapshot.Builder builder = new ValidationSnapshot.Builder();
+        for (int i = 0; i < 40; i++) {
+            String message = i % 7 == 1 ? "Erreur \u00e9 " + i : null;
+            builder.add(i % 3 == 0 ? ErrorCode.VALID : ErrorCode.CUSTOM + i, i & 3, message);
+        }
+        ValidationSnapshot snapshot = builder.build();
+        ValidationSnapshot read = ValidationSnapshot.fromByteArray(snapshot.toByteArray());
+        assertEquals(snapshot.size(), read.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(snapshot.getCode(i), read.getCode(i));
+            assertEquals(snapshot.getFlags(i), read.getFlags(i));
+            assertEquals(snapshot.getMessage(i), read.getMessage(i));
+        }
+        assertEquals(Arrays.toString(snapshot.toByteArray()), Arrays.toString(read.toByteArray()));
+    }
+
+    @Test
+    public void roundTripsEmptySnapshot() {
+        byte[] bytes = new ValidationSnapshot.Builder().build().toByteArray();
+        ValidationSnapshot read = ValidationSnapshot.fromByteArray(bytes);
+        assertEquals(0, read.size());
+    }
+
+    @Test
+    public void rejectsInvalidFields() {
+        try {
+            new ValidationSnapshot.Builder().add(ErrorCode.VALID, 1 << 8, null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new ValidationSnapshot.Builder().add(1 << 24, 0, null);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void rejectsCorruptBytes() {
+        byte[] bytes = new ValidationSnapshot.Builder().add(ErrorCode.CUSTOM, 0, "Taken").build().toByteArray();
+        assertRejected(new byte[0]);
+        assertRejected(new byte[12]);
+        assertRejected(Arrays.copyOf(bytes, bytes.length - 1));
+        byte[] size = bytes.clone();
+        size[4] = 0x7f;
+        assertRejected(size);
+        byte[] index = bytes.clone();
+        index[19] = 1;
+        assertRejected(index);
+    }
+
+    private static void assertRejected(byte[] bytes) {
+        try {
+            ValidationSnapshot.fromByteArray(bytes);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.nextgeneration.processor;
+
+import com.nextgeneration.core.PhoneNumberRule;
+import com.nextgeneration.core.annotation.Email;
+import com.nextgeneration.core.annotation.Password;
+import com.nextgeneration.core.annotation.Phone;
+import com.nextgeneration.core.annotation.Required;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a {@link com.nextgeneration.core.ModelValidator} for each class with fields annotated with
+ * {@link Required}, {@link Email}, {@link Phone} or {@link Password}. For a class Signup the generated Signup_Validator
+ * is in the same package, with a FIELD_ constant for the index of each field, and checks the fields in declaration
+ * order in a single method. Rules are created once in static fields and shared by fields with the same annotation.
+ * <p>
+ * Annotated fields must be non-static CharSequences, readable directly or through a non-private getter, with names
+ * giving distinct FIELD_ constants.
+ */
+@SupportedAnnotationTypes({
+        "com.nextgeneration.core.annotation.Required",
+        "com.nextgeneration.core.annotation.Email",
+        "com.nextgeneration.core.annotation.Phone",
+        "com.nextgeneration.core.annotation.Password"
+})
+public class ModelValidatorProcessor extends AbstractProcessor {
+
+    private static final String CORE = "com.nextgeneration.core.";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, Set<Element>> models = new LinkedHashMap<>();
+        addFields(models, roundEnv, Required.class);
+        addFields(models, roundEnv, Email.class);
+        addFields(models, roundEnv, Phone.class);
+        addFields(models, roundEnv, Password.class);
+        for (Map.Entry<TypeElement, Set<Element>> model : models.entrySet()) {
+            // Declaration order, whatever order the annotations were found in.
+            List<VariableElement> fields = new ArrayList<>();
+            for (Element element : model.getKey().getEnclosedElements()) {
+                if (model.getValue().contains(element)) {
+                    fields.add((VariableElement) element);
+                }
+            }
+            generate(model.getKey(), fields);
+        }
+        return false;
+    }
+
+    private static void addFields(Map<TypeElement, Set<Element>> models, RoundEnvironment roundEnv,
+            Class<? extends Annotation> annotation) {
+        for (Element field : roundEnv.getElementsAnnotatedWith(annotation)) {
+            TypeElement model = (TypeElement) field.getEnclosingElement();
+            Set<Element> fields = models.get(model);
+            if (fields == null) {
+                fields = new LinkedHashSet<>();
+                models.put(model, fields);
+            }
+            fields.add(field);
+        }
+    }
+
+    private void generate(TypeElement model, List<VariableElement> fields) {
+        if (model.getModifiers().contains(Modifier.PRIVATE) || !model.getTypeParameters().isEmpty()
+                || (model.getNestingKind().isNested() && !model.getModifiers().contains(Modifier.STATIC))) {
+            error(model, "Validated models must be non-private, non-generic top level or static nested classes");
+            return;
+        }
+        String packageName = processingEnv.getElementUtils().getPackageOf(model).getQualifiedName().toString();
+        String modelName = model.getQualifiedName().toString();
+        if (!packageName.isEmpty()) {
+            modelName = modelName.substring(packageName.length() + 1);
+        }
+        String className = modelName.replace('.', '_') + "_Validator";
+
+        // Expression creating each distinct Rule, to the name and type of the static field holding it.
+        Map<String, String[]> rules = new LinkedHashMap<>();
+        List<String> accessors = new ArrayList<>();
+        List<String> ruleNames = new ArrayList<>();
+        Map<String, VariableElement> constants = new HashMap<>();
+        boolean valid = true;
+        for (VariableElement field : fields) {
+            VariableElement other = constants.put(constantName("FIELD_", field), field);
+            if (other != null) {
+                error(field, "Fields " + other.getSimpleName() + " and " + field.getSimpleName() + " have the same "
+                        + constantName("FIELD_", field) + " constant");
+                valid = false;
+            }
+            String accessor = accessor(model, field);
+            String rule = rule(field);
+            if (accessor == null || "".equals(rule)) {
+                valid = false;
+                continue;
+            }
+            accessors.add(accessor);
+            if (rule == null) {
+                ruleNames.add(null);
+            } else {
+                String[] ruleField = rules.get(rule);
+                if (ruleField == null) {
+                    String type = ruleType(field);
+                    String name = type.substring(CORE.length()).replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+                    ruleField = new String[]{name + "_" + rules.size(), type};
+                    rules.put(rule, ruleField);
+                }
+                ruleNames.add(ruleField[0]);
+            }
+        }
+        if (!valid) {
+            return;
+        }
+
+        StringBuilder java = new StringBuilder();
+        java.append("// Generated by ModelValidatorProcessor from ").append(model.getQualifiedName())
+                .append(". Do not edit.\n");
+        if (!packageName.isEmpty()) {
+            java.append("package ").append(packageName).append(";\n");
+        }
+        java.append("\npublic final class ").append(className).append(" implements ").append(CORE)
+                .append("ModelValidator<").append(modelName).append("> {\n\n");
+        for (int i = 0; i < fields.size(); i++) {
+            java.append("    public static final int ").append(constantName("FIELD_", fields.get(i))).append(" = ")
+                    .append(i).append(";\n");
+        }
+        java.append("\n    private static final String[] NAMES = {");
+        for (int i = 0; i < fields.size(); i++) {
+            java.append(i > 0 ? ", " : "").append('"').append(fields.get(i).getSimpleName()).append('"');
+        }
+        java.append("};\n");
+        for (Map.Entry<String, String[]> rule : rules.entrySet()) {
+            java.append("    private static final ").append(rule.getValue()[1]).append(' ').append(rule.getValue()[0])
+                    .append(" = ").append(rule.getKey()).append(";\n");
+        }
+        java.append("\n    @Override\n    public int getFieldCount() {\n        return ").append(fields.size())
+                .append(";\n    }\n");
+        java.append("\n    @Override\n    public String getFieldName(int field) {\n        return NAMES[field];\n"
+                + "    }\n");
+        java.append("\n    @Override\n    public int validate(").append(modelName).append(" model, int[] codes) {\n"
+                + "        int failures = 0;\n        CharSequence text;\n        int code;\n");
+        for (int i = 0; i < fields.size(); i++) {
+            VariableElement field = fields.get(i);
+            String empty = field.getAnnotation(Required.class) != null ? "REQUIRED" : "VALID";
+            String check = ruleNames.get(i) != null ? ruleNames.get(i) + ".validate(text)" : CORE + "ErrorCode.VALID";
+            java.append("\n        text = model.").append(accessors.get(i)).append(";\n")
+                    .append("        code = text == null || text.length() == 0 ? ").append(CORE).append("ErrorCode.")
+                    .append(empty).append(" : ").append(check).append(";\n")
+                    .append("        codes[").append(constantName("FIELD_", field)).append("] = code;\n")
+                    .append("        if (code != ").append(CORE).append("ErrorCode.VALID) {\n")
+                    .append("            failures++;\n")
+                    .append("        }\n");
+        }
+        java.append("        return failures;\n    }\n}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try {
+            Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, model).openWriter();
+            try {
+                writer.write(java.toString());
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            error(model, "Could not write " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return Expression reading the field from a model, null after reporting an error if it cannot be read.
+     */
+    private String accessor(TypeElement model, VariableElement field) {
+        TypeMirror charSequence = processingEnv.getElementUtils().getTypeElement("java.lang.CharSequence").asType();
+        if (field.getModifiers().contains(Modifier.STATIC)) {
+            error(field, "Validated fields must not be static");
+            return null;
+        }
+        if (!processingEnv.getTypeUtils().isAssignable(field.asType(), charSequence)) {
+            error(field, "Validated fields must be CharSequences such as String");
+            return null;
+        }
+        if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return field.getSimpleName().toString();
+        }
+        String name = field.getSimpleName().toString();
+        String getter = "get" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        for (Element element : model.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.METHOD && element.getSimpleName().contentEquals(getter)
+                    && !element.getModifiers().contains(Modifier.PRIVATE)
+                    && !element.getModifiers().contains(Modifier.STATIC)
+                    && ((ExecutableElement) element).getParameters().isEmpty()
+                    && processingEnv.getTypeUtils().isAssignable(((ExecutableElement) element).getReturnType(),
+                    charSequence)) {
+                return getter + "()";
+            }
+        }
+        error(field, "Private validated fields need a non-private " + getter + "() getter");
+        return null;
+    }
+
+    /**
+     * @return Expression creating the field's Rule, null if it is only required, "" after reporting an error.
+     */
+    private String rule(VariableElement field) {
+        Email email = field.getAnnotation(Email.class);
+        Phone phone = field.getAnnotation(Phone.class);
+        Password password = field.getAnnotation(Password.class);
+        if ((email != null ? 1 : 0) + (phone != null ? 1 : 0) + (password != null ? 1 : 0) > 1) {
+            error(field, "Fields can only be one of @Email, @Phone and @Password");
+            return "";
+        }
+        if (email != null) {
+            return "new " + CORE + "EmailRule()";
+        }
+        if (phone != null) {
+            if (phone.region().isEmpty()) {
+                return "new " + CORE + "PhoneNumberRule()";
+            }
+            try {
+                new PhoneNumberRule(phone.region());
+            } catch (IllegalArgumentException e) {
+                error(field, "Unsupported phone number region " + phone.region());
+                return "";
+            }
+            return "new " + CORE + "PhoneNumberRule(\"" + phone.region() + "\")";
+        }
+        if (password != null) {
+            if (password.minLength() < 0) {
+                error(field, "Password min length must not be negative");
+                return "";
+            }
+            return "new " + CORE + "PasswordRule.Builder()"
+                    + ".setMinLength(" + password.minLength() + ")"
+                    + ".setHasUpperChar(" + password.upper() + ")"
+                    + ".setHasLowerChar(" + password.lower() + ")"
+                    + ".setHasDigit(" + password.digit() + ")"
+                    + ".setHasSpecialChar(" + password.special() + ")"
+                    + ".build()";
+        }
+        return null;
+    }
+
+    private static String ruleType(VariableElement field) {
+        if (field.getAnnotation(Email.class) != null) {
+            return CORE + "EmailRule";
+        }
+        return CORE + (field.getAnnotation(Phone.class) != null ? "PhoneNumberRule" : "PasswordRule");
+    }
+
+    private static String constantName(String prefix, Element field) {
+        return prefix + field.getSimpleName().toString().replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,199 @@
+package com.nextgeneration.processor;
+
+import com.nextgeneration.core.ErrorCode;
+import com.nextgeneration.core.ModelValidator;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ModelValidatorProcessorTest {
+
+    private static final String IMPORTS = "package test;\n"
+            + "import com.nextgeneration.core.annotation.*;\n";
+
+    @Rule
+    public final TemporaryFolder output = new TemporaryFolder();
+
+    private final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void generatesValidator() throws Exception {
+        assertTrue(compile("test.Signup", IMPORTS
+                + "public class Signup {\n"
+                + "    @Required @Email public String email;\n"
+                + "    @Phone(region = \"AU\") private String phone;\n"
+                + "    @Password(minLength = 8) CharSequence password;\n"
+                + "    @Email String backupEmail;\n"
+                + "    public String getPhone() { return phone; }\n"
+                + "    public Signup(String email, String phone, String password) {\n"
+                + "        this.email = email; this.phone = phone; this.password = password;\n"
+                + "    }\n"
+                + "}\n"));
+        URLClassLoader loader = new URLClassLoader(new URL[]{output.getRoot().toURI().toURL()},
+                getClass().getClassLoader());
+        try {
+            Class<?> modelClass = loader.loadClass("test.Signup");
+            Class<?> validatorClass = loader.loadClass("test.Signup_Validator");
+            assertEquals(0, validatorClass.getField("FIELD_EMAIL").getInt(null));
+            assertEquals(3, validatorClass.getField("FIELD_BACKUP_EMAIL").getInt(null));
+            ModelValidator<Object> validator = (ModelValidator<Object>) validatorClass.newInstance();
+            assertEquals(4, validator.getFieldCount());
+            assertEquals("backupEmail", validator.getFieldName(3));
+
+            int[] codes = new int[validator.getFieldCount()];
+            Object valid = modelClass.getConstructor(String.class, String.class, String.class)
+                    .newInstance("jane@example.com", "0412 345 678", "Abcdefg1!");
+            assertEquals(0, validator.validate(valid, codes));
+            Object invalid = modelClass.getConstructor(String.class, String.class, String.class)
+                    .newInstance("", "0412", "short");
+            assertEquals(3, validator.validate(invalid, codes));
+            assertArrayEquals(new int[]{ErrorCode.REQUIRED, ErrorCode.PHONE_NUMBER_INVALID,
+                    ErrorCode.PASSWORD_MIN_LENGTH, ErrorCode.VALID}, codes);
+        } finally {
+            loader.close();
+        }
+    }
+
+    @Test
+    public void rejectsStaticFields() throws IOException {
+        assertError("Validated fields must not be static", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Required static String name;\n"
+                + "}\n");
+    }
+
+    @Test
+    public void rejectsFieldsThatAreNotCharSequences() throws IOException {
+        assertError("Validated fields must be CharSequences such as String", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Required Integer age;\n"
+                + "}\n");
+    }
+
+    @Test
+    public void rejectsPrivateFieldsWithoutGetter() throws IOException {
+        assertError("Private validated fields need a non-private getName() getter", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Required private String name;\n"
+                + "    private String getName() { return name; }\n"
+                + "    public String getName(int i) { return name; }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void rejectsMoreThanOneRule() throws IOException {
+        assertError("Fields can only be one of @Email, @Phone and @Password", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Email @Phone String contact;\n"
+                + "}\n");
+    }
+
+    @Test
+    public void rejectsUnknownRegions() throws IOException {
+        assertError("Unsupported phone number region XX", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Phone(region = \"XX\") String phone;\n"
+                + "}\n");
+    }
+
+    @Test
+    public void rejectsGenericModels() throws IOException {
+        assertError("Validated models must be non-private, non-generic top level or static nested classes",
+                "test.Model", IMPORTS
+                        + "public class Model<T> {\n"
+                        + "    @Required String name;\n"
+                        + "}\n");
+    }
+
+    @Test
+    public void rejectsInnerModels() throws IOException {
+        assertError("Validated models must be non-private, non-generic top level or static nested classes",
+                "test.Outer", IMPORTS
+                        + "public class Outer {\n"
+                        + "    public class Model {\n"
+                        + "        @Required String name;\n"
+                        + "    }\n"
+                        + "}\n");
+    }
+
+    @Test
+    public void rejectsFieldsWithTheSameConstant() throws IOException {
+        assertError("Fields fooBar and foo_bar have the same FIELD_FOO_BAR constant", "test.Model", IMPORTS
+                + "public class Model {\n"
+                + "    @Required String fooBar;\n"
+                + "    @Required String foo_bar;\n"
+                + "}\n");
+    }
+
+    private void assertError(String message, String className, String source) throws IOException {
+        assertFalse(compile(className, source));
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        assertEquals(Collections.singletonList(message), errors);
+        assertFalse(new File(output.getRoot(), "test/Model_Validator.java").exists());
+    }
+
+    /**
+     * Compile a model class with the processor into the output folder, against the test's classpath.
+     *
+     * @return Whether it compiled without errors.
+     */
+    private boolean compile(String className, String source) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        try {
+            List<String> options = Arrays.asList("-d", output.getRoot().getPath(),
+                    "-s", output.getRoot().getPath(),
+                    "-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    Collections.singletonList(new Source(className, source)));
+            task.setProcessors(Collections.singletonList(new ModelValidatorProcessor()));
+            return task.call();
+        } finally {
+            fileManager.close();
+        }
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String source;
+
+        Source(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}